@@ -0,0 +1,79 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.provider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logger name completion against a classpath of the given size. Classes are spread across 5 roots, 40 vendors, 25 modules & 10 sub packages, so that a depth 4 prefix (say {@code com.vendor1.module1.impl}) narrows down to a handful of packages
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackageTreeBenchmark {
+
+  private static final String[] ROOTS = {"com", "org", "io", "net", "de"};
+
+  @Param({"50000"})
+  private int numOfClasses;
+
+  private PackageTree tree;
+
+  @Setup
+  public void setUp() {
+    tree = new PackageTree();
+    for (int i = 0; i < numOfClasses; i++) {
+      tree.addClass(qualifiedName(i));
+    }
+  }
+
+  @Benchmark
+  public List<PackageTree.Node> topLevel() {
+    return tree.findWithPrefix("c");
+  }
+
+  @Benchmark
+  public List<PackageTree.Node> depth4Prefix() {
+    return tree.findWithPrefix("com.vendor1.module1.impl");
+  }
+
+  @Benchmark
+  public List<PackageTree.Node> classPrefix() {
+    return tree.findWithPrefix("com.vendor1.module1.impl1.class1");
+  }
+
+  @Benchmark
+  public PackageTree.Node exactClass() {
+    return tree.find(qualifiedName(numOfClasses / 2));
+  }
+
+  /**
+   * Class that is added & removed, as happens when a source file is edited
+   */
+  @Benchmark
+  public int addAndRemove() {
+    tree.addClass("com.vendor1.module1.impl1.Edited");
+    tree.removeClass("com.vendor1.module1.impl1.Edited");
+    return tree.getNumOfClasses();
+  }
+
+  private static String qualifiedName(int index) {
+    return ROOTS[index % ROOTS.length] + ".vendor" + index / 7 % 40 + ".module" + index / 3 % 25
+        + ".impl" + index % 10 + ".Class" + index;
+  }
+
+}
@@ -0,0 +1,64 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataSuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.SyntheticMetadataGenerator;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadata;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataGson;
+import org.apache.commons.collections4.Trie;
+import org.apache.commons.collections4.trie.PatriciaTrie;
+import org.picocontainer.PicoContainer;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Builds the state shared by benchmarks without starting the IDE.
+ * <p>
+ * Benchmarks run against a module whose project is always dumb (i.e indexing), so that the suggestion engine never consults PSI. This keeps the numbers focused on the index & search code, which is what these benchmarks are for
+ */
+class BenchmarkFixture {
+
+  static final String CONTAINER = "synthetic-metadata.jar";
+
+  private BenchmarkFixture() {
+  }
+
+  static Module newDumbModule() {
+    DumbService dumbService = mock(DumbService.class);
+    when(dumbService.isDumb()).thenReturn(true);
+
+    PicoContainer picoContainer = mock(PicoContainer.class);
+    when(picoContainer.getComponentInstance(DumbService.class.getName())).thenReturn(dumbService);
+
+    Project project = mock(Project.class);
+    when(project.getPicoContainer()).thenReturn(picoContainer);
+    when(project.getName()).thenReturn("benchmark");
+
+    Module module = mock(Module.class);
+    when(module.getProject()).thenReturn(project);
+    when(module.getName()).thenReturn("benchmark");
+    return module;
+  }
+
+  static SyntheticMetadataGenerator newGenerator(int numOfProperties) {
+    // keep roughly 200 properties per group, like the larger auto configurations
+    return SyntheticMetadataGenerator.builder().numOfProperties(numOfProperties)
+        .numOfGroups(Math.max(1, numOfProperties / 200)).build();
+  }
+
+  static SpringConfigurationMetadata parse(SyntheticMetadataGenerator generator) {
+    return SpringConfigurationMetadataGson.getInstance()
+        .fromJson(generator.generate(), SpringConfigurationMetadata.class);
+  }
+
+  static Trie<String, MetadataSuggestionNode> buildIndex(SuggestionServiceImpl service,
+      Module module, SpringConfigurationMetadata metadata) {
+    Trie<String, MetadataSuggestionNode> rootSearchIndex = new PatriciaTrie<>();
+    service.addPropertiesToIndex(module, rootSearchIndex, metadata, CONTAINER);
+    return rootSearchIndex;
+  }
+
+}
@@ -0,0 +1,99 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import in.oneton.idea.spring.assistant.plugin.misc.RetainedSizeEstimator;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataHint;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataHintValue;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Footprint & lookups of hints on either side of the sorted array threshold of {@link SpringConfigurationMetadataHint}. {@code build} reports the bytes retained by a single hint (including its values) as the {@code retainedBytes} secondary result
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HintLookupBenchmark {
+
+  @Param({"3", "16", "17", "64"})
+  private int numOfValues;
+
+  private SpringConfigurationMetadataHintValue[] values;
+  private SpringConfigurationMetadataHint hint;
+  private String existingName;
+
+  @Setup
+  public void setUp() {
+    values = new SpringConfigurationMetadataHintValue[numOfValues];
+    for (int i = 0; i < numOfValues; i++) {
+      values[i] = SpringConfigurationMetadataHintValue.builder().nameAsObjOrArray("value-" + i)
+          .description("Value number " + i).build();
+    }
+    hint = newHint();
+    existingName = "value-" + numOfValues / 2;
+  }
+
+  /**
+   * @param footprint only to get the retained size reported alongside
+   */
+  @Benchmark
+  public SpringConfigurationMetadataHint build(Footprint footprint) {
+    return newHint();
+  }
+
+  @Benchmark
+  public SpringConfigurationMetadataHintValue findByName() {
+    return hint.findHintValueWithName(existingName);
+  }
+
+  @Benchmark
+  public SpringConfigurationMetadataHintValue findMissingByName() {
+    return hint.findHintValueWithName("missing");
+  }
+
+  @Benchmark
+  public int findByPrefix() {
+    Collection<SpringConfigurationMetadataHintValue> matches =
+        hint.findHintValuesWithPrefix("value-1");
+    return matches != null ? matches.size() : 0;
+  }
+
+  /**
+   * Retained size of a single hint. Measured once per iteration, as the walk is far slower than the build itself
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Footprint {
+    public long retainedBytes;
+
+    @Setup(Level.Iteration)
+    public void measure(HintLookupBenchmark benchmark) {
+      retainedBytes = new RetainedSizeEstimator().estimate(benchmark.newHint());
+    }
+  }
+
+  private SpringConfigurationMetadataHint newHint() {
+    SpringConfigurationMetadataHint hint = new SpringConfigurationMetadataHint();
+    hint.setName("benchmark.hint");
+    hint.setValues(values);
+    hint.doOnGsonDeserialization();
+    return hint;
+  }
+
+}
@@ -0,0 +1,51 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import com.intellij.openapi.module.Module;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataSuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadata;
+import org.apache.commons.collections4.Trie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk load of all properties of a metadata file into an empty index
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class IndexBuildBenchmark {
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  private int numOfProperties;
+
+  private SuggestionServiceImpl service;
+  private Module module;
+  private SpringConfigurationMetadata metadata;
+
+  @Setup
+  public void setUp() {
+    service = new SuggestionServiceImpl();
+    module = BenchmarkFixture.newDumbModule();
+    metadata = BenchmarkFixture.parse(BenchmarkFixture.newGenerator(numOfProperties));
+  }
+
+  @Benchmark
+  public Trie<String, MetadataSuggestionNode> addPropertiesToIndex() {
+    return BenchmarkFixture.buildIndex(service, module, metadata);
+  }
+
+}
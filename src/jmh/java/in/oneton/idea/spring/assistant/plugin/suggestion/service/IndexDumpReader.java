@@ -0,0 +1,114 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadata;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataGroup;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataGson;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataHint;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataProperty;
+import lombok.Getter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.IndexDumpWriter.CONTAINERS;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.IndexDumpWriter.INDEX;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.IndexDumpWriter.KIND;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.IndexDumpWriter.KIND_GROUP;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.IndexDumpWriter.KIND_HINT;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.IndexDumpWriter.KIND_INDEX;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.IndexDumpWriter.KIND_PROPERTY;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.IndexDumpWriter.MODULES;
+
+/**
+ * Reads the dump written by {@link IndexDumpWriter} back into per container metadata, so that the indexes can be rebuilt (see {@link SuggestionServiceImpl#addToIndex}) exactly the way they were built from the original containers.
+ * <p>
+ * An entry that belongs to more than one container is added to the metadata of each of them, just like it would be present in the metadata file of each of them
+ */
+class IndexDumpReader {
+
+  private final Gson gson = SpringConfigurationMetadataGson.getInstance();
+  private final JsonParser parser = new JsonParser();
+
+  /**
+   * @param reader dump to read. Not closed by this method
+   * @return indexes in the order they appear in the dump
+   */
+  List<DumpedIndex> read(Reader reader) throws IOException {
+    Map<String, DumpedIndex> fingerprintToIndex = new LinkedHashMap<>();
+    BufferedReader bufferedReader = new BufferedReader(reader);
+    String line;
+    int lineNumber = 0;
+    while ((line = bufferedReader.readLine()) != null) {
+      lineNumber++;
+      if (line.trim().isEmpty()) {
+        continue;
+      }
+      JsonObject entry = parser.parse(line).getAsJsonObject();
+      String kind = entry.get(KIND).getAsString();
+      String classpathFingerprint = entry.get(INDEX).getAsString();
+      DumpedIndex index = fingerprintToIndex
+          .computeIfAbsent(classpathFingerprint, DumpedIndex::new);
+      if (kind.equals(KIND_INDEX)) {
+        entry.getAsJsonArray(MODULES)
+            .forEach(module -> index.modulesSharingIndex.add(module.getAsString()));
+        continue;
+      }
+      for (JsonElement container : entry.getAsJsonArray(CONTAINERS)) {
+        SpringConfigurationMetadata metadata = index.getOrCreateMetadata(container.getAsString());
+        JsonElement payload = entry.get(kind);
+        switch (kind) {
+          case KIND_GROUP:
+            metadata.getGroups().add(gson.fromJson(payload, SpringConfigurationMetadataGroup.class));
+            break;
+          case KIND_PROPERTY:
+            metadata.getProperties()
+                .add(gson.fromJson(payload, SpringConfigurationMetadataProperty.class));
+            break;
+          case KIND_HINT:
+            metadata.getHints().add(gson.fromJson(payload, SpringConfigurationMetadataHint.class));
+            break;
+          default:
+            throw new IOException("Unknown entry kind " + kind + " at line " + lineNumber);
+        }
+      }
+    }
+    return new ArrayList<>(fingerprintToIndex.values());
+  }
+
+  @Getter
+  static class DumpedIndex {
+    private final String classpathFingerprint;
+    private final Set<String> modulesSharingIndex = new TreeSet<>();
+    /**
+     * Container ref -> metadata, in the order the containers are first seen in the dump
+     */
+    private final Map<String, SpringConfigurationMetadata> containerRefToMetadata =
+        new LinkedHashMap<>();
+
+    DumpedIndex(String classpathFingerprint) {
+      this.classpathFingerprint = classpathFingerprint;
+    }
+
+    private SpringConfigurationMetadata getOrCreateMetadata(String containerRef) {
+      return containerRefToMetadata.computeIfAbsent(containerRef, k -> {
+        SpringConfigurationMetadata metadata = new SpringConfigurationMetadata();
+        metadata.setGroups(new ArrayList<>());
+        metadata.setProperties(new ArrayList<>());
+        metadata.setHints(new ArrayList<>());
+        return metadata;
+      });
+    }
+  }
+
+}
@@ -0,0 +1,93 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import com.intellij.openapi.module.Module;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataSuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadata;
+import org.apache.commons.collections4.Trie;
+import org.apache.commons.collections4.trie.PatriciaTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Rebuilds indexes from a dump exported via {@code Tools > Spring Assistant > Export Search Index...}, so that index shapes seen in production can be measured locally.
+ * <p>
+ * Usage: {@code ./gradlew jmh -Pjmh.include=IndexReplayBenchmark -Pjmh.dump=<path to dump>}. Without a dump, a dump of the synthetic index is replayed
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class IndexReplayBenchmark {
+
+  @Param("")
+  private String dumpFile;
+
+  private SuggestionServiceImpl service;
+  private Module module;
+  private List<IndexDumpReader.DumpedIndex> indexes;
+
+  @Setup
+  public void setUp() throws IOException {
+    service = new SuggestionServiceImpl();
+    module = BenchmarkFixture.newDumbModule();
+    if (dumpFile.isEmpty()) {
+      indexes = new IndexDumpReader().read(new StringReader(syntheticDump()));
+    } else {
+      try (Reader reader = new InputStreamReader(new FileInputStream(dumpFile), UTF_8)) {
+        indexes = new IndexDumpReader().read(reader);
+      }
+    }
+  }
+
+  /**
+   * Like {@link IndexBuildBenchmark}, metadata is reused across invocations. Index build only sorts the metadata & reassigns the same hints, neither of which affects the next invocation
+   */
+  @Benchmark
+  public void replay(Blackhole blackhole) {
+    for (IndexDumpReader.DumpedIndex index : indexes) {
+      Trie<String, MetadataSuggestionNode> rootSearchIndex = new PatriciaTrie<>();
+      index.getContainerRefToMetadata().forEach(
+          (containerRef, metadata) -> service
+              .addToIndex(module, rootSearchIndex, metadata, containerRef));
+      blackhole.consume(rootSearchIndex);
+    }
+  }
+
+  private String syntheticDump() throws IOException {
+    SpringConfigurationMetadata metadata =
+        BenchmarkFixture.parse(BenchmarkFixture.newGenerator(10000));
+    Trie<String, MetadataSuggestionNode> rootSearchIndex = new PatriciaTrie<>();
+    service.addToIndex(module, rootSearchIndex, metadata, BenchmarkFixture.CONTAINER);
+    StringWriter writer = new StringWriter();
+    IndexDumpWriter dumpWriter = new IndexDumpWriter(writer);
+    dumpWriter.startIndex("synthetic", Collections.singleton(module.getName()), false);
+    dumpWriter.writeIndex(rootSearchIndex);
+    dumpWriter.flush();
+    return writer.toString();
+  }
+
+}
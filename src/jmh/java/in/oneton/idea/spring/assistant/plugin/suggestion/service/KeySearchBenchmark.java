@@ -0,0 +1,59 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import com.intellij.codeInsight.lookup.LookupElementBuilder;
+import com.intellij.openapi.module.Module;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataSuggestionNode;
+import org.apache.commons.collections4.Trie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static in.oneton.idea.spring.assistant.plugin.suggestion.completion.FileType.yaml;
+
+/**
+ * Key completion for queries of increasing depth, from a single character typed at the top level to a prefix of the leaf segment. Includes conversion of the results to lookup elements, as done for every completion
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class KeySearchBenchmark {
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  private int numOfProperties;
+
+  @Param({"s", "spring.g", "spring.group-0.l", "spring.group-0.level-2.p"})
+  private String query;
+
+  private SuggestionServiceImpl service;
+  private Module module;
+  private Trie<String, MetadataSuggestionNode> rootSearchIndex;
+
+  @Setup
+  public void setUp() {
+    service = new SuggestionServiceImpl();
+    module = BenchmarkFixture.newDumbModule();
+    rootSearchIndex = BenchmarkFixture.buildIndex(service, module,
+        BenchmarkFixture.parse(BenchmarkFixture.newGenerator(numOfProperties)));
+  }
+
+  @Benchmark
+  public List<LookupElementBuilder> findKeySuggestionsForQueryPrefix() {
+    return service
+        .doFindSuggestionsForQueryPrefix(module, rootSearchIndex, yaml, null, null, query, null);
+  }
+
+}
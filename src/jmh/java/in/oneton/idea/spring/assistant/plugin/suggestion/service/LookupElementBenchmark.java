@@ -0,0 +1,62 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import com.intellij.openapi.module.Module;
+import in.oneton.idea.spring.assistant.plugin.suggestion.Suggestion;
+import in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataSuggestionNode;
+import org.apache.commons.collections4.Trie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.modifiableList;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.completion.FileType.yaml;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.SuggestionServiceImpl.toSanitizedPathSegments;
+
+/**
+ * Conversion of a typical result set of a key completion to lookup elements
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupElementBenchmark {
+
+  private List<Suggestion> suggestions;
+
+  @Setup
+  public void setUp() {
+    SuggestionServiceImpl service = new SuggestionServiceImpl();
+    Module module = BenchmarkFixture.newDumbModule();
+    Trie<String, MetadataSuggestionNode> rootSearchIndex = BenchmarkFixture
+        .buildIndex(service, module, BenchmarkFixture.parse(BenchmarkFixture.newGenerator(10000)));
+    MetadataSuggestionNode root = rootSearchIndex.get("spring");
+    List<SuggestionNode> matches = modifiableList(root);
+    Set<Suggestion> found = root.findKeySuggestionsForQueryPrefix(module, yaml, matches, 0,
+        toSanitizedPathSegments("spring.group-0.l"), 1);
+    suggestions = new ArrayList<>(found);
+  }
+
+  @Benchmark
+  public void newLookupElement(Blackhole blackhole) {
+    for (Suggestion suggestion : suggestions) {
+      blackhole.consume(suggestion.newLookupElement());
+    }
+  }
+
+}
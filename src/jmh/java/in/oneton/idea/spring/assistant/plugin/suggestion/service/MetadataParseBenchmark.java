@@ -0,0 +1,108 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.GsonPostProcessEnablingTypeFactory;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.InterningStringTypeAdapter;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadata;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataGson;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderType;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderTypeDeserializer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Parse throughput of a single metadata file. {@code megabytes} secondary result is the throughput in MB/s.
+ * <ul>
+ * <li>{@code gsonPerContainer} - gson built for every container & reflective binding, which is how metadata was parsed earlier</li>
+ * <li>{@code sharedReflective} - gson is shared, but binding is still reflective</li>
+ * <li>{@code shared} - {@link SpringConfigurationMetadataGson}, i.e shared gson with hand written adapters</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class MetadataParseBenchmark {
+
+  @Param({"1000", "20000"})
+  private int numOfProperties;
+
+  private byte[] metadataBytes;
+  private double metadataMegabytes;
+  private Gson sharedReflectiveGson;
+
+  @Setup
+  public void setUp() {
+    metadataBytes = BenchmarkFixture.newGenerator(numOfProperties).generate().toString()
+        .getBytes(UTF_8);
+    metadataMegabytes = metadataBytes.length / (1024.0 * 1024.0);
+    sharedReflectiveGson = newReflectiveGson();
+  }
+
+  @Benchmark
+  public SpringConfigurationMetadata gsonPerContainer(Throughput throughput) {
+    return parse(newReflectiveGson(), throughput);
+  }
+
+  @Benchmark
+  public SpringConfigurationMetadata sharedReflective(Throughput throughput) {
+    return parse(sharedReflectiveGson, throughput);
+  }
+
+  @Benchmark
+  public SpringConfigurationMetadata shared(Throughput throughput) {
+    return parse(SpringConfigurationMetadataGson.getInstance(), throughput);
+  }
+
+  private SpringConfigurationMetadata parse(Gson gson, Throughput throughput) {
+    SpringConfigurationMetadata metadata = gson
+        .fromJson(new InputStreamReader(new ByteArrayInputStream(metadataBytes), UTF_8),
+            SpringConfigurationMetadata.class);
+    throughput.megabytes += metadataMegabytes;
+    return metadata;
+  }
+
+  private static Gson newReflectiveGson() {
+    GsonBuilder gsonBuilder = new GsonBuilder();
+    gsonBuilder.registerTypeAdapter(SpringConfigurationMetadataValueProviderType.class,
+        new SpringConfigurationMetadataValueProviderTypeDeserializer());
+    gsonBuilder.registerTypeAdapter(String.class, new InterningStringTypeAdapter());
+    gsonBuilder.registerTypeAdapterFactory(new GsonPostProcessEnablingTypeFactory());
+    return gsonBuilder.create();
+  }
+
+  /**
+   * Counts the megabytes parsed, which JMH reports per second
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Throughput {
+    public double megabytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      megabytes = 0;
+    }
+  }
+
+}
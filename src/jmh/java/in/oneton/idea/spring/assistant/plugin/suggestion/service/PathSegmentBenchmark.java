@@ -0,0 +1,47 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of normalising keys, which happens for every property during indexing & for every query during completion
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathSegmentBenchmark {
+
+  @Param({"port", "server.servlet.context-path",
+      "spring.datasource.hikari.data-source-properties.cache_prep_stmts"})
+  private String key;
+
+  @Benchmark
+  public String sanitise() {
+    return SuggestionNode.sanitise(key);
+  }
+
+  @Benchmark
+  public String[] toSanitizedPathSegments() {
+    return SuggestionServiceImpl.toSanitizedPathSegments(key);
+  }
+
+  @Benchmark
+  public String[] toRawPathSegments() {
+    return SuggestionServiceImpl.toRawPathSegments(key);
+  }
+
+}
@@ -0,0 +1,67 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import com.intellij.openapi.module.Module;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataSuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.SyntheticMetadataGenerator;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadata;
+import org.apache.commons.collections4.Trie;
+import org.apache.commons.collections4.trie.PatriciaTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk load of sorted properties (see {@link PropertyBulkLoader}) vs inserting them one at a time from the root (see {@link IncrementalPropertyLoader}), for a container of the size of the larger starters
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class PropertyBulkLoadBenchmark {
+
+  @Param({"20000"})
+  private int numOfProperties;
+
+  @Param({"4", "8"})
+  private int nestingDepth;
+
+  private SuggestionServiceImpl service;
+  private Module module;
+  private SpringConfigurationMetadata metadata;
+
+  @Setup
+  public void setUp() {
+    service = new SuggestionServiceImpl();
+    module = BenchmarkFixture.newDumbModule();
+    metadata = BenchmarkFixture.parse(
+        SyntheticMetadataGenerator.builder().numOfProperties(numOfProperties)
+            .numOfGroups(numOfProperties / 200).nestingDepth(nestingDepth).build());
+  }
+
+  @Benchmark
+  public Trie<String, MetadataSuggestionNode> bulk() {
+    Trie<String, MetadataSuggestionNode> rootSearchIndex = new PatriciaTrie<>();
+    service.addPropertiesToIndex(module, rootSearchIndex, metadata, BenchmarkFixture.CONTAINER);
+    return rootSearchIndex;
+  }
+
+  @Benchmark
+  public Trie<String, MetadataSuggestionNode> incremental() {
+    Trie<String, MetadataSuggestionNode> rootSearchIndex = new PatriciaTrie<>();
+    IncrementalPropertyLoader.load(rootSearchIndex, metadata, BenchmarkFixture.CONTAINER);
+    return rootSearchIndex;
+  }
+
+}
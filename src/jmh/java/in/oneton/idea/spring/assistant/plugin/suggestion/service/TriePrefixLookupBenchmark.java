@@ -0,0 +1,84 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import org.apache.commons.collections4.trie.PatriciaTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode.sanitise;
+
+/**
+ * Prefix lookups of the kind done on every level of the index, using {@link PatriciaTrie} (what the index uses) against a {@link TreeMap} & a sorted array
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriePrefixLookupBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int numOfKeys;
+
+  @Param({"p", "property1"})
+  private String prefix;
+
+  private PatriciaTrie<Integer> trie;
+  private TreeMap<String, Integer> treeMap;
+  private String[] sortedKeys;
+
+  @Setup
+  public void setUp() {
+    trie = new PatriciaTrie<>();
+    treeMap = new TreeMap<>();
+    sortedKeys = new String[numOfKeys];
+    for (int i = 0; i < numOfKeys; i++) {
+      String key = sanitise("property-" + i);
+      trie.put(key, i);
+      treeMap.put(key, i);
+      sortedKeys[i] = key;
+    }
+    Arrays.sort(sortedKeys);
+  }
+
+  @Benchmark
+  public void patriciaTrie(Blackhole blackhole) {
+    for (Map.Entry<String, Integer> entry : trie.prefixMap(prefix).entrySet()) {
+      blackhole.consume(entry);
+    }
+  }
+
+  @Benchmark
+  public void treeMap(Blackhole blackhole) {
+    // every key with the prefix sorts before prefix + the highest char
+    for (Map.Entry<String, Integer> entry : treeMap.subMap(prefix, prefix + Character.MAX_VALUE)
+        .entrySet()) {
+      blackhole.consume(entry);
+    }
+  }
+
+  @Benchmark
+  public void sortedArray(Blackhole blackhole) {
+    int index = Arrays.binarySearch(sortedKeys, prefix);
+    for (int i = index < 0 ? -index - 1 : index;
+         i < sortedKeys.length && sortedKeys[i].startsWith(prefix); i++) {
+      blackhole.consume(sortedKeys[i]);
+    }
+  }
+
+}
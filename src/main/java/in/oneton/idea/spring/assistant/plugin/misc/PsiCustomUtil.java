@@ -80,6 +80,7 @@ import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeTy
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType.STRING;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType.UNDEFINED;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType.UNKNOWN_CLASS;
+import static java.util.Arrays.asList;
 import static java.util.Objects.requireNonNull;
 
 @UtilityClass
@@ -96,6 +97,8 @@ public class PsiCustomUtil {
       create("spring_assistant_plugin_firstParameterType");
   private static final Key<CachedValue<PsiType>> SPRING_ASSISTANT_PLUGIN_RETURN_TYPE_KEY =
       create("spring_assistant_plugin_returnType");
+  private static final Set<String> SPRING_CONFIG_FILE_EXTENSIONS =
+      new THashSet<>(asList("yml", "yaml", "properties"));
 
   @Nullable
   public static PsiType safeGetValidType(@NotNull Module module, @NotNull String fqn) {
@@ -182,6 +185,8 @@ public class PsiCustomUtil {
         } else if ("java.nio.charset.Charset".equals(psiClass.getQualifiedName())
             // charset is a string
             || "org.springframework.http.MediaType".equals(psiClass.getQualifiedName())
+            || "org.springframework.util.MimeType".equals(psiClass.getQualifiedName())
+            || "org.springframework.util.unit.DataSize".equals(psiClass.getQualifiedName())
             || "java.net.InetAddress".equals(psiClass.getQualifiedName()) // ip address or hostname
             || "java.net.URI".equals(psiClass.getQualifiedName()) // url
             || requireNonNull(psiClass.getQualifiedName()).startsWith("java.lang.Class")
@@ -588,6 +593,17 @@ public class PsiCustomUtil {
     return findModuleForFile(context.getFile().getVirtualFile(), context.getProject());
   }
 
+  /**
+   * @param file file to check
+   * @return true if the file is a spring boot config file, i.e application*.yml/yaml/properties (or) bootstrap*.yml/yaml/properties
+   */
+  public static boolean isSpringConfigFile(@NotNull VirtualFile file) {
+    String extension = file.getExtension();
+    String name = file.getNameWithoutExtension();
+    return extension != null && SPRING_CONFIG_FILE_EXTENSIONS.contains(extension) && (
+        name.startsWith("application") || name.startsWith("bootstrap"));
+  }
+
   @Nullable
   public static String computeDocumentation(PsiMember member) {
     PsiDocComment docComment;
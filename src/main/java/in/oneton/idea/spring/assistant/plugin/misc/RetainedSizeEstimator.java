@@ -0,0 +1,167 @@
+package in.oneton.idea.spring.assistant.plugin.misc;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiType;
+import in.oneton.idea.spring.assistant.plugin.suggestion.clazz.MetadataProxy;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.Buffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Walks the object graph reachable from the given roots & estimates the number of bytes retained by it. Assumes 64 bit JVM with compressed oops (the default for IDE heaps)
+ * <p>
+ * Objects that are not owned by the search index (PSI, IDE model, class proxies, enums, e.t.c) & memory mapped buffers are not counted. Objects reachable from more than one root are counted only once, so the same estimator can be used across roots of a single index
+ * <p>
+ * Only meant for diagnostics, as the walk is neither cheap nor exact
+ */
+public class RetainedSizeEstimator {
+
+  private static final int OBJECT_HEADER_SIZE = 12;
+  private static final int ARRAY_HEADER_SIZE = 16;
+  private static final int REFERENCE_SIZE = 4;
+  private static final int OBJECT_ALIGNMENT = 8;
+
+  private static final Class<?>[] EXCLUDED_TYPES =
+      {Class.class, ClassLoader.class, Thread.class, PsiElement.class, PsiType.class,
+          Module.class, Project.class, VirtualFile.class, MetadataProxy.class, Buffer.class};
+  private static final Map<Class<?>, List<Field>> typeToReferenceFields =
+      new ConcurrentHashMap<>();
+  private static final Map<Class<?>, Long> typeToShallowSize = new ConcurrentHashMap<>();
+
+  private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+  private long numOfObjects;
+
+  public long estimate(Object root) {
+    return estimate(root, value -> false);
+  }
+
+  /**
+   * Same as {@link #estimate(Object)}, but does not walk past the objects matching {@code isBoundary} (other than the root itself). Useful to attribute the size of a graph to its parts, i.e when the parts are estimated one after the other using the same estimator, each object is attributed to the first part it is reachable from
+   *
+   * @param root       object to start the walk from
+   * @param isBoundary objects that are neither counted nor walked
+   * @return estimated bytes retained by the objects not visited by earlier calls
+   */
+  public long estimate(Object root, Predicate<Object> isBoundary) {
+    long size = 0;
+    Deque<Object> pending = new ArrayDeque<>();
+    pending.push(root);
+    while (!pending.isEmpty()) {
+      Object current = pending.pop();
+      if ((current != root && isBoundary.test(current)) || !visited.add(current)) {
+        continue;
+      }
+      numOfObjects++;
+      Class<?> type = current.getClass();
+      if (type.isArray()) {
+        int length = Array.getLength(current);
+        Class<?> componentType = type.getComponentType();
+        size += align(ARRAY_HEADER_SIZE + (long) length * sizeOf(componentType));
+        if (!componentType.isPrimitive()) {
+          for (int i = 0; i < length; i++) {
+            pushIfOwned(pending, Array.get(current, i));
+          }
+        }
+      } else {
+        size += shallowSizeOf(type);
+        for (Field field : referenceFieldsOf(type)) {
+          try {
+            pushIfOwned(pending, field.get(current));
+          } catch (IllegalAccessException ignored) {
+            // field could not be made accessible, its retained size will not be part of the estimate
+          }
+        }
+      }
+    }
+    return size;
+  }
+
+  /**
+   * @return number of objects visited across all calls to {@link #estimate(Object)}
+   */
+  public long getNumOfObjects() {
+    return numOfObjects;
+  }
+
+  private static void pushIfOwned(Deque<Object> pending, Object value) {
+    if (value != null && !value.getClass().isEnum() && !isExcluded(value)) {
+      pending.push(value);
+    }
+  }
+
+  private static boolean isExcluded(Object value) {
+    for (Class<?> excludedType : EXCLUDED_TYPES) {
+      if (excludedType.isInstance(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static long shallowSizeOf(Class<?> type) {
+    return typeToShallowSize.computeIfAbsent(type, k -> {
+      long size = OBJECT_HEADER_SIZE;
+      for (Class<?> current = k; current != null; current = current.getSuperclass()) {
+        for (Field field : current.getDeclaredFields()) {
+          if (!Modifier.isStatic(field.getModifiers())) {
+            size += sizeOf(field.getType());
+          }
+        }
+      }
+      return align(size);
+    });
+  }
+
+  private static List<Field> referenceFieldsOf(Class<?> type) {
+    return typeToReferenceFields.computeIfAbsent(type, k -> {
+      List<Field> fields = new ArrayList<>();
+      for (Class<?> current = k; current != null; current = current.getSuperclass()) {
+        for (Field field : current.getDeclaredFields()) {
+          if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+            try {
+              field.setAccessible(true);
+              fields.add(field);
+            } catch (RuntimeException ignored) {
+              // not accessible, lets skip this field
+            }
+          }
+        }
+      }
+      return fields;
+    });
+  }
+
+  private static int sizeOf(Class<?> type) {
+    if (!type.isPrimitive()) {
+      return REFERENCE_SIZE;
+    } else if (type == long.class || type == double.class) {
+      return 8;
+    } else if (type == int.class || type == float.class) {
+      return 4;
+    } else if (type == short.class || type == char.class) {
+      return 2;
+    } else {
+      return 1;
+    }
+  }
+
+  private static long align(long size) {
+    return (size + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+  }
+
+}
@@ -0,0 +1,25 @@
+package in.oneton.idea.spring.assistant.plugin.misc;
+
+import com.google.common.collect.Interner;
+import lombok.experimental.UtilityClass;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.collect.Interners.newWeakInterner;
+
+/**
+ * Names, type names, source types, hint values & key segments are repeated across thousands of properties/groups of every module (& every open project). These are routed through this interner as they are parsed, so that each distinct value is held only once.
+ * <p>
+ * Interned values are weakly referenced, so they are reclaimed once no index refers to them
+ */
+@UtilityClass
+public class StringInterner {
+
+  private static final Interner<String> interner = newWeakInterner();
+
+  @Nullable
+  public static String intern(@Nullable String value) {
+    return value == null ? null : interner.intern(value);
+  }
+
+}
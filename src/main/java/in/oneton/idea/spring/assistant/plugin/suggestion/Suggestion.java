@@ -36,6 +36,7 @@ import static org.jetbrains.yaml.YAMLHighlighter.SCALAR_TEXT;
 @ToString
 public class Suggestion implements Comparable<Suggestion> {
   public static final String PERIOD_DELIMITER = "\\.";
+  private static final String STALE_MARKER = "(stale)";
 
   private static final LookupElementRenderer<LookupElement> CUSTOM_SUGGESTION_RENDERER =
       new LookupElementRenderer<LookupElement>() {
@@ -74,7 +75,12 @@ public class Suggestion implements Comparable<Suggestion> {
                     true);
           }
 
-          if (suggestion.shortType != null) {
+          if (suggestion.stale) {
+            presentation.setTypeText(suggestion.shortType != null ?
+                suggestion.shortType + " " + STALE_MARKER :
+                STALE_MARKER);
+            presentation.setTypeGrayed(true);
+          } else if (suggestion.shortType != null) {
             presentation.setTypeText(suggestion.shortType);
           }
         }
@@ -120,6 +126,10 @@ public class Suggestion implements Comparable<Suggestion> {
   private FileType fileType;
   @Nullable
   private Icon icon;
+  /**
+   * Whether the suggestion depends on class metadata that could not be consulted (IDE is indexing) when the suggestion is built. Type/icon/children of such suggestions might be inaccurate
+   */
+  private boolean stale;
 
   private String pathDotDelimitedRootToLeaf;
 
@@ -128,7 +138,8 @@ public class Suggestion implements Comparable<Suggestion> {
       @Nullable String shortType, @Nullable String defaultValue,
       @Nullable SpringConfigurationMetadataDeprecationLevel deprecationLevel,
       @NotNull List<? extends SuggestionNode> matchesTopFirst, int numOfAncestors, boolean forValue,
-      boolean representingDefaultValue, @NotNull FileType fileType, @Nullable Icon icon) {
+      boolean representingDefaultValue, @NotNull FileType fileType, @Nullable Icon icon,
+      boolean stale) {
     this.suggestionToDisplay = suggestionToDisplay;
     this.description = description;
     this.shortType = shortType;
@@ -140,6 +151,7 @@ public class Suggestion implements Comparable<Suggestion> {
     this.representingDefaultValue = representingDefaultValue;
     this.fileType = fileType;
     this.icon = icon;
+    this.stale = stale;
     this.pathDotDelimitedRootToLeaf =
         matchesTopFirst.stream().map(SuggestionNode::getOriginalName).collect(joining("."));
   }
@@ -147,7 +159,10 @@ public class Suggestion implements Comparable<Suggestion> {
   public LookupElementBuilder newLookupElement() {
     LookupElementBuilder builder = LookupElementBuilder.create(this, suggestionToDisplay);
     if (forValue) {
-      if (description != null) {
+      if (stale) {
+        builder = builder.withTypeText(
+            description != null ? description + " " + STALE_MARKER : STALE_MARKER, true);
+      } else if (description != null) {
         builder = builder.withTypeText(description, true);
       }
       if (representingDefaultValue) {
@@ -0,0 +1,68 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.action;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import in.oneton.idea.spring.assistant.plugin.suggestion.service.SuggestionService;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import static com.intellij.openapi.progress.ProgressManager.getInstance;
+import static com.intellij.openapi.ui.Messages.showErrorDialog;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Exports all search indexes of the project as NDJSON, for offline analysis & for replaying them in the benchmarks
+ */
+public class ExportSearchIndexAction extends AnAction {
+
+  private static final Logger log = Logger.getInstance(ExportSearchIndexAction.class);
+
+  @Override
+  public void update(AnActionEvent e) {
+    e.getPresentation().setEnabledAndVisible(e.getProject() != null);
+  }
+
+  @Override
+  public void actionPerformed(AnActionEvent e) {
+    Project project = e.getProject();
+    if (project == null) {
+      return;
+    }
+
+    FileSaverDescriptor descriptor = new FileSaverDescriptor("Export Search Index",
+        "Exports groups, properties & hints of all search indexes, one json object per line",
+        "ndjson");
+    VirtualFileWrapper fileWrapper = FileChooserFactory.getInstance()
+        .createSaveFileDialog(descriptor, project).save(null, "spring-assistant-index.ndjson");
+    if (fileWrapper == null) {
+      return;
+    }
+
+    File file = fileWrapper.getFile();
+    SuggestionService service = SuggestionService.getInstance(project);
+    Ref<IOException> failure = Ref.create();
+    getInstance().runProcessWithProgressSynchronously(() -> {
+      try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), UTF_8)) {
+        service.exportIndexes(project, writer);
+      } catch (IOException ex) {
+        failure.set(ex);
+      }
+    }, "Exporting Search Index", false, project);
+    if (!failure.isNull()) {
+      log.warn("Unable to export search index to " + file, failure.get());
+      showErrorDialog(project, "Unable to export search index: " + failure.get().getMessage(),
+          "Spring Assistant - Export Search Index");
+    }
+  }
+
+}
@@ -0,0 +1,78 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.action;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Ref;
+import in.oneton.idea.spring.assistant.plugin.suggestion.service.IndexMemoryUsageReport;
+import in.oneton.idea.spring.assistant.plugin.suggestion.service.ModuleIndexMemoryUsage;
+import in.oneton.idea.spring.assistant.plugin.suggestion.service.SuggestionService;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+import static com.intellij.openapi.progress.ProgressManager.getInstance;
+import static com.intellij.openapi.ui.Messages.showInfoMessage;
+import static com.intellij.openapi.util.text.StringUtil.formatFileSize;
+import static java.lang.String.join;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Reports the (estimated) memory retained by the search index of each module, along with how many of these indexes are built vs shared
+ */
+public class ShowIndexMemoryUsageAction extends AnAction {
+
+  @Override
+  public void update(AnActionEvent e) {
+    e.getPresentation().setEnabledAndVisible(e.getProject() != null);
+  }
+
+  @Override
+  public void actionPerformed(AnActionEvent e) {
+    Project project = e.getProject();
+    if (project == null) {
+      return;
+    }
+
+    SuggestionService service = SuggestionService.getInstance(project);
+    Ref<IndexMemoryUsageReport> reportRef = Ref.create();
+    boolean completed = getInstance().runProcessWithProgressSynchronously(
+        () -> reportRef.set(service.computeIndexMemoryUsage(project)),
+        "Estimating Search Index Memory", true, project);
+    if (completed) {
+      showInfoMessage(project, toReport(reportRef.get()), "Spring Assistant - Search Index Memory");
+    }
+  }
+
+  @NotNull
+  private String toReport(IndexMemoryUsageReport report) {
+    List<ModuleIndexMemoryUsage> usages = report.getModuleUsages();
+    if (usages.isEmpty()) {
+      return "No search indexes are built for this project yet";
+    }
+    StringBuilder builder = new StringBuilder();
+    builder.append(report.getNumOfIndexesInUse()).append(" distinct index(es) in use across ")
+        .append(report.getNumOfModulesWithIndex()).append(" module(s). ")
+        .append(report.getNumOfIndexesBuiltInLastRun())
+        .append(" built from scratch during the last indexing run, rest shared\n\n");
+    for (ModuleIndexMemoryUsage usage : usages) {
+      builder.append(usage.getModuleName()).append(": ")
+          .append(formatFileSize(usage.getEstimatedRetainedBytes())).append(" (")
+          .append(usage.getRetention().name().toLowerCase()).append(", ")
+          .append(usage.getNumOfRootNodes()).append(" root node(s), ")
+          .append(usage.getNumOfObjects()).append(" object(s))");
+      if (usage.getMappedIndexBytes() != 0) {
+        builder.append(" + ").append(formatFileSize(usage.getMappedIndexBytes()))
+            .append(" mapped");
+      }
+      List<String> otherModules = usage.getModulesSharingIndex().stream()
+          .filter(moduleName -> !moduleName.equals(usage.getModuleName())).collect(toList());
+      if (!otherModules.isEmpty()) {
+        builder.append(", shared with ").append(join(", ", otherModules));
+      }
+      builder.append("\n");
+    }
+    return builder.toString();
+  }
+
+}
@@ -0,0 +1,156 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.action;
+
+import com.google.gson.GsonBuilder;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import in.oneton.idea.spring.assistant.plugin.suggestion.service.IndexShape;
+import in.oneton.idea.spring.assistant.plugin.suggestion.service.IndexShapeReport;
+import in.oneton.idea.spring.assistant.plugin.suggestion.service.SuggestionService;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Map;
+
+import static com.intellij.openapi.progress.ProgressManager.getInstance;
+import static com.intellij.openapi.ui.Messages.showErrorDialog;
+import static com.intellij.openapi.util.text.StringUtil.formatFileSize;
+import static java.lang.String.join;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reports the shape (node counts per container, fan-out & depth distribution) & memory breakdown of each search index, with an option to export the full report as CSV or JSON
+ */
+public class ShowIndexShapeAction extends AnAction {
+
+  private static final Logger log = Logger.getInstance(ShowIndexShapeAction.class);
+
+  private static final String TITLE = "Spring Assistant - Search Index Shape";
+
+  @Override
+  public void update(AnActionEvent e) {
+    e.getPresentation().setEnabledAndVisible(e.getProject() != null);
+  }
+
+  @Override
+  public void actionPerformed(AnActionEvent e) {
+    Project project = e.getProject();
+    if (project == null) {
+      return;
+    }
+
+    SuggestionService service = SuggestionService.getInstance(project);
+    Ref<IndexShapeReport> reportRef = Ref.create();
+    boolean completed = getInstance().runProcessWithProgressSynchronously(
+        () -> reportRef.set(service.computeIndexShape(project)),
+        "Analysing Search Index", true, project);
+    if (completed) {
+      int choice = Messages.showDialog(project, toSummary(reportRef.get()), TITLE,
+          new String[] {"Export...", "Close"}, 1, Messages.getInformationIcon());
+      if (choice == 0) {
+        export(project, reportRef.get());
+      }
+    }
+  }
+
+  @NotNull
+  private String toSummary(IndexShapeReport report) {
+    StringBuilder builder = new StringBuilder();
+    if (report.getIndexes().isEmpty()) {
+      builder.append("No search indexes are built for this project yet\n");
+    }
+    for (IndexShape shape : report.getIndexes()) {
+      builder.append(join(", ", shape.getModulesSharingIndex())).append(" (")
+          .append(shape.getRetention().name().toLowerCase())
+          .append(shape.isMapped() ? ", mapped, root level only" : "").append("): ")
+          .append(shape.getNumOfNodes()).append(" node(s), ")
+          .append(shape.getNumOfPropertyNodes()).append(" propert(y/ies), ")
+          .append(shape.getContainerToNumOfNodes().size()).append(" container(s), max depth ")
+          .append(shape.getDepthToNumOfNodes().isEmpty() ?
+              0 :
+              shape.getDepthToNumOfNodes().lastKey()).append(", ")
+          .append(formatFileSize(shape.getTotalBytes())).append(" (nodes ")
+          .append(formatFileSize(shape.getNodeBytes())).append(", tries ")
+          .append(formatFileSize(shape.getTrieBytes())).append(", belongs to ")
+          .append(formatFileSize(shape.getBelongsToBytes())).append(", payloads ")
+          .append(formatFileSize(shape.getPayloadBytes())).append(")\n");
+    }
+    builder.append("Materialized class metadata instances: ")
+        .append(report.getNumOfMaterializedClassMetadata());
+    return builder.toString();
+  }
+
+  private void export(Project project, IndexShapeReport report) {
+    FileSaverDescriptor descriptor = new FileSaverDescriptor("Export Search Index Shape",
+        "Export as csv or json, depending on the extension of the file", "csv", "json");
+    VirtualFileWrapper fileWrapper = FileChooserFactory.getInstance()
+        .createSaveFileDialog(descriptor, project).save(null, "spring-assistant-index-shape.csv");
+    if (fileWrapper != null) {
+      File file = fileWrapper.getFile();
+      try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), UTF_8)) {
+        if (file.getName().endsWith(".json")) {
+          new GsonBuilder().setPrettyPrinting().create().toJson(report, writer);
+        } else {
+          writeCsv(report, new PrintWriter(writer));
+        }
+      } catch (IOException ex) {
+        log.warn("Unable to export search index shape to " + file, ex);
+        showErrorDialog(project, "Unable to export search index shape: " + ex.getMessage(), TITLE);
+      }
+    }
+  }
+
+  /**
+   * Writes the report in long format, i.e one row per value, so that it can be pivoted as needed
+   */
+  private void writeCsv(IndexShapeReport report, PrintWriter writer) {
+    writer.println("modules,metric,key,value");
+    for (IndexShape shape : report.getIndexes()) {
+      String modules = join(";", shape.getModulesSharingIndex());
+      writeCsvRow(writer, modules, "retention", "", shape.getRetention().name().toLowerCase());
+      writeCsvRow(writer, modules, "mapped", "", shape.isMapped());
+      writeCsvRow(writer, modules, "nodes", "", shape.getNumOfNodes());
+      writeCsvRow(writer, modules, "property_nodes", "", shape.getNumOfPropertyNodes());
+      writeCsvRows(writer, modules, "container_nodes", shape.getContainerToNumOfNodes());
+      writeCsvRows(writer, modules, "fan_out", shape.getFanOutToNumOfNodes());
+      writeCsvRows(writer, modules, "depth", shape.getDepthToNumOfNodes());
+      writeCsvRow(writer, modules, "retained_bytes", "nodes", shape.getNodeBytes());
+      writeCsvRow(writer, modules, "retained_bytes", "tries", shape.getTrieBytes());
+      writeCsvRow(writer, modules, "retained_bytes", "belongs_to", shape.getBelongsToBytes());
+      writeCsvRow(writer, modules, "retained_bytes", "payloads", shape.getPayloadBytes());
+    }
+    writeCsvRow(writer, "", "materialized_class_metadata", "",
+        report.getNumOfMaterializedClassMetadata());
+    writer.flush();
+  }
+
+  private void writeCsvRows(PrintWriter writer, String modules, String metric,
+      Map<?, Integer> keyToValue) {
+    keyToValue.forEach((key, value) -> writeCsvRow(writer, modules, metric, key, value));
+  }
+
+  private void writeCsvRow(PrintWriter writer, String modules, String metric, Object key,
+      Object value) {
+    writer.println(
+        escapeCsv(modules) + "," + metric + "," + escapeCsv(key.toString()) + "," + value);
+  }
+
+  private static String escapeCsv(String value) {
+    if (value.indexOf(',') != -1 || value.indexOf('"') != -1) {
+      return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+    return value;
+  }
+
+}
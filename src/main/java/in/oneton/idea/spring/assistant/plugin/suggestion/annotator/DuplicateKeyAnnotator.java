@@ -2,30 +2,206 @@ package in.oneton.idea.spring.assistant.plugin.suggestion.annotator;
 
 import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.lang.annotation.Annotator;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import gnu.trove.THashMap;
+import in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.service.SuggestionService;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.yaml.psi.YAMLDocument;
+import org.jetbrains.yaml.psi.YAMLFile;
+import org.jetbrains.yaml.psi.YAMLKeyValue;
 import org.jetbrains.yaml.psi.YAMLMapping;
+import org.jetbrains.yaml.psi.YAMLSequence;
+import org.jetbrains.yaml.psi.YAMLSequenceItem;
+import org.jetbrains.yaml.psi.YAMLValue;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.intellij.psi.util.CachedValueProvider.Result.create;
+import static com.intellij.psi.util.CachedValuesManager.getCachedValue;
+import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.modifiableList;
+import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.findModule;
+import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.isSpringConfigFile;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode.sanitise;
+import static java.util.Collections.emptyMap;
 
 /**
- * Finds {@link YAMLMapping}s with duplicated keys.
+ * Finds keys of spring config files that are duplicated within a document, including the duplicates that are written in different forms, say {@code server.port} & {@code server:\n  port} or {@code server.context-path} & {@code server.contextPath} (as spring binds both to the same property).
+ * <p>
+ * Every key is reduced to its canonical path (dotted keys expanded, see {@link KeyPath}) in a single pass over the file & the keys found to be duplicates are cached against the file & the search index till either changes. So, annotating each key is a lookup, irrespective of the size of the file
  */
 public class DuplicateKeyAnnotator implements Annotator {
 
+  private static final String MERGE_KEY = "<<";
+
   @Override
   public void annotate(@NotNull final PsiElement element,
       @NotNull final AnnotationHolder annotationHolder) {
-    if (element instanceof YAMLMapping) {
-      // TODO: Fix
-      //      final YAMLMapping mapping = (YAMLMapping) element;
-      //      final Collection<YAMLKeyValue> keyValues = mapping.getKeyValues();
-      //      final Set<String> existingKeys = new THashSet<>(keyValues.size());
-      //      for (final YAMLKeyValue keyValue : keyValues) {
-      //        if (keyValue.getKey() != null && !existingKeys.add(keyValue.getKeyText().trim())) {
-      //          annotationHolder.createErrorAnnotation(keyValue.getKey(),
-      //              "Duplicated PROPERTY '" + keyValue.getKeyText() + "'")
-      //              .registerFix(new DeletePropertyIntentionAction());
-      //        }
-      //      }
+    if (element instanceof YAMLKeyValue) {
+      YAMLKeyValue keyValue = (YAMLKeyValue) element;
+      PsiElement key = keyValue.getKey();
+      if (key != null) {
+        String duplicatedPath = findDuplicateKeyValues(keyValue.getContainingFile()).get(keyValue);
+        if (duplicatedPath != null) {
+          annotationHolder.createErrorAnnotation(key, "Duplicate key '" + duplicatedPath + "'");
+        }
+      }
     }
   }
+
+  /**
+   * @return key value -> canonical path, for all the key values that share their canonical path with another key of the same document
+   */
+  private static Map<YAMLKeyValue, String> findDuplicateKeyValues(PsiFile file) {
+    VirtualFile virtualFile = file.getOriginalFile().getVirtualFile();
+    if (!(file instanceof YAMLFile) || virtualFile == null || !isSpringConfigFile(virtualFile)) {
+      return emptyMap();
+    }
+    Project project = file.getProject();
+    Module module = findModule(file);
+    SuggestionService service = SuggestionService.getInstance(project);
+    return getCachedValue(file, () -> {
+      // without an index (or while the live index is updated in place), keys are compared as they are written. Open files are highlighted again once the indexing run completes
+      Map<String, ? extends SuggestionNode> rootNodes =
+          module == null || service.isIndexingInProgress() ?
+              null :
+              service.getRootNodes(project, module);
+      Map<YAMLKeyValue, String> duplicateToPath = new THashMap<>();
+      for (YAMLDocument document : ((YAMLFile) file).getDocuments()) {
+        // documents are activated independently (say per profile), so keys can repeat across them
+        collectDuplicates(module, document.getTopLevelValue(), KeyPath.root(rootNodes),
+            new THashMap<>(), duplicateToPath);
+      }
+      return create(duplicateToPath, file, service.getIndexModificationTracker());
+    });
+  }
+
+  /**
+   * @param value              value whose keys are to be checked
+   * @param parentPath         path of the value
+   * @param leafPathToKeyValue canonical path -> first leaf key value with the path, for the leaf keys seen so far in the document
+   * @param duplicateToPath    collects the duplicates
+   */
+  private static void collectDuplicates(@Nullable Module module, @Nullable YAMLValue value,
+      KeyPath parentPath, Map<String, YAMLKeyValue> leafPathToKeyValue,
+      Map<YAMLKeyValue, String> duplicateToPath) {
+    if (value instanceof YAMLMapping) {
+      Map<String, YAMLKeyValue> siblingPathToKeyValue = new THashMap<>();
+      for (YAMLKeyValue keyValue : ((YAMLMapping) value).getKeyValues()) {
+        String keyText = keyValue.getKeyText();
+        if (keyValue.getKey() == null || MERGE_KEY.equals(keyText)) {
+          continue;
+        }
+        KeyPath keyPath = parentPath.child(module, keyText);
+        String path = keyPath.path;
+        YAMLValue childValue = keyValue.getValue();
+        markIfDuplicate(siblingPathToKeyValue, path, keyValue, duplicateToPath);
+        // a nested mapping can legitimately continue a path that is shared with other keys, say `server:` & `server.ssl:`, as long as it is not a literal sibling
+        if (!(childValue instanceof YAMLMapping)) {
+          markIfDuplicate(leafPathToKeyValue, path, keyValue, duplicateToPath);
+        }
+        collectDuplicates(module, childValue, keyPath, leafPathToKeyValue, duplicateToPath);
+      }
+    } else if (value instanceof YAMLSequence) {
+      List<YAMLSequenceItem> items = ((YAMLSequence) value).getItems();
+      for (int i = 0; i < items.size(); i++) {
+        collectDuplicates(module, items.get(i).getValue(), parentPath.item(i),
+            leafPathToKeyValue, duplicateToPath);
+      }
+    }
+  }
+
+  private static void markIfDuplicate(Map<String, YAMLKeyValue> pathToFirstKeyValue, String path,
+      YAMLKeyValue keyValue, Map<YAMLKeyValue, String> duplicateToPath) {
+    YAMLKeyValue firstKeyValue = pathToFirstKeyValue.putIfAbsent(path, keyValue);
+    if (firstKeyValue != null) {
+      duplicateToPath.put(firstKeyValue, path);
+      duplicateToPath.put(keyValue, path);
+    }
+  }
+
+  /**
+   * Path of a key. Segments are sanitised (as spring binds their relaxed forms to the same property) only as long as they resolve to groups of the search index & for the property segment itself. Keys below a property (say logger names under {@code logging.level} or hibernate properties under {@code spring.jpa.properties}) are map keys that are bound as they are, so they are kept as written, as are the segments that cannot be resolved
+   */
+  private static class KeyPath {
+    private final String path;
+    @Nullable
+    private final Map<String, ? extends SuggestionNode> rootNodes;
+    /**
+     * Nodes from the root till the group the path resolved to. Null for the root path & once the path is no longer resolved
+     */
+    @Nullable
+    private final List<SuggestionNode> matchesRootTillGroup;
+    private final boolean resolved;
+
+    private KeyPath(String path, @Nullable Map<String, ? extends SuggestionNode> rootNodes,
+        @Nullable List<SuggestionNode> matchesRootTillGroup, boolean resolved) {
+      this.path = path;
+      this.rootNodes = rootNodes;
+      this.matchesRootTillGroup = matchesRootTillGroup;
+      this.resolved = resolved;
+    }
+
+    static KeyPath root(@Nullable Map<String, ? extends SuggestionNode> rootNodes) {
+      return new KeyPath("", rootNodes, null, rootNodes != null);
+    }
+
+    KeyPath child(@Nullable Module module, String keyText) {
+      StringBuilder builder = new StringBuilder(path);
+      List<SuggestionNode> matches = matchesRootTillGroup;
+      boolean childResolved = resolved;
+      for (String segment : keyText.split("\\.")) {
+        if (builder.length() != 0) {
+          builder.append('.');
+        }
+        if (childResolved) {
+          String sanitisedSegment = sanitise(segment);
+          matches = resolve(module, matches, sanitisedSegment);
+          builder.append(matches != null ? sanitisedSegment : segment);
+          childResolved =
+              matches != null && matches.get(matches.size() - 1).isMetadataNonProperty();
+        } else {
+          builder.append(segment);
+        }
+      }
+      return new KeyPath(builder.toString(), rootNodes, childResolved ? matches : null,
+          childResolved);
+    }
+
+    /**
+     * Items of a sequence belong to a property, so nothing below them is resolved
+     */
+    KeyPath item(int index) {
+      return new KeyPath(path + "[" + index + "]", rootNodes, null, false);
+    }
+
+    /**
+     * @return nodes from the root till the node the segment resolved to, or null if it cannot be resolved
+     */
+    @Nullable
+    private List<SuggestionNode> resolve(@Nullable Module module,
+        @Nullable List<SuggestionNode> matchesRootTillParentNode, String sanitisedSegment) {
+      if (matchesRootTillParentNode == null) {
+        SuggestionNode rootNode = rootNodes != null ? rootNodes.get(sanitisedSegment) : null;
+        return rootNode != null ? modifiableList(rootNode) : null;
+      }
+      if (module == null) {
+        return null;
+      }
+      SuggestionNode parentNode =
+          matchesRootTillParentNode.get(matchesRootTillParentNode.size() - 1);
+      // nodes append to the list they are given, so lets leave the list of the parent (shared by the siblings) untouched
+      return parentNode
+          .findDeepestSuggestionNode(module, new ArrayList<>(matchesRootTillParentNode),
+              new String[] {sanitisedSegment}, 0);
+    }
+  }
+
 }
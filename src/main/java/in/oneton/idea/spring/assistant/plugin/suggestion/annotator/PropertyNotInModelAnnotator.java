@@ -2,35 +2,171 @@ package in.oneton.idea.spring.assistant.plugin.suggestion.annotator;
 
 import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.lang.annotation.Annotator;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import gnu.trove.THashSet;
+import in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.service.SuggestionService;
+import org.apache.commons.lang.time.StopWatch;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.yaml.YAMLUtil;
+import org.jetbrains.yaml.psi.YAMLDocument;
+import org.jetbrains.yaml.psi.YAMLFile;
 import org.jetbrains.yaml.psi.YAMLKeyValue;
 import org.jetbrains.yaml.psi.YAMLMapping;
+import org.jetbrains.yaml.psi.YAMLValue;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.intellij.openapi.project.DumbService.isDumb;
+import static com.intellij.psi.util.CachedValueProvider.Result.create;
+import static com.intellij.psi.util.CachedValuesManager.getCachedValue;
+import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.modifiableList;
+import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.findModule;
+import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.isSpringConfigFile;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode.sanitise;
+import static java.util.Collections.emptySet;
 
 /**
- * Finds {@link YAMLKeyValue}s with {@link YAMLMapping}s as values, and finds the corresponding schema model. Marks any child properties within the mapping which do not exist in the model as an error.
+ * Marks keys of spring config files that do not correspond to any group/property known to the search index of the module as warnings.
+ * <p>
+ * All keys of the file are resolved in a single pass, against a single view of the index: a cursor walks down the yaml tree & every key is resolved from the nodes its parent key resolved to, rather than searching the whole path from the root for every key. So, a pass over the file is linear in the number of keys. Unknown keys are cached against the file & the index, so annotating each key is a lookup. No key is reported while an indexing run is in progress, as the index is being updated in place.
+ * <p>
+ * Keys are checked only as long as they are within groups (or) are the properties themselves. Children of a property (map keys, members of the property type) depend on class metadata that can legitimately be incomplete (say, while indexing/for unresolved types), so they are not checked
  */
 public class PropertyNotInModelAnnotator implements Annotator {
 
+  private static final Logger log = Logger.getInstance(PropertyNotInModelAnnotator.class);
+
+  private static final String MERGE_KEY = "<<";
+
   @Override
   public void annotate(@NotNull final PsiElement element,
       @NotNull final AnnotationHolder annotationHolder) {
-    // TODO: Fix this
-    //    final ModelProvider modelProvider = ModelProvider.INSTANCE;
-    //    final ResourceTypeKey resourceKey = KubernetesYamlPsiUtil.findResourceKey(element);
-    //    if (resourceKey != null && element instanceof YAMLKeyValue) {
-    //      final YAMLKeyValue keyValue = (YAMLKeyValue) element;
-    //      final Model model = KubernetesYamlPsiUtil.modelForKey(modelProvider, resourceKey, keyValue);
-    //      if (keyValue.getValue() instanceof YAMLMapping && model != null) {
-    //        final YAMLMapping mapping = (YAMLMapping) keyValue.getValue();
-    //        final Set<String> expectedProperties = model.getProperties().keySet();
-    //        //noinspection ConstantConditions
-    //        mapping.getKeyValues().stream()
-    //            .filter(k -> !expectedProperties.contains(k.getKeyText().trim())).forEach(
-    //            k -> annotationHolder.createWarningAnnotation(k.getKey(),
-    //                "SpringConfigurationMetadataProperty '" + k.getKeyText()
-    //                    + "' is not expected here.").registerFix(new DeletePropertyIntentionAction()));
-    //      }
-    //    }
+    if (element instanceof YAMLKeyValue) {
+      YAMLKeyValue keyValue = (YAMLKeyValue) element;
+      PsiElement key = keyValue.getKey();
+      if (key != null && findUnknownKeyValues(keyValue.getContainingFile()).contains(keyValue)) {
+        annotationHolder.createWarningAnnotation(key,
+            "Cannot resolve configuration property '" + YAMLUtil.getConfigFullName(keyValue)
+                + "'");
+      }
+    }
   }
+
+  private static Set<YAMLKeyValue> findUnknownKeyValues(PsiFile file) {
+    VirtualFile virtualFile = file.getOriginalFile().getVirtualFile();
+    if (!(file instanceof YAMLFile) || virtualFile == null || !isSpringConfigFile(virtualFile)) {
+      return emptySet();
+    }
+    Project project = file.getProject();
+    Module module = findModule(file);
+    // type of the properties cannot be resolved while the IDE is indexing, so lets not guess
+    if (module == null || isDumb(project)) {
+      return emptySet();
+    }
+    SuggestionService service = SuggestionService.getInstance(project);
+    return getCachedValue(file, () -> {
+      Set<YAMLKeyValue> unknownKeyValues = new THashSet<>();
+      // live index is updated in place while indexing, so lets not walk it till the run completes, when the tracker changes & open files are highlighted again
+      Map<String, ? extends SuggestionNode> rootNodes =
+          service.isIndexingInProgress() ? null : service.getRootNodes(project, module);
+      if (rootNodes != null && !rootNodes.isEmpty()) {
+        StopWatch timer = new StopWatch();
+        timer.start();
+        for (YAMLDocument document : ((YAMLFile) file).getDocuments()) {
+          YAMLValue topLevelValue = document.getTopLevelValue();
+          if (topLevelValue instanceof YAMLMapping) {
+            collectUnknown(module, rootNodes, (YAMLMapping) topLevelValue, null,
+                unknownKeyValues);
+          }
+        }
+        timer.stop();
+        debug(() -> log.debug(
+            "Resolving keys of " + file.getName() + " took " + timer.toString() + ". Found "
+                + unknownKeyValues.size() + " unknown keys"));
+      }
+      return create(unknownKeyValues, file, service.getIndexModificationTracker());
+    });
+  }
+
+  /**
+   * @param mapping                   mapping whose keys are to be checked
+   * @param matchesRootTillParentNode nodes the key holding the mapping resolved to, or null if the mapping is the top level value of a document
+   * @param unknownKeyValues          collects the keys that cannot be resolved
+   */
+  private static void collectUnknown(Module module,
+      Map<String, ? extends SuggestionNode> rootNodes, YAMLMapping mapping,
+      @Nullable List<SuggestionNode> matchesRootTillParentNode,
+      Set<YAMLKeyValue> unknownKeyValues) {
+    for (YAMLKeyValue keyValue : mapping.getKeyValues()) {
+      String keyText = keyValue.getKeyText();
+      if (keyValue.getKey() == null || MERGE_KEY.equals(keyText)) {
+        continue;
+      }
+      List<SuggestionNode> matchesRootTillMe =
+          resolve(module, rootNodes, matchesRootTillParentNode, keyText.split("\\."));
+      if (matchesRootTillMe == null) {
+        unknownKeyValues.add(keyValue);
+      } else {
+        YAMLValue value = keyValue.getValue();
+        SuggestionNode deepestMatch = matchesRootTillMe.get(matchesRootTillMe.size() - 1);
+        if (value instanceof YAMLMapping && deepestMatch.isMetadataNonProperty()) {
+          collectUnknown(module, rootNodes, (YAMLMapping) value, matchesRootTillMe,
+              unknownKeyValues);
+        }
+      }
+    }
+  }
+
+  /**
+   * Resolves the (possibly dot delimited) key one segment at a time, starting from the nodes its parent key resolved to. Once a segment resolves to a property, rest of the segments are accepted without resolving them
+   *
+   * @return nodes from the root till the deepest node the key resolved to, or null if any segment within the groups cannot be resolved
+   */
+  @Nullable
+  private static List<SuggestionNode> resolve(Module module,
+      Map<String, ? extends SuggestionNode> rootNodes,
+      @Nullable List<SuggestionNode> matchesRootTillParentNode, String[] rawPathSegments) {
+    List<SuggestionNode> matches;
+    int segmentIndex = 0;
+    if (matchesRootTillParentNode == null) {
+      SuggestionNode rootNode = rootNodes.get(sanitise(rawPathSegments[0]));
+      if (rootNode == null) {
+        return null;
+      }
+      matches = modifiableList(rootNode);
+      segmentIndex = 1;
+    } else {
+      // nodes append to the list they are given, so lets leave the list of the parent (shared by the siblings) untouched
+      matches = new ArrayList<>(matchesRootTillParentNode);
+    }
+    for (; segmentIndex < rawPathSegments.length; segmentIndex++) {
+      SuggestionNode deepestMatch = matches.get(matches.size() - 1);
+      if (!deepestMatch.isMetadataNonProperty()) {
+        break;
+      }
+      matches = deepestMatch.findDeepestSuggestionNode(module, matches,
+          new String[] {sanitise(rawPathSegments[segmentIndex])}, 0);
+      if (matches == null) {
+        return null;
+      }
+    }
+    return matches;
+  }
+
+  private static void debug(Runnable doWhenDebug) {
+    if (log.isDebugEnabled()) {
+      doWhenDebug.run();
+    }
+  }
+
 }
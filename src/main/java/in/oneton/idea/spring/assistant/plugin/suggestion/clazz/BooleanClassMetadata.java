@@ -25,6 +25,8 @@ import static com.intellij.util.containers.ContainerUtil.isEmpty;
 import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.dotDelimitedOriginalNames;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType.BOOLEAN;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType.ENUM;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.CompletionDiagnostics.time;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.Phase.SUGGESTION_CONSTRUCTION;
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
 import static java.lang.String.valueOf;
@@ -108,9 +110,9 @@ public class BooleanClassMetadata extends ClassMetadata {
     SortedMap<String, Boolean> matchesMap = childrenTrie.prefixMap(prefix);
     if (!isEmpty(matchesMap)) {
       Stream<Boolean> matchStream = getMatchStreamAfterExclusion(matchesMap, siblingsToExclude);
-      return matchStream.map(
+      return time(SUGGESTION_CONSTRUCTION, () -> matchStream.map(
           val -> newSuggestion(fileType, matchesRootTillMe, matchesRootTillMe.size(), true, val))
-          .collect(toCollection(TreeSet::new));
+          .collect(toCollection(TreeSet::new)));
     }
     return null;
   }
@@ -14,6 +14,7 @@ import in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode;
 import in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType;
 import in.oneton.idea.spring.assistant.plugin.suggestion.completion.FileType;
 import in.oneton.idea.spring.assistant.plugin.suggestion.completion.SuggestionDocumentationHelper;
+import in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.CompletionDiagnostics;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nullable;
@@ -30,6 +31,7 @@ import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.toValidP
 import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.typeToFqn;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType.UNKNOWN_CLASS;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.clazz.ClassSuggestionNodeFactory.newClassMetadata;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.Phase.CLASS_METADATA_RESOLUTION;
 import static java.util.Objects.requireNonNull;
 
 public class ClassMetadataProxy implements MetadataProxy {
@@ -166,21 +168,26 @@ public class ClassMetadataProxy implements MetadataProxy {
   }
 
   private ClassMetadata getTarget(Module module) {
-    String fqn = typeToFqn(module, type);
-    if (fqn != null) {
-      String userDataKeyRef = "spring_assistant_plugin_class_metadata:" + fqn;
-      Key<CachedValue<ClassMetadata>> classMetadataKey =
-          ConcurrencyUtil.cacheOrGet(fqnToKey, userDataKeyRef, Key.create(userDataKeyRef));
-      return getCachedValue(targetClass, classMetadataKey, () -> {
-        log.debug("Creating metadata instance for " + userDataKeyRef);
-        Set<PsiClass> dependencies = computeDependencies(module, type);
-        if (dependencies != null) {
-          return create(newClassMetadata(type), dependencies);
-        }
-        return null;
-      });
+    long resolutionStart = CompletionDiagnostics.start();
+    try {
+      String fqn = typeToFqn(module, type);
+      if (fqn != null) {
+        String userDataKeyRef = "spring_assistant_plugin_class_metadata:" + fqn;
+        Key<CachedValue<ClassMetadata>> classMetadataKey =
+            ConcurrencyUtil.cacheOrGet(fqnToKey, userDataKeyRef, Key.create(userDataKeyRef));
+        return getCachedValue(targetClass, classMetadataKey, () -> {
+          log.debug("Creating metadata instance for " + userDataKeyRef);
+          Set<PsiClass> dependencies = computeDependencies(module, type);
+          if (dependencies != null) {
+            return create(newClassMetadata(type), dependencies);
+          }
+          return null;
+        });
+      }
+      return null;
+    } finally {
+      CompletionDiagnostics.record(CLASS_METADATA_RESOLUTION, resolutionStart);
     }
-    return null;
   }
 
 
@@ -9,13 +9,43 @@ import in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType;
 import lombok.experimental.UtilityClass;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
 import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.getBoxedTypeFromPrimitiveType;
 import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.getSuggestionNodeType;
+import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.toClassFqn;
 
 @UtilityClass
 public final class ClassSuggestionNodeFactory {
 
+  /**
+   * Class metadata instances that are still reachable (i.e cached against their PSI classes). Only used for diagnostics
+   */
+  private static final Set<ClassMetadata> materializedClassMetadata =
+      Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+  /**
+   * @return number of class metadata instances that are materialized & are not yet reclaimed by GC
+   */
+  public static int getNumOfMaterializedClassMetadata() {
+    return materializedClassMetadata.size();
+  }
+
   static ClassMetadata newClassMetadata(@NotNull PsiType type) {
+    ClassMetadata classMetadata = doNewClassMetadata(type);
+    materializedClassMetadata.add(classMetadata);
+    return classMetadata;
+  }
+
+  private static ClassMetadata doNewClassMetadata(@NotNull PsiType type) {
+    if (type instanceof PsiClassType) {
+      WellKnownValueTable wellKnownValues = WellKnownValueTables.forType(toClassFqn(type));
+      if (wellKnownValues != null) {
+        return new WellKnownValuesClassMetadata((PsiClassType) type, wellKnownValues);
+      }
+    }
     SuggestionNodeType nodeType = getSuggestionNodeType(type);
     switch (nodeType) {
       case BOOLEAN:
@@ -35,6 +35,8 @@ import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.toClassN
 import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.toValidPsiClass;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode.sanitise;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType.ENUM;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.CompletionDiagnostics.time;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.Phase.SUGGESTION_CONSTRUCTION;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.handler.YamlValueInsertHandler.unescapeValue;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toCollection;
@@ -136,9 +138,11 @@ public class EnumClassMetadata extends ClassMetadata {
     if (childrenTrie != null && childLookup != null) {
       SortedMap<String, PsiField> prefixMap = childrenTrie.prefixMap(prefix);
       if (!isEmpty(prefixMap)) {
-        return getMatchStreamAfterExclusions(childLookup, prefixMap.values(), siblingsToExclude)
-            .map(psiField -> newSuggestion(fileType, matchesRootTillMe, matchesRootTillMe.size(),
-                true, psiField)).collect(toCollection(TreeSet::new));
+        return time(SUGGESTION_CONSTRUCTION,
+            () -> getMatchStreamAfterExclusions(childLookup, prefixMap.values(), siblingsToExclude)
+                .map(psiField -> newSuggestion(fileType, matchesRootTillMe,
+                    matchesRootTillMe.size(), true, psiField))
+                .collect(toCollection(TreeSet::new)));
       }
     }
     return null;
@@ -26,6 +26,8 @@ import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.newListWit
 import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.getSanitisedPropertyToPsiMemberWrapper;
 import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.isValidType;
 import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.toValidPsiClass;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.CompletionDiagnostics.time;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.Phase.SUGGESTION_CONSTRUCTION;
 import static java.util.Collections.unmodifiableList;
 import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
@@ -149,10 +151,10 @@ public class GenericClassMetadata extends ClassMetadata {
             boolean lastQuerySegment =
                 querySegmentPrefixStartIndex == (querySegmentPrefixes.length - 1);
             if (lastQuerySegment) {
-              return wrappers.stream().map(wrapper -> wrapper
+              return time(SUGGESTION_CONSTRUCTION, () -> wrappers.stream().map(wrapper -> wrapper
                   .buildSuggestionForKey(module, fileType,
                       unmodifiableList(newListWithMembers(matchesRootTillParentNode, wrapper)),
-                      numOfAncestors)).collect(toCollection(TreeSet::new));
+                      numOfAncestors)).collect(toCollection(TreeSet::new)));
             } else {
               SortedSet<Suggestion> suggestions = null;
               for (GenericClassMemberWrapper wrapper : wrappers) {
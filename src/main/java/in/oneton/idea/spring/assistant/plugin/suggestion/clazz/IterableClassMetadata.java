@@ -20,6 +20,8 @@ import java.util.TreeSet;
 import static com.intellij.util.containers.ContainerUtil.isEmpty;
 import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.newListWithMembers;
 import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.getComponentType;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.CompletionDiagnostics.time;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.Phase.SUGGESTION_CONSTRUCTION;
 import static java.util.stream.Collectors.toCollection;
 
 public class IterableClassMetadata extends ClassMetadata {
@@ -112,14 +114,14 @@ public class IterableClassMetadata extends ClassMetadata {
       Collection<? extends SuggestionDocumentationHelper> matches =
           delegate.findDirectChildrenForQueryPrefix(module, querySegmentPrefix, siblingsToExclude);
       if (!isEmpty(matches)) {
-        return matches.stream().map(helper -> {
+        return time(SUGGESTION_CONSTRUCTION, () -> matches.stream().map(helper -> {
           // TODO: Need to identify a better mechanism than this dirty way. Probably use ClassSuggestionNode as return type for findDirectChildrenForQueryPrefix
           // since we are in an iterable(multiple values), keys would be requested, only if the object we are referring is not a leaf => GenericClassWrapper
           assert helper instanceof SuggestionNode;
           List<SuggestionNode> rootTillMe = newListWithMembers(matchesRootTillParentNode,
               new IterableKeySuggestionNode((SuggestionNode) helper));
           return helper.buildSuggestionForKey(module, fileType, rootTillMe, numOfAncestors);
-        }).collect(toCollection(TreeSet::new));
+        }).collect(toCollection(TreeSet::new)));
       }
       return null;
     }, null);
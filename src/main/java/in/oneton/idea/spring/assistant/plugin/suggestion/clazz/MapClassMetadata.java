@@ -27,6 +27,8 @@ import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.isValidT
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType.MAP;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType.UNKNOWN_CLASS;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.clazz.ClassSuggestionNodeFactory.newMetadataProxy;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.CompletionDiagnostics.time;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.Phase.SUGGESTION_CONSTRUCTION;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toCollection;
 
@@ -118,9 +120,10 @@ public class MapClassMetadata extends ClassMetadata {
         Collection<? extends SuggestionDocumentationHelper> matches =
             proxy.findDirectChildrenForQueryPrefix(module, querySegmentPrefix, siblingsToExclude);
         if (!isEmpty(matches)) {
-          return matches.stream().map(helper -> helper.buildSuggestionForKey(module, fileType,
-              newListWithMembers(matchesRootTillParentNode, new MapKeySuggestionNode(helper)),
-              numOfAncestors)).collect(toCollection(TreeSet::new));
+          return time(SUGGESTION_CONSTRUCTION, () -> matches.stream().map(
+              helper -> helper.buildSuggestionForKey(module, fileType,
+                  newListWithMembers(matchesRootTillParentNode, new MapKeySuggestionNode(helper)),
+                  numOfAncestors)).collect(toCollection(TreeSet::new)));
         }
         return null;
       });
@@ -0,0 +1,93 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.clazz;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode.sanitise;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+
+/**
+ * Immutable, prefix searchable set of the values of a well known type (say charset names for {@code java.nio.charset.Charset}), matched ignoring case, {@code -} & {@code _}. Values are held in a sorted array, so a search is a binary search followed by a scan of the matches.
+ * <p>
+ * For types whose values are an amount followed by a unit (say {@code 10s} for {@code java.time.Duration}), the table holds the units & the amount typed so far is carried over to the suggestions
+ */
+class WellKnownValueTable {
+
+  /**
+   * Values sorted by their sanitised form, with {@link #sanitisedValues} at the same positions. When multiple values sanitise to the same form, the first one wins
+   */
+  private final String[] values;
+  private final String[] sanitisedValues;
+  private final boolean unitsOfAmount;
+
+  private WellKnownValueTable(Collection<String> values, boolean unitsOfAmount) {
+    TreeMap<String, String> sanitisedValueToValue = new TreeMap<>();
+    for (String value : values) {
+      sanitisedValueToValue.putIfAbsent(sanitise(value), value);
+    }
+    this.values = sanitisedValueToValue.values().toArray(new String[0]);
+    this.sanitisedValues = sanitisedValueToValue.keySet().toArray(new String[0]);
+    this.unitsOfAmount = unitsOfAmount;
+  }
+
+  static WellKnownValueTable of(Collection<String> values) {
+    return new WellKnownValueTable(values, false);
+  }
+
+  /**
+   * @param units units that can follow the amount
+   */
+  static WellKnownValueTable ofUnits(String... units) {
+    return new WellKnownValueTable(asList(units), true);
+  }
+
+  /**
+   * @return matching values in ascending order of their sanitised form. For units, each match is prefixed with the amount in the given prefix & nothing matches till an amount is typed
+   */
+  List<String> findWithPrefix(String prefix) {
+    String amount = unitsOfAmount ? toAmount(prefix) : "";
+    if (unitsOfAmount && amount.isEmpty()) {
+      return emptyList();
+    }
+    String sanitisedPrefix = sanitise(prefix.substring(amount.length()));
+    List<String> matches = new ArrayList<>();
+    for (int i = lowerBound(sanitisedPrefix);
+         i < sanitisedValues.length && sanitisedValues[i].startsWith(sanitisedPrefix); i++) {
+      matches.add(amount + values[i]);
+    }
+    return matches;
+  }
+
+  /**
+   * @return leading (optionally signed) digits of the given value, empty if there are none
+   */
+  private static String toAmount(String value) {
+    int end = !value.isEmpty() && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+    int digitsStart = end;
+    while (end < value.length() && Character.isDigit(value.charAt(end))) {
+      end++;
+    }
+    return end == digitsStart ? "" : value.substring(0, end);
+  }
+
+  /**
+   * @return index of the first sanitised value that is not less than the given key
+   */
+  private int lowerBound(String key) {
+    int low = 0;
+    int high = sanitisedValues.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (sanitisedValues[mid].compareTo(key) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+}
@@ -0,0 +1,67 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.clazz;
+
+import gnu.trove.THashMap;
+import lombok.experimental.UtilityClass;
+
+import javax.annotation.Nullable;
+import java.nio.charset.Charset;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static java.util.Arrays.asList;
+import static java.util.Arrays.stream;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Value tables of the types whose values are known upfront. Each table is built on first use & is retained for rest of the IDE session, as the values depend only on the JDK/Spring & not on the project.
+ * <p>
+ * Charsets, locales & zones are the ones known to the JVM the IDE runs on, which are usually the same as the ones known to the JVM the application runs on
+ */
+@UtilityClass
+final class WellKnownValueTables {
+
+  private static final String[] MEDIA_TYPES =
+      {"*/*", "application/atom+xml", "application/cbor", "application/x-www-form-urlencoded",
+          "application/json", "application/octet-stream", "application/pdf",
+          "application/problem+json", "application/problem+xml", "application/rss+xml",
+          "application/stream+json", "application/x-ndjson", "application/xhtml+xml",
+          "application/xml", "image/gif", "image/jpeg", "image/png", "multipart/form-data",
+          "multipart/mixed", "multipart/related", "text/event-stream", "text/html",
+          "text/markdown", "text/plain", "text/xml"};
+
+  private static final Map<String, Supplier<WellKnownValueTable>> fqnToTableBuilder =
+      new THashMap<>();
+  private static final Map<String, WellKnownValueTable> fqnToTable = new ConcurrentHashMap<>();
+
+  static {
+    fqnToTableBuilder.put("java.nio.charset.Charset",
+        () -> WellKnownValueTable.of(Charset.availableCharsets().keySet()));
+    fqnToTableBuilder.put("java.util.Locale", () -> WellKnownValueTable.of(
+        stream(Locale.getAvailableLocales()).map(Locale::toString)
+            .filter(locale -> !locale.isEmpty()).collect(toList())));
+    fqnToTableBuilder
+        .put("java.time.ZoneId", () -> WellKnownValueTable.of(ZoneId.getAvailableZoneIds()));
+    fqnToTableBuilder.put("org.springframework.util.MimeType",
+        () -> WellKnownValueTable.of(asList(MEDIA_TYPES)));
+    fqnToTableBuilder.put("org.springframework.http.MediaType",
+        () -> WellKnownValueTable.of(asList(MEDIA_TYPES)));
+    // units as understood by spring boot's simple duration & data size formats
+    fqnToTableBuilder.put("java.time.Duration",
+        () -> WellKnownValueTable.ofUnits("ns", "us", "ms", "s", "m", "h", "d"));
+    fqnToTableBuilder.put("org.springframework.util.unit.DataSize",
+        () -> WellKnownValueTable.ofUnits("B", "KB", "MB", "GB", "TB"));
+  }
+
+  /**
+   * @return value table of the given type, or null if the values of the type are not known upfront
+   */
+  @Nullable
+  static WellKnownValueTable forType(@Nullable String fqn) {
+    Supplier<WellKnownValueTable> tableBuilder = fqn != null ? fqnToTableBuilder.get(fqn) : null;
+    return tableBuilder != null ? fqnToTable.computeIfAbsent(fqn, key -> tableBuilder.get()) : null;
+  }
+
+}
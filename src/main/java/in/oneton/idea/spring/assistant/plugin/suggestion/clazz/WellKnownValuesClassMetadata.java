@@ -0,0 +1,220 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.clazz;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiType;
+import in.oneton.idea.spring.assistant.plugin.suggestion.Suggestion;
+import in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType;
+import in.oneton.idea.spring.assistant.plugin.suggestion.completion.FileType;
+import in.oneton.idea.spring.assistant.plugin.suggestion.completion.SuggestionDocumentationHelper;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static com.intellij.codeInsight.documentation.DocumentationManager.createHyperlink;
+import static com.intellij.openapi.util.text.StringUtil.isEmpty;
+import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.dotDelimitedOriginalNames;
+import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.toClassFqn;
+import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.toClassNonQualifiedName;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType.STRING;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType.VALUES;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.CompletionDiagnostics.time;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.Phase.SUGGESTION_CONSTRUCTION;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Represents types that are written as strings, but whose values are known upfront (say charsets, locales, zones, media types & units of durations/data sizes). Values are served from the {@link WellKnownValueTable} of the type, so neither PSI nor the members of the class are consulted for suggestions.
+ * <p>
+ * Values outside the table are still acceptable (say a charset that is not known to the JVM the IDE runs on), so the node behaves like a string otherwise
+ */
+public class WellKnownValuesClassMetadata extends ClassMetadata {
+
+  @NotNull
+  private final PsiClassType type;
+  @NotNull
+  private final WellKnownValueTable table;
+
+  WellKnownValuesClassMetadata(@NotNull PsiClassType type, @NotNull WellKnownValueTable table) {
+    this.type = type;
+    this.table = table;
+  }
+
+  @Override
+  protected void init(Module module) {
+  }
+
+  @Nullable
+  @Override
+  protected SuggestionDocumentationHelper doFindDirectChild(Module module, String pathSegment) {
+    return !isEmpty(pathSegment) ? new WellKnownValueKeySuggestionDocumentationHelper(pathSegment) :
+        null;
+  }
+
+  @Override
+  protected Collection<? extends SuggestionDocumentationHelper> doFindDirectChildrenForQueryPrefix(
+      Module module, String querySegmentPrefix) {
+    return doFindDirectChildrenForQueryPrefix(module, querySegmentPrefix, null);
+  }
+
+  @Override
+  protected Collection<? extends SuggestionDocumentationHelper> doFindDirectChildrenForQueryPrefix(
+      Module module, String querySegmentPrefix, @Nullable Set<String> siblingsToExclude) {
+    List<String> matches = table.findWithPrefix(querySegmentPrefix);
+    if (!matches.isEmpty()) {
+      return getMatchStreamAfterExclusion(matches, siblingsToExclude)
+          .map(WellKnownValueKeySuggestionDocumentationHelper::new).collect(toList());
+    }
+    return null;
+  }
+
+  @Nullable
+  @Override
+  protected List<SuggestionNode> doFindDeepestSuggestionNode(Module module,
+      List<SuggestionNode> matchesRootTillParentNode, String[] pathSegments,
+      int pathSegmentStartIndex) {
+    throw new IllegalAccessError(
+        "Should not be called. To use as a map key call findDirectChild(..) instead");
+  }
+
+  @Nullable
+  @Override
+  protected SortedSet<Suggestion> doFindKeySuggestionsForQueryPrefix(Module module,
+      FileType fileType, List<SuggestionNode> matchesRootTillParentNode, int numOfAncestors,
+      String[] querySegmentPrefixes, int querySegmentPrefixStartIndex) {
+    throw new IllegalAccessError(
+        "Should not be called. To use as a map key call findDirectChild(..) instead");
+  }
+
+  @Nullable
+  @Override
+  protected SortedSet<Suggestion> doFindKeySuggestionsForQueryPrefix(Module module,
+      FileType fileType, List<SuggestionNode> matchesRootTillParentNode, int numOfAncestors,
+      String[] querySegmentPrefixes, int querySegmentPrefixStartIndex,
+      @Nullable Set<String> siblingsToExclude) {
+    throw new IllegalAccessError(
+        "Should not be called. To use as a map key call findDirectChild(..) instead");
+  }
+
+  @Override
+  protected SortedSet<Suggestion> doFindValueSuggestionsForPrefix(Module module, FileType fileType,
+      List<SuggestionNode> matchesRootTillMe, String prefix,
+      @Nullable Set<String> siblingsToExclude) {
+    List<String> matches = table.findWithPrefix(prefix);
+    if (!matches.isEmpty()) {
+      return time(SUGGESTION_CONSTRUCTION,
+          () -> getMatchStreamAfterExclusion(matches, siblingsToExclude).map(
+              value -> newSuggestion(fileType, matchesRootTillMe, matchesRootTillMe.size(), true,
+                  value)).collect(toCollection(TreeSet::new)));
+    }
+    return null;
+  }
+
+  @Nullable
+  @Override
+  protected String doGetDocumentationForValue(Module module, String nodeNavigationPathDotDelimited,
+      String originalValue) {
+    return getDocumentation(nodeNavigationPathDotDelimited) + "<p>" + originalValue + "</p>";
+  }
+
+  @Override
+  public boolean doCheckIsLeaf(Module module) {
+    return true;
+  }
+
+  /**
+   * Values are written as strings, so lets have the rest of the plugin (say value insertion) treat this as a string
+   */
+  @NotNull
+  @Override
+  public SuggestionNodeType getSuggestionNodeType() {
+    return STRING;
+  }
+
+  @NotNull
+  @Override
+  public PsiType getPsiType(Module module) {
+    return type;
+  }
+
+  private String getDocumentation(String nodeNavigationPathDotDelimited) {
+    StringBuilder builder =
+        new StringBuilder().append("<b>").append(nodeNavigationPathDotDelimited).append("</b>");
+    String classFqn = toClassFqn(type);
+    if (classFqn != null) {
+      StringBuilder linkBuilder = new StringBuilder();
+      createHyperlink(linkBuilder, classFqn, classFqn, false);
+      builder.append(" (").append(linkBuilder.toString()).append(")");
+    }
+    return builder.toString();
+  }
+
+  private Stream<String> getMatchStreamAfterExclusion(List<String> matches,
+      @Nullable Set<String> siblingsToExclude) {
+    if (siblingsToExclude != null) {
+      return matches.stream().filter(value -> !siblingsToExclude.contains(value));
+    }
+    return matches.stream();
+  }
+
+  private Suggestion newSuggestion(FileType fileType, List<SuggestionNode> matchesRootTillMe,
+      int numOfAncestors, boolean forValue, String value) {
+    Suggestion.SuggestionBuilder builder =
+        Suggestion.builder().numOfAncestors(numOfAncestors).matchesTopFirst(matchesRootTillMe)
+            .shortType(toClassNonQualifiedName(type)).icon(VALUES.getIcon()).fileType(fileType);
+    if (forValue) {
+      builder.suggestionToDisplay(value);
+    } else {
+      builder.suggestionToDisplay(dotDelimitedOriginalNames(matchesRootTillMe, numOfAncestors));
+    }
+    builder.forValue(forValue);
+    return builder.build();
+  }
+
+  private class WellKnownValueKeySuggestionDocumentationHelper
+      implements SuggestionDocumentationHelper {
+    private final String value;
+
+    WellKnownValueKeySuggestionDocumentationHelper(String value) {
+      this.value = value;
+    }
+
+    @Nullable
+    @Override
+    public String getOriginalName() {
+      return value;
+    }
+
+    @NotNull
+    @Override
+    public Suggestion buildSuggestionForKey(Module module, FileType fileType,
+        List<SuggestionNode> matchesRootTillMe, int numOfAncestors) {
+      return newSuggestion(fileType, matchesRootTillMe, numOfAncestors, false, value);
+    }
+
+    @Override
+    public boolean supportsDocumentation() {
+      return true;
+    }
+
+    @NotNull
+    @Override
+    public String getDocumentationForKey(Module module, String nodeNavigationPathDotDelimited) {
+      return getDocumentation(nodeNavigationPathDotDelimited);
+    }
+
+    @NotNull
+    @Override
+    public SuggestionNodeType getSuggestionNodeType(Module module) {
+      return STRING;
+    }
+  }
+
+}
@@ -2,10 +2,14 @@ package in.oneton.idea.spring.assistant.plugin.suggestion.completion;
 
 import com.intellij.codeInsight.completion.CompletionContributor;
 import com.intellij.codeInsight.completion.CompletionType;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.patterns.PlatformPatterns;
 import org.jetbrains.yaml.YAMLLanguage;
 
-public class YamlCompletionContributor extends CompletionContributor {
+/**
+ * Dumb aware, as suggestions can be served from the metadata alone while the IDE is indexing. Suggestions that depend on class metadata would be marked as stale in this case
+ */
+public class YamlCompletionContributor extends CompletionContributor implements DumbAware {
 
   public YamlCompletionContributor() {
     extend(CompletionType.BASIC, PlatformPatterns.psiElement().withLanguage(YAMLLanguage.INSTANCE),
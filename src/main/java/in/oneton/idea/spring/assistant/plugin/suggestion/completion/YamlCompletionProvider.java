@@ -11,6 +11,7 @@ import com.intellij.psi.PsiComment;
 import com.intellij.psi.PsiElement;
 import com.intellij.util.ProcessingContext;
 import gnu.trove.THashSet;
+import in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.CompletionDiagnostics;
 import in.oneton.idea.spring.assistant.plugin.suggestion.service.SuggestionService;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -28,6 +29,7 @@ import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.truncateId
 import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.findModule;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode.sanitise;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.completion.FileType.yaml;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.Phase.CONTEXT_EXTRACTION;
 import static java.util.Objects.requireNonNull;
 
 class YamlCompletionProvider extends CompletionProvider<CompletionParameters> {
@@ -35,6 +37,7 @@ class YamlCompletionProvider extends CompletionProvider<CompletionParameters> {
   protected void addCompletions(@NotNull final CompletionParameters completionParameters,
       final ProcessingContext processingContext, @NotNull final CompletionResultSet resultSet) {
 
+    long contextExtractionStart = CompletionDiagnostics.start();
     PsiElement element = completionParameters.getPosition();
     if (element instanceof PsiComment) {
       return;
@@ -99,6 +102,7 @@ class YamlCompletionProvider extends CompletionProvider<CompletionParameters> {
       context = requireNonNull(context).getParent();
     } while (context != null);
 
+    CompletionDiagnostics.record(CONTEXT_EXTRACTION, contextExtractionStart);
     suggestions = service
         .findSuggestionsForQueryPrefix(project, module, yaml, element, ancestralKeys,
             queryWithDotDelimitedPrefixes, siblingsToExclude);
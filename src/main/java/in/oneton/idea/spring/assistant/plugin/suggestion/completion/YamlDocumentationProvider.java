@@ -12,6 +12,7 @@ import com.intellij.psi.PsiManager;
 import com.intellij.psi.impl.light.LightElement;
 import in.oneton.idea.spring.assistant.plugin.suggestion.Suggestion;
 import in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.CompletionDiagnostics;
 import in.oneton.idea.spring.assistant.plugin.suggestion.service.SuggestionService;
 import lombok.ToString;
 import org.jetbrains.annotations.NotNull;
@@ -25,6 +26,7 @@ import java.util.List;
 import static com.intellij.lang.java.JavaLanguage.INSTANCE;
 import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.truncateIdeaDummyIdentifier;
 import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.findModule;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.Phase.DOCUMENTATION;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.joining;
 
@@ -37,13 +39,19 @@ public class YamlDocumentationProvider extends AbstractDocumentationProvider {
 
       // Intermediate nodes will not have documentation
       if (target != null && target.supportsDocumentation()) {
-        Module module = findModule(element);
-        if (proxyElement.requestedForTargetValue) {
-          return target
-              .getDocumentationForValue(module, proxyElement.nodeNavigationPathDotDelimited,
-                  proxyElement.value);
-        } else {
-          return target.getDocumentationForKey(module, proxyElement.nodeNavigationPathDotDelimited);
+        long documentationStart = CompletionDiagnostics.start();
+        try {
+          Module module = findModule(element);
+          if (proxyElement.requestedForTargetValue) {
+            return target
+                .getDocumentationForValue(module, proxyElement.nodeNavigationPathDotDelimited,
+                    proxyElement.value);
+          } else {
+            return target
+                .getDocumentationForKey(module, proxyElement.nodeNavigationPathDotDelimited);
+          }
+        } finally {
+          CompletionDiagnostics.record(DOCUMENTATION, documentationStart);
         }
       }
     }
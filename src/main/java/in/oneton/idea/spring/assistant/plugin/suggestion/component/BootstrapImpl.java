@@ -6,14 +6,25 @@ import com.intellij.openapi.compiler.CompileScope;
 import com.intellij.openapi.components.ProjectComponent;
 import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileEditor.FileEditorManagerEvent;
+import com.intellij.openapi.fileEditor.FileEditorManagerListener;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.ModuleListener;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.Function;
 import com.intellij.util.messages.MessageBusConnection;
 import in.oneton.idea.spring.assistant.plugin.suggestion.service.SuggestionService;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.util.List;
 
+import static com.intellij.ProjectTopics.MODULES;
 import static com.intellij.openapi.compiler.CompilerTopics.COMPILATION_STATUS;
+import static com.intellij.openapi.fileEditor.FileEditorManagerListener.FILE_EDITOR_MANAGER;
+import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.isSpringConfigFile;
 
 public class BootstrapImpl implements Bootstrap, ProjectComponent {
 
@@ -85,12 +96,69 @@ public class BootstrapImpl implements Bootstrap, ProjectComponent {
     } catch (Throwable e) {
       log.error("Failed to subscribe to compilation events for project " + project.getName(), e);
     }
+
+    try {
+      debug(() -> log.debug(
+          "Subscribing to module & editor events for project " + project.getName()));
+      connection.subscribe(MODULES, new ModuleListener() {
+        @Override
+        public void moduleAdded(@NotNull Project project, @NotNull Module module) {
+
+        }
+
+        @Override
+        public void beforeModuleRemoved(@NotNull Project project, @NotNull Module module) {
+
+        }
+
+        @Override
+        public void moduleRemoved(@NotNull Project project, @NotNull Module module) {
+          service.evict(project, module.getName());
+        }
+
+        @Override
+        public void modulesRenamed(@NotNull Project project, @NotNull List<Module> modules,
+            @NotNull Function<Module, String> oldNameProvider) {
+          // Index is keyed by module name. Lets drop the reference held by the old name & let the renamed module pick up the index again
+          modules.forEach(module -> service.evict(project, oldNameProvider.fun(module)));
+          service.reindex(project, modules.toArray(new Module[0]));
+        }
+      });
+      connection.subscribe(FILE_EDITOR_MANAGER, new FileEditorManagerListener() {
+        @Override
+        public void fileOpened(@NotNull FileEditorManager source, @NotNull VirtualFile file) {
+          if (isSpringConfigFile(file)) {
+            service.updateIndexRetention(project);
+          }
+        }
+
+        @Override
+        public void fileClosed(@NotNull FileEditorManager source, @NotNull VirtualFile file) {
+          if (isSpringConfigFile(file)) {
+            service.updateIndexRetention(project);
+          }
+        }
+
+        @Override
+        public void selectionChanged(@NotNull FileEditorManagerEvent event) {
+
+        }
+      });
+      debug(() -> log.debug("Subscribed to module & editor events for project " + project
+          .getName()));
+    } catch (Throwable e) {
+      log.error("Failed to subscribe to module & editor events for project " + project.getName(),
+          e);
+    }
   }
 
   @Override
   public void projectClosed() {
-    // TODO: Need to remove current project from index
-    connection.disconnect();
+    debug(() -> log.debug("Project " + project.getName() + " is closed, releasing search indexes"));
+    SuggestionService.getInstance(project).evictAll(project);
+    if (connection != null) {
+      connection.disconnect();
+    }
   }
 
   @Override
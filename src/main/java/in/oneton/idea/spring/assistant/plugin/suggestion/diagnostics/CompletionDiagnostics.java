@@ -0,0 +1,65 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Always on timings of the phases of completion & documentation, shown in the diagnostics tool window.
+ * <p>
+ * Usage is
+ * <pre>{@code
+ * long start = CompletionDiagnostics.start();
+ * try {
+ *   ...
+ * } finally {
+ *   CompletionDiagnostics.record(Phase.INDEX_LOOKUP, start);
+ * }
+ * }</pre>
+ * or {@code CompletionDiagnostics.time(Phase.SUGGESTION_CONSTRUCTION, () -> ...)} for a computation that is a single expression.
+ * <p>
+ * Timings are application wide, as the phases are the same irrespective of the project they run for
+ */
+@UtilityClass
+public class CompletionDiagnostics {
+
+  private static final Map<Phase, PhaseStats> phaseToStats = new EnumMap<>(Phase.class);
+
+  static {
+    for (Phase phase : Phase.values()) {
+      phaseToStats.put(phase, new PhaseStats());
+    }
+  }
+
+  public static long start() {
+    return System.nanoTime();
+  }
+
+  public static void record(Phase phase, long startNanos) {
+    phaseToStats.get(phase).record(System.nanoTime() - startNanos);
+  }
+
+  public static <T> T time(Phase phase, Supplier<T> computation) {
+    long start = start();
+    try {
+      return computation.get();
+    } finally {
+      record(phase, start);
+    }
+  }
+
+  public static List<PhaseSnapshot> snapshot() {
+    List<PhaseSnapshot> snapshots = new ArrayList<>();
+    phaseToStats.forEach((phase, stats) -> snapshots.add(stats.snapshot(phase)));
+    return snapshots;
+  }
+
+  public static void reset() {
+    phaseToStats.values().forEach(PhaseStats::reset);
+  }
+
+}
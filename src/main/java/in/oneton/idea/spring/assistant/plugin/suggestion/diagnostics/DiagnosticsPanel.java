@@ -0,0 +1,190 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.intellij.icons.AllIcons;
+import com.intellij.ide.plugins.IdeaPluginDescriptor;
+import com.intellij.ide.plugins.PluginManager;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.application.ApplicationInfo;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.extensions.PluginId;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.project.DumbAwareAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.Alarm;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import javax.swing.table.AbstractTableModel;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.List;
+
+import static com.intellij.openapi.ui.Messages.showErrorDialog;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Table of phase timings, refreshed periodically while the tool window is open, with actions to reset the timings & export them as json (to attach to bug reports)
+ */
+class DiagnosticsPanel extends SimpleToolWindowPanel implements Disposable {
+
+  private static final Logger log = Logger.getInstance(DiagnosticsPanel.class);
+
+  private static final String PLUGIN_ID = "in.1ton.idea.spring.assistant.plugin";
+  private static final int REFRESH_INTERVAL_MILLIS = 2000;
+  private static final String[] COLUMNS =
+      {"Phase", "Count", "Mean (us)", "p50 (us)", "p95 (us)", "p99 (us)", "Max (us)",
+          "Total (ms)"};
+
+  private final Project project;
+  private final PhaseTableModel tableModel = new PhaseTableModel();
+  private final Alarm refreshAlarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, this);
+
+  DiagnosticsPanel(Project project) {
+    super(true, true);
+    this.project = project;
+
+    DefaultActionGroup actions = new DefaultActionGroup();
+    actions.add(new DumbAwareAction("Refresh", "Refresh timings", AllIcons.Actions.Refresh) {
+      @Override
+      public void actionPerformed(AnActionEvent e) {
+        refresh();
+      }
+    });
+    actions.add(new DumbAwareAction("Reset", "Discard all timings recorded so far",
+        AllIcons.Actions.Reset) {
+      @Override
+      public void actionPerformed(AnActionEvent e) {
+        CompletionDiagnostics.reset();
+        refresh();
+      }
+    });
+    actions.add(new DumbAwareAction("Export to JSON", "Export timings to a json file",
+        AllIcons.ToolbarDecorator.Export) {
+      @Override
+      public void actionPerformed(AnActionEvent e) {
+        export();
+      }
+    });
+    ActionToolbar toolbar =
+        ActionManager.getInstance().createActionToolbar("SpringAssistantDiagnostics", actions, true);
+    setToolbar(toolbar.getComponent());
+    setContent(ScrollPaneFactory.createScrollPane(new JBTable(tableModel)));
+
+    refresh();
+    scheduleRefresh();
+  }
+
+  @Override
+  public void dispose() {
+    // alarm is disposed along with this panel
+  }
+
+  private void scheduleRefresh() {
+    refreshAlarm.addRequest(() -> {
+      if (isShowing()) {
+        refresh();
+      }
+      scheduleRefresh();
+    }, REFRESH_INTERVAL_MILLIS);
+  }
+
+  private void refresh() {
+    tableModel.setSnapshots(CompletionDiagnostics.snapshot());
+  }
+
+  private void export() {
+    FileSaverDescriptor descriptor =
+        new FileSaverDescriptor("Export Spring Assistant Diagnostics",
+            "Timings of completion & documentation phases", "json");
+    VirtualFileWrapper fileWrapper = FileChooserFactory.getInstance()
+        .createSaveFileDialog(descriptor, project)
+        .save(null, "spring-assistant-diagnostics.json");
+    if (fileWrapper != null) {
+      IdeaPluginDescriptor plugin = PluginManager.getPlugin(PluginId.getId(PLUGIN_ID));
+      DiagnosticsReport report = new DiagnosticsReport(Instant.now().toString(),
+          ApplicationInfo.getInstance().getBuild().asString(),
+          plugin != null ? plugin.getVersion() : null, CompletionDiagnostics.snapshot());
+      Gson gson = new GsonBuilder().setPrettyPrinting().create();
+      try (Writer writer = new OutputStreamWriter(new FileOutputStream(fileWrapper.getFile()),
+          UTF_8)) {
+        gson.toJson(report, writer);
+      } catch (IOException e) {
+        log.warn("Unable to export diagnostics to " + fileWrapper.getFile(), e);
+        showErrorDialog(project, "Unable to export diagnostics: " + e.getMessage(),
+            "Spring Assistant - Diagnostics");
+      }
+    }
+  }
+
+  @Getter
+  @AllArgsConstructor
+  private static class DiagnosticsReport {
+    private final String capturedAt;
+    private final String ideBuild;
+    private final String pluginVersion;
+    private final List<PhaseSnapshot> phases;
+  }
+
+
+  private static class PhaseTableModel extends AbstractTableModel {
+    private List<PhaseSnapshot> snapshots = CompletionDiagnostics.snapshot();
+
+    void setSnapshots(List<PhaseSnapshot> snapshots) {
+      this.snapshots = snapshots;
+      fireTableDataChanged();
+    }
+
+    @Override
+    public int getRowCount() {
+      return snapshots.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+      return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+      return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+      PhaseSnapshot snapshot = snapshots.get(rowIndex);
+      switch (columnIndex) {
+        case 0:
+          return snapshot.getDisplayName();
+        case 1:
+          return snapshot.getCount();
+        case 2:
+          return snapshot.getMeanMicros();
+        case 3:
+          return snapshot.getP50Micros();
+        case 4:
+          return snapshot.getP95Micros();
+        case 5:
+          return snapshot.getP99Micros();
+        case 6:
+          return snapshot.getMaxMicros();
+        default:
+          return snapshot.getTotalMicros() / 1000;
+      }
+    }
+  }
+
+}
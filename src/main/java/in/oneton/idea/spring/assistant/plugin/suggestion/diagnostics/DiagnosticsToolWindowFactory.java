@@ -0,0 +1,24 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics;
+
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Creates the "Spring Assistant Diagnostics" tool window, which shows the timings recorded by {@link CompletionDiagnostics}
+ */
+public class DiagnosticsToolWindowFactory implements ToolWindowFactory, DumbAware {
+
+  @Override
+  public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+    DiagnosticsPanel panel = new DiagnosticsPanel(project);
+    Content content = ContentFactory.SERVICE.getInstance().createContent(panel, "", false);
+    content.setDisposer(panel);
+    toolWindow.getContentManager().addContent(content);
+  }
+
+}
@@ -0,0 +1,23 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Phases of completion & documentation that are timed. Phases can be nested, i.e index lookup includes the time spent in class metadata resolution & suggestion construction.
+ * <p>
+ * {@link #TIME_TO_FIRST_SUGGESTION} is not a phase of a single completion, but the time from opening the project till suggestions can be served for the first time, recorded once per project open
+ */
+@Getter
+@AllArgsConstructor
+public enum Phase {
+  CONTEXT_EXTRACTION("PSI context extraction"),
+  INDEX_LOOKUP("Index lookup"),
+  CLASS_METADATA_RESOLUTION("Class metadata resolution"),
+  SUGGESTION_CONSTRUCTION("Suggestion construction"),
+  LOOKUP_ELEMENT_CREATION("Lookup element creation"),
+  DOCUMENTATION("Documentation generation"),
+  TIME_TO_FIRST_SUGGESTION("Time to first suggestion since project open");
+
+  private final String displayName;
+}
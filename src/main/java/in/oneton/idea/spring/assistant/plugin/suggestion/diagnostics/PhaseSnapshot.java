@@ -0,0 +1,19 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics;
+
+import lombok.Value;
+
+/**
+ * Point in time view of the timings of a phase. All durations are in microseconds
+ */
+@Value
+public class PhaseSnapshot {
+  String phase;
+  String displayName;
+  long count;
+  long totalMicros;
+  long meanMicros;
+  long p50Micros;
+  long p95Micros;
+  long p99Micros;
+  long maxMicros;
+}
@@ -0,0 +1,77 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free counters & a log2 histogram (in microseconds) of the durations of a single phase. Recording is a handful of atomic increments, so that it can be left on all the time
+ */
+class PhaseStats {
+
+  /**
+   * Bucket {@code i} holds durations in {@code [2^(i-1), 2^i)} microseconds, with bucket 0 holding anything under a microsecond
+   */
+  private static final int NUM_OF_BUCKETS = 40;
+
+  private final LongAdder count = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final AtomicLong maxNanos = new AtomicLong();
+  private final AtomicLongArray buckets = new AtomicLongArray(NUM_OF_BUCKETS);
+
+  void record(long nanos) {
+    count.increment();
+    totalNanos.add(nanos);
+    long max;
+    while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) {
+      // retry till either we win or someone records a larger value
+    }
+    long micros = nanos / 1000;
+    int bucket = micros == 0 ? 0 : 64 - Long.numberOfLeadingZeros(micros);
+    buckets.incrementAndGet(Math.min(bucket, NUM_OF_BUCKETS - 1));
+  }
+
+  void reset() {
+    count.reset();
+    totalNanos.reset();
+    maxNanos.set(0);
+    for (int i = 0; i < NUM_OF_BUCKETS; i++) {
+      buckets.set(i, 0);
+    }
+  }
+
+  PhaseSnapshot snapshot(Phase phase) {
+    long[] bucketCounts = new long[NUM_OF_BUCKETS];
+    long numOfSamples = 0;
+    for (int i = 0; i < NUM_OF_BUCKETS; i++) {
+      bucketCounts[i] = buckets.get(i);
+      numOfSamples += bucketCounts[i];
+    }
+    long totalMicros = totalNanos.sum() / 1000;
+    long invocations = count.sum();
+    return new PhaseSnapshot(phase.name(), phase.getDisplayName(), invocations, totalMicros,
+        invocations == 0 ? 0 : totalMicros / invocations,
+        percentileMicros(bucketCounts, numOfSamples, 0.5),
+        percentileMicros(bucketCounts, numOfSamples, 0.95),
+        percentileMicros(bucketCounts, numOfSamples, 0.99), maxNanos.get() / 1000);
+  }
+
+  /**
+   * @return upper bound of the bucket the percentile falls in. Estimate is off by at most 2x, which is good enough to spot outliers
+   */
+  private static long percentileMicros(long[] bucketCounts, long numOfSamples, double percentile) {
+    if (numOfSamples == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(percentile * numOfSamples);
+    long seen = 0;
+    for (int i = 0; i < bucketCounts.length; i++) {
+      seen += bucketCounts[i];
+      if (seen >= rank) {
+        return 1L << i;
+      }
+    }
+    return 1L << (bucketCounts.length - 1);
+  }
+
+}
@@ -35,9 +35,14 @@ public class MetadataContainerInfo {
   private boolean archive;
   /**
    * If containerPath points to archive, then represents the timestamp of the archive
-   * else, represents the length of the generated metadata file
+   * else, represents the timestamp of the generated metadata file (or of the container itself, if it has no metadata file).
+   * Unlike VFS modification stamps/counts, timestamps survive IDE restarts, so the fingerprints derived from markers can be matched across sessions
    */
   private long marker;
+  /**
+   * Length of the file {@link #marker} is the timestamp of. Catches rewrites that preserve the timestamp
+   */
+  private long length;
 
   public static Stream<String> getContainerArchiveOrFileRefs(VirtualFile fileContainer) {
     if (fileContainer.getFileType() == ARCHIVE) {
@@ -110,19 +115,19 @@ public class MetadataContainerInfo {
     VirtualFile metadataFile = findMetadataFile(fileContainer, metadataFileName);
     if (metadataFile != null) {
       // since build might auto generate the metadata file in the project, its better to rely on
+      VirtualFile markerFile = archive ? containerFile : metadataFile;
       builder.fileUrl(metadataFile.getUrl())
           .containerArchiveOrFileRef(archive ? containerFile.getUrl() : metadataFile.getUrl())
-          .marker(
-              archive ? metadataFile.getModificationCount() : metadataFile.getModificationStamp());
+          .marker(markerFile.getTimeStamp()).length(markerFile.getLength());
     } else {
       builder.containerArchiveOrFileRef(containerFile.getUrl())
-          .marker(containerFile.getModificationCount());
+          .marker(containerFile.getTimeStamp()).length(containerFile.getLength());
     }
     return builder.build();
   }
 
   public boolean isModified(MetadataContainerInfo other) {
-    return this.marker != other.marker;
+    return this.marker != other.marker || this.length != other.length;
   }
 
   public boolean containsMetadataFile() {
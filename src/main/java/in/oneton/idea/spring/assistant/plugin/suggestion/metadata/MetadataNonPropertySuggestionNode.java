@@ -33,9 +33,13 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
+import static com.intellij.openapi.project.DumbService.isDumb;
 import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.newListWithMembers;
 import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.newSingleElementSortedSet;
 import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.safeGetValidType;
+import static in.oneton.idea.spring.assistant.plugin.misc.StringInterner.intern;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.CompletionDiagnostics.time;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.Phase.SUGGESTION_CONSTRUCTION;
 import static java.util.Collections.unmodifiableList;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
@@ -156,9 +160,9 @@ public class MetadataNonPropertySuggestionNode extends MetadataSuggestionNode {
    */
   public static MetadataNonPropertySuggestionNode newInstance(String originalName,
       @Nullable MetadataNonPropertySuggestionNode parent, String belongsTo) {
-    MetadataNonPropertySuggestionNodeBuilder builder =
-        MetadataNonPropertySuggestionNode.builder().name(SuggestionNode.sanitise(originalName))
-            .originalName(originalName).parent(parent);
+    MetadataNonPropertySuggestionNodeBuilder builder = MetadataNonPropertySuggestionNode.builder()
+        .name(intern(SuggestionNode.sanitise(originalName))).originalName(intern(originalName))
+        .parent(parent);
     Set<String> belongsToSet = new THashSet<>();
     belongsToSet.add(belongsTo);
     builder.belongsTo(belongsToSet);
@@ -267,8 +271,11 @@ public class MetadataNonPropertySuggestionNode extends MetadataSuggestionNode {
               childrenTrie.values());
         } else { // either there are no children/multiple children are present. Lets return suggestions
           assert group != null;
-          return newSingleElementSortedSet(
-              group.newSuggestion(fileType, matchesRootTillMe, numOfAncestors));
+          if (group.isTypeUnresolved(module)) {
+            updateGroupType(module, group);
+          }
+          return time(SUGGESTION_CONSTRUCTION, () -> newSingleElementSortedSet(
+              group.newSuggestion(module, fileType, matchesRootTillMe, numOfAncestors)));
         }
       } else { // intermediate node, lets get all next level groups & properties
         assert childrenTrie != null;
@@ -329,6 +336,31 @@ public class MetadataNonPropertySuggestionNode extends MetadataSuggestionNode {
     //        .allMatch(MetadataSuggestionNode::hasOnlyOneChild)
   }
 
+  /**
+   * @param sanitisedName sanitised name of the child
+   * @return child with the given name, if any
+   */
+  @Nullable
+  public MetadataSuggestionNode findChild(String sanitisedName) {
+    return childLookup != null ? childLookup.get(sanitisedName) : null;
+  }
+
+  /**
+   * Adds the given node as a child, without updating the provenance of this node & its ancestors. Meant for bulk loads, which update the provenance of each node only once
+   *
+   * @param child child node whose parent is already set to this node
+   */
+  public void putChild(MetadataSuggestionNode child) {
+    if (!hasChildren()) {
+      childLookup = new THashMap<>();
+      childrenTrie = new PatriciaTrie<>();
+    }
+    assert childLookup != null;
+    assert childrenTrie != null;
+    childLookup.put(child.getName(), child);
+    childrenTrie.put(child.getName(), child);
+  }
+
   @Override
   public String toTree() {
     StringBuilder builder = new StringBuilder(originalName)
@@ -435,7 +467,10 @@ public class MetadataNonPropertySuggestionNode extends MetadataSuggestionNode {
   public SuggestionNodeType getSuggestionNodeType(Module module) {
     if (isGroup()) {
       assert group != null;
-      return group.getNodeType();
+      if (group.isTypeUnresolved(module)) {
+        updateGroupType(module, group);
+      }
+      return group.getNodeType(module);
     } else {
       return SuggestionNodeType.UNDEFINED;
     }
@@ -446,6 +481,15 @@ public class MetadataNonPropertySuggestionNode extends MetadataSuggestionNode {
     this.group = group;
   }
 
+  /**
+   * Sets the group without resolving its type. Type would be resolved lazily, when the node is looked up from a module
+   *
+   * @param group group this node represents
+   */
+  public void setGroupWithUnresolvedType(SpringConfigurationMetadataGroup group) {
+    this.group = group;
+  }
+
   @Override
   public void refreshClassProxy(Module module) {
     updateGroupType(module, group);
@@ -455,6 +499,16 @@ public class MetadataNonPropertySuggestionNode extends MetadataSuggestionNode {
     }
   }
 
+  @Override
+  public void forgetModule(String moduleName) {
+    if (group != null) {
+      group.forgetModule(moduleName);
+    }
+    if (childLookup != null) {
+      childLookup.values().forEach(child -> child.forgetModule(moduleName));
+    }
+  }
+
   private Collection<MetadataSuggestionNode> computeChildrenToIterateOver(
       @NotNull Map<String, MetadataSuggestionNode> childLookup,
       Set<MetadataSuggestionNode> exclusionMembers) {
@@ -482,7 +536,7 @@ public class MetadataNonPropertySuggestionNode extends MetadataSuggestionNode {
     MetadataSuggestionNode childNode =
         MetadataPropertySuggestionNode.newInstance(originalName, property, this, belongsTo);
 
-    String name = SuggestionNode.sanitise(originalName);
+    String name = childNode.getName();
     childLookup.put(name, childNode);
     childrenTrie.put(name, childNode);
   }
@@ -499,7 +553,7 @@ public class MetadataNonPropertySuggestionNode extends MetadataSuggestionNode {
     assert childrenTrie != null;
 
     String rawPathSegment = rawPathSegments[startIndex];
-    String pathSegment = SuggestionNode.sanitise(rawPathSegment);
+    String pathSegment = intern(SuggestionNode.sanitise(rawPathSegment));
     MetadataNonPropertySuggestionNode childNode =
         MetadataNonPropertySuggestionNode.class.cast(childLookup.get(pathSegment));
     if (childNode == null) {
@@ -540,12 +594,13 @@ public class MetadataNonPropertySuggestionNode extends MetadataSuggestionNode {
   }
 
   private void updateGroupType(Module module, SpringConfigurationMetadataGroup group) {
-    if (group != null && group.getClassName() != null) {
+    // type cannot be looked up while IDE is indexing. Will be resolved lazily once indexing completes
+    if (group != null && group.getClassName() != null && !isDumb(module.getProject())) {
       PsiType groupPsiType = safeGetValidType(module, group.getClassName());
       if (groupPsiType != null) {
-        group.setNodeType(PsiCustomUtil.getSuggestionNodeType(groupPsiType));
+        group.setNodeType(module, PsiCustomUtil.getSuggestionNodeType(groupPsiType));
       } else {
-        group.setNodeType(SuggestionNodeType.UNKNOWN_CLASS);
+        group.setNodeType(module, SuggestionNodeType.UNKNOWN_CLASS);
       }
     }
   }
@@ -22,7 +22,10 @@ import java.util.Set;
 import java.util.SortedSet;
 
 import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.newSingleElementSortedSet;
+import static in.oneton.idea.spring.assistant.plugin.misc.StringInterner.intern;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode.sanitise;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.CompletionDiagnostics.time;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.Phase.SUGGESTION_CONSTRUCTION;
 
 /**
  * Represents leaf node in the tree that holds the reference to dynamic suggestion node
@@ -67,8 +70,8 @@ public class MetadataPropertySuggestionNode extends MetadataSuggestionNode {
       @NotNull SpringConfigurationMetadataProperty property,
       @Nullable MetadataNonPropertySuggestionNode parent, String belongsTo) {
     MetadataPropertySuggestionNode.MetadataPropertySuggestionNodeBuilder builder =
-        MetadataPropertySuggestionNode.builder().name(sanitise(originalName))
-            .originalName(originalName).property(property).parent(parent);
+        MetadataPropertySuggestionNode.builder().name(intern(sanitise(originalName)))
+            .originalName(intern(originalName)).property(property).parent(parent);
     Set<String> belongsToSet = new THashSet<>();
     belongsToSet.add(belongsTo);
     builder.belongsTo(belongsToSet);
@@ -155,8 +158,8 @@ public class MetadataPropertySuggestionNode extends MetadataSuggestionNode {
     if (!property.isDeprecatedError()) {
       boolean lookingForConcreteNode = querySegmentPrefixStartIndex >= querySegmentPrefixes.length;
       if (lookingForConcreteNode) {
-        return newSingleElementSortedSet(
-            property.buildKeySuggestion(module, fileType, matchesRootTillMe, numOfAncestors));
+        return time(SUGGESTION_CONSTRUCTION, () -> newSingleElementSortedSet(
+            property.buildKeySuggestion(module, fileType, matchesRootTillMe, numOfAncestors)));
       } else {
         if (!property.isLeaf(module)) {
           return property.findChildKeySuggestionsForQueryPrefix(module, fileType, matchesRootTillMe,
@@ -229,4 +232,9 @@ public class MetadataPropertySuggestionNode extends MetadataSuggestionNode {
     property.refreshDelegate(module);
   }
 
+  @Override
+  public void forgetModule(String moduleName) {
+    property.forgetModule(moduleName);
+  }
+
 }
@@ -73,6 +73,13 @@ public abstract class MetadataSuggestionNode implements SuggestionNode {
    */
   public abstract void refreshClassProxy(Module module);
 
+  /**
+   * Nodes are shared by all modules that resolve to the same index, while types/class proxies are resolved per module. So, once a module stops using the index (removed, renamed or moved to some other index), whatever is resolved for it is dropped, so that these do not pile up for modules that are gone
+   *
+   * @param moduleName name of the module that no longer uses this node
+   */
+  public abstract void forgetModule(String moduleName);
+
   protected abstract String getName();
 
   @NotNull
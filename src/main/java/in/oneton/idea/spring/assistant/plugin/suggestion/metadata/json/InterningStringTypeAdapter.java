@@ -0,0 +1,36 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import static in.oneton.idea.spring.assistant.plugin.misc.StringInterner.intern;
+
+/**
+ * Interns the strings it reads, so that identical values across metadata files share a single instance. Applied only to the fields whose values repeat (see {@link SpringConfigurationMetadataTypeAdapterFactory})
+ */
+public class InterningStringTypeAdapter extends TypeAdapter<String> {
+
+  @Override
+  public void write(JsonWriter out, String value) throws IOException {
+    out.value(value);
+  }
+
+  @Override
+  public String read(JsonReader in) throws IOException {
+    JsonToken token = in.peek();
+    if (token == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    // same leniency as the default gson adapter
+    if (token == JsonToken.BOOLEAN) {
+      return Boolean.toString(in.nextBoolean());
+    }
+    return intern(in.nextString());
+  }
+
+}
@@ -0,0 +1,153 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json;
+
+import com.google.gson.Gson;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import gnu.trove.TIntArrayList;
+
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import static com.google.common.io.ByteStreams.readFully;
+import static com.google.common.io.ByteStreams.skipFully;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reloads the text fields (description, default value, e.t.c) of properties whose text is evicted from the index (see {@link SpringConfigurationMetadataProperty#evictText(String, int, int)}) from the metadata file they were read from.
+ * <p>
+ * Byte range of each property within its metadata file is recorded when its text is evicted, so a reload reads & parses just that one property rather than the whole file. Loads share no state, so these need no lock
+ */
+class PropertyTextLoader {
+
+  private static final Logger log = Logger.getInstance(PropertyTextLoader.class);
+
+  private static final byte[] PROPERTIES = "properties".getBytes(UTF_8);
+  private static final int NOT_AN_OBJECT = -1;
+  private static final Gson gson = SpringConfigurationMetadataGson.getInstance();
+
+  private PropertyTextLoader() {
+  }
+
+  /**
+   * @param metadataFile metadata file to scan
+   * @return start (inclusive) & end (exclusive) byte offsets of each element of the {@code properties} array, in the order these appear in the file. Both offsets are -1 for elements that are not objects (say nulls). Null if the file cannot be read
+   */
+  @Nullable
+  static int[] findPropertyRanges(VirtualFile metadataFile) {
+    try (InputStream in = new BufferedInputStream(metadataFile.getInputStream())) {
+      return findPropertyRanges(in);
+    } catch (IOException e) {
+      log.warn("Unable to find offsets of properties within " + metadataFile, e);
+      return null;
+    }
+  }
+
+  /**
+   * Scans the raw bytes rather than parsing the json, as json reader reads ahead & cannot tell where a value starts/ends. Structural characters of json are all ascii & bytes of multi byte utf-8 characters never are, so the scan needs no decoding
+   *
+   * @see #findPropertyRanges(VirtualFile)
+   */
+  static int[] findPropertyRanges(InputStream in) throws IOException {
+    TIntArrayList ranges = new TIntArrayList();
+    // only strings of the top level object are collected, as the key of the properties array is one of these
+    ByteArrayOutputStream lastTopLevelString = new ByteArrayOutputStream();
+    int depth = 0;
+    boolean inString = false;
+    boolean escaped = false;
+    boolean inProperties = false;
+    int position = 0;
+    for (int b = in.read(); b != -1; b = in.read(), position++) {
+      if (inString) {
+        if (escaped) {
+          escaped = false;
+        } else if (b == '\\') {
+          escaped = true;
+        } else if (b == '"') {
+          inString = false;
+        } else if (depth == 1) {
+          lastTopLevelString.write(b);
+        }
+        continue;
+      }
+      switch (b) {
+        case '"':
+          inString = true;
+          if (depth == 1) {
+            lastTopLevelString.reset();
+          }
+          break;
+        case '{':
+        case '[':
+          if (depth == 1 && b == '[') {
+            inProperties = Arrays.equals(PROPERTIES, lastTopLevelString.toByteArray());
+          } else if (depth == 2 && inProperties && b == '{') {
+            ranges.add(position);
+            ranges.add(NOT_AN_OBJECT); // till the object is closed
+          }
+          depth++;
+          break;
+        case '}':
+        case ']':
+          depth--;
+          if (depth == 2 && inProperties && b == '}') {
+            ranges.set(ranges.size() - 1, position + 1);
+          } else if (depth == 1) {
+            inProperties = false;
+          }
+          break;
+        case 'n': // null element
+          if (depth == 2 && inProperties) {
+            ranges.add(NOT_AN_OBJECT);
+            ranges.add(NOT_AN_OBJECT);
+          }
+          break;
+        default:
+          break;
+      }
+    }
+    return ranges.toNativeArray();
+  }
+
+  /**
+   * @param metadataFileUrl url of the metadata file the property is read from
+   * @param propertyName    name of the property
+   * @param offset          byte offset of the property within the metadata file
+   * @param length          length of the property in bytes
+   * @return property as read from the metadata file, or null if the file no longer exists/has changed since the offsets are recorded
+   */
+  @Nullable
+  static SpringConfigurationMetadataProperty load(String metadataFileUrl, String propertyName,
+      int offset, int length) {
+    VirtualFile metadataFile = VirtualFileManager.getInstance().findFileByUrl(metadataFileUrl);
+    if (metadataFile == null || !metadataFile.isValid()) {
+      return null;
+    }
+    byte[] propertyJson = new byte[length];
+    try (InputStream in = metadataFile.getInputStream()) {
+      // entries of a jar cannot seek, but skipping still avoids holding & parsing the properties that come before
+      skipFully(in, offset);
+      readFully(in, propertyJson);
+      SpringConfigurationMetadataProperty property =
+          gson.fromJson(new String(propertyJson, UTF_8), SpringConfigurationMetadataProperty.class);
+      // node is rebuilt when the file changes. Till then, the range might point at some other property
+      return property != null && propertyName.equals(property.getName()) ? property : null;
+    } catch (IOException | RuntimeException e) {
+      debug(() -> log.debug(
+          "Unable to load description & default value of " + propertyName + " from "
+              + metadataFile, e));
+      return null;
+    }
+  }
+
+  private static void debug(Runnable doWhenDebug) {
+    if (log.isDebugEnabled()) {
+      doWhenDebug.run();
+    }
+  }
+
+}
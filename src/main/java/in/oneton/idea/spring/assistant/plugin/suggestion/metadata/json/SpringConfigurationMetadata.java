@@ -1,5 +1,6 @@
 package in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json;
 
+import com.intellij.openapi.vfs.VirtualFile;
 import lombok.Data;
 
 import javax.annotation.Nullable;
@@ -16,4 +17,27 @@ public class SpringConfigurationMetadata {
   private List<SpringConfigurationMetadataProperty> properties;
   @Nullable
   private List<SpringConfigurationMetadataHint> hints;
+
+  /**
+   * Evicts text of all properties (see {@link SpringConfigurationMetadataProperty#evictText(String, int, int)}) along with where each of these lies within the metadata file. Text stays resident if the file no longer lines up with the properties read from it
+   *
+   * @param metadataFile file this metadata is read from
+   */
+  public void evictPropertyText(VirtualFile metadataFile) {
+    if (properties == null) {
+      return;
+    }
+    int[] ranges = PropertyTextLoader.findPropertyRanges(metadataFile);
+    if (ranges == null || ranges.length != 2 * properties.size()) {
+      return;
+    }
+    String metadataFileUrl = metadataFile.getUrl();
+    for (int i = 0; i < properties.size(); i++) {
+      SpringConfigurationMetadataProperty property = properties.get(i);
+      int start = ranges[2 * i];
+      if (property != null && start != -1) {
+        property.evictText(metadataFileUrl, start, ranges[2 * i + 1] - start);
+      }
+    }
+  }
 }
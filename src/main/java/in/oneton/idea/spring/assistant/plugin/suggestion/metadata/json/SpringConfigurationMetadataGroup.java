@@ -2,6 +2,7 @@ package in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json;
 
 import com.google.gson.annotations.SerializedName;
 import com.intellij.codeInsight.documentation.DocumentationManager;
+import com.intellij.openapi.module.Module;
 import in.oneton.idea.spring.assistant.plugin.misc.GenericUtil;
 import in.oneton.idea.spring.assistant.plugin.suggestion.Suggestion;
 import in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode;
@@ -9,15 +10,20 @@ import in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType;
 import in.oneton.idea.spring.assistant.plugin.suggestion.completion.FileType;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nullable;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.methodForDocumentationNavigation;
 import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.removeGenerics;
 import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.shortenedType;
 import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.updateClassNameAsJavadocHtml;
+import static lombok.AccessLevel.NONE;
 
 /**
  * Refer to https://docs.spring.io/spring-boot/docs/2.0.0/reference/htmlsingle/#configuration-metadata-group-attributes
@@ -36,8 +42,13 @@ public class SpringConfigurationMetadataGroup {
   private String sourceType;
   @Nullable
   private String sourceMethod;
-  @NotNull
-  private SuggestionNodeType nodeType = SuggestionNodeType.UNDEFINED;
+  /**
+   * Type is resolved against the classpath of the module it is looked up from, while the index (& hence this group) is shared by all modules with the same metadata on their classpath
+   */
+  @Getter(NONE)
+  @Setter(NONE)
+  private final transient Map<String, SuggestionNodeType> moduleNameToNodeType =
+      new ConcurrentHashMap<>();
 
   public String getDocumentation(String nodeNavigationPathDotDelimited) {
     // Format for the documentation is as follows
@@ -82,12 +93,37 @@ public class SpringConfigurationMetadataGroup {
     return builder.toString();
   }
 
-  public Suggestion newSuggestion(FileType fileType, List<SuggestionNode> matchesRootTillMe,
-      int numOfAncestors) {
+  public Suggestion newSuggestion(Module module, FileType fileType,
+      List<SuggestionNode> matchesRootTillMe, int numOfAncestors) {
+    SuggestionNodeType nodeType = getNodeType(module);
     return Suggestion.builder().suggestionToDisplay(
         GenericUtil.dotDelimitedOriginalNames(matchesRootTillMe, numOfAncestors))
         .description(description).shortType(shortenedType(className)).numOfAncestors(numOfAncestors)
-        .matchesTopFirst(matchesRootTillMe).icon(nodeType.getIcon()).fileType(fileType).build();
+        .matchesTopFirst(matchesRootTillMe).icon(nodeType.getIcon()).fileType(fileType)
+        .stale(isTypeUnresolved(module)).build();
+  }
+
+  @NotNull
+  public SuggestionNodeType getNodeType(Module module) {
+    return moduleNameToNodeType.getOrDefault(module.getName(), SuggestionNodeType.UNDEFINED);
+  }
+
+  public void setNodeType(Module module, SuggestionNodeType nodeType) {
+    moduleNameToNodeType.put(module.getName(), nodeType);
+  }
+
+  /**
+   * @param moduleName name of the module that no longer uses the index this group is part of
+   */
+  public void forgetModule(String moduleName) {
+    moduleNameToNodeType.remove(moduleName);
+  }
+
+  /**
+   * @return true if the group has a type, but the type is not resolved for the module yet (say, as the IDE was indexing when the group is added to the index)
+   */
+  public boolean isTypeUnresolved(Module module) {
+    return className != null && getNodeType(module) == SuggestionNodeType.UNDEFINED;
   }
 
 }
@@ -0,0 +1,31 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Holds the gson that all metadata is parsed with. Gson instances are immutable & thread safe once created, so a single instance is shared across all containers, modules & threads rather than building one (& its adapter cache) per parse
+ */
+public class SpringConfigurationMetadataGson {
+
+  private static final Gson instance = newGson();
+
+  private SpringConfigurationMetadataGson() {
+  }
+
+  public static Gson getInstance() {
+    return instance;
+  }
+
+  private static Gson newGson() {
+    GsonBuilder gsonBuilder = new GsonBuilder();
+    // register custom mapper adapters
+    gsonBuilder.registerTypeAdapter(SpringConfigurationMetadataValueProviderType.class,
+        new SpringConfigurationMetadataValueProviderTypeDeserializer());
+    gsonBuilder.registerTypeAdapterFactory(new GsonPostProcessEnablingTypeFactory());
+    // registered last, so that these take precedence over the post process factory. Hint adapter post processes by itself
+    gsonBuilder.registerTypeAdapterFactory(new SpringConfigurationMetadataTypeAdapterFactory());
+    return gsonBuilder.create();
+  }
+
+}
@@ -1,6 +1,10 @@
 package in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json;
 
+import com.intellij.openapi.module.Module;
 import gnu.trove.THashMap;
+import gnu.trove.THashSet;
+import in.oneton.idea.spring.assistant.plugin.suggestion.provider.ValueProvider;
+import in.oneton.idea.spring.assistant.plugin.suggestion.provider.ValueProviders;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -8,12 +12,19 @@ import org.apache.commons.collections4.Trie;
 import org.apache.commons.collections4.trie.PatriciaTrie;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.regex.Pattern;
 
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode.sanitise;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderType.any;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderType.handle_as;
+import static java.util.Arrays.asList;
+import static java.util.Arrays.binarySearch;
 import static java.util.Arrays.stream;
 import static java.util.Objects.requireNonNull;
 
@@ -24,6 +35,10 @@ import static java.util.Objects.requireNonNull;
 public class SpringConfigurationMetadataHint implements GsonPostProcessable {
   private static final Pattern KEY_REGEX_PATTERN_FOR_MAP = Pattern.compile("\\.keys$");
   private static final Pattern VALUE_REGEX_PATTERN_FOR_MAP = Pattern.compile("\\.values$");
+  /**
+   * Most hints carry a handful of values (think boolean like enums) & there are thousands of them across starters. Binary search over a sorted array is as quick as a map/trie for these, without the overhead of the map & the trie nodes
+   */
+  private static final int MAX_VALUES_FOR_SORTED_ARRAY = 16;
 
   @Setter
   @Getter
@@ -35,10 +50,31 @@ public class SpringConfigurationMetadataHint implements GsonPostProcessable {
   @Nullable
   private SpringConfigurationMetadataValueProvider[] providers;
 
+  /**
+   * Sanitised names of values in ascending order, with {@link #sortedValues} at the same positions. Used instead of {@link #valueLookup} & {@link #valueTrie} for hints with upto {@link #MAX_VALUES_FOR_SORTED_ARRAY} values
+   */
+  @Nullable
+  private transient String[] sortedSanitisedNames;
   @Nullable
-  private Map<String, SpringConfigurationMetadataHintValue> valueLookup;
+  private transient SpringConfigurationMetadataHintValue[] sortedValues;
   @Nullable
-  private Trie<String, SpringConfigurationMetadataHintValue> valueTrie;
+  private transient Map<String, SpringConfigurationMetadataHintValue> valueLookup;
+  @Nullable
+  private transient Trie<String, SpringConfigurationMetadataHintValue> valueTrie;
+
+  /**
+   * @return hint whose values are derived solely by the provider of the given type, for properties whose metadata carries no hint
+   */
+  public static SpringConfigurationMetadataHint withProvider(String name,
+      SpringConfigurationMetadataValueProviderType type) {
+    SpringConfigurationMetadataValueProvider provider =
+        new SpringConfigurationMetadataValueProvider();
+    provider.setType(type);
+    SpringConfigurationMetadataHint hint = new SpringConfigurationMetadataHint();
+    hint.setName(name);
+    hint.setProviders(new SpringConfigurationMetadataValueProvider[] {provider});
+    return hint;
+  }
 
   /**
    * If the property that corresponds with this hint represents a map, Hint's key would be end with `.keys`/`.values`
@@ -61,11 +97,19 @@ public class SpringConfigurationMetadataHint implements GsonPostProcessable {
   @Override
   public void doOnGsonDeserialization() {
     if (hasPredefinedValues()) {
-      valueLookup = new THashMap<>();
-      valueTrie = new PatriciaTrie<>();
+      List<SpringConfigurationMetadataHintValue> singleValues = new ArrayList<>();
       for (SpringConfigurationMetadataHintValue value : requireNonNull(values)) {
         // The default value can be array (if property is of type array) as per documentation, we dont support those usecases as of now
         if (value.representsSingleValue()) {
+          singleValues.add(value);
+        }
+      }
+      if (singleValues.size() <= MAX_VALUES_FOR_SORTED_ARRAY) {
+        initSortedValues(singleValues);
+      } else {
+        valueLookup = new THashMap<>();
+        valueTrie = new PatriciaTrie<>();
+        for (SpringConfigurationMetadataHintValue value : singleValues) {
           String suggestion = value.toString();
           valueLookup.put(sanitise(suggestion), value);
           valueTrie.put(sanitise(suggestion), value);
@@ -74,32 +118,159 @@ public class SpringConfigurationMetadataHint implements GsonPostProcessable {
     }
   }
 
+  /**
+   * @return target type of the {@code handle-as} provider, if the hint has one
+   */
+  @Nullable
+  public String getHandleAsTarget() {
+    if (providers != null) {
+      for (SpringConfigurationMetadataValueProvider provider : providers) {
+        if (provider.getType() == handle_as && provider.getParameters() != null) {
+          return provider.getParameters().getTarget();
+        }
+      }
+    }
+    return null;
+  }
+
   public boolean hasPredefinedValues() {
     return values != null && values.length != 0;
   }
 
+  /**
+   * @return true if values of this hint can be suggested, either because they are listed or because a supported provider can derive them
+   */
+  public boolean hasSuggestableValues() {
+    return hasPredefinedValues() || (providers != null && stream(providers)
+        .anyMatch(provider -> ValueProviders.forType(provider.getType()) != null));
+  }
+
+  /**
+   * @return true if any of the values may contain periods that are part of the value itself (say logger names)
+   */
+  public boolean hasDotDelimitedValues() {
+    if (providers != null) {
+      for (SpringConfigurationMetadataValueProvider provider : providers) {
+        ValueProvider valueProvider = ValueProviders.forType(provider.getType());
+        if (valueProvider != null && valueProvider.isValueDotDelimited()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   @Nullable
   public SpringConfigurationMetadataHintValue findHintValueWithName(String pathSegment) {
-    SpringConfigurationMetadataHintValue value = null;
-    if (valueLookup != null) {
-      value = valueLookup.get(sanitise(pathSegment));
+    SpringConfigurationMetadataHintValue value = findPredefinedHintValueWithName(pathSegment);
+    return value != null ? value : toValueIfAnyIsAllowed(pathSegment);
+  }
+
+  /**
+   * Same as {@link #findHintValueWithName(String)}, but also consults the value providers of this hint
+   */
+  @Nullable
+  public SpringConfigurationMetadataHintValue findHintValueWithName(Module module,
+      String pathSegment) {
+    SpringConfigurationMetadataHintValue value = findPredefinedHintValueWithName(pathSegment);
+    if (value == null && providers != null) {
+      for (SpringConfigurationMetadataValueProvider provider : providers) {
+        ValueProvider valueProvider = ValueProviders.forType(provider.getType());
+        if (valueProvider != null) {
+          value = valueProvider.findValueWithName(module, provider.getParameters(), pathSegment);
+          if (value != null) {
+            return value;
+          }
+        }
+      }
     }
+    return value != null ? value : toValueIfAnyIsAllowed(pathSegment);
+  }
 
-    if (value == null) {
-      if (providers != null && stream(providers).anyMatch(provider -> provider.getType() == any)) {
-        value =
-            SpringConfigurationMetadataHintValue.builder().nameAsObjOrArray(pathSegment).build();
+  /**
+   * Same as {@link #findHintValuesWithPrefix(String)}, but also includes the values derived by the value providers of this hint. Listed values take precedence over the derived ones with the same name
+   */
+  @Nullable
+  public Collection<SpringConfigurationMetadataHintValue> findHintValuesWithPrefix(Module module,
+      String querySegmentPrefix) {
+    Collection<SpringConfigurationMetadataHintValue> predefinedMatches =
+        findHintValuesWithPrefix(querySegmentPrefix);
+    if (providers == null) {
+      return predefinedMatches;
+    }
+    List<SpringConfigurationMetadataHintValue> matches = new ArrayList<>();
+    Set<String> sanitisedNames = new THashSet<>();
+    if (predefinedMatches != null) {
+      for (SpringConfigurationMetadataHintValue match : predefinedMatches) {
+        matches.add(match);
+        sanitisedNames.add(sanitise(match.toString()));
       }
     }
-    return value;
+    for (SpringConfigurationMetadataValueProvider provider : providers) {
+      ValueProvider valueProvider = ValueProviders.forType(provider.getType());
+      if (valueProvider != null) {
+        for (SpringConfigurationMetadataHintValue match : valueProvider
+            .findValuesWithPrefix(module, provider.getParameters(), querySegmentPrefix)) {
+          if (sanitisedNames.add(sanitise(match.toString()))) {
+            matches.add(match);
+          }
+        }
+      }
+    }
+    return matches;
   }
 
   public Collection<SpringConfigurationMetadataHintValue> findHintValuesWithPrefix(
       String querySegmentPrefix) {
+    if (sortedSanitisedNames != null) {
+      String sanitisedPrefix = sanitise(querySegmentPrefix);
+      int start = binarySearch(sortedSanitisedNames, sanitisedPrefix);
+      // when the prefix itself is not a value, binary search returns (-(insertion point) - 1)
+      start = start >= 0 ? start : -start - 1;
+      int end = start;
+      while (end < sortedSanitisedNames.length && sortedSanitisedNames[end]
+          .startsWith(sanitisedPrefix)) {
+        end++;
+      }
+      return asList(requireNonNull(sortedValues)).subList(start, end);
+    }
     if (valueTrie != null) {
       return valueTrie.prefixMap(sanitise(querySegmentPrefix)).values();
     }
     return null;
   }
 
+  @Nullable
+  private SpringConfigurationMetadataHintValue findPredefinedHintValueWithName(
+      String pathSegment) {
+    if (sortedSanitisedNames != null) {
+      int index = binarySearch(sortedSanitisedNames, sanitise(pathSegment));
+      return index >= 0 ? requireNonNull(sortedValues)[index] : null;
+    } else if (valueLookup != null) {
+      return valueLookup.get(sanitise(pathSegment));
+    }
+    return null;
+  }
+
+  @Nullable
+  private SpringConfigurationMetadataHintValue toValueIfAnyIsAllowed(String pathSegment) {
+    if (providers != null && stream(providers).anyMatch(provider -> provider.getType() == any)) {
+      return SpringConfigurationMetadataHintValue.builder().nameAsObjOrArray(pathSegment).build();
+    }
+    return null;
+  }
+
+  /**
+   * Values are laid out in the same order the trie would iterate them in (i.e natural order of sanitised names) & when more than one value has the same sanitised name, the last one wins, just like it would with the map
+   */
+  private void initSortedValues(List<SpringConfigurationMetadataHintValue> singleValues) {
+    Map<String, SpringConfigurationMetadataHintValue> sanitisedNameToValue = new TreeMap<>();
+    for (SpringConfigurationMetadataHintValue value : singleValues) {
+      sanitisedNameToValue.put(sanitise(value.toString()), value);
+    }
+    sortedSanitisedNames = sanitisedNameToValue.keySet().toArray(new String[0]);
+    sortedValues =
+        sanitisedNameToValue.values().toArray(new SpringConfigurationMetadataHintValue[0]);
+  }
+
 }
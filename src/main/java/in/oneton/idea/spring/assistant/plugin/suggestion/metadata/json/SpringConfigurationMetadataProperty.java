@@ -4,6 +4,7 @@ import com.google.gson.annotations.Expose;
 import com.google.gson.annotations.SerializedName;
 import com.intellij.openapi.module.Module;
 import com.intellij.psi.PsiType;
+import gnu.trove.THashMap;
 import in.oneton.idea.spring.assistant.plugin.misc.GenericUtil;
 import in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil;
 import in.oneton.idea.spring.assistant.plugin.suggestion.Suggestion;
@@ -20,26 +21,33 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nullable;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Array;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.stream.Stream;
 
 import static com.intellij.codeInsight.documentation.DocumentationManager.createHyperlink;
+import static com.intellij.openapi.project.DumbService.isDumb;
 import static com.intellij.util.containers.ContainerUtil.isEmpty;
 import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.methodForDocumentationNavigation;
 import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.removeGenerics;
 import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.shortenedType;
 import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.updateClassNameAsJavadocHtml;
 import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.safeGetValidType;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode.sanitise;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType.ENUM;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType.MAP;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType.UNKNOWN_CLASS;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNodeType.VALUES;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.clazz.ClassSuggestionNodeFactory.newMetadataProxy;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.CompletionDiagnostics.time;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.Phase.SUGGESTION_CONSTRUCTION;
+import static java.util.Arrays.asList;
 import static java.util.Comparator.comparing;
 import static java.util.Objects.compare;
 import static java.util.Objects.requireNonNull;
@@ -89,25 +97,49 @@ public class SpringConfigurationMetadataProperty
    * Represents either the only hint associated (or) key specific hint when the property represents a map
    */
   @Nullable
+  @Getter
   @Expose(deserialize = false)
-  private SpringConfigurationMetadataHint genericOrKeyHint;
+  private transient SpringConfigurationMetadataHint genericOrKeyHint;
 
   /**
    * If the property of type map, the property can have both keys & values. This hint represents value
    */
   @Nullable
+  @Getter
   @Expose(deserialize = false)
-  private SpringConfigurationMetadataHint valueHint;
+  private transient SpringConfigurationMetadataHint valueHint;
 
   /**
-   * Responsible for all suggestion queries that needs to be matched against a class
+   * Node type implied by the hints (map with predefined keys/values, leaf with known values). Unlike the type resolved from the class, this does not depend on the module
    */
   @Nullable
-  private MetadataProxy delegate;
+  private transient SuggestionNodeType hintNodeType;
 
+  /**
+   * Types are resolved against the classpath of the module they are looked up from, while the index (& hence this property) is shared by all modules with the same metadata on their classpath. So, resolution of the first module that looks up the type is held inline & that of the rest (if any) in {@link #moduleNameToOtherResolution}
+   */
+  @Nullable
+  private transient String firstModuleName;
+  @Nullable
+  private transient ModuleTypeResolution firstModuleResolution;
+  @Nullable
+  private transient Map<String, ModuleTypeResolution> moduleNameToOtherResolution;
+
+  /**
+   * Url of the metadata file this property is read from. Set only when the text fields are evicted, in which case they are reloaded from this file on demand
+   */
+  @Nullable
+  private transient String textSourceUrl;
+  /**
+   * Byte offset & length of this property within {@link #textSourceUrl}, so that reloading the text reads just this property
+   */
+  private transient int textOffset;
+  private transient int textLength;
+  /**
+   * Property as reloaded from {@link #textSourceUrl}, so that the file is not consulted for every suggestion of this property on every key stroke. Softly held, as text is needed only while the property is being suggested/documented. Node (& hence this) is rebuilt when the metadata file changes, so the loaded text cannot go stale
+   */
   @Nullable
-  private SuggestionNodeType nodeType;
-  private boolean delegateCreationAttempted;
+  private transient SoftReference<SpringConfigurationMetadataProperty> loadedTextRef;
 
   @Nullable
   public List<SuggestionNode> findChildDeepestKeyMatch(Module module,
@@ -116,12 +148,17 @@ public class SpringConfigurationMetadataProperty
     if (!isLeaf(module)) {
       if (isMapWithPredefinedKeys()) { // map
         assert genericOrKeyHint != null;
-        String pathSegment = pathSegments[pathSegmentStartIndex];
+        boolean dotDelimitedKey = genericOrKeyHint.hasDotDelimitedValues();
+        String pathSegment = dotDelimitedKey ?
+            joinRemaining(pathSegments, pathSegmentStartIndex) :
+            pathSegments[pathSegmentStartIndex];
         SpringConfigurationMetadataHintValue valueHint =
-            genericOrKeyHint.findHintValueWithName(pathSegment);
+            genericOrKeyHint.findHintValueWithName(module, pathSegment);
         if (valueHint != null) {
           matchesRootTillParentNode.add(new HintAwareSuggestionNode(valueHint));
-          boolean lastPathSegment = pathSegmentStartIndex == pathSegments.length - 1;
+          // a dot delimited key consumes all the remaining segments
+          boolean lastPathSegment =
+              dotDelimitedKey || pathSegmentStartIndex == pathSegments.length - 1;
           if (lastPathSegment) {
             return matchesRootTillParentNode;
           } else {
@@ -147,22 +184,33 @@ public class SpringConfigurationMetadataProperty
       String[] querySegmentPrefixes, int querySegmentPrefixStartIndex,
       @Nullable Set<String> siblingsToExclude) {
     boolean lastPathSegment = querySegmentPrefixStartIndex == querySegmentPrefixes.length - 1;
-    if (lastPathSegment && !isLeaf(module)) {
+    if (!isLeaf(module)) {
       if (isMapWithPredefinedKeys()) { // map
         assert genericOrKeyHint != null;
-        String querySegment = querySegmentPrefixes[querySegmentPrefixStartIndex];
+        String querySegment;
+        if (genericOrKeyHint.hasDotDelimitedValues()) {
+          // periods are part of the key (say logger names), so all the remaining segments form the key
+          querySegment = joinRemaining(querySegmentPrefixes, querySegmentPrefixStartIndex);
+        } else if (lastPathSegment) {
+          querySegment = querySegmentPrefixes[querySegmentPrefixStartIndex];
+        } else {
+          return null;
+        }
         Collection<SpringConfigurationMetadataHintValue> matches =
-            genericOrKeyHint.findHintValuesWithPrefix(querySegment);
+            genericOrKeyHint.findHintValuesWithPrefix(module, querySegment);
+        if (matches == null) {
+          return null;
+        }
         Stream<SpringConfigurationMetadataHintValue> matchesStream =
-            getMatchesAfterExcludingSiblings(genericOrKeyHint, matches, siblingsToExclude);
+            getMatchesAfterExcludingSiblings(matches, siblingsToExclude);
 
-        return matchesStream.map(hintValue -> {
+        return time(SUGGESTION_CONSTRUCTION, () -> matchesStream.map(hintValue -> {
           HintAwareSuggestionNode suggestionNode = new HintAwareSuggestionNode(hintValue);
           return hintValue
               .buildSuggestionForKey(fileType, matchesRootTillMe, numOfAncestors, suggestionNode,
                   getMapKeyType(module));
-        }).collect(toCollection(TreeSet::new));
-      } else {
+        }).collect(toCollection(TreeSet::new)));
+      } else if (lastPathSegment) {
         return doWithDelegateOrReturnNull(module, delegate -> delegate
             .findKeySuggestionsForQueryPrefix(module, fileType, matchesRootTillMe, numOfAncestors,
                 querySegmentPrefixes, querySegmentPrefixStartIndex, siblingsToExclude));
@@ -174,11 +222,13 @@ public class SpringConfigurationMetadataProperty
   @NotNull
   public Suggestion buildKeySuggestion(Module module, FileType fileType,
       List<SuggestionNode> matchesRootTillMe, int numOfAncestors) {
+    SpringConfigurationMetadataProperty withText = withText();
     Suggestion.SuggestionBuilder builder = Suggestion.builder().suggestionToDisplay(
         GenericUtil.dotDelimitedOriginalNames(matchesRootTillMe, numOfAncestors))
-        .description(description).shortType(shortenedType(className))
-        .defaultValue(getDefaultValueAsStr()).numOfAncestors(numOfAncestors)
-        .matchesTopFirst(matchesRootTillMe).icon(getSuggestionNodeType(module).getIcon());
+        .description(withText.description).shortType(shortenedType(className))
+        .defaultValue(withText.getDefaultValueAsStr()).numOfAncestors(numOfAncestors)
+        .matchesTopFirst(matchesRootTillMe).icon(getSuggestionNodeType(module).getIcon())
+        .stale(isClassMetadataUnavailable(module));
     if (deprecation != null) {
       builder.deprecationLevel(deprecation.getLevel() != null ?
           deprecation.getLevel() :
@@ -189,6 +239,11 @@ public class SpringConfigurationMetadataProperty
 
   @NotNull
   public String getDocumentationForKey(String nodeNavigationPathDotDelimited) {
+    SpringConfigurationMetadataProperty withText = withText();
+    if (withText != this) {
+      return withText.getDocumentationForKey(nodeNavigationPathDotDelimited);
+    }
+
     // Format for the documentation is as follows
     /*
      * <p><b>a.b.c</b> ({@link com.acme.Generic}<{@link com.acme.Class1}, {@link com.acme.Class2}>)</p>
@@ -256,45 +311,58 @@ public class SpringConfigurationMetadataProperty
 
   @NotNull
   public SuggestionNodeType getSuggestionNodeType(Module module) {
-    if (nodeType == null) {
-      if (className != null) {
+    if (hintNodeType != null) {
+      return hintNodeType;
+    }
+    if (isClassMetadataUnavailable(module)) {
+      // lets not cache this, so that the type would be resolved once the indexing completes
+      return UNKNOWN_CLASS;
+    }
+    ModuleTypeResolution resolution = getResolution(module);
+    if (resolution.nodeType == null) {
+      if (getTypeToHandleAs() != null) {
         refreshDelegate(module);
 
-        if (delegate != null) {
-          nodeType = delegate.getSuggestionNodeType(module);
+        if (resolution.delegate != null) {
+          resolution.nodeType = resolution.delegate.getSuggestionNodeType(module);
         }
 
-        if (nodeType == null) {
-          nodeType = UNKNOWN_CLASS;
+        if (resolution.nodeType == null) {
+          resolution.nodeType = UNKNOWN_CLASS;
         }
       } else {
-        nodeType = SuggestionNodeType.UNDEFINED;
+        resolution.nodeType = SuggestionNodeType.UNDEFINED;
       }
     }
 
-    return nodeType;
+    return resolution.nodeType;
   }
 
   public void refreshDelegate(Module module) {
-    if (className != null) {
+    if (isClassMetadataUnavailable(module)) {
+      // class might very well be present, we just cant look it up till indexing completes
+      return;
+    }
+    ModuleTypeResolution resolution = getResolution(module);
+    if (getTypeToHandleAs() != null) {
       // Lets update the delegate information only if anything has changed from last time we saw this
       PsiType type = getPsiType(module);
       boolean validTypeExists = type != null;
       // In the previous refresh, class could not be found. Now class is available in the classpath
       if (validTypeExists) {
-        if (delegate == null) {
-          delegate = newMetadataProxy(module, type);
+        if (resolution.delegate == null) {
+          resolution.delegate = newMetadataProxy(module, type);
           // lets force the nodeType to recalculated
-          nodeType = null;
+          resolution.nodeType = null;
         }
       }
       // In the previous refresh, class was available in classpath. Now it is no longer available
-      if (!validTypeExists && delegate != null) {
-        delegate = null;
-        nodeType = UNKNOWN_CLASS;
+      if (!validTypeExists && resolution.delegate != null) {
+        resolution.delegate = null;
+        resolution.nodeType = UNKNOWN_CLASS;
       }
     }
-    delegateCreationAttempted = true;
+    resolution.delegateCreationAttempted = true;
   }
 
   @Override
@@ -314,16 +382,19 @@ public class SpringConfigurationMetadataProperty
       List<SuggestionNode> matchesRootTillContainerProperty, String prefix,
       @Nullable Set<String> siblingsToExclude) {
     assert isLeaf(module);
-    if (nodeType == VALUES) {
+    if (hintNodeType == VALUES) {
       Collection<SpringConfigurationMetadataHintValue> matches =
-          requireNonNull(genericOrKeyHint).findHintValuesWithPrefix(prefix);
+          requireNonNull(genericOrKeyHint).findHintValuesWithPrefix(module, prefix);
       if (!isEmpty(matches)) {
         Stream<SpringConfigurationMetadataHintValue> matchesStream =
-            getMatchesAfterExcludingSiblings(genericOrKeyHint, matches, siblingsToExclude);
+            getMatchesAfterExcludingSiblings(matches, siblingsToExclude);
 
-        return matchesStream.map(match -> match
-            .buildSuggestionForValue(fileType, matchesRootTillContainerProperty,
-                getDefaultValueAsStr(), getPsiType(module))).collect(toCollection(TreeSet::new));
+        return time(SUGGESTION_CONSTRUCTION, () -> {
+          String defaultValueAsStr = withText().getDefaultValueAsStr();
+          return matchesStream.map(match -> match
+              .buildSuggestionForValue(fileType, matchesRootTillContainerProperty,
+                  defaultValueAsStr, getPsiType(module))).collect(toCollection(TreeSet::new));
+        });
       }
     } else {
       return doWithDelegateOrReturnNull(module, delegate -> delegate
@@ -334,8 +405,35 @@ public class SpringConfigurationMetadataProperty
     return null;
   }
 
+  /**
+   * Drops the fields that are needed only for display (description, default value, source type & deprecation reason/replacement), so that only the key, type & deprecation level stay resident. Dropped fields are reloaded from the metadata file when the property is suggested/documented
+   *
+   * @param metadataFileUrl url of the metadata file this property is read from
+   * @param offset          byte offset of this property within the metadata file
+   * @param length          length of this property in bytes
+   */
+  public void evictText(String metadataFileUrl, int offset, int length) {
+    textSourceUrl = metadataFileUrl;
+    textOffset = offset;
+    textLength = length;
+    loadedTextRef = null;
+    description = null;
+    defaultValue = null;
+    sourceType = null;
+    if (deprecation != null) {
+      SpringConfigurationMetadataDeprecation levelOnlyDeprecation =
+          new SpringConfigurationMetadataDeprecation();
+      levelOnlyDeprecation.setLevel(deprecation.getLevel());
+      deprecation = levelOnlyDeprecation;
+    }
+  }
+
   public void setGenericOrKeyHint(SpringConfigurationMetadataHint genericOrKeyHint) {
     this.genericOrKeyHint = genericOrKeyHint;
+    if (genericOrKeyHint.getHandleAsTarget() != null) {
+      // delegates (if any) are for the declared type, lets recreate them for the type to handle as
+      clearResolutions();
+    }
     updateNodeType();
   }
 
@@ -344,37 +442,73 @@ public class SpringConfigurationMetadataProperty
     updateNodeType();
   }
 
+  /**
+   * Siblings are matched by their sanitised names, as values derived by value providers are created afresh on every lookup
+   */
   private Stream<SpringConfigurationMetadataHintValue> getMatchesAfterExcludingSiblings(
-      @NotNull SpringConfigurationMetadataHint hintFindValueAgainst,
       Collection<SpringConfigurationMetadataHintValue> matches,
       @Nullable Set<String> siblingsToExclude) {
     Stream<SpringConfigurationMetadataHintValue> matchesStream;
     if (siblingsToExclude != null) {
-      Set<SpringConfigurationMetadataHintValue> exclusionMembers =
-          siblingsToExclude.stream().map(hintFindValueAgainst::findHintValueWithName)
-              .collect(toSet());
-      matchesStream = matches.stream().filter(value -> !exclusionMembers.contains(value));
+      Set<String> sanitisedSiblingsToExclude =
+          siblingsToExclude.stream().map(SuggestionNode::sanitise).collect(toSet());
+      matchesStream = matches.stream()
+          .filter(value -> !sanitisedSiblingsToExclude.contains(sanitise(value.toString())));
     } else {
       matchesStream = matches.stream();
     }
     return matchesStream;
   }
 
+  /**
+   * @return this property if its text fields are resident, else the property as read from its metadata file
+   */
+  private SpringConfigurationMetadataProperty withText() {
+    if (textSourceUrl != null) {
+      SoftReference<SpringConfigurationMetadataProperty> ref = loadedTextRef;
+      SpringConfigurationMetadataProperty loaded = ref != null ? ref.get() : null;
+      if (loaded == null) {
+        loaded = PropertyTextLoader.load(textSourceUrl, name, textOffset, textLength);
+        if (loaded != null) {
+          loadedTextRef = new SoftReference<>(loaded);
+        }
+      }
+      if (loaded != null) {
+        return loaded;
+      }
+    }
+    return this;
+  }
+
   private void updateNodeType() {
     if (isMapWithPredefinedKeys() || isMapWithPredefinedValues()) {
-      nodeType = MAP;
+      hintNodeType = MAP;
     } else if (isLeafWithKnownValues()) {
-      nodeType = VALUES;
+      hintNodeType = VALUES;
     }
   }
 
   private PsiType getPsiType(Module module) {
-    if (className != null) {
-      return safeGetValidType(module, className);
+    if (getTypeToHandleAs() != null && !isDumb(module.getProject())) {
+      return safeGetValidType(module, getTypeToHandleAs());
     }
     return null;
   }
 
+  /**
+   * @return type the values of this property are handled as, which is the type declared by the {@code handle-as} provider of the hint (if any) & the declared type otherwise. Since the delegate is created for this type, values of a property handled as an enum are served from the cached class metadata of the enum, just like for a property typed with the enum
+   */
+  @Nullable
+  private String getTypeToHandleAs() {
+    if (genericOrKeyHint != null && !genericOrKeyHint.representsKeyOfMap()) {
+      String handleAsTarget = genericOrKeyHint.getHandleAsTarget();
+      if (handleAsTarget != null) {
+        return handleAsTarget;
+      }
+    }
+    return className;
+  }
+
   private boolean isMapWithPredefinedValues() {
     return valueHint != null && valueHint.representsValueOfMap();
   }
@@ -385,7 +519,11 @@ public class SpringConfigurationMetadataProperty
 
   private boolean isLeafWithKnownValues() {
     return !isMapWithPredefinedKeys() && !isMapWithPredefinedValues() && genericOrKeyHint != null
-        && genericOrKeyHint.hasPredefinedValues();
+        && genericOrKeyHint.hasSuggestableValues();
+  }
+
+  private static String joinRemaining(String[] segments, int startIndex) {
+    return String.join(".", asList(segments).subList(startIndex, segments.length));
   }
 
   @Contract("_, _, !null -> !null; _, _, null -> null")
@@ -435,10 +573,67 @@ public class SpringConfigurationMetadataProperty
 
   @Nullable
   private MetadataProxy getDelegate(Module module) {
-    if (!delegateCreationAttempted) {
+    if (isClassMetadataUnavailable(module)) {
+      return null;
+    }
+    ModuleTypeResolution resolution = getResolution(module);
+    if (!resolution.delegateCreationAttempted) {
       refreshDelegate(module);
     }
-    return delegate;
+    return resolution.delegate;
+  }
+
+  @NotNull
+  private synchronized ModuleTypeResolution getResolution(Module module) {
+    String moduleName = module.getName();
+    if (firstModuleResolution == null) {
+      firstModuleName = moduleName;
+      firstModuleResolution = new ModuleTypeResolution();
+    }
+    if (moduleName.equals(firstModuleName)) {
+      return firstModuleResolution;
+    }
+    if (moduleNameToOtherResolution == null) {
+      moduleNameToOtherResolution = new THashMap<>();
+    }
+    return moduleNameToOtherResolution.computeIfAbsent(moduleName, k -> new ModuleTypeResolution());
+  }
+
+  /**
+   * Resolution of one of the remaining modules (if any) takes the inline slot, so that a property looked up by a single module at a time never needs the map
+   *
+   * @param moduleName name of the module that no longer uses the index this property is part of
+   */
+  public synchronized void forgetModule(String moduleName) {
+    if (moduleName.equals(firstModuleName)) {
+      firstModuleName = null;
+      firstModuleResolution = null;
+      if (moduleNameToOtherResolution != null && !moduleNameToOtherResolution.isEmpty()) {
+        firstModuleName = moduleNameToOtherResolution.keySet().iterator().next();
+        firstModuleResolution = moduleNameToOtherResolution.remove(firstModuleName);
+      }
+    } else if (moduleNameToOtherResolution != null) {
+      moduleNameToOtherResolution.remove(moduleName);
+    }
+    if (moduleNameToOtherResolution != null && moduleNameToOtherResolution.isEmpty()) {
+      moduleNameToOtherResolution = null;
+    }
+  }
+
+  private synchronized void clearResolutions() {
+    firstModuleName = null;
+    firstModuleResolution = null;
+    moduleNameToOtherResolution = null;
+  }
+
+  /**
+   * Class metadata is backed by PSI, which cannot be consulted while IDE is indexing (dumb mode)
+   *
+   * @param module module
+   * @return true if this property relies on class metadata & the same cannot be consulted now
+   */
+  private boolean isClassMetadataUnavailable(Module module) {
+    return getTypeToHandleAs() != null && isDumb(module.getProject());
   }
 
   @Nullable
@@ -470,7 +665,7 @@ public class SpringConfigurationMetadataProperty
     if (isLeafWithKnownValues()) {
       assert genericOrKeyHint != null;
       SpringConfigurationMetadataHintValue hintValueWithName =
-          genericOrKeyHint.findHintValueWithName(value);
+          genericOrKeyHint.findHintValueWithName(module, value);
       if (hintValueWithName != null) {
         return hintValueWithName
             .getDocumentationForValue(nodeNavigationPathDotDelimited, getMapValueType(module));
@@ -556,11 +751,14 @@ public class SpringConfigurationMetadataProperty
       if (isMapWithPredefinedValues()) {
         assert valueHint != null;
         Collection<SpringConfigurationMetadataHintValue> matches =
-            valueHint.findHintValuesWithPrefix(prefix);
+            valueHint.findHintValuesWithPrefix(module, prefix);
         if (matches != null && matches.size() != 0) {
-          return matches.stream().map(match -> match
-              .buildSuggestionForValue(fileType, matchesRootTillMe, getDefaultValueAsStr(),
-                  getMapValueType(module))).collect(toCollection(TreeSet::new));
+          return time(SUGGESTION_CONSTRUCTION, () -> {
+            String defaultValueAsStr = withText().getDefaultValueAsStr();
+            return matches.stream().map(match -> match
+                .buildSuggestionForValue(fileType, matchesRootTillMe, defaultValueAsStr,
+                    getMapValueType(module))).collect(toCollection(TreeSet::new));
+          });
         }
       } else {
         return doWithDelegateOrReturnNull(module, delegate -> delegate
@@ -577,13 +775,16 @@ public class SpringConfigurationMetadataProperty
       if (isMapWithPredefinedValues()) {
         assert valueHint != null;
         Collection<SpringConfigurationMetadataHintValue> matches =
-            valueHint.findHintValuesWithPrefix(prefix);
+            valueHint.findHintValuesWithPrefix(module, prefix);
         if (!isEmpty(matches)) {
           Stream<SpringConfigurationMetadataHintValue> matchesStream =
-              getMatchesAfterExcludingSiblings(valueHint, matches, siblingsToExclude);
-          return matchesStream.map(match -> match
-              .buildSuggestionForValue(fileType, matchesRootTillMe, getDefaultValueAsStr(),
-                  getMapValueType(module))).collect(toCollection(TreeSet::new));
+              getMatchesAfterExcludingSiblings(matches, siblingsToExclude);
+          return time(SUGGESTION_CONSTRUCTION, () -> {
+            String defaultValueAsStr = withText().getDefaultValueAsStr();
+            return matchesStream.map(match -> match
+                .buildSuggestionForValue(fileType, matchesRootTillMe, defaultValueAsStr,
+                    getMapValueType(module))).collect(toCollection(TreeSet::new));
+          });
         }
       } else {
         return doWithDelegateOrReturnNull(module, delegate -> delegate
@@ -598,10 +799,11 @@ public class SpringConfigurationMetadataProperty
         String originalValue) {
       if (isMapWithPredefinedValues()) {
         assert valueHint != null;
-        Collection<SpringConfigurationMetadataHintValue> matches =
-            valueHint.findHintValuesWithPrefix(originalValue);
-        assert matches != null && matches.size() == 1;
-        SpringConfigurationMetadataHintValue hint = matches.iterator().next();
+        SpringConfigurationMetadataHintValue hint =
+            valueHint.findHintValueWithName(module, originalValue);
+        if (hint == null) {
+          return null;
+        }
         return hint
             .getDocumentationForValue(nodeNavigationPathDotDelimited, getMapValueType(module));
       } else {
@@ -635,4 +837,18 @@ public class SpringConfigurationMetadataProperty
 
   }
 
+  /**
+   * Type of the property as resolved against the classpath of a module
+   */
+  private static class ModuleTypeResolution {
+    /**
+     * Responsible for all suggestion queries that needs to be matched against a class
+     */
+    @Nullable
+    private MetadataProxy delegate;
+    @Nullable
+    private SuggestionNodeType nodeType;
+    private boolean delegateCreationAttempted;
+  }
+
 }
@@ -0,0 +1,306 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static in.oneton.idea.spring.assistant.plugin.misc.StringInterner.intern;
+
+/**
+ * Hand written adapters that read metadata without reflection. Metadata files of a typical project add up to tens of MBs of json, most of which is properties & hint values, so these are worth binding by hand. Rarely used types (deprecation, value providers) are still bound reflectively.
+ * <p>
+ * Only reads are hand written. Writes are delegated to the adapters that would have been used otherwise.
+ * <p>
+ * Names, types, source types & hint values repeat across properties/groups of every metadata file, so only these are interned. Descriptions & the rest are mostly unique, so interning them would only cost a lookup per string
+ */
+public class SpringConfigurationMetadataTypeAdapterFactory implements TypeAdapterFactory {
+
+  private static final TypeAdapter<String> internedStringAdapter =
+      new InterningStringTypeAdapter();
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+    Class<? super T> rawType = typeToken.getRawType();
+    TypeAdapter<?> adapter;
+    if (rawType == SpringConfigurationMetadata.class) {
+      adapter = new MetadataAdapter(gson, this);
+    } else if (rawType == SpringConfigurationMetadataGroup.class) {
+      adapter = new GroupAdapter(gson, this);
+    } else if (rawType == SpringConfigurationMetadataProperty.class) {
+      adapter = new PropertyAdapter(gson, this);
+    } else if (rawType == SpringConfigurationMetadataHint.class) {
+      adapter = new HintAdapter(gson, this);
+    } else if (rawType == SpringConfigurationMetadataHintValue.class) {
+      adapter = new HintValueAdapter(gson, this);
+    } else {
+      return null;
+    }
+    return (TypeAdapter<T>) adapter;
+  }
+
+  @Nullable
+  private static <T> List<T> readList(JsonReader in, TypeAdapter<T> elementAdapter)
+      throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    // index build sorts these lists in place, so they have to be modifiable
+    List<T> elements = new ArrayList<>();
+    in.beginArray();
+    while (in.hasNext()) {
+      elements.add(elementAdapter.read(in));
+    }
+    in.endArray();
+    return elements;
+  }
+
+  /**
+   * Hint values are mostly strings, but can be numbers/arrays too
+   */
+  @Nullable
+  private static Object internIfString(@Nullable Object value) {
+    return value instanceof String ? intern((String) value) : value;
+  }
+
+  /**
+   * @return true if the next value is null, in which case it is consumed
+   */
+  private static boolean consumeIfNull(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Reads by hand & writes through the adapter that gson would have used, had this factory not been registered
+   */
+  private static abstract class ReadingAdapter<T> extends TypeAdapter<T> {
+    private final TypeAdapter<T> writeDelegate;
+
+    ReadingAdapter(Gson gson, TypeAdapterFactory skipPast, Class<T> type) {
+      writeDelegate = gson.getDelegateAdapter(skipPast, TypeToken.get(type));
+    }
+
+    @Override
+    public void write(JsonWriter out, T value) throws IOException {
+      writeDelegate.write(out, value);
+    }
+  }
+
+  private static class MetadataAdapter extends ReadingAdapter<SpringConfigurationMetadata> {
+    private final TypeAdapter<SpringConfigurationMetadataGroup> groupAdapter;
+    private final TypeAdapter<SpringConfigurationMetadataProperty> propertyAdapter;
+    private final TypeAdapter<SpringConfigurationMetadataHint> hintAdapter;
+
+    MetadataAdapter(Gson gson, TypeAdapterFactory skipPast) {
+      super(gson, skipPast, SpringConfigurationMetadata.class);
+      groupAdapter = gson.getAdapter(SpringConfigurationMetadataGroup.class);
+      propertyAdapter = gson.getAdapter(SpringConfigurationMetadataProperty.class);
+      hintAdapter = gson.getAdapter(SpringConfigurationMetadataHint.class);
+    }
+
+    @Override
+    public SpringConfigurationMetadata read(JsonReader in) throws IOException {
+      if (consumeIfNull(in)) {
+        return null;
+      }
+      SpringConfigurationMetadata metadata = new SpringConfigurationMetadata();
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "groups":
+            metadata.setGroups(readList(in, groupAdapter));
+            break;
+          case "properties":
+            metadata.setProperties(readList(in, propertyAdapter));
+            break;
+          case "hints":
+            metadata.setHints(readList(in, hintAdapter));
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+      return metadata;
+    }
+  }
+
+  private static class GroupAdapter extends ReadingAdapter<SpringConfigurationMetadataGroup> {
+    private final TypeAdapter<String> stringAdapter;
+
+    GroupAdapter(Gson gson, TypeAdapterFactory skipPast) {
+      super(gson, skipPast, SpringConfigurationMetadataGroup.class);
+      stringAdapter = gson.getAdapter(String.class);
+    }
+
+    @Override
+    public SpringConfigurationMetadataGroup read(JsonReader in) throws IOException {
+      if (consumeIfNull(in)) {
+        return null;
+      }
+      SpringConfigurationMetadataGroup group = new SpringConfigurationMetadataGroup();
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "name":
+            group.setName(internedStringAdapter.read(in));
+            break;
+          case "type":
+            group.setClassName(internedStringAdapter.read(in));
+            break;
+          case "description":
+            group.setDescription(stringAdapter.read(in));
+            break;
+          case "sourceType":
+            group.setSourceType(internedStringAdapter.read(in));
+            break;
+          case "sourceMethod":
+            group.setSourceMethod(stringAdapter.read(in));
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+      return group;
+    }
+  }
+
+  private static class PropertyAdapter extends ReadingAdapter<SpringConfigurationMetadataProperty> {
+    private final TypeAdapter<String> stringAdapter;
+    private final TypeAdapter<Object> objectAdapter;
+    private final TypeAdapter<SpringConfigurationMetadataDeprecation> deprecationAdapter;
+
+    PropertyAdapter(Gson gson, TypeAdapterFactory skipPast) {
+      super(gson, skipPast, SpringConfigurationMetadataProperty.class);
+      stringAdapter = gson.getAdapter(String.class);
+      objectAdapter = gson.getAdapter(Object.class);
+      deprecationAdapter = gson.getAdapter(SpringConfigurationMetadataDeprecation.class);
+    }
+
+    @Override
+    public SpringConfigurationMetadataProperty read(JsonReader in) throws IOException {
+      if (consumeIfNull(in)) {
+        return null;
+      }
+      SpringConfigurationMetadataProperty property = new SpringConfigurationMetadataProperty();
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "name":
+            property.setName(internedStringAdapter.read(in));
+            break;
+          case "type":
+            property.setClassName(internedStringAdapter.read(in));
+            break;
+          case "description":
+            property.setDescription(stringAdapter.read(in));
+            break;
+          case "sourceType":
+            property.setSourceType(internedStringAdapter.read(in));
+            break;
+          case "defaultValue":
+            property.setDefaultValue(objectAdapter.read(in));
+            break;
+          case "deprecation":
+            property.setDeprecation(deprecationAdapter.read(in));
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+      return property;
+    }
+  }
+
+  private static class HintAdapter extends ReadingAdapter<SpringConfigurationMetadataHint> {
+    private final TypeAdapter<SpringConfigurationMetadataHintValue> valueAdapter;
+    private final TypeAdapter<SpringConfigurationMetadataValueProvider[]> providersAdapter;
+
+    HintAdapter(Gson gson, TypeAdapterFactory skipPast) {
+      super(gson, skipPast, SpringConfigurationMetadataHint.class);
+      valueAdapter = gson.getAdapter(SpringConfigurationMetadataHintValue.class);
+      providersAdapter = gson.getAdapter(SpringConfigurationMetadataValueProvider[].class);
+    }
+
+    @Override
+    public SpringConfigurationMetadataHint read(JsonReader in) throws IOException {
+      if (consumeIfNull(in)) {
+        return null;
+      }
+      SpringConfigurationMetadataHint hint = new SpringConfigurationMetadataHint();
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "name":
+            hint.setName(internedStringAdapter.read(in));
+            break;
+          case "values":
+            List<SpringConfigurationMetadataHintValue> values = readList(in, valueAdapter);
+            hint.setValues(
+                values != null ? values.toArray(new SpringConfigurationMetadataHintValue[0]) : null);
+            break;
+          case "providers":
+            hint.setProviders(providersAdapter.read(in));
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+      hint.doOnGsonDeserialization();
+      return hint;
+    }
+  }
+
+  private static class HintValueAdapter
+      extends ReadingAdapter<SpringConfigurationMetadataHintValue> {
+    private final TypeAdapter<String> stringAdapter;
+    private final TypeAdapter<Object> objectAdapter;
+
+    HintValueAdapter(Gson gson, TypeAdapterFactory skipPast) {
+      super(gson, skipPast, SpringConfigurationMetadataHintValue.class);
+      stringAdapter = gson.getAdapter(String.class);
+      objectAdapter = gson.getAdapter(Object.class);
+    }
+
+    @Override
+    public SpringConfigurationMetadataHintValue read(JsonReader in) throws IOException {
+      if (consumeIfNull(in)) {
+        return null;
+      }
+      SpringConfigurationMetadataHintValue value = new SpringConfigurationMetadataHintValue();
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "value":
+            value.setNameAsObjOrArray(internIfString(objectAdapter.read(in)));
+            break;
+          case "description":
+            value.setDescription(stringAdapter.read(in));
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+      return value;
+    }
+  }
+
+}
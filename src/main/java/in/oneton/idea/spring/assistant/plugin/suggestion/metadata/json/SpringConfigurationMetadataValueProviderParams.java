@@ -1,6 +1,11 @@
 package in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json;
 
 import lombok.Data;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+
+import static lombok.AccessLevel.NONE;
 
 /**
  * Refer to https://docs.spring.io/spring-boot/docs/2.0.0.M6/reference/htmlsingle/#_value_providers
@@ -8,5 +13,17 @@ import lombok.Data;
 @Data
 public class SpringConfigurationMetadataValueProviderParams {
   private String target;
-  private boolean concrete;
+  /**
+   * Null when the metadata leaves the parameter out, see {@link #isConcrete()}
+   */
+  @Nullable
+  @Getter(NONE)
+  private Boolean concrete;
+
+  /**
+   * @return true if only concrete classes (i.e neither abstract classes nor interfaces) are acceptable. Defaults to true, as it does for the {@code class-reference} provider of spring
+   */
+  public boolean isConcrete() {
+    return concrete == null || concrete;
+  }
 }
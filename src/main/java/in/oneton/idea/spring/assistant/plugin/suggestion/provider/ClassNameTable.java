@@ -0,0 +1,161 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.provider;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode.sanitise;
+import static java.util.Arrays.sort;
+import static java.util.Collections.emptyMap;
+import static java.util.Comparator.comparing;
+
+/**
+ * Immutable, prefix searchable set of class names. A class matches a prefix if either its qualified name (say {@code com.zaxxer.hikari.H}) or its simple name (say {@code Hik}) starts with the prefix, ignoring case, {@code -} & {@code _}.
+ * <p>
+ * Names are held in two sorted arrays (one per kind of name), so a search is a couple of binary searches followed by a scan of the matches. Being immutable, a table can be read from any thread while its replacement is being built
+ */
+class ClassNameTable {
+
+  static final ClassNameTable EMPTY = new ClassNameTable(emptyMap());
+
+  /**
+   * Qualified names, sorted by their sanitised form
+   */
+  private final String[] qualifiedNames;
+  private final String[] sanitisedQualifiedNames;
+  private final BitSet concrete;
+  /**
+   * Sanitised simple names in ascending order & the index of the qualified name each belongs to
+   */
+  private final String[] sanitisedSimpleNames;
+  private final int[] simpleNameToQualifiedNameIndex;
+
+  /**
+   * @param qualifiedNameToConcrete qualified name of each class -> true if the class can be instantiated (i.e is neither abstract nor an interface)
+   */
+  ClassNameTable(Map<String, Boolean> qualifiedNameToConcrete) {
+    int size = qualifiedNameToConcrete.size();
+    String[] unsortedQualifiedNames = new String[size];
+    String[] unsortedSanitisedQualifiedNames = new String[size];
+    String[] unsortedSanitisedSimpleNames = new String[size];
+    boolean[] unsortedConcreteFlags = new boolean[size];
+    int index = 0;
+    for (Map.Entry<String, Boolean> entry : qualifiedNameToConcrete.entrySet()) {
+      unsortedQualifiedNames[index] = entry.getKey();
+      unsortedSanitisedQualifiedNames[index] = sanitise(entry.getKey());
+      unsortedSanitisedSimpleNames[index] = sanitise(toSimpleName(entry.getKey()));
+      unsortedConcreteFlags[index] = entry.getValue();
+      index++;
+    }
+
+    int[] qualifiedNameOrder = sortedOrder(unsortedSanitisedQualifiedNames);
+    // position of each unsorted entry in the sorted arrays
+    int[] unsortedToSorted = new int[size];
+    qualifiedNames = new String[size];
+    sanitisedQualifiedNames = new String[size];
+    concrete = new BitSet(size);
+    for (int i = 0; i < size; i++) {
+      int unsortedIndex = qualifiedNameOrder[i];
+      qualifiedNames[i] = unsortedQualifiedNames[unsortedIndex];
+      sanitisedQualifiedNames[i] = unsortedSanitisedQualifiedNames[unsortedIndex];
+      concrete.set(i, unsortedConcreteFlags[unsortedIndex]);
+      unsortedToSorted[unsortedIndex] = i;
+    }
+
+    int[] simpleNameOrder = sortedOrder(unsortedSanitisedSimpleNames);
+    sanitisedSimpleNames = new String[size];
+    simpleNameToQualifiedNameIndex = new int[size];
+    for (int i = 0; i < size; i++) {
+      sanitisedSimpleNames[i] = unsortedSanitisedSimpleNames[simpleNameOrder[i]];
+      simpleNameToQualifiedNameIndex[i] = unsortedToSorted[simpleNameOrder[i]];
+    }
+  }
+
+  /**
+   * @param prefix       prefix of either the qualified or the simple name
+   * @param concreteOnly whether to leave out abstract classes & interfaces
+   * @return qualified names of the matching classes, the ones matching by qualified name first
+   */
+  List<String> findWithPrefix(String prefix, boolean concreteOnly) {
+    String sanitisedPrefix = sanitise(prefix);
+    BitSet matches = new BitSet(qualifiedNames.length);
+    List<String> matchingNames = new ArrayList<>();
+    for (int i = lowerBound(sanitisedQualifiedNames, sanitisedPrefix);
+         i < sanitisedQualifiedNames.length && sanitisedQualifiedNames[i]
+             .startsWith(sanitisedPrefix); i++) {
+      addIfEligible(i, concreteOnly, matches, matchingNames);
+    }
+    for (int i = lowerBound(sanitisedSimpleNames, sanitisedPrefix);
+         i < sanitisedSimpleNames.length && sanitisedSimpleNames[i].startsWith(sanitisedPrefix);
+         i++) {
+      addIfEligible(simpleNameToQualifiedNameIndex[i], concreteOnly, matches, matchingNames);
+    }
+    return matchingNames;
+  }
+
+  /**
+   * @return true if a class with the given qualified name is present, ignoring case, {@code -} & {@code _}
+   */
+  boolean contains(String qualifiedName, boolean concreteOnly) {
+    String sanitisedName = sanitise(qualifiedName);
+    for (int i = lowerBound(sanitisedQualifiedNames, sanitisedName);
+         i < sanitisedQualifiedNames.length && sanitisedQualifiedNames[i].equals(sanitisedName);
+         i++) {
+      if (!concreteOnly || concrete.get(i)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  int size() {
+    return qualifiedNames.length;
+  }
+
+  private void addIfEligible(int index, boolean concreteOnly, BitSet matches,
+      List<String> matchingNames) {
+    if ((!concreteOnly || concrete.get(index)) && !matches.get(index)) {
+      matches.set(index);
+      matchingNames.add(qualifiedNames[index]);
+    }
+  }
+
+  /**
+   * @return index of the first element that is not less than the given key
+   */
+  private static int lowerBound(String[] sortedValues, String key) {
+    int low = 0;
+    int high = sortedValues.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (sortedValues[mid].compareTo(key) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @return indexes of the given values in the ascending order of the values
+   */
+  private static int[] sortedOrder(String[] values) {
+    Integer[] order = new Integer[values.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    sort(order, comparing(index -> values[index]));
+    int[] sortedOrder = new int[order.length];
+    for (int i = 0; i < order.length; i++) {
+      sortedOrder[i] = order[i];
+    }
+    return sortedOrder;
+  }
+
+  private static String toSimpleName(String qualifiedName) {
+    return qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+  }
+
+}
@@ -0,0 +1,57 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.provider;
+
+import com.intellij.openapi.module.Module;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataHintValue;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderParams;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Completes class names for the {@code class-reference} provider. When the provider specifies a {@code target}, only the target & its inheritors are suggested (leaving out abstract classes & interfaces unless {@code concrete} is set to false), which are served from the cache of {@link InheritorIndexService}. Without a target, any class of the module classpath is suggested from {@link PackageTreeService}
+ */
+class ClassReferenceValueProvider implements ValueProvider {
+
+  @Nullable
+  @Override
+  public SpringConfigurationMetadataHintValue findValueWithName(Module module,
+      @Nullable SpringConfigurationMetadataValueProviderParams parameters, String name) {
+    String target = parameters != null ? parameters.getTarget() : null;
+    if (target != null) {
+      ClassNameTable inheritors =
+          InheritorIndexService.getInstance(module.getProject()).getInheritors(module, target);
+      return inheritors.contains(name, parameters.isConcrete()) ? newHintValue(name) : null;
+    }
+    PackageTree.Node match = PackageTreeService.getInstance(module.getProject()).find(module, name);
+    return match != null && match.isClass() ? newHintValue(match.getQualifiedName()) : null;
+  }
+
+  @Override
+  public Collection<SpringConfigurationMetadataHintValue> findValuesWithPrefix(Module module,
+      @Nullable SpringConfigurationMetadataValueProviderParams parameters, String prefix) {
+    String target = parameters != null ? parameters.getTarget() : null;
+    if (target != null) {
+      ClassNameTable inheritors =
+          InheritorIndexService.getInstance(module.getProject()).getInheritors(module, target);
+      return inheritors.findWithPrefix(prefix, parameters.isConcrete()).stream()
+          .map(ClassReferenceValueProvider::newHintValue).collect(toList());
+    }
+    // packages are suggested as well, so that the user can navigate down to the class
+    List<PackageTree.Node> matches =
+        PackageTreeService.getInstance(module.getProject()).findWithPrefix(module, prefix);
+    return matches.stream().map(node -> newHintValue(node.getQualifiedName())).collect(toList());
+  }
+
+  @Override
+  public boolean isValueDotDelimited() {
+    return true;
+  }
+
+  private static SpringConfigurationMetadataHintValue newHintValue(String qualifiedName) {
+    return SpringConfigurationMetadataHintValue.builder().nameAsObjOrArray(qualifiedName).build();
+  }
+
+}
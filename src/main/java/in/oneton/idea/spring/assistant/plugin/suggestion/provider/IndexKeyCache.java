@@ -0,0 +1,67 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.provider;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.ConcurrencyUtil;
+import com.intellij.util.containers.ContainerUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.ID;
+import gnu.trove.THashSet;
+import lombok.experimental.UtilityClass;
+import org.apache.commons.collections4.Trie;
+import org.apache.commons.collections4.trie.PatriciaTrie;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.intellij.psi.util.CachedValueProvider.Result.create;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode.sanitise;
+
+/**
+ * Keys of a file based index (say bean/profile names) as seen from a module, held against their sanitised names in a trie, so that a prefix search is a lookup rather than a walk over (& sanitisation of) all the keys of the index on every keystroke. Cached against the module, till the index or the project roots change
+ */
+@UtilityClass
+class IndexKeyCache {
+
+  private static final ConcurrentMap<String, Key<CachedValue<Trie<String, Set<String>>>>>
+      indexNameToKey = ContainerUtil.newConcurrentMap();
+
+  /**
+   * Keys are not guaranteed to be limited to the scope of the module, so callers are expected to filter the matches further
+   *
+   * @return keys of the index whose sanitised names start with the sanitised prefix
+   */
+  static Set<String> findKeysWithPrefix(Module module, ID<String, ?> indexId, String prefix) {
+    Set<String> matches = new THashSet<>();
+    for (Set<String> keys : getSanitisedKeyToKeys(module, indexId).prefixMap(sanitise(prefix))
+        .values()) {
+      matches.addAll(keys);
+    }
+    return matches;
+  }
+
+  private static Trie<String, Set<String>> getSanitisedKeyToKeys(Module module,
+      ID<String, ?> indexId) {
+    String userDataKeyRef = "spring_assistant_plugin_index_keys:" + indexId.getName();
+    Key<CachedValue<Trie<String, Set<String>>>> cacheKey =
+        ConcurrencyUtil.cacheOrGet(indexNameToKey, userDataKeyRef, Key.create(userDataKeyRef));
+    Project project = module.getProject();
+    return CachedValuesManager.getManager(project).getCachedValue(module, cacheKey, () -> {
+      Trie<String, Set<String>> sanitisedKeyToKeys = new PatriciaTrie<>();
+      FileBasedIndex.getInstance().processAllKeys(indexId, key -> {
+        sanitisedKeyToKeys.computeIfAbsent(sanitise(key), sanitisedKey -> new THashSet<>())
+            .add(key);
+        return true;
+      }, module.getModuleWithDependenciesAndLibrariesScope(false), null);
+      ModificationTracker indexTracker =
+          () -> FileBasedIndex.getInstance().getIndexModificationStamp(indexId, project);
+      return create(sanitisedKeyToKeys, indexTracker, ProjectRootManager.getInstance(project));
+    }, false);
+  }
+
+}
@@ -0,0 +1,152 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.provider;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.ClassInheritorsSearch;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.util.TimeoutUtil;
+import gnu.trove.THashMap;
+import org.apache.commons.lang.time.StopWatch;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.intellij.ProjectTopics.PROJECT_ROOTS;
+import static com.intellij.openapi.application.ApplicationManager.getApplication;
+
+/**
+ * Holds the inheritors of each distinct target type of {@code class-reference} providers, per module, so that completion never has to search for inheritors itself.
+ * <p>
+ * Inheritors are computed in the background when first asked for & are recomputed whenever java structure of the project changes. Meanwhile, the inheritors as of the last computation are served. The search runs in a read action that gives way to write actions (& is retried), so that it never holds off the editor
+ */
+public class InheritorIndexService implements Disposable {
+
+  private static final Logger log = Logger.getInstance(InheritorIndexService.class);
+
+  private static final int RETRY_DELAY_MILLIS = 100;
+
+  private final Project project;
+  private final Map<String, Map<String, CachedInheritors>> moduleNameToTargetToInheritors =
+      new ConcurrentHashMap<>();
+
+  public InheritorIndexService(Project project) {
+    this.project = project;
+    project.getMessageBus().connect(this).subscribe(PROJECT_ROOTS, new ModuleRootListener() {
+      @Override
+      public void rootsChanged(ModuleRootEvent event) {
+        moduleNameToTargetToInheritors.clear();
+      }
+    });
+  }
+
+  public static InheritorIndexService getInstance(Project project) {
+    return ServiceManager.getService(project, InheritorIndexService.class);
+  }
+
+  /**
+   * @param module         module whose classpath is searched
+   * @param targetClassFqn qualified name of the class whose inheritors are needed
+   * @return target class & its inheritors as of the last computation. Empty till the first computation completes
+   */
+  ClassNameTable getInheritors(Module module, String targetClassFqn) {
+    CachedInheritors cachedInheritors = moduleNameToTargetToInheritors
+        .computeIfAbsent(module.getName(), moduleName -> new ConcurrentHashMap<>())
+        .computeIfAbsent(targetClassFqn, target -> new CachedInheritors());
+    long modificationCount =
+        PsiModificationTracker.SERVICE.getInstance(project).getJavaStructureModificationCount();
+    if (cachedInheritors.computedAtModificationCount != modificationCount
+        && cachedInheritors.computing.compareAndSet(false, true)) {
+      getApplication()
+          .executeOnPooledThread(() -> compute(module, targetClassFqn, cachedInheritors));
+    }
+    return cachedInheritors.table;
+  }
+
+  @Override
+  public void dispose() {
+    moduleNameToTargetToInheritors.clear();
+  }
+
+  private void compute(Module module, String targetClassFqn, CachedInheritors cachedInheritors) {
+    StopWatch timer = new StopWatch();
+    timer.start();
+    try {
+      DumbService dumbService = DumbService.getInstance(project);
+      while (!module.isDisposed()) {
+        dumbService.waitForSmartMode();
+        Map<String, Boolean> qualifiedNameToConcrete = new THashMap<>();
+        long[] modificationCount = new long[1];
+        boolean completed = ProgressIndicatorUtils.runInReadActionWithWriteActionPriority(() -> {
+          if (!dumbService.isDumb() && !module.isDisposed()) {
+            modificationCount[0] = PsiModificationTracker.SERVICE.getInstance(project)
+                .getJavaStructureModificationCount();
+            collectInheritors(module, targetClassFqn, qualifiedNameToConcrete);
+          }
+        });
+        if (completed && modificationCount[0] != 0) {
+          cachedInheritors.table = new ClassNameTable(qualifiedNameToConcrete);
+          cachedInheritors.computedAtModificationCount = modificationCount[0];
+          break;
+        }
+        // a write action is pending or the IDE went dumb, lets try again shortly
+        TimeoutUtil.sleep(RETRY_DELAY_MILLIS);
+      }
+    } finally {
+      cachedInheritors.computing.set(false);
+      timer.stop();
+      debug(() -> log.debug(
+          "Inheritors of " + targetClassFqn + " for module " + module.getName() + " computed in "
+              + timer.toString() + ". " + cachedInheritors.table.size() + " classes found"));
+    }
+  }
+
+  private void collectInheritors(Module module, String targetClassFqn,
+      Map<String, Boolean> qualifiedNameToConcrete) {
+    GlobalSearchScope scope = module.getModuleWithDependenciesAndLibrariesScope(false);
+    PsiClass targetClass = JavaPsiFacade.getInstance(project).findClass(targetClassFqn, scope);
+    if (targetClass != null) {
+      addClass(targetClass, qualifiedNameToConcrete);
+      ClassInheritorsSearch.search(targetClass, scope, true).forEach(inheritor -> {
+        addClass(inheritor, qualifiedNameToConcrete);
+        return true;
+      });
+    }
+  }
+
+  private static void addClass(PsiClass psiClass, Map<String, Boolean> qualifiedNameToConcrete) {
+    String qualifiedName = psiClass.getQualifiedName();
+    // anonymous & local classes cannot be referred by name
+    if (qualifiedName != null) {
+      qualifiedNameToConcrete.put(qualifiedName,
+          !psiClass.isInterface() && !psiClass.hasModifierProperty(PsiModifier.ABSTRACT));
+    }
+  }
+
+  private void debug(Runnable doWhenDebug) {
+    if (log.isDebugEnabled()) {
+      doWhenDebug.run();
+    }
+  }
+
+  private static class CachedInheritors {
+    private volatile ClassNameTable table = ClassNameTable.EMPTY;
+    /**
+     * Java structure modification count the table was computed at. 0 if never computed
+     */
+    private volatile long computedAtModificationCount;
+    private final AtomicBoolean computing = new AtomicBoolean();
+  }
+
+}
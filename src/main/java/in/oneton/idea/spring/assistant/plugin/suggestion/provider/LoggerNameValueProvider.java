@@ -0,0 +1,51 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.provider;
+
+import com.intellij.openapi.module.Module;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataHintValue;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderParams;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Completes package & class names of the module classpath for the {@code logger-name} provider (say, keys of {@code logging.level}).
+ * <p>
+ * Logger names are not restricted to classes (say, {@code org.hibernate.SQL}), so any name is accepted as a value
+ */
+class LoggerNameValueProvider implements ValueProvider {
+
+  @Nullable
+  @Override
+  public SpringConfigurationMetadataHintValue findValueWithName(Module module,
+      @Nullable SpringConfigurationMetadataValueProviderParams parameters, String name) {
+    PackageTree.Node match = PackageTreeService.getInstance(module.getProject()).find(module, name);
+    return match != null ? toHintValue(match) : newHintValue(name, null);
+  }
+
+  @Override
+  public Collection<SpringConfigurationMetadataHintValue> findValuesWithPrefix(Module module,
+      @Nullable SpringConfigurationMetadataValueProviderParams parameters, String prefix) {
+    List<PackageTree.Node> matches =
+        PackageTreeService.getInstance(module.getProject()).findWithPrefix(module, prefix);
+    return matches.stream().map(LoggerNameValueProvider::toHintValue).collect(toList());
+  }
+
+  @Override
+  public boolean isValueDotDelimited() {
+    return true;
+  }
+
+  private static SpringConfigurationMetadataHintValue toHintValue(PackageTree.Node node) {
+    return newHintValue(node.getQualifiedName(), node.isClass() ? "Class" : "Package");
+  }
+
+  private static SpringConfigurationMetadataHintValue newHintValue(String name,
+      @Nullable String description) {
+    return SpringConfigurationMetadataHintValue.builder().nameAsObjOrArray(name)
+        .description(description).build();
+  }
+
+}
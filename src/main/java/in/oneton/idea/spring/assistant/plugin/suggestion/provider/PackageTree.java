@@ -0,0 +1,175 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.provider;
+
+import lombok.Getter;
+import org.apache.commons.collections4.Trie;
+import org.apache.commons.collections4.trie.PatriciaTrie;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static in.oneton.idea.spring.assistant.plugin.misc.StringInterner.intern;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode.sanitise;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Prefix searchable tree of packages & the top level classes within them, i.e {@code com.acme.Service} is held as {@code com} -> {@code acme} -> {@code Service}. A search for {@code com.acme.s} walks down the first two levels & does a prefix search within the last, so its cost depends on the depth of the query & the number of matches, not on the number of classes in the tree.
+ * <p>
+ * Children are keyed by their sanitised name followed by the original name, as a package & a class can share the sanitised name (say {@code com.acme.service} & {@code com.acme.Service}). A package is held only as long as there is at least one class within it.
+ * <p>
+ * Not thread safe
+ */
+class PackageTree {
+
+  private static final char KEY_SEPARATOR = '\u0000';
+
+  private final Node root = new Node(null, "");
+
+  /**
+   * Adds the class & all its packages. A class that is added more than once (say, is present in more than one jar) should be removed as many times before it leaves the tree
+   *
+   * @param qualifiedName qualified name of a top level class
+   */
+  void addClass(String qualifiedName) {
+    String[] segments = qualifiedName.split("\\.");
+    Node current = root;
+    current.numOfClassesWithin++;
+    for (String segment : segments) {
+      Node child = current.getChild(segment);
+      if (child == null) {
+        child = current.addChild(segment);
+      }
+      child.numOfClassesWithin++;
+      current = child;
+    }
+    current.numOfOccurrencesAsClass++;
+  }
+
+  /**
+   * @param qualifiedName qualified name of a top level class, that was added earlier
+   */
+  void removeClass(String qualifiedName) {
+    String[] segments = qualifiedName.split("\\.");
+    Node[] path = new Node[segments.length];
+    Node current = root;
+    for (int i = 0; i < segments.length; i++) {
+      current = current.getChild(segments[i]);
+      if (current == null) {
+        return;
+      }
+      path[i] = current;
+    }
+    if (current.numOfOccurrencesAsClass == 0) {
+      return;
+    }
+    current.numOfOccurrencesAsClass--;
+    root.numOfClassesWithin--;
+    for (int i = path.length - 1; i >= 0; i--) {
+      Node node = path[i];
+      node.numOfClassesWithin--;
+      if (node.numOfClassesWithin == 0) {
+        (i == 0 ? root : path[i - 1]).removeChild(node);
+      }
+    }
+  }
+
+  /**
+   * @param dotDelimitedPrefix prefix such as {@code com.acme.s}. All but the last segment should match completely
+   * @return packages & classes whose qualified names match the prefix segment wise, ignoring case, {@code -} & {@code _}
+   */
+  List<Node> findWithPrefix(String dotDelimitedPrefix) {
+    String[] segments = dotDelimitedPrefix.split("\\.", -1);
+    Collection<Node> parents = singletonList(root);
+    for (int i = 0; i < segments.length - 1 && !parents.isEmpty(); i++) {
+      List<Node> matches = new ArrayList<>();
+      for (Node parent : parents) {
+        matches.addAll(parent.findChildren(sanitise(segments[i]) + KEY_SEPARATOR));
+      }
+      parents = matches;
+    }
+    List<Node> matches = new ArrayList<>();
+    for (Node parent : parents) {
+      matches.addAll(parent.findChildren(sanitise(segments[segments.length - 1])));
+    }
+    return matches;
+  }
+
+  /**
+   * @return package or class with the given qualified name, ignoring case, {@code -} & {@code _}
+   */
+  @Nullable
+  Node find(String qualifiedName) {
+    String sanitisedName = sanitise(qualifiedName);
+    for (Node match : findWithPrefix(qualifiedName)) {
+      if (sanitise(match.getQualifiedName()).equals(sanitisedName)) {
+        return match;
+      }
+    }
+    return null;
+  }
+
+  int getNumOfClasses() {
+    return root.numOfClassesWithin;
+  }
+
+  static class Node {
+    @Nullable
+    private final Node parent;
+    @Getter
+    private final String name;
+    @Nullable
+    private Trie<String, Node> children;
+    private int numOfClassesWithin;
+    private int numOfOccurrencesAsClass;
+
+    Node(@Nullable Node parent, String name) {
+      this.parent = parent;
+      this.name = name;
+    }
+
+    boolean isClass() {
+      return numOfOccurrencesAsClass != 0;
+    }
+
+    String getQualifiedName() {
+      if (parent == null || parent.parent == null) {
+        return name;
+      }
+      return parent.getQualifiedName() + "." + name;
+    }
+
+    @Nullable
+    private Node getChild(String name) {
+      return children != null ? children.get(toKey(name)) : null;
+    }
+
+    private Node addChild(String name) {
+      if (children == null) {
+        children = new PatriciaTrie<>();
+      }
+      Node child = new Node(this, intern(name));
+      children.put(toKey(name), child);
+      return child;
+    }
+
+    private void removeChild(Node child) {
+      if (children != null) {
+        children.remove(toKey(child.name));
+        if (children.isEmpty()) {
+          children = null;
+        }
+      }
+    }
+
+    private Collection<Node> findChildren(String keyPrefix) {
+      return children != null ? children.prefixMap(keyPrefix).values() : emptyList();
+    }
+
+    private static String toKey(String name) {
+      return sanitise(name) + KEY_SEPARATOR + name;
+    }
+  }
+
+}
@@ -0,0 +1,363 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.provider;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.roots.OrderEnumerator;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiIdentifier;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiPackageStatement;
+import com.intellij.psi.PsiTreeChangeAdapter;
+import com.intellij.psi.PsiTreeChangeEvent;
+import com.intellij.psi.impl.PsiTreeChangeEventImpl;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.PsiShortNamesCache;
+import com.intellij.psi.util.PsiTreeUtil;
+import gnu.trove.THashMap;
+import gnu.trove.THashSet;
+import org.apache.commons.lang.time.StopWatch;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.intellij.ProjectTopics.PROJECT_ROOTS;
+import static com.intellij.openapi.application.ApplicationManager.getApplication;
+import static java.util.Arrays.copyOfRange;
+import static java.util.Arrays.stream;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Stream.concat;
+
+/**
+ * Holds a {@link PackageTree} per distinct classpath, covering the top level classes of the module, its dependencies & libraries. Modules whose classpath (source roots, libraries & the SDK, in order) is the same share a single tree, so that the classes of a large set of libraries are not held once per module.
+ * <p>
+ * Tree of a classpath is built in the background when it is first asked for, from the short name cache (i.e stubs), in batches of class names, so that no single read action holds off the editor for long. Till then, no values are served. Once built
+ * <ul>
+ * <li>changes to java files in source roots that can add/remove/rename top level classes (classes & package statement of the file, name of a top level class, the file itself) are applied to the tree incrementally, one file at a time. Edits within classes are ignored</li>
+ * <li>any change to project roots (libraries, modules) discards all trees, which are rebuilt when asked for next</li>
+ * </ul>
+ */
+public class PackageTreeService implements Disposable {
+
+  private static final Logger log = Logger.getInstance(PackageTreeService.class);
+
+  private static final int CLASS_NAMES_PER_READ_ACTION = 500;
+
+  private final Project project;
+  private final Map<String, String> moduleNameToClasspathFingerprint = new ConcurrentHashMap<>();
+  private final Map<String, ClasspathPackageTree> classpathFingerprintToTree =
+      new ConcurrentHashMap<>();
+
+  public PackageTreeService(Project project) {
+    this.project = project;
+    project.getMessageBus().connect(this).subscribe(PROJECT_ROOTS, new ModuleRootListener() {
+      @Override
+      public void rootsChanged(ModuleRootEvent event) {
+        debug(() -> log.debug("Project roots changed. Discarding package trees of all modules"));
+        moduleNameToClasspathFingerprint.clear();
+        classpathFingerprintToTree.clear();
+      }
+    });
+    PsiManager.getInstance(project).addPsiTreeChangeListener(new SourceChangeListener(), this);
+  }
+
+  public static PackageTreeService getInstance(Project project) {
+    return ServiceManager.getService(project, PackageTreeService.class);
+  }
+
+  /**
+   * @return packages & classes matching the dot delimited prefix, or an empty list if the tree of the module is not built yet
+   */
+  List<PackageTree.Node> findWithPrefix(Module module, String dotDelimitedPrefix) {
+    ClasspathPackageTree classpathTree = getBuiltTree(module);
+    if (classpathTree == null) {
+      return emptyList();
+    }
+    synchronized (classpathTree) {
+      return classpathTree.tree.findWithPrefix(dotDelimitedPrefix);
+    }
+  }
+
+  @Nullable
+  PackageTree.Node find(Module module, String qualifiedName) {
+    ClasspathPackageTree classpathTree = getBuiltTree(module);
+    if (classpathTree == null) {
+      return null;
+    }
+    synchronized (classpathTree) {
+      return classpathTree.tree.find(qualifiedName);
+    }
+  }
+
+  @Override
+  public void dispose() {
+    moduleNameToClasspathFingerprint.clear();
+    classpathFingerprintToTree.clear();
+  }
+
+  @Nullable
+  private ClasspathPackageTree getBuiltTree(Module module) {
+    String fingerprint = moduleNameToClasspathFingerprint
+        .computeIfAbsent(module.getName(), name -> toClasspathFingerprint(module));
+    ClasspathPackageTree classpathTree = classpathFingerprintToTree.get(fingerprint);
+    if (classpathTree == null) {
+      ClasspathPackageTree newTree = new ClasspathPackageTree(fingerprint, module);
+      classpathTree = classpathFingerprintToTree.putIfAbsent(fingerprint, newTree);
+      if (classpathTree == null) {
+        classpathTree = newTree;
+        getApplication().executeOnPooledThread(() -> build(newTree));
+      }
+    }
+    return classpathTree.built ? classpathTree : null;
+  }
+
+  /**
+   * @return urls of the roots that make up the scope of the tree (i.e production classpath of the module, including the SDK), in order
+   */
+  private static String toClasspathFingerprint(Module module) {
+    OrderEnumerator enumerator =
+        OrderEnumerator.orderEntries(module).recursively().productionOnly();
+    return concat(stream(enumerator.getAllSourceRoots()),
+        stream(enumerator.getAllLibrariesAndSdkClassesRoots())).map(VirtualFile::getUrl)
+        .collect(joining("\n"));
+  }
+
+  private void build(ClasspathPackageTree classpathTree) {
+    StopWatch timer = new StopWatch();
+    timer.start();
+    DumbService dumbService = DumbService.getInstance(project);
+    String[] classNames = dumbService.runReadActionInSmartMode(
+        () -> isDiscarded(classpathTree) ? null : PsiShortNamesCache.getInstance(project)
+            .getAllClassNames());
+    if (classNames == null) {
+      return;
+    }
+    for (int start = 0; start < classNames.length; start += CLASS_NAMES_PER_READ_ACTION) {
+      String[] batch = copyOfRange(classNames, start,
+          Math.min(classNames.length, start + CLASS_NAMES_PER_READ_ACTION));
+      boolean discarded = dumbService.runReadActionInSmartMode(() -> {
+        if (isDiscarded(classpathTree)) {
+          return true;
+        }
+        addClasses(classpathTree, batch);
+        return false;
+      });
+      if (discarded) {
+        debug(() -> log.debug(
+            "Package tree of classpath of module " + classpathTree.module.getName()
+                + " is discarded while being built"));
+        return;
+      }
+    }
+    classpathTree.built = true;
+    timer.stop();
+    debug(() -> log.debug(
+        "Package tree with " + classpathTree.tree.getNumOfClasses()
+            + " classes built for classpath of module " + classpathTree.module.getName() + " in "
+            + timer.toString()));
+  }
+
+  private void addClasses(ClasspathPackageTree classpathTree, String[] classNames) {
+    PsiShortNamesCache shortNamesCache = PsiShortNamesCache.getInstance(project);
+    ProjectFileIndex fileIndex = ProjectRootManager.getInstance(project).getFileIndex();
+    GlobalSearchScope scope = classpathTree.getScope();
+    for (String className : classNames) {
+      for (PsiClass psiClass : shortNamesCache.getClassesByName(className, scope)) {
+        String qualifiedName = psiClass.getQualifiedName();
+        if (psiClass.getContainingClass() != null || qualifiedName == null) {
+          continue;
+        }
+        VirtualFile file = psiClass.getContainingFile().getVirtualFile();
+        if (file != null && fileIndex.isInSourceContent(file)) {
+          classpathTree.addSourceClass(file.getUrl(), qualifiedName);
+        } else {
+          classpathTree.addLibraryClass(qualifiedName);
+        }
+      }
+    }
+  }
+
+  private boolean isDiscarded(ClasspathPackageTree classpathTree) {
+    return classpathTree.module.isDisposed()
+        || classpathFingerprintToTree.get(classpathTree.classpathFingerprint) != classpathTree;
+  }
+
+  private void updateSourceFile(PsiJavaFile javaFile) {
+    VirtualFile file = javaFile.getVirtualFile();
+    if (file == null || classpathFingerprintToTree.isEmpty() || !ProjectRootManager
+        .getInstance(project).getFileIndex().isInSourceContent(file)) {
+      return;
+    }
+    Set<String> qualifiedNames = new THashSet<>();
+    for (PsiClass psiClass : javaFile.getClasses()) {
+      if (psiClass.getQualifiedName() != null) {
+        qualifiedNames.add(psiClass.getQualifiedName());
+      }
+    }
+    for (ClasspathPackageTree classpathTree : classpathFingerprintToTree.values()) {
+      if (!classpathTree.module.isDisposed() && classpathTree.getScope().contains(file)) {
+        classpathTree.updateSourceFile(file.getUrl(), qualifiedNames);
+      }
+    }
+  }
+
+  private void removeSourceFile(PsiJavaFile javaFile) {
+    VirtualFile file = javaFile.getVirtualFile();
+    if (file != null) {
+      for (ClasspathPackageTree classpathTree : classpathFingerprintToTree.values()) {
+        classpathTree.updateSourceFile(file.getUrl(), emptySet());
+      }
+    }
+  }
+
+  private void debug(Runnable doWhenDebug) {
+    if (log.isDebugEnabled()) {
+      doWhenDebug.run();
+    }
+  }
+
+  private static class ClasspathPackageTree {
+    private final String classpathFingerprint;
+    /**
+     * Any one of the modules with this classpath. Scope of all of them is the same
+     */
+    private final Module module;
+    private final PackageTree tree = new PackageTree();
+    /**
+     * Classes of source files are tracked by file, so that a change to a file can be applied as a diff. Also ensures that a class seen by both the build & a change event is added only once
+     */
+    private final Map<String, Set<String>> sourceFileUrlToClasses = new THashMap<>();
+    private volatile boolean built;
+
+    ClasspathPackageTree(String classpathFingerprint, Module module) {
+      this.classpathFingerprint = classpathFingerprint;
+      this.module = module;
+    }
+
+    GlobalSearchScope getScope() {
+      return module.getModuleWithDependenciesAndLibrariesScope(false);
+    }
+
+    synchronized void addLibraryClass(String qualifiedName) {
+      tree.addClass(qualifiedName);
+    }
+
+    synchronized void addSourceClass(String fileUrl, String qualifiedName) {
+      if (sourceFileUrlToClasses.computeIfAbsent(fileUrl, url -> new THashSet<>())
+          .add(qualifiedName)) {
+        tree.addClass(qualifiedName);
+      }
+    }
+
+    synchronized void updateSourceFile(String fileUrl, Set<String> qualifiedNames) {
+      Set<String> previousQualifiedNames = sourceFileUrlToClasses.remove(fileUrl);
+      if (previousQualifiedNames != null) {
+        for (String previousQualifiedName : previousQualifiedNames) {
+          if (!qualifiedNames.contains(previousQualifiedName)) {
+            tree.removeClass(previousQualifiedName);
+          }
+        }
+      }
+      for (String qualifiedName : qualifiedNames) {
+        if (previousQualifiedNames == null || !previousQualifiedNames.contains(qualifiedName)) {
+          tree.addClass(qualifiedName);
+        }
+      }
+      if (!qualifiedNames.isEmpty()) {
+        sourceFileUrlToClasses.put(fileUrl, new THashSet<>(qualifiedNames));
+      }
+    }
+  }
+
+  private class SourceChangeListener extends PsiTreeChangeAdapter {
+    @Override
+    public void beforeChildRemoval(@NotNull PsiTreeChangeEvent event) {
+      if (event.getChild() instanceof PsiJavaFile) {
+        removeSourceFile((PsiJavaFile) event.getChild());
+      }
+    }
+
+    @Override
+    public void childAdded(@NotNull PsiTreeChangeEvent event) {
+      onChange(event);
+    }
+
+    @Override
+    public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+      onChange(event);
+    }
+
+    @Override
+    public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+      onChange(event);
+    }
+
+    @Override
+    public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+      onChange(event);
+    }
+
+    @Override
+    public void childMoved(@NotNull PsiTreeChangeEvent event) {
+      onChange(event);
+    }
+
+    @Override
+    public void propertyChanged(@NotNull PsiTreeChangeEvent event) {
+      onChange(event);
+    }
+
+    private void onChange(PsiTreeChangeEvent event) {
+      PsiFile file = event.getFile();
+      PsiElement child = event.getChild();
+      if (file == null && child instanceof PsiJavaFile) {
+        // file itself is added/moved within a directory
+        file = (PsiFile) child;
+      }
+      // lets ignore the copies made by completion & the like
+      if (file instanceof PsiJavaFile && file.isValid() && file.isPhysical()
+          && mayChangeTopLevelClasses(event)) {
+        updateSourceFile((PsiJavaFile) file);
+      }
+    }
+
+    /**
+     * Edits within a class (members, bodies) cannot change the top level classes of a file. Neither can the generic event that is fired for the file on every reparse, along side the events that describe the actual change
+     */
+    private boolean mayChangeTopLevelClasses(PsiTreeChangeEvent event) {
+      if (event instanceof PsiTreeChangeEventImpl && ((PsiTreeChangeEventImpl) event)
+          .isGenericChange()) {
+        return false;
+      }
+      PsiElement parent = event.getParent();
+      if (parent == null || parent instanceof PsiFile || event.getChild() instanceof PsiFile) {
+        return true;
+      }
+      if (PsiTreeUtil.getParentOfType(parent, PsiPackageStatement.class, false) != null) {
+        return true;
+      }
+      // rename of a top level class
+      return parent instanceof PsiClass && ((PsiClass) parent).getContainingClass() == null && (
+          event.getChild() instanceof PsiIdentifier || event
+              .getNewChild() instanceof PsiIdentifier);
+    }
+  }
+
+}
@@ -0,0 +1,240 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.provider;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationMemberValue;
+import com.intellij.psi.PsiArrayInitializerMemberValue;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiImportStatement;
+import com.intellij.psi.PsiJavaCodeReferenceElement;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifierList;
+import com.intellij.psi.PsiTypeElement;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import gnu.trove.THashMap;
+import gnu.trove.THashSet;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import java.beans.Introspector;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+
+/**
+ * Indexes names of the beans declared in java sources, so that {@code spring-bean-reference} values can be suggested without looking at PSI during completion. Covers
+ * <ul>
+ * <li>{@code @Bean} methods, named by their {@code name}/{@code value} attribute, falling back to the method name</li>
+ * <li>{@code @Component} family of classes, named by their {@code value} attribute, falling back to the decapitalised class name</li>
+ * </ul>
+ * Key is the bean name & value is the qualified name of the bean type ({@link #UNKNOWN_TYPE} when it cannot be determined). Indexing cannot resolve references, so annotations are matched by their simple name & the bean type is known only when it is either written fully qualified or is imported explicitly (single type import)
+ */
+public class SpringBeanNameIndex extends FileBasedIndexExtension<String, String> {
+
+  public static final ID<String, String> NAME =
+      ID.create("in.oneton.idea.spring.assistant.plugin.beanNames");
+
+  /**
+   * Type of beans whose type is either primitive or cannot be qualified without resolving (say, a class from the same package/an on demand import/{@code java.lang})
+   */
+  static final String UNKNOWN_TYPE = "";
+
+  private static final String BEAN = "Bean";
+  private static final Set<String> COMPONENT_ANNOTATIONS = new THashSet<>(
+      asList("Component", "Service", "Repository", "Controller", "RestController",
+          "Configuration"));
+
+  @NotNull
+  @Override
+  public ID<String, String> getName() {
+    return NAME;
+  }
+
+  @NotNull
+  @Override
+  public DataIndexer<String, String, FileContent> getIndexer() {
+    return inputData -> {
+      CharSequence text = inputData.getContentAsText();
+      // most of the java files declare no beans, lets not visit their PSI
+      if (!StringUtil.contains(text, "@" + BEAN) && COMPONENT_ANNOTATIONS.stream()
+          .noneMatch(annotation -> StringUtil.contains(text, "@" + annotation))) {
+        return emptyMap();
+      }
+      PsiFile psiFile = inputData.getPsiFile();
+      if (!(psiFile instanceof PsiJavaFile)) {
+        return emptyMap();
+      }
+      PsiJavaFile javaFile = (PsiJavaFile) psiFile;
+      Map<String, String> beanNameToType = new THashMap<>();
+      Map<String, String> importedSimpleNameToQualifiedName = toImportedClasses(javaFile);
+      for (PsiClass psiClass : javaFile.getClasses()) {
+        indexClass(psiClass, importedSimpleNameToQualifiedName, beanNameToType);
+      }
+      return beanNameToType;
+    };
+  }
+
+  @NotNull
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return EnumeratorStringDescriptor.INSTANCE;
+  }
+
+  @NotNull
+  @Override
+  public DataExternalizer<String> getValueExternalizer() {
+    return EnumeratorStringDescriptor.INSTANCE;
+  }
+
+  @Override
+  public int getVersion() {
+    return 1;
+  }
+
+  @NotNull
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+  private static void indexClass(PsiClass psiClass,
+      Map<String, String> importedSimpleNameToQualifiedName, Map<String, String> beanNameToType) {
+    PsiAnnotation componentAnnotation = findAnnotation(psiClass.getModifierList(), true);
+    String qualifiedName = psiClass.getQualifiedName();
+    if (componentAnnotation != null && qualifiedName != null && psiClass.getName() != null) {
+      String explicitName = toStringValue(componentAnnotation.findDeclaredAttributeValue("value"));
+      beanNameToType.put(
+          explicitName != null ? explicitName : Introspector.decapitalize(psiClass.getName()),
+          qualifiedName);
+    }
+
+    for (PsiMethod method : psiClass.getMethods()) {
+      PsiAnnotation beanAnnotation = findAnnotation(method.getModifierList(), false);
+      if (beanAnnotation != null) {
+        String type =
+            toQualifiedType(method.getReturnTypeElement(), importedSimpleNameToQualifiedName);
+        boolean named = addNames(beanAnnotation.findDeclaredAttributeValue("name"), type,
+            beanNameToType);
+        named |= addNames(beanAnnotation.findDeclaredAttributeValue("value"), type,
+            beanNameToType);
+        if (!named) {
+          beanNameToType.put(method.getName(), type);
+        }
+      }
+    }
+
+    for (PsiClass innerClass : psiClass.getInnerClasses()) {
+      indexClass(innerClass, importedSimpleNameToQualifiedName, beanNameToType);
+    }
+  }
+
+  @Nullable
+  private static PsiAnnotation findAnnotation(@Nullable PsiModifierList modifierList,
+      boolean component) {
+    if (modifierList != null) {
+      for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+        PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+        String name = reference != null ? reference.getReferenceName() : null;
+        if (name != null && (component ?
+            COMPONENT_ANNOTATIONS.contains(name) :
+            BEAN.equals(name))) {
+          return annotation;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Adds all names (a bean can have aliases) of the given attribute value
+   *
+   * @return true if at least one name is added
+   */
+  private static boolean addNames(@Nullable PsiAnnotationMemberValue value, String type,
+      Map<String, String> beanNameToType) {
+    boolean added = false;
+    if (value instanceof PsiArrayInitializerMemberValue) {
+      for (PsiAnnotationMemberValue initializer : ((PsiArrayInitializerMemberValue) value)
+          .getInitializers()) {
+        added |= addNames(initializer, type, beanNameToType);
+      }
+    } else {
+      String name = toStringValue(value);
+      if (name != null) {
+        beanNameToType.put(name, type);
+        added = true;
+      }
+    }
+    return added;
+  }
+
+  /**
+   * @return value of the string literal, or null if the value is not a (non empty) string literal. Constants cannot be resolved while indexing
+   */
+  @Nullable
+  static String toStringValue(@Nullable PsiAnnotationMemberValue value) {
+    if (value instanceof PsiLiteralExpression) {
+      Object literalValue = ((PsiLiteralExpression) value).getValue();
+      if (literalValue instanceof String && !((String) literalValue).isEmpty()) {
+        return (String) literalValue;
+      }
+    }
+    return null;
+  }
+
+  private static String toQualifiedType(@Nullable PsiTypeElement typeElement,
+      Map<String, String> importedSimpleNameToQualifiedName) {
+    PsiJavaCodeReferenceElement reference =
+        typeElement != null ? typeElement.getInnermostComponentReferenceElement() : null;
+    if (reference == null) {
+      return UNKNOWN_TYPE;
+    }
+    // type arguments are not part of the bean type
+    String referenceText = reference.getText();
+    int typeArgumentsStart = referenceText.indexOf('<');
+    String typeName = (typeArgumentsStart != -1 ?
+        referenceText.substring(0, typeArgumentsStart) :
+        referenceText).replaceAll("\\s", "");
+    if (typeName.contains(".")) {
+      return typeName;
+    }
+    // could as well be from the same package/an on demand import/java.lang, which only resolution can tell
+    String qualifiedName = importedSimpleNameToQualifiedName.get(typeName);
+    return qualifiedName != null ? qualifiedName : UNKNOWN_TYPE;
+  }
+
+  private static Map<String, String> toImportedClasses(PsiJavaFile javaFile) {
+    Map<String, String> importedSimpleNameToQualifiedName = new THashMap<>();
+    if (javaFile.getImportList() != null) {
+      for (PsiImportStatement importStatement : javaFile.getImportList().getImportStatements()) {
+        PsiJavaCodeReferenceElement reference = importStatement.getImportReference();
+        if (!importStatement.isOnDemand() && reference != null) {
+          String qualifiedName = reference.getText().replaceAll("\\s", "");
+          importedSimpleNameToQualifiedName
+              .put(qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1), qualifiedName);
+        }
+      }
+    }
+    return importedSimpleNameToQualifiedName;
+  }
+
+}
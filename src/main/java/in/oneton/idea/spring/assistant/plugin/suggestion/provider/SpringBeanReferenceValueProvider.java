@@ -0,0 +1,87 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.provider;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.FileBasedIndex;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataHintValue;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderParams;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static in.oneton.idea.spring.assistant.plugin.suggestion.provider.IndexKeyCache.findKeysWithPrefix;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.provider.SpringBeanNameIndex.NAME;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.provider.SpringBeanNameIndex.UNKNOWN_TYPE;
+import static java.util.Collections.emptyList;
+
+/**
+ * Completes bean names for the {@code spring-bean-reference} provider from {@link SpringBeanNameIndex}. When the provider specifies a {@code target}, only the beans whose type is the target or one of its inheritors (as cached by {@link InheritorIndexService}) are suggested, along with the beans whose type the index could not determine.
+ * <p>
+ * Beans declared in compiled libraries are not indexed, so any name is accepted as a value
+ */
+class SpringBeanReferenceValueProvider implements ValueProvider {
+
+  @Nullable
+  @Override
+  public SpringConfigurationMetadataHintValue findValueWithName(Module module,
+      @Nullable SpringConfigurationMetadataValueProviderParams parameters, String name) {
+    if (DumbService.isDumb(module.getProject())) {
+      return newHintValue(name, null);
+    }
+    List<String> types = FileBasedIndex.getInstance().getValues(NAME, name, toScope(module));
+    String type = types.isEmpty() || UNKNOWN_TYPE.equals(types.get(0)) ? null : types.get(0);
+    return newHintValue(name, type);
+  }
+
+  @Override
+  public Collection<SpringConfigurationMetadataHintValue> findValuesWithPrefix(Module module,
+      @Nullable SpringConfigurationMetadataValueProviderParams parameters, String prefix) {
+    // index cannot be queried while the IDE is indexing
+    if (DumbService.isDumb(module.getProject())) {
+      return emptyList();
+    }
+    FileBasedIndex index = FileBasedIndex.getInstance();
+    GlobalSearchScope scope = toScope(module);
+    ClassNameTable targetTypes = toTargetTypes(module, parameters);
+    List<SpringConfigurationMetadataHintValue> values = new ArrayList<>();
+    // keys are not guaranteed to be limited to the scope, which is taken care of when their types are looked up
+    for (String name : findKeysWithPrefix(module, NAME, prefix)) {
+      for (String type : index.getValues(NAME, name, scope)) {
+        if (targetTypes == null || UNKNOWN_TYPE.equals(type) || targetTypes.contains(type, false)) {
+          values.add(newHintValue(name, UNKNOWN_TYPE.equals(type) ? null : type));
+          break;
+        }
+      }
+    }
+    return values;
+  }
+
+  /**
+   * @return target type & its inheritors, or null if beans of all types are acceptable. Also null till the inheritors are computed for the first time, as its better to suggest more than nothing
+   */
+  @Nullable
+  private static ClassNameTable toTargetTypes(Module module,
+      @Nullable SpringConfigurationMetadataValueProviderParams parameters) {
+    String target = parameters != null ? parameters.getTarget() : null;
+    if (target == null) {
+      return null;
+    }
+    ClassNameTable inheritors =
+        InheritorIndexService.getInstance(module.getProject()).getInheritors(module, target);
+    return inheritors.size() != 0 ? inheritors : null;
+  }
+
+  private static GlobalSearchScope toScope(Module module) {
+    return module.getModuleWithDependenciesAndLibrariesScope(false);
+  }
+
+  private static SpringConfigurationMetadataHintValue newHintValue(String name,
+      @Nullable String type) {
+    return SpringConfigurationMetadataHintValue.builder().nameAsObjOrArray(name).description(type)
+        .build();
+  }
+
+}
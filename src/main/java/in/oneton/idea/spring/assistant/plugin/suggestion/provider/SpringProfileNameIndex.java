@@ -0,0 +1,198 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.provider;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.lang.properties.IProperty;
+import com.intellij.lang.properties.psi.PropertiesFile;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationMemberValue;
+import com.intellij.psi.PsiArrayInitializerMemberValue;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaCodeReferenceElement;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifierList;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.ScalarIndexExtension;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import gnu.trove.THashMap;
+import gnu.trove.THashSet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.yaml.YAMLUtil;
+import org.jetbrains.yaml.psi.YAMLKeyValue;
+import org.jetbrains.yaml.psi.YAMLScalar;
+import org.jetbrains.yaml.psi.YAMLSequence;
+import org.jetbrains.yaml.psi.YAMLSequenceItem;
+import org.jetbrains.yaml.psi.YAMLValue;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.isSpringConfigFile;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode.sanitise;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.provider.SpringBeanNameIndex.toStringValue;
+import static java.util.Arrays.asList;
+
+/**
+ * Indexes names of the profiles a module knows about, so that {@code spring-profile-name} values can be suggested without looking at PSI during completion. Profiles are collected from
+ * <ul>
+ * <li>names of profile specific config files, say {@code dev} from {@code application-dev.yml}</li>
+ * <li>documents that are activated for a profile, i.e values of {@code spring.profiles} & {@code spring.config.activate.on-profile}</li>
+ * <li>{@code @Profile} annotations on classes & {@code @Bean} methods</li>
+ * </ul>
+ * Profile expressions (say {@code dev & !cloud}) contribute each profile they mention
+ */
+public class SpringProfileNameIndex extends ScalarIndexExtension<String> {
+
+  public static final ID<String, Void> NAME =
+      ID.create("in.oneton.idea.spring.assistant.plugin.profileNames");
+
+  private static final String PROFILE = "Profile";
+  private static final Set<String> SANITISED_PROFILE_KEYS = new THashSet<>(
+      asList(sanitise("spring.profiles"), sanitise("spring.config.activate.on-profile")));
+  private static final Set<String> PROFILE_SPECIFIC_FILE_PREFIXES =
+      new THashSet<>(asList("application-", "bootstrap-"));
+  private static final Pattern PROFILE_EXPRESSION_DELIMITER = Pattern.compile("[\\s,&|!()]+");
+
+  @NotNull
+  @Override
+  public ID<String, Void> getName() {
+    return NAME;
+  }
+
+  @NotNull
+  @Override
+  public DataIndexer<String, Void, FileContent> getIndexer() {
+    return inputData -> {
+      Map<String, Void> profiles = new THashMap<>();
+      if (inputData.getFileType() == JavaFileType.INSTANCE) {
+        // most of the java files declare no profiles, lets not visit their PSI
+        if (StringUtil.contains(inputData.getContentAsText(), "@" + PROFILE)) {
+          PsiFile psiFile = inputData.getPsiFile();
+          if (psiFile instanceof PsiJavaFile) {
+            for (PsiClass psiClass : ((PsiJavaFile) psiFile).getClasses()) {
+              addAnnotatedProfiles(psiClass, profiles);
+            }
+          }
+        }
+      } else {
+        addProfileOfFileName(inputData.getFile().getNameWithoutExtension(), profiles);
+        addDocumentProfiles(inputData.getPsiFile(), profiles);
+      }
+      return profiles;
+    };
+  }
+
+  @NotNull
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return EnumeratorStringDescriptor.INSTANCE;
+  }
+
+  @Override
+  public int getVersion() {
+    return 1;
+  }
+
+  @NotNull
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return file -> file.getFileType() == JavaFileType.INSTANCE || isSpringConfigFile(file);
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+  private static void addProfileOfFileName(String fileNameWithoutExtension,
+      Map<String, Void> profiles) {
+    for (String prefix : PROFILE_SPECIFIC_FILE_PREFIXES) {
+      if (fileNameWithoutExtension.startsWith(prefix)) {
+        addProfiles(fileNameWithoutExtension.substring(prefix.length()), profiles);
+      }
+    }
+  }
+
+  private static void addDocumentProfiles(PsiFile psiFile, Map<String, Void> profiles) {
+    if (psiFile instanceof PropertiesFile) {
+      for (IProperty property : ((PropertiesFile) psiFile).getProperties()) {
+        String key = property.getKey();
+        if (key != null && SANITISED_PROFILE_KEYS.contains(sanitise(key))) {
+          addProfiles(property.getValue(), profiles);
+        }
+      }
+    } else {
+      for (YAMLKeyValue keyValue : PsiTreeUtil.findChildrenOfType(psiFile, YAMLKeyValue.class)) {
+        if (SANITISED_PROFILE_KEYS.contains(sanitise(YAMLUtil.getConfigFullName(keyValue)))) {
+          addYamlProfiles(keyValue.getValue(), profiles);
+        }
+      }
+    }
+  }
+
+  private static void addYamlProfiles(@Nullable YAMLValue value, Map<String, Void> profiles) {
+    if (value instanceof YAMLScalar) {
+      addProfiles(((YAMLScalar) value).getTextValue(), profiles);
+    } else if (value instanceof YAMLSequence) {
+      for (YAMLSequenceItem item : ((YAMLSequence) value).getItems()) {
+        addYamlProfiles(item.getValue(), profiles);
+      }
+    }
+  }
+
+  private static void addAnnotatedProfiles(PsiClass psiClass, Map<String, Void> profiles) {
+    addAnnotatedProfiles(psiClass.getModifierList(), profiles);
+    for (PsiMethod method : psiClass.getMethods()) {
+      addAnnotatedProfiles(method.getModifierList(), profiles);
+    }
+    for (PsiClass innerClass : psiClass.getInnerClasses()) {
+      addAnnotatedProfiles(innerClass, profiles);
+    }
+  }
+
+  private static void addAnnotatedProfiles(@Nullable PsiModifierList modifierList,
+      Map<String, Void> profiles) {
+    if (modifierList != null) {
+      for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+        // references cannot be resolved while indexing, so lets match by the simple name
+        PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+        if (reference != null && PROFILE.equals(reference.getReferenceName())) {
+          addAnnotatedProfiles(annotation.findDeclaredAttributeValue("value"), profiles);
+        }
+      }
+    }
+  }
+
+  private static void addAnnotatedProfiles(@Nullable PsiAnnotationMemberValue value,
+      Map<String, Void> profiles) {
+    if (value instanceof PsiArrayInitializerMemberValue) {
+      for (PsiAnnotationMemberValue initializer : ((PsiArrayInitializerMemberValue) value)
+          .getInitializers()) {
+        addAnnotatedProfiles(initializer, profiles);
+      }
+    } else {
+      addProfiles(toStringValue(value), profiles);
+    }
+  }
+
+  private static void addProfiles(@Nullable String profileExpression,
+      Map<String, Void> profiles) {
+    if (profileExpression != null) {
+      for (String profile : PROFILE_EXPRESSION_DELIMITER.split(profileExpression)) {
+        if (!profile.isEmpty()) {
+          profiles.put(profile, null);
+        }
+      }
+    }
+  }
+
+}
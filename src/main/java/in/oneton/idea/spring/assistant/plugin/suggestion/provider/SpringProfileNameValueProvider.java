@@ -0,0 +1,54 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.provider;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.FileBasedIndex;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataHintValue;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderParams;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+
+import static in.oneton.idea.spring.assistant.plugin.suggestion.provider.IndexKeyCache.findKeysWithPrefix;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.provider.SpringProfileNameIndex.NAME;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Completes profile names for the {@code spring-profile-name} provider (& for {@code spring.profiles.active}/{@code spring.profiles.include}) from {@link SpringProfileNameIndex}.
+ * <p>
+ * Profiles can as well be activated without being declared anywhere, so any name is accepted as a value
+ */
+class SpringProfileNameValueProvider implements ValueProvider {
+
+  private static final String DESCRIPTION = "Profile";
+
+  @Nullable
+  @Override
+  public SpringConfigurationMetadataHintValue findValueWithName(Module module,
+      @Nullable SpringConfigurationMetadataValueProviderParams parameters, String name) {
+    return newHintValue(name);
+  }
+
+  @Override
+  public Collection<SpringConfigurationMetadataHintValue> findValuesWithPrefix(Module module,
+      @Nullable SpringConfigurationMetadataValueProviderParams parameters, String prefix) {
+    // index cannot be queried while the IDE is indexing
+    if (DumbService.isDumb(module.getProject())) {
+      return emptyList();
+    }
+    FileBasedIndex index = FileBasedIndex.getInstance();
+    GlobalSearchScope scope = module.getModuleWithDependenciesAndLibrariesScope(false);
+    // keys are not guaranteed to be limited to the scope
+    return findKeysWithPrefix(module, NAME, prefix).stream()
+        .filter(profile -> !index.getContainingFiles(NAME, profile, scope).isEmpty())
+        .map(SpringProfileNameValueProvider::newHintValue).collect(toList());
+  }
+
+  private static SpringConfigurationMetadataHintValue newHintValue(String profile) {
+    return SpringConfigurationMetadataHintValue.builder().nameAsObjOrArray(profile)
+        .description(DESCRIPTION).build();
+  }
+
+}
@@ -0,0 +1,43 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.provider;
+
+import com.intellij.openapi.module.Module;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataHintValue;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderParams;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+
+/**
+ * Supplies the values of a hint that are not listed in metadata, but are derived from the module (classes, beans, profiles, e.t.c). Refer to https://docs.spring.io/spring-boot/docs/2.0.0.M6/reference/htmlsingle/#_value_providers
+ * <p>
+ * Implementations are invoked on every keystroke & hence should serve values from a precomputed structure, rather than searching PSI
+ */
+public interface ValueProvider {
+
+  /**
+   * @param module     module within which the value is looked up
+   * @param parameters parameters of the provider as specified in the hint
+   * @param name       name of the value
+   * @return value with the given name, or null if the provider does not know about it
+   */
+  @Nullable
+  SpringConfigurationMetadataHintValue findValueWithName(Module module,
+      @Nullable SpringConfigurationMetadataValueProviderParams parameters, String name);
+
+  /**
+   * @param module     module within which the values are looked up
+   * @param parameters parameters of the provider as specified in the hint
+   * @param prefix     prefix of the value
+   * @return values whose sanitised names start with the given prefix
+   */
+  Collection<SpringConfigurationMetadataHintValue> findValuesWithPrefix(Module module,
+      @Nullable SpringConfigurationMetadataValueProviderParams parameters, String prefix);
+
+  /**
+   * @return true if values contain periods that are part of the value itself (say, logger names), in which case all the remaining path segments of a key form a single value
+   */
+  default boolean isValueDotDelimited() {
+    return false;
+  }
+
+}
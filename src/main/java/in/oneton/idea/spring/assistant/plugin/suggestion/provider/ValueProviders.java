@@ -0,0 +1,36 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.provider;
+
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderType;
+import lombok.experimental.UtilityClass;
+
+import javax.annotation.Nullable;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderType.class_reference;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderType.logger_name;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderType.spring_bean_reference;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderType.spring_profile_name;
+
+@UtilityClass
+public final class ValueProviders {
+
+  private static final Map<SpringConfigurationMetadataValueProviderType, ValueProvider>
+      typeToProvider = new EnumMap<>(SpringConfigurationMetadataValueProviderType.class);
+
+  static {
+    typeToProvider.put(class_reference, new ClassReferenceValueProvider());
+    typeToProvider.put(logger_name, new LoggerNameValueProvider());
+    typeToProvider.put(spring_bean_reference, new SpringBeanReferenceValueProvider());
+    typeToProvider.put(spring_profile_name, new SpringProfileNameValueProvider());
+  }
+
+  /**
+   * @return provider for the given type, or null if values of the type are not supported (yet)
+   */
+  @Nullable
+  public static ValueProvider forType(@Nullable SpringConfigurationMetadataValueProviderType type) {
+    return type != null ? typeToProvider.get(type) : null;
+  }
+
+}
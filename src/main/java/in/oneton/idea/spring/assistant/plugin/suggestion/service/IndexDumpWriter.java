@@ -0,0 +1,149 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataNonPropertySuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataPropertySuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataSuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataGroup;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataHint;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataProperty;
+import org.apache.commons.collections4.Trie;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Streams search indexes as NDJSON, i.e one json object per line, so that the shape of production indexes can be analysed offline & replayed by the benchmarks (see {@code IndexDumpReader} of the jmh source set). Lines are written as the index is walked, so memory used by the dump does not grow with the size of the index.
+ * <p>
+ * Following lines are written
+ * <ul>
+ * <li>{@code {"kind": "index", "index": "<classpath fingerprint>", "modules": [...], "mapped": <boolean>}} - precedes all entries of the index</li>
+ * <li>{@code {"kind": "group", "index": "...", "path": "...", "containers": [...], "group": {...}}}</li>
+ * <li>{@code {"kind": "property", "index": "...", "path": "...", "type": "...", "containers": [...], "property": {...}}}</li>
+ * <li>{@code {"kind": "hint", "index": "...", "path": "...", "containers": [...], "hint": {...}}}</li>
+ * </ul>
+ * Group, property & hint objects are in the format of {@code spring-configuration-metadata.json}. Containers are the jars/directories the entry is read from
+ */
+class IndexDumpWriter {
+
+  static final String KIND = "kind";
+  static final String KIND_INDEX = "index";
+  static final String KIND_GROUP = "group";
+  static final String KIND_PROPERTY = "property";
+  static final String KIND_HINT = "hint";
+  static final String INDEX = "index";
+  static final String MODULES = "modules";
+  static final String MAPPED = "mapped";
+  static final String PATH = "path";
+  static final String TYPE = "type";
+  static final String CONTAINERS = "containers";
+
+  private static final Gson gson = MappedSearchIndexWriter.newPayloadGson();
+
+  private final Writer writer;
+  private String classpathFingerprint;
+
+  IndexDumpWriter(Writer writer) {
+    this.writer = new BufferedWriter(writer);
+  }
+
+  void startIndex(String classpathFingerprint, Set<String> modulesSharingIndex, boolean mapped)
+      throws IOException {
+    this.classpathFingerprint = classpathFingerprint;
+    JsonObject line = newLine(KIND_INDEX);
+    line.add(MODULES, toJsonArray(new TreeSet<>(modulesSharingIndex)));
+    line.addProperty(MAPPED, mapped);
+    writeLine(line);
+  }
+
+  /**
+   * Walks the given index depth first & writes all groups, properties & their hints. Nodes of a mapped index are materialized as they are walked
+   */
+  void writeIndex(Trie<String, MetadataSuggestionNode> rootSearchIndex) throws IOException {
+    Deque<MetadataSuggestionNode> pending = new ArrayDeque<>(rootSearchIndex.values());
+    while (!pending.isEmpty()) {
+      MetadataSuggestionNode node = pending.pop();
+      if (node.isProperty()) {
+        SpringConfigurationMetadataProperty property =
+            MetadataPropertySuggestionNode.class.cast(node).getProperty();
+        writeProperty(property, node.getBelongsTo());
+        if (property.getGenericOrKeyHint() != null) {
+          writeHint(property.getGenericOrKeyHint(), node.getBelongsTo());
+        }
+        if (property.getValueHint() != null) {
+          writeHint(property.getValueHint(), node.getBelongsTo());
+        }
+      } else {
+        MetadataNonPropertySuggestionNode nonPropertyNode =
+            MetadataNonPropertySuggestionNode.class.cast(node);
+        if (nonPropertyNode.getGroup() != null) {
+          writeGroup(nonPropertyNode.getGroup(), node.getBelongsTo());
+        }
+        Trie<String, MetadataSuggestionNode> childrenTrie = nonPropertyNode.getChildrenTrie();
+        if (childrenTrie != null) {
+          childrenTrie.values().forEach(pending::push);
+        }
+      }
+    }
+  }
+
+  void flush() throws IOException {
+    writer.flush();
+  }
+
+  private void writeGroup(SpringConfigurationMetadataGroup group, Set<String> containers)
+      throws IOException {
+    JsonObject line = newLine(KIND_GROUP);
+    line.addProperty(PATH, group.getName());
+    line.add(CONTAINERS, toJsonArray(containers));
+    line.add(KIND_GROUP, gson.toJsonTree(group));
+    writeLine(line);
+  }
+
+  private void writeProperty(SpringConfigurationMetadataProperty property, Set<String> containers)
+      throws IOException {
+    JsonObject propertyObj = gson.toJsonTree(property).getAsJsonObject();
+    JsonObject line = newLine(KIND_PROPERTY);
+    line.addProperty(PATH, property.getName());
+    line.add(TYPE, propertyObj.get(TYPE));
+    line.add(CONTAINERS, toJsonArray(containers));
+    line.add(KIND_PROPERTY, propertyObj);
+    writeLine(line);
+  }
+
+  private void writeHint(SpringConfigurationMetadataHint hint, Set<String> containers)
+      throws IOException {
+    JsonObject line = newLine(KIND_HINT);
+    line.addProperty(PATH, hint.getName());
+    line.add(CONTAINERS, toJsonArray(containers));
+    line.add(KIND_HINT, gson.toJsonTree(hint));
+    writeLine(line);
+  }
+
+  private JsonObject newLine(String kind) {
+    JsonObject line = new JsonObject();
+    line.addProperty(KIND, kind);
+    line.addProperty(INDEX, classpathFingerprint);
+    return line;
+  }
+
+  private void writeLine(JsonObject line) throws IOException {
+    gson.toJson(line, writer);
+    writer.write('\n');
+  }
+
+  private static JsonArray toJsonArray(Collection<String> values) {
+    JsonArray array = new JsonArray();
+    values.forEach(array::add);
+    return array;
+  }
+
+}
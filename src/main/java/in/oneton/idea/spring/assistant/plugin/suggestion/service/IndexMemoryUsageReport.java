@@ -0,0 +1,26 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Memory retained by the search indexes of a project, along with how well modules share these indexes
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class IndexMemoryUsageReport {
+  private final List<ModuleIndexMemoryUsage> moduleUsages;
+  /**
+   * Distinct indexes in use. Lower than {@link #numOfModulesWithIndex} when modules share indexes
+   */
+  private final int numOfIndexesInUse;
+  private final int numOfModulesWithIndex;
+  /**
+   * Indexes built from scratch during the last indexing run. Rest of the modules indexed by the run reused an existing index
+   */
+  private final int numOfIndexesBuiltInLastRun;
+}
@@ -0,0 +1,59 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * Shape & memory breakdown of a single search index. Since the index can be shared by multiple modules, it is reported once along with all modules referring to it
+ */
+@Getter
+@Builder
+@ToString
+public class IndexShape {
+
+  private Set<String> modulesSharingIndex;
+  private ModuleIndexMemoryUsage.Retention retention;
+  /**
+   * True if only the root level of the index is on heap (rest is memory mapped). Counts & sizes then cover only the root level
+   */
+  private boolean mapped;
+  private int numOfNodes;
+  private int numOfPropertyNodes;
+  /**
+   * Metadata container (jar/directory) -> number of nodes that the container contributes to. Since nodes can be contributed by more than one container, these do not add up to {@link #numOfNodes}
+   */
+  private SortedMap<String, Integer> containerToNumOfNodes;
+  /**
+   * Number of children -> number of non property nodes with that many children
+   */
+  private SortedMap<Integer, Integer> fanOutToNumOfNodes;
+  /**
+   * Depth (1 for root level nodes) -> number of nodes at that depth
+   */
+  private SortedMap<Integer, Integer> depthToNumOfNodes;
+  /**
+   * Estimated bytes retained by the nodes themselves (names, parent/child references), excluding the parts below
+   */
+  private long nodeBytes;
+  /**
+   * Estimated bytes retained by the tries & lookup maps holding the children
+   */
+  private long trieBytes;
+  /**
+   * Estimated bytes retained by the sets tracking the containers each node belongs to
+   */
+  private long belongsToBytes;
+  /**
+   * Estimated bytes retained by the properties/groups (along with their hints) the nodes carry
+   */
+  private long payloadBytes;
+
+  public long getTotalBytes() {
+    return nodeBytes + trieBytes + belongsToBytes + payloadBytes;
+  }
+
+}
@@ -0,0 +1,111 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import in.oneton.idea.spring.assistant.plugin.misc.RetainedSizeEstimator;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataNonPropertySuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataPropertySuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataSuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.service.MappedSearchIndex.MappedNonPropertySuggestionNode;
+import org.apache.commons.collections4.Trie;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Walks a search index & computes its {@link IndexShape}. Only the root level of a mapped index is on heap, so the walk stops at its root nodes. Their fan-out is read off the buffer, so nothing below them is materialized.
+ * <p>
+ * Retained size is attributed in the order payloads, belongs to sets, tries & then nodes, i.e an object reachable from more than one of these (say, a container path string) is attributed to the first of them
+ */
+class IndexShapeAnalyzer {
+
+  /**
+   * Mapped root nodes refer to the index they are read from, whose buffer & materialized nodes are not part of the on heap index
+   */
+  private static final Predicate<Object> NODE =
+      object -> object instanceof MetadataSuggestionNode || object instanceof MappedSearchIndex;
+
+  private final List<MetadataSuggestionNode> nodes = new ArrayList<>();
+  private final SortedMap<String, Integer> containerToNumOfNodes = new TreeMap<>();
+  private final SortedMap<Integer, Integer> fanOutToNumOfNodes = new TreeMap<>();
+  private final SortedMap<Integer, Integer> depthToNumOfNodes = new TreeMap<>();
+  private int numOfPropertyNodes;
+
+  IndexShape.IndexShapeBuilder analyse(Trie<String, MetadataSuggestionNode> rootSearchIndex) {
+    walk(rootSearchIndex);
+
+    RetainedSizeEstimator estimator = new RetainedSizeEstimator();
+    long payloadBytes = 0;
+    for (MetadataSuggestionNode node : nodes) {
+      Object payload = node.isProperty() ?
+          MetadataPropertySuggestionNode.class.cast(node).getProperty() :
+          MetadataNonPropertySuggestionNode.class.cast(node).getGroup();
+      if (payload != null) {
+        payloadBytes += estimator.estimate(payload, NODE);
+      }
+    }
+    long belongsToBytes = 0;
+    for (MetadataSuggestionNode node : nodes) {
+      belongsToBytes += estimator.estimate(node.getBelongsTo(), NODE);
+    }
+    long trieBytes = estimator.estimate(rootSearchIndex, NODE);
+    for (MetadataSuggestionNode node : nodes) {
+      // children of a mapped node are materialized afresh on every call & are not retained
+      if (!node.isProperty() && !(node instanceof MappedNonPropertySuggestionNode)) {
+        MetadataNonPropertySuggestionNode nonPropertyNode =
+            MetadataNonPropertySuggestionNode.class.cast(node);
+        if (nonPropertyNode.getChildrenTrie() != null) {
+          trieBytes += estimator.estimate(nonPropertyNode.getChildrenTrie(), NODE);
+        }
+        if (nonPropertyNode.getChildLookup() != null) {
+          trieBytes += estimator.estimate(nonPropertyNode.getChildLookup(), NODE);
+        }
+      }
+    }
+    long nodeBytes = 0;
+    for (MetadataSuggestionNode node : nodes) {
+      nodeBytes += estimator.estimate(node, NODE);
+    }
+
+    return IndexShape.builder().numOfNodes(nodes.size()).numOfPropertyNodes(numOfPropertyNodes)
+        .containerToNumOfNodes(containerToNumOfNodes).fanOutToNumOfNodes(fanOutToNumOfNodes)
+        .depthToNumOfNodes(depthToNumOfNodes).payloadBytes(payloadBytes)
+        .belongsToBytes(belongsToBytes).trieBytes(trieBytes).nodeBytes(nodeBytes);
+  }
+
+  private void walk(Trie<String, MetadataSuggestionNode> rootSearchIndex) {
+    Deque<MetadataSuggestionNode> pending = new ArrayDeque<>(rootSearchIndex.values());
+    Deque<Integer> pendingDepths = new ArrayDeque<>();
+    rootSearchIndex.values().forEach(root -> pendingDepths.add(1));
+    while (!pending.isEmpty()) {
+      MetadataSuggestionNode node = pending.poll();
+      int depth = pendingDepths.poll();
+      nodes.add(node);
+      depthToNumOfNodes.merge(depth, 1, Integer::sum);
+      node.getBelongsTo()
+          .forEach(container -> containerToNumOfNodes.merge(container, 1, Integer::sum));
+      if (node.isProperty()) {
+        numOfPropertyNodes++;
+      } else if (node instanceof MappedNonPropertySuggestionNode) {
+        fanOutToNumOfNodes
+            .merge(MappedNonPropertySuggestionNode.class.cast(node).getNumOfChildren(), 1,
+                Integer::sum);
+      } else {
+        Trie<String, MetadataSuggestionNode> childrenTrie =
+            MetadataNonPropertySuggestionNode.class.cast(node).getChildrenTrie();
+        int fanOut = childrenTrie != null ? childrenTrie.size() : 0;
+        fanOutToNumOfNodes.merge(fanOut, 1, Integer::sum);
+        if (childrenTrie != null) {
+          for (MetadataSuggestionNode child : childrenTrie.values()) {
+            pending.add(child);
+            pendingDepths.add(depth + 1);
+          }
+        }
+      }
+    }
+  }
+
+}
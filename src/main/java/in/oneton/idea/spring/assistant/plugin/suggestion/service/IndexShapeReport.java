@@ -0,0 +1,21 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Shapes of all search indexes of a project, along with the class metadata materialized for them
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class IndexShapeReport {
+  private final List<IndexShape> indexes;
+  /**
+   * Class metadata is cached against PSI classes & is shared across projects, so this count is application wide
+   */
+  private final int numOfMaterializedClassMetadata;
+}
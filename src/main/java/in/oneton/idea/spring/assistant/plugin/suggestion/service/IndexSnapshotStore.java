@@ -0,0 +1,253 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import gnu.trove.THashMap;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataContainerInfo;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataSuggestionNode;
+import org.apache.commons.collections4.Trie;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Persists the metadata each search index is built from, so that suggestions can be served right after the project is opened (i.e before the live index is built & while the IDE is indexing).
+ * <p>
+ * Layout within IDE system directory is as follows
+ * <ul>
+ * <li>{@code spring-assistant/index-snapshots/<project location hash>/manifest.json} - module name -> classpath fingerprint of the index the module referred to</li>
+ * <li>{@code spring-assistant/index-snapshots/<project location hash>/<classpath fingerprint>.ndjson.gz} - one line per metadata container in the format {@code {"container": "<container ref>", "metadata": <compacted metadata json>}}</li>
+ * <li>{@code spring-assistant/index-snapshots/<project location hash>/<classpath fingerprint>.idx} - index in the format expected by {@link MappedSearchIndex}. Written only when the off heap index is enabled</li>
+ * </ul>
+ * Since the fingerprint is derived from the containers & their markers, a snapshot file is never updated, a new one is written instead. All files (including the manifest) are written to a temp file first & then moved over the previous one, so that a crash never leaves a partially written file behind
+ */
+class IndexSnapshotStore {
+
+  private static final Logger log = Logger.getInstance(IndexSnapshotStore.class);
+
+  private static final String MANIFEST_FILE_NAME = "manifest.json";
+  private static final String SNAPSHOT_FILE_SUFFIX = ".ndjson.gz";
+  private static final String MAPPED_INDEX_FILE_SUFFIX = ".idx";
+  private static final String CONTAINER = "container";
+  private static final String METADATA = "metadata";
+  private static final Gson gson = new Gson();
+
+  private final File snapshotDir;
+
+  IndexSnapshotStore(Project project) {
+    snapshotDir = new File(PathManager.getSystemPath(),
+        "spring-assistant" + File.separator + "index-snapshots" + File.separator + project
+            .getLocationHash());
+  }
+
+  /**
+   * @return module name -> classpath fingerprint of the last persisted index of the module
+   */
+  Map<String, String> readManifest() {
+    File manifestFile = new File(snapshotDir, MANIFEST_FILE_NAME);
+    if (manifestFile.exists()) {
+      try (Reader reader = new InputStreamReader(new FileInputStream(manifestFile), UTF_8)) {
+        Map<String, String> manifest =
+            gson.fromJson(reader, new TypeToken<Map<String, String>>() {
+            }.getType());
+        if (manifest != null) {
+          return manifest;
+        }
+      } catch (IOException | RuntimeException e) {
+        log.warn("Unable to read index snapshot manifest " + manifestFile
+            + ". Suggestions would be available only after indexing completes", e);
+      }
+    }
+    return new THashMap<>();
+  }
+
+  void writeManifest(Map<String, String> moduleNameToClasspathFingerprint) throws IOException {
+    ensureSnapshotDirExists();
+    File manifestFile = new File(snapshotDir, MANIFEST_FILE_NAME);
+    // a manifest truncated by a crash would orphan all snapshots, so lets replace it only once written completely
+    File tempFile = new File(snapshotDir, MANIFEST_FILE_NAME + ".tmp");
+    try (Writer writer = new OutputStreamWriter(new FileOutputStream(tempFile), UTF_8)) {
+      gson.toJson(moduleNameToClasspathFingerprint, writer);
+    }
+    moveTempFile(tempFile, manifestFile);
+  }
+
+  boolean hasSnapshot(String classpathFingerprint) {
+    return toSnapshotFile(classpathFingerprint).exists();
+  }
+
+  void writeSnapshot(String classpathFingerprint, Collection<MetadataContainerInfo> containerInfos)
+      throws IOException {
+    ensureSnapshotDirExists();
+    File snapshotFile = toSnapshotFile(classpathFingerprint);
+    // write to a temp file & rename, so that a partially written snapshot is never picked up
+    File tempFile = new File(snapshotDir, snapshotFile.getName() + ".tmp");
+    JsonParser parser = new JsonParser();
+    try (BufferedWriter writer = new BufferedWriter(
+        new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(tempFile)), UTF_8))) {
+      for (MetadataContainerInfo containerInfo : containerInfos) {
+        VirtualFile metadataFile = containerInfo.getMetadataFile();
+        if (metadataFile == null) {
+          continue;
+        }
+        try (InputStream inputStream = metadataFile.getInputStream()) {
+          writeSnapshotLine(writer, containerInfo.getContainerArchiveOrFileRef(),
+              parser.parse(new InputStreamReader(inputStream, UTF_8)));
+        }
+      }
+    }
+    moveTempFile(tempFile, snapshotFile);
+  }
+
+  /**
+   * @param classpathFingerprint        fingerprint of the index
+   * @param containerAndMetadataConsumer invoked with container ref & metadata json for each container in the snapshot
+   * @return false if there is no snapshot for the given fingerprint
+   */
+  boolean readSnapshot(String classpathFingerprint,
+      BiConsumer<String, JsonElement> containerAndMetadataConsumer) throws IOException {
+    File snapshotFile = toSnapshotFile(classpathFingerprint);
+    if (!snapshotFile.exists()) {
+      return false;
+    }
+    readSnapshotFile(snapshotFile, containerAndMetadataConsumer);
+    return true;
+  }
+
+  /**
+   * Writes a single container entry in the snapshot format. Also used for the artifacts that are prebuilt outside the IDE (see {@link PrebuiltIndexArtifacts})
+   */
+  static void writeSnapshotLine(BufferedWriter writer, String containerArchiveOrFileRef,
+      JsonElement metadata) throws IOException {
+    JsonObject line = new JsonObject();
+    line.addProperty(CONTAINER, containerArchiveOrFileRef);
+    line.add(METADATA, metadata);
+    writer.write(gson.toJson(line));
+    writer.newLine();
+  }
+
+  /**
+   * @param snapshotFile                 gzipped file in the snapshot format
+   * @param containerAndMetadataConsumer invoked with container ref & metadata json for each container in the file
+   */
+  static void readSnapshotFile(File snapshotFile,
+      BiConsumer<String, JsonElement> containerAndMetadataConsumer) throws IOException {
+    JsonParser parser = new JsonParser();
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(new GZIPInputStream(new FileInputStream(snapshotFile)), UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        JsonObject entry = parser.parse(line).getAsJsonObject();
+        containerAndMetadataConsumer
+            .accept(entry.get(CONTAINER).getAsString(), entry.get(METADATA));
+      }
+    }
+  }
+
+  boolean hasMappedIndex(String classpathFingerprint) {
+    return toMappedIndexFile(classpathFingerprint).exists();
+  }
+
+  File toMappedIndexFile(String classpathFingerprint) {
+    return new File(snapshotDir, classpathFingerprint + MAPPED_INDEX_FILE_SUFFIX);
+  }
+
+  /**
+   * @param classpathFingerprint fingerprint of the index
+   * @param rootSearchIndex      on heap index to write
+   * @param writer               writer that lays out the index
+   * @return file the index is written to
+   */
+  File writeMappedIndex(String classpathFingerprint,
+      Trie<String, MetadataSuggestionNode> rootSearchIndex, MappedSearchIndexWriter writer)
+      throws IOException {
+    ensureSnapshotDirExists();
+    File mappedIndexFile = toMappedIndexFile(classpathFingerprint);
+    File tempFile = new File(snapshotDir, mappedIndexFile.getName() + ".tmp");
+    try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+      writer.write(rootSearchIndex, outputStream);
+    }
+    moveTempFile(tempFile, mappedIndexFile);
+    return mappedIndexFile;
+  }
+
+  /**
+   * Removes all snapshots (& mapped indexes) that are not referred by any module
+   *
+   * @param classpathFingerprintsInUse fingerprints of indexes that are still in use
+   */
+  void retainOnly(Collection<String> classpathFingerprintsInUse) {
+    retainOnly(classpathFingerprintsInUse, SNAPSHOT_FILE_SUFFIX);
+    retainOnly(classpathFingerprintsInUse, MAPPED_INDEX_FILE_SUFFIX);
+  }
+
+  private void retainOnly(Collection<String> classpathFingerprintsInUse, String suffix) {
+    File[] snapshotFiles = snapshotDir.listFiles((dir, name) -> name.endsWith(suffix));
+    if (snapshotFiles != null) {
+      for (File snapshotFile : snapshotFiles) {
+        String fingerprint = snapshotFile.getName()
+            .substring(0, snapshotFile.getName().length() - suffix.length());
+        // mapped index that is still mapped by the previous index might not be deletable on some platforms. Would be attempted again after next indexing
+        if (!classpathFingerprintsInUse.contains(fingerprint) && !snapshotFile.delete()) {
+          log.warn("Unable to delete stale index snapshot " + snapshotFile);
+        }
+      }
+    }
+  }
+
+  private File toSnapshotFile(String classpathFingerprint) {
+    return new File(snapshotDir, classpathFingerprint + SNAPSHOT_FILE_SUFFIX);
+  }
+
+  /**
+   * Replaces the target (if it exists) atomically where the file system supports it. Unlike {@link File#renameTo(File)}, this replaces an existing target on windows as well
+   */
+  private static void moveTempFile(File tempFile, File targetFile) throws IOException {
+    try {
+      try {
+        Files.move(tempFile.toPath(), targetFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile.toPath(), targetFile.toPath(), REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      Files.deleteIfExists(tempFile.toPath());
+      throw new IOException("Unable to move " + tempFile + " to " + targetFile, e);
+    }
+  }
+
+  private void ensureSnapshotDirExists() throws IOException {
+    if (!snapshotDir.exists() && !snapshotDir.mkdirs()) {
+      throw new IOException("Unable to create index snapshot directory " + snapshotDir);
+    }
+  }
+
+}
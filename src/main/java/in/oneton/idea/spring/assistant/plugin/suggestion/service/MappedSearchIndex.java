@@ -0,0 +1,599 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.intellij.openapi.module.Module;
+import gnu.trove.THashMap;
+import gnu.trove.TIntArrayList;
+import gnu.trove.TIntIntHashMap;
+import gnu.trove.TIntHashSet;
+import in.oneton.idea.spring.assistant.plugin.suggestion.Suggestion;
+import in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.completion.FileType;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataNonPropertySuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataPropertySuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataSuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataGroup;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataGson;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataHint;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataProperty;
+import lombok.Getter;
+import org.apache.commons.collections4.Trie;
+import org.apache.commons.collections4.trie.PatriciaTrie;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static com.intellij.openapi.project.DumbService.isDumb;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.CompletionDiagnostics.time;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.Phase.SUGGESTION_CONSTRUCTION;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptySet;
+
+/**
+ * Read only search index whose key hierarchy lives in a memory mapped file (written by {@link MappedSearchIndexWriter}) rather than on the heap.
+ * <p>
+ * Layout of the file is as follows (all numbers are big endian ints)
+ * <ul>
+ * <li>Header - {@code magic, version, number of nodes, number of root nodes}</li>
+ * <li>Node records - fixed size records, one per node. Children of a node are stored next to each other, sorted by their sanitised name (byte wise), so that exact & prefix lookups are binary searches within the buffer. Root nodes occupy the first records</li>
+ * <li>Strings - length prefixed UTF-8 bytes of sanitised names, original names & payloads. Payload is the json of the group (or) property (along with its hints) that carries description, type & default value</li>
+ * </ul>
+ * Only root nodes are materialized upfront. Rest of the nodes are traversed directly on the buffer & {@link MetadataPropertySuggestionNode}/{@link SpringConfigurationMetadataProperty} (& friends) are materialized only for nodes that end up as a suggestion (or) are looked up for documentation/values. A bounded number of materialized nodes are cached, so that class proxies of recently used properties are not rebuilt on every key stroke
+ */
+class MappedSearchIndex {
+
+  static final int MAGIC = 0x53414958;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 16;
+  static final int NODE_RECORD_SIZE = 28;
+
+  // offsets of the fields within the node record
+  static final int NAME = 0;
+  static final int ORIGINAL_NAME = 4;
+  static final int PAYLOAD = 8;
+  static final int PARENT = 12;
+  static final int FIRST_CHILD = 16;
+  static final int NUM_OF_CHILDREN = 20;
+  static final int FLAGS = 24;
+
+  static final int FLAG_GROUP = 1;
+  static final int FLAG_PROPERTY = 1 << 1;
+  static final int FLAG_DEPRECATED_ERROR = 1 << 3;
+  static final int NONE = -1;
+
+  static final String PROPERTY = "property";
+  static final String GENERIC_OR_KEY_HINT = "genericOrKeyHint";
+  static final String VALUE_HINT = "valueHint";
+
+  private static final int MAX_MATERIALIZED_NODES = 1024;
+  private static final int LEAF = 1;
+  private static final int NOT_LEAF = 2;
+  private static final Gson gson = SpringConfigurationMetadataGson.getInstance();
+
+  private final ByteBuffer buffer;
+  private final int numOfRootNodes;
+  @Getter
+  private final long sizeInBytes;
+  private final MetadataSuggestionNode[] rootNodes;
+  /**
+   * Node index -> recently materialized node. Root nodes are not part of this cache as they are always held
+   */
+  private final Map<Integer, MetadataSuggestionNode> nodeIndexToMaterializedNode =
+      new LinkedHashMap<Integer, MetadataSuggestionNode>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, MetadataSuggestionNode> eldest) {
+          return size() > MAX_MATERIALIZED_NODES;
+        }
+      };
+  /**
+   * Module name -> property node index -> {@link #LEAF}/{@link #NOT_LEAF}. Leafness depends on the type of the property as resolved for the module, so it is determined the first time search walks past the property for the module, rather than when the file is written
+   */
+  private final Map<String, TIntIntHashMap> moduleNameToPropertyLeafness = new THashMap<>();
+
+  private MappedSearchIndex(ByteBuffer buffer) throws IOException {
+    this.buffer = buffer;
+    this.sizeInBytes = buffer.capacity();
+    if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC
+        || buffer.getInt(4) != VERSION) {
+      throw new IOException("Unsupported search index format");
+    }
+    this.numOfRootNodes = buffer.getInt(12);
+    this.rootNodes = new MetadataSuggestionNode[numOfRootNodes];
+    for (int i = 0; i < numOfRootNodes; i++) {
+      rootNodes[i] = newNode(i, null);
+    }
+  }
+
+  /**
+   * @param file file written by {@link MappedSearchIndexWriter}
+   * @return index backed by the memory mapped file
+   * @throws IOException if the file could not be mapped (or) is not in the expected format
+   */
+  static MappedSearchIndex open(File file) throws IOException {
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        FileChannel channel = randomAccessFile.getChannel()) {
+      // mapping stays valid even after the channel is closed
+      return new MappedSearchIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * @return new trie containing the root nodes, keyed by their sanitised names
+   */
+  Trie<String, MetadataSuggestionNode> toRootSearchIndex() {
+    Trie<String, MetadataSuggestionNode> rootSearchIndex = new PatriciaTrie<>();
+    for (int i = 0; i < numOfRootNodes; i++) {
+      rootSearchIndex.put(readString(intAt(i, NAME)), rootNodes[i]);
+    }
+    return rootSearchIndex;
+  }
+
+  @Nullable
+  private List<SuggestionNode> findDeepestSuggestionNode(Module module, int nodeIndex,
+      List<SuggestionNode> matchesRootTillNode, String[] pathSegments, int pathSegmentStartIndex) {
+    TIntArrayList pathBelowNode = new TIntArrayList();
+    int current = nodeIndex;
+    for (int i = pathSegmentStartIndex; i < pathSegments.length; i++) {
+      if (hasFlag(current, FLAG_PROPERTY)) {
+        // further segments can only be matched against the class metadata of the property
+        List<SuggestionNode> matchesRootTillProperty =
+            materializePath(matchesRootTillNode, pathBelowNode);
+        return materialize(current)
+            .findDeepestSuggestionNode(module, matchesRootTillProperty, pathSegments, i);
+      }
+      int numOfChildren = intAt(current, NUM_OF_CHILDREN);
+      if (numOfChildren == 0) {
+        boolean lastSegment = i == pathSegments.length - 1;
+        if (lastSegment && nameEquals(current, toBytes(pathSegments[i]))) {
+          return materializePath(matchesRootTillNode, pathBelowNode);
+        }
+        return null;
+      }
+      int firstChild = intAt(current, FIRST_CHILD);
+      int child = findChild(firstChild, firstChild + numOfChildren, toBytes(pathSegments[i]));
+      if (child == NONE) {
+        return null;
+      }
+      pathBelowNode.add(child);
+      current = child;
+    }
+    return materializePath(matchesRootTillNode, pathBelowNode);
+  }
+
+  @Nullable
+  private SortedSet<Suggestion> findKeySuggestionsForQueryPrefix(Module module, FileType fileType,
+      int nodeIndex, List<SuggestionNode> matchesRootTillNode, int numOfAncestors,
+      String[] querySegmentPrefixes, int querySegmentPrefixStartIndex,
+      @Nullable Set<String> siblingsToExclude) {
+    TIntHashSet childrenToExclude = null;
+    if (siblingsToExclude != null) {
+      childrenToExclude = new TIntHashSet();
+      int firstChild = intAt(nodeIndex, FIRST_CHILD);
+      int endChild = firstChild + intAt(nodeIndex, NUM_OF_CHILDREN);
+      for (String sibling : siblingsToExclude) {
+        int child = findChild(firstChild, endChild, toBytes(sibling));
+        if (child != NONE) {
+          childrenToExclude.add(child);
+        }
+      }
+    }
+    return new KeySearch(module, fileType, matchesRootTillNode, numOfAncestors,
+        querySegmentPrefixes)
+        .searchWithinNonProperty(nodeIndex, querySegmentPrefixStartIndex, childrenToExclude);
+  }
+
+  private List<SuggestionNode> materializePath(List<SuggestionNode> matchesRootTillNode,
+      TIntArrayList pathBelowNode) {
+    List<SuggestionNode> matches = new ArrayList<>(matchesRootTillNode);
+    for (int i = 0; i < pathBelowNode.size(); i++) {
+      matches.add(materialize(pathBelowNode.get(i)));
+    }
+    return matches;
+  }
+
+  private synchronized MetadataSuggestionNode materialize(int nodeIndex) {
+    if (nodeIndex < numOfRootNodes) {
+      return rootNodes[nodeIndex];
+    }
+    MetadataSuggestionNode node = nodeIndexToMaterializedNode.get(nodeIndex);
+    if (node == null) {
+      MetadataNonPropertySuggestionNode parent = MetadataNonPropertySuggestionNode.class
+          .cast(materialize(intAt(nodeIndex, PARENT)));
+      node = newNode(nodeIndex, parent);
+      nodeIndexToMaterializedNode.put(nodeIndex, node);
+    }
+    return node;
+  }
+
+  @Nullable
+  private MetadataSuggestionNode materializeChild(int nodeIndex, String sanitisedName) {
+    int firstChild = intAt(nodeIndex, FIRST_CHILD);
+    int endChild = firstChild + intAt(nodeIndex, NUM_OF_CHILDREN);
+    int child = findChild(firstChild, endChild, toBytes(sanitisedName));
+    return child != NONE ? materialize(child) : null;
+  }
+
+  /**
+   * Children are materialized afresh & are not cached, so that walking the whole index (say, for the shape report/export) does not evict the nodes that are in use by the editors
+   *
+   * @return trie of the children of the node, or null if the node has no children (same as an on heap node)
+   */
+  @Nullable
+  private Trie<String, MetadataSuggestionNode> materializeChildren(
+      MetadataNonPropertySuggestionNode node, int nodeIndex) {
+    int numOfChildren = intAt(nodeIndex, NUM_OF_CHILDREN);
+    if (numOfChildren == 0) {
+      return null;
+    }
+    Trie<String, MetadataSuggestionNode> childrenTrie = new PatriciaTrie<>();
+    int firstChild = intAt(nodeIndex, FIRST_CHILD);
+    for (int child = firstChild; child < firstChild + numOfChildren; child++) {
+      childrenTrie.put(readString(intAt(child, NAME)), newNode(child, node));
+    }
+    return childrenTrie;
+  }
+
+  /**
+   * Only the root & materialized nodes hold anything for a module, so the hierarchy in the buffer need not be walked (or materialized)
+   *
+   * @param moduleName name of the module that no longer uses this index
+   */
+  synchronized void forgetModule(String moduleName) {
+    moduleNameToPropertyLeafness.remove(moduleName);
+    for (MetadataSuggestionNode rootNode : rootNodes) {
+      rootNode.forgetModule(moduleName);
+    }
+    nodeIndexToMaterializedNode.values().forEach(node -> node.forgetModule(moduleName));
+  }
+
+  private synchronized boolean isLeaf(Module module, int propertyNodeIndex) {
+    TIntIntHashMap propertyLeafness = moduleNameToPropertyLeafness.get(module.getName());
+    int leafness = propertyLeafness != null ? propertyLeafness.get(propertyNodeIndex) : 0;
+    if (leafness == 0) {
+      // type of the property cannot be resolved while the IDE is indexing. Lets not remember the answer, so that it would be resolved once indexing completes
+      boolean leaf = materialize(propertyNodeIndex).isLeaf(module);
+      if (isDumb(module.getProject())) {
+        return leaf;
+      }
+      leafness = leaf ? LEAF : NOT_LEAF;
+      moduleNameToPropertyLeafness.computeIfAbsent(module.getName(), k -> new TIntIntHashMap())
+          .put(propertyNodeIndex, leafness);
+    }
+    return leafness == LEAF;
+  }
+
+  /**
+   * Group type is not resolved here, as the node is shared by all modules that use the index. It is resolved lazily, for the module the node is looked up from
+   */
+  private MetadataSuggestionNode newNode(int nodeIndex,
+      @Nullable MetadataNonPropertySuggestionNode parent) {
+    String name = readString(intAt(nodeIndex, NAME));
+    String originalName = readString(intAt(nodeIndex, ORIGINAL_NAME));
+    int payloadOffset = intAt(nodeIndex, PAYLOAD);
+    if (hasFlag(nodeIndex, FLAG_PROPERTY)) {
+      return MetadataPropertySuggestionNode.builder().name(name).originalName(originalName)
+          .parent(parent).belongsTo(emptySet()).property(readProperty(payloadOffset)).build();
+    }
+    MappedNonPropertySuggestionNode node = new MappedNonPropertySuggestionNode(this, nodeIndex);
+    node.setName(name);
+    node.setOriginalName(originalName);
+    node.setParent(parent);
+    node.setBelongsTo(emptySet());
+    if (hasFlag(nodeIndex, FLAG_GROUP)) {
+      node.setGroupWithUnresolvedType(
+          gson.fromJson(readString(payloadOffset), SpringConfigurationMetadataGroup.class));
+    }
+    return node;
+  }
+
+  private SpringConfigurationMetadataProperty readProperty(int payloadOffset) {
+    JsonObject payload = new JsonParser().parse(readString(payloadOffset)).getAsJsonObject();
+    SpringConfigurationMetadataProperty property =
+        gson.fromJson(payload.get(PROPERTY), SpringConfigurationMetadataProperty.class);
+    JsonElement genericOrKeyHint = payload.get(GENERIC_OR_KEY_HINT);
+    if (genericOrKeyHint != null) {
+      property.setGenericOrKeyHint(
+          gson.fromJson(genericOrKeyHint, SpringConfigurationMetadataHint.class));
+    }
+    JsonElement valueHint = payload.get(VALUE_HINT);
+    if (valueHint != null) {
+      property.setValueHint(gson.fromJson(valueHint, SpringConfigurationMetadataHint.class));
+    }
+    return property;
+  }
+
+  private int intAt(int nodeIndex, int field) {
+    return buffer.getInt(HEADER_SIZE + nodeIndex * NODE_RECORD_SIZE + field);
+  }
+
+  private boolean hasFlag(int nodeIndex, int flag) {
+    return (intAt(nodeIndex, FLAGS) & flag) != 0;
+  }
+
+  private String readString(int offset) {
+    byte[] bytes = new byte[buffer.getInt(offset)];
+    ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(offset + 4);
+    duplicate.get(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  private boolean nameEquals(int nodeIndex, byte[] name) {
+    int offset = intAt(nodeIndex, NAME);
+    return buffer.getInt(offset) == name.length && compareName(nodeIndex, name) == 0;
+  }
+
+  /**
+   * Compares the first {@code key.length} bytes of the node name against the given key, byte wise (unsigned)
+   *
+   * @return 0 if node name starts with the key, negative if name sorts before the key, positive otherwise
+   */
+  private int compareNamePrefix(int nodeIndex, byte[] key) {
+    int offset = intAt(nodeIndex, NAME);
+    int length = buffer.getInt(offset);
+    int commonLength = Math.min(length, key.length);
+    for (int i = 0; i < commonLength; i++) {
+      int diff = (buffer.get(offset + 4 + i) & 0xff) - (key[i] & 0xff);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return length >= key.length ? 0 : -1;
+  }
+
+  private int compareName(int nodeIndex, byte[] key) {
+    int prefixComparison = compareNamePrefix(nodeIndex, key);
+    if (prefixComparison != 0) {
+      return prefixComparison;
+    }
+    return buffer.getInt(intAt(nodeIndex, NAME)) - key.length;
+  }
+
+  private int findChild(int from, int to, byte[] name) {
+    int low = from;
+    int high = to - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int comparison = compareName(mid, name);
+      if (comparison < 0) {
+        low = mid + 1;
+      } else if (comparison > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return NONE;
+  }
+
+  /**
+   * @return index of the first node within [from, to) whose name is not sorted before the given prefix
+   */
+  private int findFirstWithPrefix(int from, int to, byte[] prefix) {
+    int low = from;
+    int high = to;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (compareNamePrefix(mid, prefix) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private int findEndOfPrefix(int from, int to, byte[] prefix) {
+    int end = from;
+    while (end < to && compareNamePrefix(end, prefix) == 0) {
+      end++;
+    }
+    return end;
+  }
+
+  private static byte[] toBytes(String value) {
+    return value.getBytes(UTF_8);
+  }
+
+  /**
+   * Mirrors the search done by {@link MetadataNonPropertySuggestionNode#findKeySuggestionsForQueryPrefix} on an on heap index, but walks the buffer instead. Nodes are materialized only when they are suggested (or) when the search needs to consult class metadata of a property
+   */
+  private class KeySearch {
+    private final Module module;
+    private final FileType fileType;
+    private final List<SuggestionNode> matchesRootTillStartNode;
+    private final int numOfAncestors;
+    private final String[] querySegmentPrefixes;
+    private final byte[][] querySegmentPrefixBytes;
+    /**
+     * Nodes visited below the start node, in the order they are visited
+     */
+    private final TIntArrayList pathBelowStartNode = new TIntArrayList();
+
+    KeySearch(Module module, FileType fileType, List<SuggestionNode> matchesRootTillStartNode,
+        int numOfAncestors, String[] querySegmentPrefixes) {
+      this.module = module;
+      this.fileType = fileType;
+      this.matchesRootTillStartNode = matchesRootTillStartNode;
+      this.numOfAncestors = numOfAncestors;
+      this.querySegmentPrefixes = querySegmentPrefixes;
+      this.querySegmentPrefixBytes = new byte[querySegmentPrefixes.length][];
+      for (int i = 0; i < querySegmentPrefixes.length; i++) {
+        querySegmentPrefixBytes[i] = toBytes(querySegmentPrefixes[i]);
+      }
+    }
+
+    @Nullable
+    private SortedSet<Suggestion> search(int nodeIndex, int querySegmentPrefixStartIndex) {
+      if (hasFlag(nodeIndex, FLAG_PROPERTY)) {
+        if (hasFlag(nodeIndex, FLAG_DEPRECATED_ERROR)) {
+          return null;
+        }
+        boolean lookingForConcreteNode =
+            querySegmentPrefixStartIndex >= querySegmentPrefixes.length;
+        if (lookingForConcreteNode || !isLeaf(module, nodeIndex)) {
+          return materialize(nodeIndex)
+              .findKeySuggestionsForQueryPrefix(module, fileType, materializeMatches(),
+                  numOfAncestors, querySegmentPrefixes, querySegmentPrefixStartIndex, null);
+        }
+        return null;
+      }
+      return searchWithinNonProperty(nodeIndex, querySegmentPrefixStartIndex, null);
+    }
+
+    @Nullable
+    private SortedSet<Suggestion> searchWithinNonProperty(int nodeIndex,
+        int querySegmentPrefixStartIndex, @Nullable TIntHashSet childrenToExclude) {
+      int firstChild = intAt(nodeIndex, FIRST_CHILD);
+      int numOfChildren = intAt(nodeIndex, NUM_OF_CHILDREN);
+      int endChild = firstChild + numOfChildren;
+      boolean lookingForConcreteNode = querySegmentPrefixStartIndex >= querySegmentPrefixes.length;
+      if (lookingForConcreteNode) {
+        // If a group has only one child, lets send the child value directly instead of the group
+        if (hasFlag(nodeIndex, FLAG_GROUP) && numOfChildren != 1) {
+          MetadataNonPropertySuggestionNode groupNode =
+              MetadataNonPropertySuggestionNode.class.cast(materialize(nodeIndex));
+          // lets give the group a chance to resolve its type, in case it was materialized while the IDE was indexing
+          groupNode.getSuggestionNodeType(module);
+          SpringConfigurationMetadataGroup group = groupNode.getGroup();
+          assert group != null;
+          List<SuggestionNode> matches = materializeMatches();
+          return time(SUGGESTION_CONSTRUCTION, () -> {
+            SortedSet<Suggestion> suggestions = new TreeSet<>();
+            suggestions.add(group.newSuggestion(module, fileType, matches, numOfAncestors));
+            return suggestions;
+          });
+        }
+        return searchWithin(firstChild, endChild, querySegmentPrefixStartIndex, null);
+      }
+
+      if (numOfChildren == 0) {
+        return null;
+      }
+      byte[] querySegmentPrefix = querySegmentPrefixBytes[querySegmentPrefixStartIndex];
+      int matchFrom = findFirstWithPrefix(firstChild, endChild, querySegmentPrefix);
+      int matchTo = findEndOfPrefix(matchFrom, endChild, querySegmentPrefix);
+      boolean hasMatches = false;
+      for (int i = matchFrom; i < matchTo && !hasMatches; i++) {
+        hasMatches = childrenToExclude == null || !childrenToExclude.contains(i);
+      }
+      if (hasMatches) {
+        SortedSet<Suggestion> suggestions =
+            searchWithin(matchFrom, matchTo, querySegmentPrefixStartIndex + 1, childrenToExclude);
+        // If the leaf is deprecated (management.context-path), it will shadow deeper match (management.server.servlet.context-path)
+        if (suggestions != null) {
+          return suggestions;
+        }
+      }
+      // lets search in the next level
+      return searchWithin(firstChild, endChild, querySegmentPrefixStartIndex, childrenToExclude);
+    }
+
+    @Nullable
+    private SortedSet<Suggestion> searchWithin(int from, int to,
+        int querySegmentPrefixStartIndex, @Nullable TIntHashSet nodesToExclude) {
+      SortedSet<Suggestion> suggestions = null;
+      for (int i = from; i < to; i++) {
+        if (nodesToExclude != null && nodesToExclude.contains(i)) {
+          continue;
+        }
+        pathBelowStartNode.add(i);
+        SortedSet<Suggestion> matchedSuggestions = search(i, querySegmentPrefixStartIndex);
+        pathBelowStartNode.remove(pathBelowStartNode.size() - 1);
+        if (matchedSuggestions != null) {
+          if (suggestions == null) {
+            suggestions = new TreeSet<>();
+          }
+          suggestions.addAll(matchedSuggestions);
+        }
+      }
+      return suggestions;
+    }
+
+    private List<SuggestionNode> materializeMatches() {
+      return materializePath(matchesRootTillStartNode, pathBelowStartNode);
+    }
+  }
+
+  /**
+   * Non property node whose children live in the buffer. Lookups that need to go past this node are delegated to the index & children are materialized on demand
+   */
+  static class MappedNonPropertySuggestionNode extends MetadataNonPropertySuggestionNode {
+
+    private final MappedSearchIndex index;
+    private final int nodeIndex;
+
+    MappedNonPropertySuggestionNode(MappedSearchIndex index, int nodeIndex) {
+      this.index = index;
+      this.nodeIndex = nodeIndex;
+    }
+
+    @Nullable
+    @Override
+    public List<SuggestionNode> findDeepestSuggestionNode(Module module,
+        List<SuggestionNode> matchesRootTillMe, String[] pathSegments, int pathSegmentStartIndex) {
+      return index.findDeepestSuggestionNode(module, nodeIndex, matchesRootTillMe, pathSegments,
+          pathSegmentStartIndex);
+    }
+
+    @Nullable
+    @Override
+    public SortedSet<Suggestion> findKeySuggestionsForQueryPrefix(Module module, FileType fileType,
+        List<SuggestionNode> matchesRootTillMe, int numOfAncestors, String[] querySegmentPrefixes,
+        int querySegmentPrefixStartIndex, @Nullable Set<String> siblingsToExclude) {
+      return index.findKeySuggestionsForQueryPrefix(module, fileType, nodeIndex, matchesRootTillMe,
+          numOfAncestors, querySegmentPrefixes, querySegmentPrefixStartIndex, siblingsToExclude);
+    }
+
+    @Override
+    protected boolean hasOnlyOneChild(Module module) {
+      return getNumOfChildren() == 1;
+    }
+
+    int getNumOfChildren() {
+      return index.intAt(nodeIndex, NUM_OF_CHILDREN);
+    }
+
+    @Nullable
+    @Override
+    public MetadataSuggestionNode findChild(String sanitisedName) {
+      return index.materializeChild(nodeIndex, sanitisedName);
+    }
+
+    /**
+     * @return freshly materialized children. Not held by the node, as the hierarchy is meant to stay off heap
+     */
+    @Nullable
+    @Override
+    public Trie<String, MetadataSuggestionNode> getChildrenTrie() {
+      return index.materializeChildren(this, nodeIndex);
+    }
+
+    /**
+     * Children are not held by this node, but by the index. So, only the group (if any) has something to forget
+     */
+    @Override
+    public void forgetModule(String moduleName) {
+      SpringConfigurationMetadataGroup group = getGroup();
+      if (group != null) {
+        group.forgetModule(moduleName);
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,185 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import gnu.trove.THashMap;
+import gnu.trove.TIntArrayList;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataNonPropertySuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataPropertySuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataSuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataProperty;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderType;
+import org.apache.commons.collections4.Trie;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.MappedSearchIndex.FLAG_DEPRECATED_ERROR;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.MappedSearchIndex.FLAG_GROUP;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.MappedSearchIndex.FLAG_PROPERTY;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.MappedSearchIndex.GENERIC_OR_KEY_HINT;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.MappedSearchIndex.HEADER_SIZE;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.MappedSearchIndex.MAGIC;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.MappedSearchIndex.NODE_RECORD_SIZE;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.MappedSearchIndex.NONE;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.MappedSearchIndex.PROPERTY;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.MappedSearchIndex.VALUE_HINT;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.MappedSearchIndex.VERSION;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes an on heap search index in the format expected by {@link MappedSearchIndex}. Nodes are laid out breadth first, so that children of every node end up next to each other
+ */
+class MappedSearchIndexWriter {
+
+  private static final Gson gson = newPayloadGson();
+
+  private final List<MetadataSuggestionNode> nodes = new ArrayList<>();
+  private final List<String> nodeNames = new ArrayList<>();
+  private final TIntArrayList parentIndexes = new TIntArrayList();
+  private final TIntArrayList firstChildIndexes = new TIntArrayList();
+  private final TIntArrayList numOfChildren = new TIntArrayList();
+  private final ByteArrayOutputStream strings = new ByteArrayOutputStream();
+  private final DataOutputStream stringsOutput = new DataOutputStream(strings);
+  private final Map<String, Integer> stringToRelativeOffset = new THashMap<>();
+  private int numOfRootNodes;
+
+  void write(Trie<String, MetadataSuggestionNode> rootSearchIndex, OutputStream outputStream)
+      throws IOException {
+    layoutBreadthFirst(rootSearchIndex);
+
+    int[] nameOffsets = new int[nodes.size()];
+    int[] originalNameOffsets = new int[nodes.size()];
+    int[] payloadOffsets = new int[nodes.size()];
+    int[] flags = new int[nodes.size()];
+    for (int i = 0; i < nodes.size(); i++) {
+      MetadataSuggestionNode node = nodes.get(i);
+      nameOffsets[i] = addString(nodeNames.get(i));
+      originalNameOffsets[i] = addString(node.getOriginalName());
+      payloadOffsets[i] = NONE;
+      if (node.isProperty()) {
+        SpringConfigurationMetadataProperty property =
+            MetadataPropertySuggestionNode.class.cast(node).getProperty();
+        flags[i] = FLAG_PROPERTY;
+        if (property.isDeprecatedError()) {
+          flags[i] |= FLAG_DEPRECATED_ERROR;
+        }
+        payloadOffsets[i] = addString(toPayload(property));
+      } else if (node.isGroup()) {
+        flags[i] = FLAG_GROUP;
+        payloadOffsets[i] =
+            addString(gson.toJson(MetadataNonPropertySuggestionNode.class.cast(node).getGroup()));
+      }
+    }
+    stringsOutput.flush();
+
+    int stringsStart = HEADER_SIZE + nodes.size() * NODE_RECORD_SIZE;
+    DataOutputStream output = new DataOutputStream(outputStream);
+    output.writeInt(MAGIC);
+    output.writeInt(VERSION);
+    output.writeInt(nodes.size());
+    output.writeInt(numOfRootNodes);
+    for (int i = 0; i < nodes.size(); i++) {
+      // field order should match the offsets in MappedSearchIndex
+      output.writeInt(stringsStart + nameOffsets[i]);
+      output.writeInt(stringsStart + originalNameOffsets[i]);
+      output.writeInt(payloadOffsets[i] == NONE ? NONE : stringsStart + payloadOffsets[i]);
+      output.writeInt(parentIndexes.get(i));
+      output.writeInt(firstChildIndexes.get(i));
+      output.writeInt(numOfChildren.get(i));
+      output.writeInt(flags[i]);
+    }
+    strings.writeTo(output);
+    output.flush();
+  }
+
+  private void layoutBreadthFirst(Trie<String, MetadataSuggestionNode> rootSearchIndex) {
+    addChildren(rootSearchIndex, NONE);
+    numOfRootNodes = nodes.size();
+    // nodes list grows as we go, which results in breadth first layout
+    for (int i = 0; i < nodes.size(); i++) {
+      MetadataSuggestionNode node = nodes.get(i);
+      firstChildIndexes.add(nodes.size());
+      int numOfNodesBefore = nodes.size();
+      if (!node.isProperty()) {
+        Trie<String, MetadataSuggestionNode> childrenTrie =
+            MetadataNonPropertySuggestionNode.class.cast(node).getChildrenTrie();
+        if (childrenTrie != null) {
+          addChildren(childrenTrie, i);
+        }
+      }
+      numOfChildren.add(nodes.size() - numOfNodesBefore);
+    }
+  }
+
+  private void addChildren(Map<String, MetadataSuggestionNode> sanitisedNameToNode,
+      int parentIndex) {
+    List<String> sortedNames = new ArrayList<>(sanitisedNameToNode.keySet());
+    // MappedSearchIndex expects names to be sorted by their unsigned bytes, which is not the same as the string order for all characters
+    sortedNames.sort((first, second) -> compare(first.getBytes(UTF_8), second.getBytes(UTF_8)));
+    for (String name : sortedNames) {
+      nodes.add(sanitisedNameToNode.get(name));
+      nodeNames.add(name);
+      parentIndexes.add(parentIndex);
+    }
+  }
+
+  private String toPayload(SpringConfigurationMetadataProperty property) {
+    JsonObject payload = new JsonObject();
+    payload.add(PROPERTY, gson.toJsonTree(property));
+    if (property.getGenericOrKeyHint() != null) {
+      payload.add(GENERIC_OR_KEY_HINT, gson.toJsonTree(property.getGenericOrKeyHint()));
+    }
+    if (property.getValueHint() != null) {
+      payload.add(VALUE_HINT, gson.toJsonTree(property.getValueHint()));
+    }
+    return gson.toJson(payload);
+  }
+
+  /**
+   * @return offset relative to the start of strings section. Identical strings are written only once
+   */
+  private int addString(String value) throws IOException {
+    Integer offset = stringToRelativeOffset.get(value);
+    if (offset == null) {
+      offset = stringsOutput.size();
+      byte[] bytes = value.getBytes(UTF_8);
+      stringsOutput.writeInt(bytes.length);
+      stringsOutput.write(bytes);
+      stringToRelativeOffset.put(value, offset);
+    }
+    return offset;
+  }
+
+  /**
+   * @return gson that writes metadata back in the format of {@code spring-configuration-metadata.json}. Fields that are derived at runtime (class proxies, resolved types, lookups) or are written separately (hints of a property) are transient, so they are left out
+   */
+  static Gson newPayloadGson() {
+    GsonBuilder gsonBuilder = new GsonBuilder();
+    // provider types are written back in the format understood by SpringConfigurationMetadataValueProviderTypeDeserializer
+    gsonBuilder.registerTypeAdapter(SpringConfigurationMetadataValueProviderType.class,
+        (JsonSerializer<SpringConfigurationMetadataValueProviderType>) (type, typeOfType,
+            context) -> new JsonPrimitive(type.name().replace('_', '-')));
+    return gsonBuilder.create();
+  }
+
+  private static int compare(byte[] first, byte[] second) {
+    int commonLength = Math.min(first.length, second.length);
+    for (int i = 0; i < commonLength; i++) {
+      int diff = (first[i] & 0xff) - (second[i] & 0xff);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return first.length - second.length;
+  }
+
+}
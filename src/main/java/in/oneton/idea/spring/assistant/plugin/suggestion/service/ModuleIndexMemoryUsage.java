@@ -0,0 +1,46 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+/**
+ * Memory retained by the search index a module refers to. Since the index can be shared by multiple modules, the same retained size would be reported for all modules in {@link #modulesSharingIndex}
+ */
+@Getter
+@Builder
+@ToString
+public class ModuleIndexMemoryUsage {
+
+  private String moduleName;
+  /**
+   * All modules (including this one) referring to the same index
+   */
+  private Set<String> modulesSharingIndex;
+  private Retention retention;
+  private int numOfRootNodes;
+  private long numOfObjects;
+  private long estimatedRetainedBytes;
+  /**
+   * Size of the memory mapped file backing the index, if the index is moved off heap. Not part of {@link #estimatedRetainedBytes}
+   */
+  private long mappedIndexBytes;
+
+  public enum Retention {
+    /**
+     * One of the modules sharing the index has a spring config file open in the editor
+     */
+    PINNED,
+    /**
+     * Index is softly reachable & would be reclaimed by GC on memory pressure
+     */
+    SOFT,
+    /**
+     * Index is reclaimed by GC & would be rebuilt when needed
+     */
+    RELEASED
+  }
+
+}
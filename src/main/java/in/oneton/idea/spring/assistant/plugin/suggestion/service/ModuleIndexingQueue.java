@@ -0,0 +1,69 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.project.Project;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Modules pending indexing, in the order they should be indexed. Modules that own the spring config files open in the editor go first, followed by the modules that depend on them & then the rest.
+ * <p>
+ * Since editors can be opened while indexing is in progress (editors of previous session are restored only after the project is opened), priority can be changed at any point of time & the next module to be picked up would reflect it
+ */
+class ModuleIndexingQueue {
+
+  private final ModuleManager moduleManager;
+  private Set<Module> pendingModules;
+
+  ModuleIndexingQueue(Project project, Module[] modules) {
+    this.moduleManager = ModuleManager.getInstance(project);
+    this.pendingModules = new LinkedHashSet<>(asList(modules));
+  }
+
+  /**
+   * @return next module to index, or null if all modules are indexed
+   */
+  @Nullable
+  synchronized Module poll() {
+    Iterator<Module> iterator = pendingModules.iterator();
+    if (iterator.hasNext()) {
+      Module module = iterator.next();
+      iterator.remove();
+      return module;
+    }
+    return null;
+  }
+
+  /**
+   * Moves the given modules (followed by the modules that depend on them) to the head of the queue. Modules that are already indexed are ignored
+   *
+   * @param activeModules modules that own spring config files open in the editor
+   */
+  synchronized void prioritize(Collection<Module> activeModules) {
+    Set<Module> reordered = new LinkedHashSet<>();
+    for (Module module : activeModules) {
+      if (pendingModules.contains(module)) {
+        reordered.add(module);
+      }
+    }
+    for (Module module : activeModules) {
+      for (Module dependent : moduleManager.getModuleDependentModules(module)) {
+        if (pendingModules.contains(dependent)) {
+          reordered.add(dependent);
+        }
+      }
+    }
+    if (!reordered.isEmpty()) {
+      reordered.addAll(pendingModules);
+      pendingModules = reordered;
+    }
+  }
+
+}
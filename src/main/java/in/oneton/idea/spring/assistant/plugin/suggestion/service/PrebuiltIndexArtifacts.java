@@ -0,0 +1,87 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataContainerInfo.SPRING_CONFIGURATION_METADATA_JSON;
+
+/**
+ * Layout of the index artifacts that are prebuilt outside the IDE by {@code MetadataIndexer} (of the {@code tools} source set), typically once in CI.
+ * <p>
+ * Artifacts are written to a {@code spring-assistant-index} directory next to the build output (i.e {@code build/spring-assistant-index} or {@code target/spring-assistant-index} of a content root). Each jar with metadata gets its own {@code <artifact key>.ndjson.gz}, which is in the format of the index snapshots (see {@link IndexSnapshotStore}).
+ * <p>
+ * Artifact key is made of the name & size of the jar & the timestamp of the metadata file within the jar. All of these are available from the central directory of the jar, so keying a jar does not need the jar to be read as a whole (unlike a checksum of the content). Unlike the path & last modified time of the jar file, they are the same on every machine the jar is downloaded to, so the same artifact serves every module/project that has the jar in its classpath
+ */
+class PrebuiltIndexArtifacts {
+
+  static final String DIR_NAME = "spring-assistant-index";
+  static final String ARTIFACT_FILE_SUFFIX = ".ndjson.gz";
+
+  private static final String META_INF_METADATA_FILE =
+      "META-INF/" + SPRING_CONFIGURATION_METADATA_JSON;
+  private static final String[] BUILD_OUTPUT_DIR_NAMES = {"build", "target"};
+
+  private PrebuiltIndexArtifacts() {
+  }
+
+  /**
+   * @param contentRoots content roots of a module
+   * @return existing artifact directories next to the build output of the given content roots
+   */
+  static List<File> findArtifactDirs(List<File> contentRoots) {
+    List<File> artifactDirs = new ArrayList<>();
+    for (File contentRoot : contentRoots) {
+      for (String buildOutputDirName : BUILD_OUTPUT_DIR_NAMES) {
+        File artifactDir = new File(new File(contentRoot, buildOutputDirName), DIR_NAME);
+        if (artifactDir.isDirectory()) {
+          artifactDirs.add(artifactDir);
+        }
+      }
+    }
+    return artifactDirs;
+  }
+
+  static File toArtifactFile(File artifactDir, String artifactKey) {
+    return new File(artifactDir, artifactKey + ARTIFACT_FILE_SUFFIX);
+  }
+
+  /**
+   * @return key of the artifact of the given jar, or null if the jar has no metadata
+   */
+  @Nullable
+  static String artifactKey(File jar) throws IOException {
+    try (ZipFile zipFile = new ZipFile(jar)) {
+      ZipEntry metadataEntry = findMetadataEntry(zipFile);
+      return metadataEntry != null ? artifactKey(jar, metadataEntry) : null;
+    }
+  }
+
+  static String artifactKey(File jar, ZipEntry metadataEntry) {
+    return jar.getName() + "-" + jar.length() + "-" + metadataEntry.getTime();
+  }
+
+  /**
+   * Mirrors the lookup done within the IDE, which picks the metadata file irrespective of the directory it is in
+   */
+  @Nullable
+  static ZipEntry findMetadataEntry(ZipFile zipFile) {
+    ZipEntry metadataEntry = zipFile.getEntry(META_INF_METADATA_FILE);
+    if (metadataEntry == null) {
+      Enumeration<? extends ZipEntry> entries = zipFile.entries();
+      while (entries.hasMoreElements()) {
+        ZipEntry entry = entries.nextElement();
+        if (entry.getName().endsWith("/" + SPRING_CONFIGURATION_METADATA_JSON)) {
+          return entry;
+        }
+      }
+    }
+    return metadataEntry;
+  }
+
+}
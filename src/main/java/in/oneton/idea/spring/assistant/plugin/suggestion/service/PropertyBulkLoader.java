@@ -0,0 +1,146 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataNonPropertySuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataPropertySuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataSuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataProperty;
+import org.apache.commons.collections4.Trie;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+
+import static in.oneton.idea.spring.assistant.plugin.misc.StringInterner.intern;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.SuggestionServiceImpl.toRawPathSegments;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.SuggestionServiceImpl.toSanitizedPathSegments;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Adds all properties of a container to the index in a single pass over the properties sorted by name.
+ * <p>
+ * Consecutive properties mostly share their parent path. So, like a merge, the nodes along the path of the previous property are kept on a stack & only the segments after the common prefix are looked up/created. Container is added to the provenance ({@code belongsTo}) of a node only once, when the first property below it is added, rather than cascading till root for every property. Properties that are ignored due to a conflict leave the provenance untouched. Names that are sorted by their raw form can interleave once sanitised (say {@code a-b.c}, {@code a.d}, {@code ab.e}), in which case the subtree is looked up again, which is still correct, just not shared
+ */
+class PropertyBulkLoader {
+
+  private static final Logger log = Logger.getInstance(PropertyBulkLoader.class);
+
+  private final Module module;
+  private final Trie<String, MetadataSuggestionNode> rootSearchIndex;
+  private final String containerArchiveOrFileRef;
+
+  /**
+   * Non property nodes along the path of the previous property. Only the first {@link #pathDepth} entries are valid
+   */
+  private MetadataNonPropertySuggestionNode[] path = new MetadataNonPropertySuggestionNode[8];
+  private String[] previousPathSegments = new String[0];
+  private int pathDepth;
+  /**
+   * Number of leading nodes of {@link #path} whose provenance already has the container
+   */
+  private int attributedDepth;
+
+  PropertyBulkLoader(Module module, Trie<String, MetadataSuggestionNode> rootSearchIndex,
+      String containerArchiveOrFileRef) {
+    this.module = module;
+    this.rootSearchIndex = rootSearchIndex;
+    this.containerArchiveOrFileRef = containerArchiveOrFileRef;
+  }
+
+  /**
+   * @param properties properties sorted by name
+   */
+  void load(List<SpringConfigurationMetadataProperty> properties) {
+    for (SpringConfigurationMetadataProperty property : properties) {
+      add(property);
+    }
+  }
+
+  private void add(SpringConfigurationMetadataProperty property) {
+    String[] pathSegments = toSanitizedPathSegments(property.getName());
+    String[] rawPathSegments = toRawPathSegments(property.getName());
+    int leafIndex = pathSegments.length - 1;
+    if (path.length < leafIndex) {
+      path = Arrays.copyOf(path, Math.max(leafIndex, path.length * 2));
+    }
+
+    int depth = commonPrefixLength(pathSegments, Math.min(pathDepth, leafIndex));
+    attributedDepth = Math.min(attributedDepth, depth);
+    MetadataNonPropertySuggestionNode parent = depth == 0 ? null : path[depth - 1];
+    for (; depth < leafIndex; depth++) {
+      MetadataSuggestionNode child = findChild(parent, pathSegments[depth]);
+      if (child == null) {
+        child = MetadataNonPropertySuggestionNode
+            .newInstance(rawPathSegments[depth], parent, containerArchiveOrFileRef);
+        putChild(parent, pathSegments[depth], child);
+      } else if (child.isProperty()) {
+        log.warn("Detected conflict between a new group & existing property for suggestion path "
+            + child.getPathFromRoot(module)
+            + ". Ignoring property. Existing non property node belongs to (" + child
+            .getBelongsTo().stream().collect(joining(",")) + "), New property belongs to "
+            + containerArchiveOrFileRef);
+        break;
+      }
+      parent = MetadataNonPropertySuggestionNode.class.cast(child);
+      path[depth] = parent;
+    }
+    pathDepth = depth;
+    previousPathSegments = pathSegments;
+    if (depth < leafIndex) {
+      return;
+    }
+
+    MetadataSuggestionNode existingNode = findChild(parent, pathSegments[leafIndex]);
+    if (existingNode == null) {
+      putChild(parent, pathSegments[leafIndex], MetadataPropertySuggestionNode
+          .newInstance(rawPathSegments[leafIndex], property, parent, containerArchiveOrFileRef));
+      attributeTill(leafIndex);
+    } else if (existingNode.isProperty()) {
+      existingNode.getBelongsTo().add(containerArchiveOrFileRef);
+      attributeTill(leafIndex);
+      log.debug("Detected a duplicate metadata property for suggestion path " + existingNode
+          .getPathFromRoot(module) + ". Ignoring property. Existing property belongs to ("
+          + existingNode.getBelongsTo().stream().collect(joining(","))
+          + "), New property belongs to " + containerArchiveOrFileRef);
+    } else {
+      log.warn(
+          "Detected conflict between a new metadata property & existing non property node for suggestion path "
+              + existingNode.getPathFromRoot(module)
+              + ". Ignoring property. Existing non property node belongs to (" + existingNode
+              .getBelongsTo().stream().collect(joining(",")) + "), New property belongs to "
+              + containerArchiveOrFileRef);
+    }
+  }
+
+  private void attributeTill(int depth) {
+    for (; attributedDepth < depth; attributedDepth++) {
+      path[attributedDepth].getBelongsTo().add(containerArchiveOrFileRef);
+    }
+  }
+
+  private int commonPrefixLength(String[] pathSegments, int maxLength) {
+    int length = 0;
+    while (length < maxLength && length < previousPathSegments.length && pathSegments[length]
+        .equals(previousPathSegments[length])) {
+      length++;
+    }
+    return length;
+  }
+
+  @Nullable
+  private MetadataSuggestionNode findChild(@Nullable MetadataNonPropertySuggestionNode parent,
+      String pathSegment) {
+    return parent == null ? rootSearchIndex.get(pathSegment) : parent.findChild(pathSegment);
+  }
+
+  private void putChild(@Nullable MetadataNonPropertySuggestionNode parent, String pathSegment,
+      MetadataSuggestionNode child) {
+    if (parent == null) {
+      rootSearchIndex.put(intern(pathSegment), child);
+    } else {
+      parent.putChild(child);
+    }
+  }
+
+}
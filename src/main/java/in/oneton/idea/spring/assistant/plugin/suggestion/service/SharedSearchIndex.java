@@ -0,0 +1,182 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import gnu.trove.THashMap;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataContainerInfo;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataSuggestionNode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.apache.commons.collections4.Trie;
+import org.apache.commons.collections4.trie.PatriciaTrie;
+
+import javax.annotation.Nullable;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.intellij.openapi.util.text.StringUtil.toHexString;
+
+/**
+ * Search index that can be shared by all modules whose metadata bearing classpath containers (along with their markers) are identical.
+ * In a typical multi module project quite a few modules (test fixture modules, thin service modules, e.t.c) resolve to the exact same set of containers, so there is no point in building & holding a separate trie for each one of them
+ * <p>
+ * Contents of the index are always softly reachable. They are strongly held only while the index is pinned (i.e one of the referring modules has a spring config file open in the editor). Once the contents are reclaimed by GC, the index would be rebuilt from the metadata files when its needed again
+ */
+@ToString(of = {"classpathFingerprint", "referringModuleNames", "pinned"})
+class SharedSearchIndex {
+
+  /**
+   * Acts as reference count. Index can be discarded as soon as no module refers to it
+   */
+  @Getter
+  private final Set<String> referringModuleNames = ConcurrentHashMap.newKeySet();
+  /**
+   * Hash of all metadata containers (& their markers) this index is built from
+   */
+  @Getter
+  @Setter
+  private String classpathFingerprint;
+  /**
+   * Retention is updated from the editor events, while the contents are looked up/created from the indexing & completion threads
+   */
+  @Getter
+  private volatile boolean pinned;
+  @Nullable
+  private volatile Contents pinnedContents;
+  private volatile SoftReference<Contents> contentsRef = new SoftReference<>(null);
+
+  /**
+   * @param containerInfos all containers reachable from the module classpath
+   * @return hash that uniquely identifies the contents of the index that would be built from these containers
+   */
+  static String computeClasspathFingerprint(Collection<MetadataContainerInfo> containerInfos) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      // containers without a metadata file do not contribute anything to the index, so they should not prevent modules from sharing the index
+      containerInfos.stream().filter(MetadataContainerInfo::containsMetadataFile)
+          .map(info -> info.getContainerArchiveOrFileRef() + "@" + info.getMarker() + ":" + info
+              .getLength()).sorted()
+          .forEach(entry -> {
+            digest.update(entry.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+          });
+      return toHexString(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-1 is expected to be supported by every JVM", e);
+    }
+  }
+
+  void addReferrer(String moduleName) {
+    referringModuleNames.add(moduleName);
+  }
+
+  void removeReferrer(String moduleName) {
+    referringModuleNames.remove(moduleName);
+  }
+
+  boolean isReferredOnlyBy(String moduleName) {
+    return referringModuleNames.size() == 1 && referringModuleNames.contains(moduleName);
+  }
+
+  boolean hasNoReferrers() {
+    return referringModuleNames.isEmpty();
+  }
+
+  /**
+   * @return root of the search index, or null if contents are reclaimed by GC
+   */
+  @Nullable
+  Trie<String, MetadataSuggestionNode> getRootSearchIndex() {
+    Contents contents = getContents();
+    return contents != null ? contents.getRootSearchIndex() : null;
+  }
+
+  @Nullable
+  Contents getContents() {
+    return pinnedContents != null ? pinnedContents : contentsRef.get();
+  }
+
+  /**
+   * @return existing contents if they are not reclaimed yet, else fresh (empty) contents. Caller is expected to hold a strong reference to the returned contents till indexing completes
+   */
+  synchronized Contents getOrCreateContents() {
+    Contents contents = getContents();
+    if (contents == null) {
+      contents = new Contents();
+      contentsRef = new SoftReference<>(contents);
+      if (pinned) {
+        pinnedContents = contents;
+      }
+    }
+    return contents;
+  }
+
+  boolean isReleased() {
+    return getContents() == null;
+  }
+
+  synchronized void setPinned(boolean pinned) {
+    this.pinned = pinned;
+    pinnedContents = pinned ? getContents() : null;
+  }
+
+  /**
+   * Drops all contents, irrespective of whether the index is pinned or not
+   */
+  synchronized void release() {
+    pinnedContents = null;
+    contentsRef.clear();
+  }
+
+  @Getter
+  static class Contents {
+    /**
+     * Within the trie, all keys are stored in sanitised format to enable us find keys without worrying about hiphens, underscores, e.t.c in the keys themselves
+     */
+    private final Trie<String, MetadataSuggestionNode> rootSearchIndex = new PatriciaTrie<>();
+    private final Map<String, MetadataContainerInfo> seenContainerPathToContainerInfo =
+        new THashMap<>();
+    /**
+     * Present only if the index is moved off heap. In which case, {@link #rootSearchIndex} contains only the root nodes of the mapped index
+     */
+    @Nullable
+    private MappedSearchIndex mappedSearchIndex;
+
+    /**
+     * Replaces the on heap nodes with the root nodes of the given mapped index
+     *
+     * @param mappedSearchIndex index to use from now on
+     */
+    void useMappedSearchIndex(MappedSearchIndex mappedSearchIndex) {
+      rootSearchIndex.clear();
+      rootSearchIndex.putAll(mappedSearchIndex.toRootSearchIndex());
+      this.mappedSearchIndex = mappedSearchIndex;
+    }
+
+    /**
+     * @param moduleName name of the module that no longer refers to the index
+     */
+    void forgetModule(String moduleName) {
+      if (mappedSearchIndex != null) {
+        mappedSearchIndex.forgetModule(moduleName);
+      } else {
+        rootSearchIndex.values().forEach(node -> node.forgetModule(moduleName));
+      }
+    }
+
+    /**
+     * Mapped index cannot be updated incrementally. Clearing the contents ensures that the index would be built from all containers again
+     */
+    void clear() {
+      rootSearchIndex.clear();
+      seenContainerPathToContainerInfo.clear();
+      mappedSearchIndex = null;
+    }
+  }
+
+}
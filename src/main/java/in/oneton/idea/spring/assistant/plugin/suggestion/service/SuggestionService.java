@@ -4,6 +4,7 @@ import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
 import com.intellij.psi.PsiElement;
 import in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode;
 import in.oneton.idea.spring.assistant.plugin.suggestion.completion.FileType;
@@ -11,7 +12,9 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public interface SuggestionService {
@@ -27,10 +30,79 @@ public interface SuggestionService {
 
   void reindex(Project project, Module module);
 
+  /**
+   * Drops the reference the module holds to its search index. Index itself is discarded if no other module refers to it
+   *
+   * @param project    project the module belonged to
+   * @param moduleName name of the module that is removed (or) the name module had before it was renamed
+   */
+  void evict(Project project, String moduleName);
+
+  /**
+   * Discards all search indexes of the project. Called when the project is closed
+   *
+   * @param project project being closed
+   */
+  void evictAll(Project project);
+
+  /**
+   * Search indexes of modules with a spring config file open in the editor are strongly held. Rest are softly held & would be rebuilt when needed, once reclaimed by GC.
+   * Should be called whenever the set of files open in the editor changes
+   *
+   * @param project project whose editors changed
+   */
+  void updateIndexRetention(Project project);
+
+  /**
+   * Waits for the indexing run in progress (if any) to complete
+   *
+   * @param project project to report on
+   * @return estimated memory retained by the search index of each module of the project, along with the number of indexes built vs shared
+   */
+  IndexMemoryUsageReport computeIndexMemoryUsage(Project project);
+
+  /**
+   * Waits for the indexing run in progress (if any) to complete
+   *
+   * @param project project to report on
+   * @return node counts, fan-out, depth & memory breakdown of each search index of the project
+   */
+  IndexShapeReport computeIndexShape(Project project);
+
+  /**
+   * Streams all groups, properties & hints of every live search index of the project as NDJSON, without building the whole output in memory. Waits for the indexing run in progress (if any) to complete
+   *
+   * @param project project whose indexes are to be exported
+   * @param writer  writer to write the dump to. Not closed by this method
+   */
+  void exportIndexes(Project project, Writer writer) throws IOException;
+
   @Nullable
   List<SuggestionNode> findMatchedNodesRootTillEnd(Project project, Module module,
       List<String> containerElements);
 
+  /**
+   * Lets callers that resolve a lot of keys at once (say, all keys of a file) resolve them against a single view of the index, by walking down from the root nodes themselves instead of searching from the root for every key
+   *
+   * @param project project the module belongs to
+   * @param module  module whose index is to be used
+   * @return root nodes of the search index of the module keyed by their sanitised names, or null if the module has no index yet
+   */
+  @Nullable
+  Map<String, ? extends SuggestionNode> getRootNodes(Project project, Module module);
+
+  /**
+   * @return tracker whose modification count changes whenever any search index of the project could have changed, so that results derived from the indexes can be cached against it
+   */
+  ModificationTracker getIndexModificationTracker();
+
+  /**
+   * Live search indexes are updated in place by indexing runs, so callers that walk the nodes themselves (see {@link #getRootNodes(Project, Module)}) should not do so while this is true. Their results should be cached against {@link #getIndexModificationTracker()}, which changes once the run completes
+   *
+   * @return true if an indexing run is queued or in progress
+   */
+  boolean isIndexingInProgress();
+
   @SuppressWarnings("BooleanMethodIsAlwaysInverted")
   boolean canProvideSuggestions(Project project, Module module);
 
@@ -1,58 +1,98 @@
 package in.oneton.idea.spring.assistant.plugin.suggestion.service;
 
-import com.google.gson.GsonBuilder;
+import com.google.gson.Gson;
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
 import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
 import com.intellij.openapi.roots.OrderEnumerator;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
+import com.intellij.openapi.vfs.JarFileSystem;
+import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import gnu.trove.THashMap;
 import gnu.trove.THashSet;
+import in.oneton.idea.spring.assistant.plugin.misc.RetainedSizeEstimator;
 import in.oneton.idea.spring.assistant.plugin.suggestion.Suggestion;
 import in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode;
 import in.oneton.idea.spring.assistant.plugin.suggestion.completion.FileType;
+import in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.CompletionDiagnostics;
 import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataContainerInfo;
 import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataNonPropertySuggestionNode;
 import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataPropertySuggestionNode;
 import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataSuggestionNode;
-import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.GsonPostProcessEnablingTypeFactory;
 import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadata;
 import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataGroup;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataGson;
 import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataHint;
 import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataProperty;
-import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderType;
-import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderTypeDeserializer;
 import org.apache.commons.collections4.Trie;
 import org.apache.commons.collections4.trie.PatriciaTrie;
 import org.apache.commons.lang.time.StopWatch;
 
 import javax.annotation.Nullable;
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.intellij.openapi.application.ApplicationManager.getApplication;
+import static com.intellij.openapi.fileTypes.FileTypes.ARCHIVE;
+import static com.intellij.openapi.module.ModuleUtilCore.findModuleForFile;
+import static com.intellij.util.concurrency.AppExecutorUtil.createBoundedApplicationPoolExecutor;
 import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.modifiableList;
 import static in.oneton.idea.spring.assistant.plugin.misc.GenericUtil.truncateIdeaDummyIdentifier;
+import static in.oneton.idea.spring.assistant.plugin.misc.PsiCustomUtil.isSpringConfigFile;
+import static in.oneton.idea.spring.assistant.plugin.misc.StringInterner.intern;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.Suggestion.PERIOD_DELIMITER;
 import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode.sanitise;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.clazz.ClassSuggestionNodeFactory.getNumOfMaterializedClassMetadata;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.Phase.INDEX_LOOKUP;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.Phase.LOOKUP_ELEMENT_CREATION;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.diagnostics.Phase.TIME_TO_FIRST_SUGGESTION;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataValueProviderType.spring_profile_name;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.ModuleIndexMemoryUsage.Retention.PINNED;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.ModuleIndexMemoryUsage.Retention.RELEASED;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.ModuleIndexMemoryUsage.Retention.SOFT;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
-import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Comparator.comparing;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
@@ -61,21 +101,87 @@ public class SuggestionServiceImpl implements SuggestionService {
 
   private static final Logger log = Logger.getInstance(SuggestionServiceImpl.class);
 
-  private final Map<String, Map<String, MetadataContainerInfo>>
-      moduleNameToSeenContainerPathToContainerInfo;
   /**
-   * Within the trie, all keys are stored in sanitised format to enable us find keys without worrying about hiphens, underscores, e.t.c in the keys themselves
+   * When enabled (via {@code -Dspring.assistant.index.mapped=true}), key hierarchy of every index is moved to a memory mapped file once the index is built & only the root nodes are held on heap
    */
-  private final Map<String, Trie<String, MetadataSuggestionNode>> moduleNameToRootSearchIndex;
-  private Future<?> currentExecution;
-  private volatile boolean indexingInProgress;
+  private static final boolean MAPPED_INDEX_ENABLED =
+      Boolean.getBoolean("spring.assistant.index.mapped");
+
+  /**
+   * When enabled (via {@code -Dspring.assistant.index.lazyText=true}), description, default value & source type of properties are not held in the index, but are reloaded from the metadata file they are read from when the property is suggested/documented
+   */
+  private static final boolean LAZY_TEXT_ENABLED =
+      Boolean.getBoolean("spring.assistant.index.lazyText");
+
+  /**
+   * Indexes built from prebuilt artifacts are registered along with snapshots, under fingerprints with this prefix
+   */
+  private static final String PREBUILT_FINGERPRINT_PREFIX = "prebuilt-";
+
+  /**
+   * Callers waiting on {@link #indexingExecutor} check for cancellation of their progress this often
+   */
+  private static final long CANCELLATION_CHECK_INTERVAL_MILLIS = 100;
+
+  /**
+   * Properties that hold profile names, but whose metadata carries no hint. Their values are derived by the {@code spring-profile-name} provider, unless the metadata hints them otherwise
+   */
+  private static final List<String> PROFILE_NAME_PROPERTIES =
+      asList("spring.profiles.active", "spring.profiles.include");
+
+  /**
+   * Modules with identical metadata classpath point to the same index. Looked up from any thread, but updated only on {@link #indexingExecutor}
+   */
+  private final Map<String, SharedSearchIndex> moduleNameToSharedSearchIndex;
+  private final Map<String, SharedSearchIndex> classpathFingerprintToSharedSearchIndex;
+  /**
+   * Indexing runs (& everything else that updates/walks the indexes) are executed one after the other, so that a run never overlaps with the one it replaces
+   */
+  private final ExecutorService indexingExecutor =
+      createBoundedApplicationPoolExecutor("Spring Assistant Indexer", 1);
+  /**
+   * Incremented whenever a run that supersedes the queued/running runs is requested. Superseded runs stop before indexing their next module
+   */
+  private final AtomicInteger indexingRunGeneration = new AtomicInteger();
+  private final AtomicInteger numOfPendingIndexingRuns = new AtomicInteger();
+  /**
+   * Incremented whenever the indexes could have changed, i.e at the end of every indexing run & on eviction
+   */
+  private final SimpleModificationTracker indexModificationTracker =
+      new SimpleModificationTracker();
+  /**
+   * Number of indexes that were built from scratch during the current indexing run
+   */
+  private int numOfIndexesBuilt;
+  /**
+   * Indexes referred by these modules are strongly held, rest are softly held
+   */
+  private volatile Set<String> moduleNamesWithOpenConfigFiles;
+  /**
+   * Queue of the indexing run in progress, if any
+   */
+  @Nullable
+  private volatile ModuleIndexingQueue currentIndexingQueue;
+  private volatile long projectOpenedAtNanos;
+  private final AtomicBoolean firstSuggestionReported = new AtomicBoolean();
+  /**
+   * Read only indexes loaded from the snapshots persisted in the previous session. Used only till the live index of the module is ready
+   */
+  private final Map<String, String> moduleNameToSnapshotFingerprint;
+  private final Map<String, Trie<String, MetadataSuggestionNode>>
+      classpathFingerprintToSnapshotSearchIndex;
+  @Nullable
+  private volatile IndexSnapshotStore snapshotStore;
 
   SuggestionServiceImpl() {
-    moduleNameToSeenContainerPathToContainerInfo = new THashMap<>();
-    moduleNameToRootSearchIndex = new THashMap<>();
+    moduleNameToSharedSearchIndex = new ConcurrentHashMap<>();
+    classpathFingerprintToSharedSearchIndex = new ConcurrentHashMap<>();
+    moduleNamesWithOpenConfigFiles = emptySet();
+    moduleNameToSnapshotFingerprint = new ConcurrentHashMap<>();
+    classpathFingerprintToSnapshotSearchIndex = new ConcurrentHashMap<>();
   }
 
-  private static String[] toSanitizedPathSegments(String element) {
+  static String[] toSanitizedPathSegments(String element) {
     String[] splits = element.trim().split(PERIOD_DELIMITER, -1);
     for (int i = 0; i < splits.length; i++) {
       splits[i] = sanitise(splits[i]);
@@ -83,7 +189,7 @@ public class SuggestionServiceImpl implements SuggestionService {
     return splits;
   }
 
-  private static String[] toRawPathSegments(String element) {
+  static String[] toRawPathSegments(String element) {
     String[] splits = element.trim().split(PERIOD_DELIMITER, -1);
     for (int i = 0; i < splits.length; i++) {
       splits[i] = splits[i].trim();
@@ -97,18 +203,25 @@ public class SuggestionServiceImpl implements SuggestionService {
 
   @Override
   public void init(Project project) {
-    reIndex(project);
+    projectOpenedAtNanos = CompletionDiagnostics.start();
+    firstSuggestionReported.set(false);
+    snapshotStore = new IndexSnapshotStore(project);
+    moduleNameToSnapshotFingerprint.putAll(snapshotStore.readManifest());
+    // Snapshots are deserialized ahead of the live index, so that completion/highlighting never waits on them
+    indexingExecutor.execute(() -> loadSnapshots(project));
+    // Modules without a snapshot (say, a fresh checkout) can still be served from the artifacts prebuilt in CI
+    indexingExecutor.execute(() -> loadPrebuiltIndexes(project));
+    // Class metadata cannot be resolved while the IDE is indexing, so lets build the live index once indexing completes
+    DumbService.getInstance(project).runWhenSmart(() -> reIndex(project));
   }
 
   @Override
   public void reIndex(Project project) {
-    if (indexingInProgress) {
-      currentExecution.cancel(false);
-    }
+    // this run covers all modules, so runs requested before this one need not continue
+    int generation = indexingRunGeneration.incrementAndGet();
     //noinspection CodeBlock2Expr
-    currentExecution = getApplication().executeOnPooledThread(() -> {
+    submitIndexingRun(project, () -> {
       getApplication().runReadAction(() -> {
-        indexingInProgress = true;
         StopWatch timer = new StopWatch();
         timer.start();
         try {
@@ -117,55 +230,51 @@ public class SuggestionServiceImpl implements SuggestionService {
           // So, we should not be doing anything with this
 
           Module[] modules = ModuleManager.getInstance(project).getModules();
-          for (Module module : modules) {
-            reindexModule(emptyList(), emptyList(), module);
+          ModuleIndexingQueue indexingQueue = newIndexingQueue(project, modules);
+          numOfIndexesBuilt = 0;
+          Module module;
+          while (!isSuperseded(generation) && (module = indexingQueue.poll()) != null) {
+            reindexModule(module);
           }
+          debugIndexSharingStats(modules.length);
         } finally {
-          indexingInProgress = false;
+          currentIndexingQueue = null;
           timer.stop();
           debug(() -> log
               .debug("<- Indexing took " + timer.toString() + " for project " + project.getName()));
         }
       });
+      persistSnapshots();
     });
   }
 
   @Override
   public void reindex(Project project, Module[] modules) {
-    if (indexingInProgress) {
-      if (currentExecution != null) {
-        currentExecution.cancel(false);
-      }
-    }
+    // runs requested before this one may cover other modules, so they should run to completion
+    int generation = indexingRunGeneration.get();
     //noinspection CodeBlock2Expr
-    currentExecution = getApplication().executeOnPooledThread(() -> {
+    submitIndexingRun(project, () -> {
       getApplication().runReadAction(() -> {
         debug(() -> log.debug(
             "-> Indexing requested for a subset of modules of project " + project.getName()));
-        indexingInProgress = true;
         StopWatch timer = new StopWatch();
         timer.start();
         try {
-          for (Module module : modules) {
-            debug(() -> log.debug("--> Indexing requested for module " + module.getName()));
-            StopWatch moduleTimer = new StopWatch();
-            moduleTimer.start();
-            try {
-              reindexModule(emptyList(), emptyList(), module);
-            } finally {
-              moduleTimer.stop();
-              debug(() -> log.debug(
-                  "<-- Indexing took " + moduleTimer.toString() + " for module " + module
-                      .getName()));
-            }
+          ModuleIndexingQueue indexingQueue = newIndexingQueue(project, modules);
+          numOfIndexesBuilt = 0;
+          Module module;
+          while (!isSuperseded(generation) && (module = indexingQueue.poll()) != null) {
+            reindexModuleAndDebugTime(module);
           }
+          debugIndexSharingStats(modules.length);
         } finally {
-          indexingInProgress = false;
+          currentIndexingQueue = null;
           timer.stop();
           debug(() -> log
               .debug("<- Indexing took " + timer.toString() + " for project " + project.getName()));
         }
       });
+      persistSnapshots();
     });
   }
 
@@ -174,16 +283,90 @@ public class SuggestionServiceImpl implements SuggestionService {
     reindex(project, new Module[] {module});
   }
 
+  /**
+   * Queues the run behind the runs (if any) that are already queued/running. Once the run completes, open files are highlighted again, as annotators skip the index (& cache having done so) while it is being updated
+   */
+  private void submitIndexingRun(Project project, Runnable run) {
+    numOfPendingIndexingRuns.incrementAndGet();
+    indexingExecutor.execute(() -> {
+      try {
+        run.run();
+      } finally {
+        numOfPendingIndexingRuns.decrementAndGet();
+        indexModificationTracker.incModificationCount();
+        getApplication().invokeLater(() -> DaemonCodeAnalyzer.getInstance(project).restart(),
+            project.getDisposed());
+      }
+    });
+  }
+
+  private boolean isSuperseded(int generation) {
+    return generation != indexingRunGeneration.get();
+  }
+
+  @Override
+  public boolean isIndexingInProgress() {
+    return numOfPendingIndexingRuns.get() != 0;
+  }
+
+  /**
+   * Runs the computation on {@link #indexingExecutor} once the indexing run in progress (if any) completes, so that it never walks an index that is being updated. While waiting, the progress of the caller (if any) is checked for cancellation, in which case the computation is dropped if it has not started yet
+   */
+  private <T> T computeOnIndexingExecutor(Computable<T> computation) {
+    Future<T> result = indexingExecutor.submit(() -> getApplication().runReadAction(computation));
+    try {
+      while (true) {
+        ProgressManager.checkCanceled();
+        try {
+          return result.get(CANCELLATION_CHECK_INTERVAL_MILLIS, MILLISECONDS);
+        } catch (TimeoutException e) {
+          // lets check for cancellation & wait again
+        }
+      }
+    } catch (ProcessCanceledException e) {
+      result.cancel(false);
+      throw e;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the indexing to complete", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private ModuleIndexingQueue newIndexingQueue(Project project, Module[] modules) {
+    ModuleIndexingQueue indexingQueue = new ModuleIndexingQueue(project, modules);
+    indexingQueue.prioritize(findModulesWithOpenConfigFiles(project));
+    currentIndexingQueue = indexingQueue;
+    return indexingQueue;
+  }
+
+  private void reindexModuleAndDebugTime(Module module) {
+    debug(() -> log.debug("--> Indexing requested for module " + module.getName()));
+    StopWatch moduleTimer = new StopWatch();
+    moduleTimer.start();
+    try {
+      reindexModule(module);
+    } finally {
+      moduleTimer.stop();
+      debug(() -> log.debug(
+          "<-- Indexing took " + moduleTimer.toString() + " for module " + module.getName()));
+    }
+  }
+
   @Nullable
   @Override
   public List<SuggestionNode> findMatchedNodesRootTillEnd(Project project, Module module,
       List<String> containerElements) {
-    if (moduleNameToRootSearchIndex.containsKey(module.getName())) {
+    Trie<String, MetadataSuggestionNode> rootSearchIndex = getRootSearchIndex(module);
+    if (rootSearchIndex != null) {
       String[] pathSegments =
           containerElements.stream().flatMap(element -> stream(toSanitizedPathSegments(element)))
               .toArray(String[]::new);
-      MetadataSuggestionNode searchStartNode =
-          moduleNameToRootSearchIndex.get(module.getName()).get(pathSegments[0]);
+      MetadataSuggestionNode searchStartNode = rootSearchIndex.get(pathSegments[0]);
       if (searchStartNode != null) {
         List<SuggestionNode> matches = modifiableList(searchStartNode);
         if (pathSegments.length > 1) {
@@ -195,54 +378,455 @@ public class SuggestionServiceImpl implements SuggestionService {
     return null;
   }
 
+  @Nullable
+  @Override
+  public Map<String, ? extends SuggestionNode> getRootNodes(Project project, Module module) {
+    return getRootSearchIndex(module);
+  }
+
+  @Override
+  public ModificationTracker getIndexModificationTracker() {
+    return indexModificationTracker;
+  }
+
   @Override
   public boolean canProvideSuggestions(Project project, Module module) {
-    Trie<String, MetadataSuggestionNode> rootSearchIndex =
-        moduleNameToRootSearchIndex.get(module.getName());
-    return rootSearchIndex != null && rootSearchIndex.size() != 0;
+    Trie<String, MetadataSuggestionNode> rootSearchIndex = getRootSearchIndex(module);
+    boolean canProvideSuggestions = rootSearchIndex != null && rootSearchIndex.size() != 0;
+    if (canProvideSuggestions && firstSuggestionReported.compareAndSet(false, true)) {
+      CompletionDiagnostics.record(TIME_TO_FIRST_SUGGESTION, projectOpenedAtNanos);
+      debug(() -> log.debug("Time to first suggestion: " + NANOSECONDS
+          .toMillis(System.nanoTime() - projectOpenedAtNanos) + "ms since project " + project
+          .getName() + " is opened. First suggestion is for module " + module.getName()));
+    }
+    return canProvideSuggestions;
   }
 
   @Override
   public List<LookupElementBuilder> findSuggestionsForQueryPrefix(Project project, Module module,
       FileType fileType, PsiElement element, @Nullable List<String> ancestralKeys,
       String queryWithDotDelimitedPrefixes, @Nullable Set<String> siblingsToExclude) {
-    return doFindSuggestionsForQueryPrefix(module,
-        moduleNameToRootSearchIndex.get(module.getName()), fileType, element, ancestralKeys,
-        queryWithDotDelimitedPrefixes, siblingsToExclude);
+    return doFindSuggestionsForQueryPrefix(module, getRootSearchIndex(module), fileType, element,
+        ancestralKeys, queryWithDotDelimitedPrefixes, siblingsToExclude);
   }
 
-  private List<MetadataContainerInfo> computeNewContainersToProcess(OrderEnumerator orderEnumerator,
-      Map<String, MetadataContainerInfo> seenContainerPathToContainerInfo) {
-    List<MetadataContainerInfo> containersToProcess = new ArrayList<>();
-    for (VirtualFile metadataFileContainer : orderEnumerator.recursively().classes().getRoots()) {
-      Collection<MetadataContainerInfo> metadataContainerInfos =
-          MetadataContainerInfo.newInstances(metadataFileContainer);
-      for (MetadataContainerInfo metadataContainerInfo : metadataContainerInfos) {
-        boolean seenBefore = seenContainerPathToContainerInfo
-            .containsKey(metadataContainerInfo.getContainerArchiveOrFileRef());
-
-        boolean updatedSinceLastSeen = false;
-        if (seenBefore) {
-          MetadataContainerInfo seenMetadataContainerInfo = seenContainerPathToContainerInfo
-              .get(metadataContainerInfo.getContainerArchiveOrFileRef());
-          updatedSinceLastSeen = metadataContainerInfo.isModified(seenMetadataContainerInfo);
-          if (updatedSinceLastSeen) {
-            debug(() -> log.debug("Container seems to have been updated. Previous version: "
-                + seenMetadataContainerInfo + "; Newer version: " + metadataContainerInfo));
+  @Override
+  public void evict(Project project, String moduleName) {
+    debug(() -> log.debug("Evicting search index reference of module " + moduleName));
+    indexingExecutor.execute(() -> {
+      detachModuleFromSearchIndex(moduleName, moduleNameToSharedSearchIndex.remove(moduleName));
+      moduleNameToSnapshotFingerprint.remove(moduleName);
+      indexModificationTracker.incModificationCount();
+    });
+  }
+
+  @Override
+  public void evictAll(Project project) {
+    debug(() -> log.debug("Evicting all search indexes of project " + project.getName()));
+    // run in progress (if any) would stop before its next module & the indexes are dropped once it does
+    indexingRunGeneration.incrementAndGet();
+    moduleNamesWithOpenConfigFiles = emptySet();
+    indexingExecutor.execute(() -> {
+      classpathFingerprintToSharedSearchIndex.values().forEach(SharedSearchIndex::release);
+      classpathFingerprintToSharedSearchIndex.clear();
+      moduleNameToSharedSearchIndex.clear();
+      moduleNameToSnapshotFingerprint.clear();
+      classpathFingerprintToSnapshotSearchIndex.clear();
+      indexModificationTracker.incModificationCount();
+    });
+  }
+
+  @Override
+  public void updateIndexRetention(Project project) {
+    List<Module> modulesWithOpenConfigFiles = findModulesWithOpenConfigFiles(project);
+    // User might be waiting for suggestions in one of these modules, so lets index them first
+    ModuleIndexingQueue indexingQueue = currentIndexingQueue;
+    if (indexingQueue != null) {
+      indexingQueue.prioritize(modulesWithOpenConfigFiles);
+    }
+
+    Set<String> moduleNames =
+        modulesWithOpenConfigFiles.stream().map(Module::getName).collect(toSet());
+    moduleNamesWithOpenConfigFiles = moduleNames;
+    classpathFingerprintToSharedSearchIndex.values().forEach(this::updateRetention);
+
+    // Indexes that were reclaimed while none of the editors needed them should be rebuilt as soon as one of them needs it again
+    Module[] modulesToRebuild = stream(ModuleManager.getInstance(project).getModules())
+        .filter(module -> moduleNames.contains(module.getName())).filter(module -> {
+          SharedSearchIndex searchIndex = moduleNameToSharedSearchIndex.get(module.getName());
+          return searchIndex != null && searchIndex.isReleased();
+        }).toArray(Module[]::new);
+    if (modulesToRebuild.length != 0 && !isIndexingInProgress()) {
+      reindex(project, modulesToRebuild);
+    }
+  }
+
+  @Override
+  public IndexMemoryUsageReport computeIndexMemoryUsage(Project project) {
+    return computeOnIndexingExecutor(this::doComputeIndexMemoryUsage);
+  }
+
+  private IndexMemoryUsageReport doComputeIndexMemoryUsage() {
+    List<ModuleIndexMemoryUsage> usages = new ArrayList<>();
+    for (SharedSearchIndex searchIndex : classpathFingerprintToSharedSearchIndex.values()) {
+      SharedSearchIndex.Contents contents = searchIndex.getContents();
+      ModuleIndexMemoryUsage.Retention retention;
+      RetainedSizeEstimator estimator = new RetainedSizeEstimator();
+      long estimatedRetainedBytes = 0;
+      long mappedIndexBytes = 0;
+      int numOfRootNodes = 0;
+      if (contents != null) {
+        retention = searchIndex.isPinned() ? PINNED : SOFT;
+        estimatedRetainedBytes = estimator.estimate(contents);
+        numOfRootNodes = contents.getRootSearchIndex().size();
+        MappedSearchIndex mappedSearchIndex = contents.getMappedSearchIndex();
+        if (mappedSearchIndex != null) {
+          mappedIndexBytes = mappedSearchIndex.getSizeInBytes();
+        }
+      } else {
+        retention = RELEASED;
+      }
+      Set<String> modulesSharingIndex = new TreeSet<>(searchIndex.getReferringModuleNames());
+      for (String moduleName : modulesSharingIndex) {
+        usages.add(ModuleIndexMemoryUsage.builder().moduleName(moduleName)
+            .modulesSharingIndex(modulesSharingIndex).retention(retention)
+            .numOfRootNodes(numOfRootNodes).numOfObjects(estimator.getNumOfObjects())
+            .estimatedRetainedBytes(estimatedRetainedBytes).mappedIndexBytes(mappedIndexBytes)
+            .build());
+      }
+    }
+    usages.sort(comparing(ModuleIndexMemoryUsage::getModuleName));
+    return new IndexMemoryUsageReport(usages, classpathFingerprintToSharedSearchIndex.size(),
+        moduleNameToSharedSearchIndex.size(), numOfIndexesBuilt);
+  }
+
+  @Override
+  public IndexShapeReport computeIndexShape(Project project) {
+    return computeOnIndexingExecutor(this::doComputeIndexShape);
+  }
+
+  private IndexShapeReport doComputeIndexShape() {
+    List<IndexShape> shapes = new ArrayList<>();
+    for (SharedSearchIndex searchIndex : classpathFingerprintToSharedSearchIndex.values()) {
+      SharedSearchIndex.Contents contents = searchIndex.getContents();
+      Set<String> modulesSharingIndex = new TreeSet<>(searchIndex.getReferringModuleNames());
+      if (contents != null) {
+        shapes.add(new IndexShapeAnalyzer().analyse(contents.getRootSearchIndex())
+            .modulesSharingIndex(modulesSharingIndex)
+            .retention(searchIndex.isPinned() ? PINNED : SOFT)
+            .mapped(contents.getMappedSearchIndex() != null).build());
+      } else {
+        shapes.add(IndexShape.builder().modulesSharingIndex(modulesSharingIndex)
+            .retention(RELEASED).containerToNumOfNodes(new TreeMap<>())
+            .fanOutToNumOfNodes(new TreeMap<>()).depthToNumOfNodes(new TreeMap<>()).build());
+      }
+    }
+    shapes.sort(comparing(shape -> shape.getModulesSharingIndex().toString()));
+    return new IndexShapeReport(shapes, getNumOfMaterializedClassMetadata());
+  }
+
+  @Override
+  public void exportIndexes(Project project, Writer writer) throws IOException {
+    try {
+      computeOnIndexingExecutor(() -> {
+        try {
+          doExportIndexes(writer);
+          return null;
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private void doExportIndexes(Writer writer) throws IOException {
+    IndexDumpWriter dumpWriter = new IndexDumpWriter(writer);
+    List<SharedSearchIndex> searchIndexes =
+        new ArrayList<>(classpathFingerprintToSharedSearchIndex.values());
+    searchIndexes.sort(comparing(SharedSearchIndex::getClasspathFingerprint));
+    for (SharedSearchIndex searchIndex : searchIndexes) {
+      SharedSearchIndex.Contents contents = searchIndex.getContents();
+      if (contents == null) {
+        continue;
+      }
+      String classpathFingerprint = searchIndex.getClasspathFingerprint();
+      boolean mapped = contents.getMappedSearchIndex() != null;
+      dumpWriter.startIndex(classpathFingerprint, searchIndex.getReferringModuleNames(), mapped);
+      // nodes of a mapped index are materialized as they are walked, so the dump has the whole index irrespective of how it is held
+      dumpWriter.writeIndex(contents.getRootSearchIndex());
+    }
+    dumpWriter.flush();
+  }
+
+  /**
+   * Persists snapshots of the live indexes that are not persisted yet & discards the snapshots that are replaced by live indexes
+   */
+  private void persistSnapshots() {
+    IndexSnapshotStore store = snapshotStore;
+    if (store == null) {
+      return;
+    }
+
+    Map<String, String> moduleNameToClasspathFingerprint = new THashMap<>();
+    Map<String, List<MetadataContainerInfo>> classpathFingerprintToContainersToPersist =
+        new THashMap<>();
+    getApplication().runReadAction(() -> moduleNameToSharedSearchIndex
+        .forEach((moduleName, searchIndex) -> {
+          String classpathFingerprint = searchIndex.getClasspathFingerprint();
+          SharedSearchIndex.Contents contents = searchIndex.getContents();
+          if (store.hasSnapshot(classpathFingerprint)) {
+            moduleNameToClasspathFingerprint.put(moduleName, classpathFingerprint);
+          } else if (contents != null) {
+            moduleNameToClasspathFingerprint.put(moduleName, classpathFingerprint);
+            classpathFingerprintToContainersToPersist.computeIfAbsent(classpathFingerprint,
+                k -> contents.getSeenContainerPathToContainerInfo().values().stream()
+                    .filter(MetadataContainerInfo::containsMetadataFile).collect(toList()));
+          }
+        }));
+
+    classpathFingerprintToContainersToPersist.forEach((classpathFingerprint, containerInfos) -> {
+      try {
+        store.writeSnapshot(classpathFingerprint, containerInfos);
+      } catch (IOException | RuntimeException e) {
+        log.warn("Unable to persist index snapshot for containers " + containerInfos, e);
+        moduleNameToClasspathFingerprint.values().removeIf(classpathFingerprint::equals);
+      }
+    });
+
+    try {
+      store.writeManifest(moduleNameToClasspathFingerprint);
+      store.retainOnly(moduleNameToClasspathFingerprint.values());
+    } catch (IOException e) {
+      log.warn("Unable to persist index snapshot manifest", e);
+    }
+
+    // Live indexes are ready now, snapshots of these modules are no longer needed
+    moduleNameToSnapshotFingerprint.keySet().removeIf(moduleNameToSharedSearchIndex::containsKey);
+    classpathFingerprintToSnapshotSearchIndex.keySet()
+        .retainAll(moduleNameToSnapshotFingerprint.values());
+  }
+
+  /**
+   * @return snapshot of the module, or null if the module has no snapshot (or) the snapshot is not loaded yet
+   */
+  @Nullable
+  private Trie<String, MetadataSuggestionNode> getSnapshotSearchIndex(Module module) {
+    String classpathFingerprint = moduleNameToSnapshotFingerprint.get(module.getName());
+    if (classpathFingerprint == null) {
+      return null;
+    }
+    return classpathFingerprintToSnapshotSearchIndex.get(classpathFingerprint);
+  }
+
+  /**
+   * Loads the snapshot of every module listed in the manifest, modules with open config files first. Snapshots shared by multiple modules are loaded once
+   */
+  private void loadSnapshots(Project project) {
+    List<Module> modules = new ArrayList<>(findModulesWithOpenConfigFiles(project));
+    stream(ModuleManager.getInstance(project).getModules())
+        .filter(module -> !modules.contains(module)).forEach(modules::add);
+    for (Module module : modules) {
+      String classpathFingerprint = moduleNameToSnapshotFingerprint.get(module.getName());
+      // live index might have been built already (say, for a module whose snapshot was shared with an earlier module)
+      if (classpathFingerprint != null && !classpathFingerprintToSnapshotSearchIndex
+          .containsKey(classpathFingerprint) && !moduleNameToSharedSearchIndex
+          .containsKey(module.getName())) {
+        Trie<String, MetadataSuggestionNode> rootSearchIndex = getApplication()
+            .runReadAction((Computable<Trie<String, MetadataSuggestionNode>>) () -> loadSnapshot(
+                module, classpathFingerprint));
+        if (rootSearchIndex != null) {
+          classpathFingerprintToSnapshotSearchIndex.put(classpathFingerprint, rootSearchIndex);
+          indexModificationTracker.incModificationCount();
+        }
+      }
+    }
+  }
+
+  /**
+   * Builds read only indexes from the artifacts prebuilt by {@code MetadataIndexer} (see {@link PrebuiltIndexArtifacts}) for the modules that have no snapshot of their own. Like snapshots, these indexes are used only till the live index of the module is ready
+   */
+  private void loadPrebuiltIndexes(Project project) {
+    Map<Module, List<File>> moduleToArtifactDirs = new THashMap<>();
+    Map<Module, List<VirtualFile>> moduleToJars = new THashMap<>();
+    getApplication().runReadAction(() -> {
+      for (Module module : ModuleManager.getInstance(project).getModules()) {
+        if (moduleNameToSnapshotFingerprint.containsKey(module.getName())) {
+          continue;
+        }
+        List<File> contentRoots =
+            stream(ModuleRootManager.getInstance(module).getContentRoots())
+                .map(VfsUtilCore::virtualToIoFile).collect(toList());
+        List<File> artifactDirs = PrebuiltIndexArtifacts.findArtifactDirs(contentRoots);
+        if (!artifactDirs.isEmpty()) {
+          moduleToArtifactDirs.put(module, artifactDirs);
+          moduleToJars.put(module,
+              stream(OrderEnumerator.orderEntries(module).recursively().classes().getRoots())
+                  .filter(root -> root.getFileType() == ARCHIVE)
+                  .map(root -> JarFileSystem.getInstance().getLocalVirtualFileFor(root))
+                  .filter(Objects::nonNull).collect(toList()));
+        }
+      }
+    });
+
+    // artifact keys are computed outside the read action, as they need the jars to be opened
+    Map<String, String> jarPathToArtifactKey = new THashMap<>();
+    Gson gson = SpringConfigurationMetadataGson.getInstance();
+    moduleToArtifactDirs.forEach((module, artifactDirs) -> {
+      StopWatch timer = new StopWatch();
+      timer.start();
+      Trie<String, MetadataSuggestionNode> rootSearchIndex = new PatriciaTrie<>();
+      int numOfJarsLoaded = 0;
+      for (VirtualFile jar : moduleToJars.get(module)) {
+        try {
+          String artifactKey;
+          if (jarPathToArtifactKey.containsKey(jar.getPath())) {
+            artifactKey = jarPathToArtifactKey.get(jar.getPath());
+          } else {
+            artifactKey = PrebuiltIndexArtifacts.artifactKey(VfsUtilCore.virtualToIoFile(jar));
+            jarPathToArtifactKey.put(jar.getPath(), artifactKey);
+          }
+          // jar has no metadata
+          if (artifactKey == null) {
+            continue;
           }
+          for (File artifactDir : artifactDirs) {
+            File artifactFile = PrebuiltIndexArtifacts.toArtifactFile(artifactDir, artifactKey);
+            if (artifactFile.exists()) {
+              // adding to the index resolves types of the properties, so it needs a read action. Artifact itself is read outside, so that the read action is held only as long as needed
+              IndexSnapshotStore.readSnapshotFile(artifactFile,
+                  (containerRef, metadata) -> getApplication().runReadAction(
+                      () -> addToIndex(module, rootSearchIndex,
+                          gson.fromJson(metadata, SpringConfigurationMetadata.class),
+                          jar.getUrl())));
+              numOfJarsLoaded++;
+              break;
+            }
+          }
+        } catch (IOException | RuntimeException e) {
+          log.warn("Unable to load prebuilt index artifact of " + jar.getPath(), e);
         }
+      }
+      timer.stop();
+      int numOfJarsLoadedFinal = numOfJarsLoaded;
+      debug(() -> log.debug(
+          "Loaded prebuilt index artifacts of " + numOfJarsLoadedFinal + " jar(s) for module "
+              + module.getName() + " in " + timer.toString()));
+      // live index might have been built while we were loading, in which case the prebuilt index is of no use
+      if (numOfJarsLoaded != 0 && !moduleNameToSharedSearchIndex.containsKey(module.getName())) {
+        String prebuiltFingerprint = PREBUILT_FINGERPRINT_PREFIX + module.getName();
+        classpathFingerprintToSnapshotSearchIndex.put(prebuiltFingerprint, rootSearchIndex);
+        moduleNameToSnapshotFingerprint.putIfAbsent(module.getName(), prebuiltFingerprint);
+      }
+    });
+  }
 
-        boolean looksFresh = !seenBefore || updatedSinceLastSeen;
-        boolean processMetadata = looksFresh && metadataContainerInfo.containsMetadataFile();
-        if (processMetadata) {
-          containersToProcess.add(metadataContainerInfo);
+  @Nullable
+  private Trie<String, MetadataSuggestionNode> loadSnapshot(Module module,
+      String classpathFingerprint) {
+    IndexSnapshotStore store = snapshotStore;
+    if (store != null) {
+      StopWatch timer = new StopWatch();
+      timer.start();
+      Trie<String, MetadataSuggestionNode> rootSearchIndex = new PatriciaTrie<>();
+      Gson gson = SpringConfigurationMetadataGson.getInstance();
+      try {
+        if (MAPPED_INDEX_ENABLED && store.hasMappedIndex(classpathFingerprint)) {
+          debug(() -> log.debug("Using mapped index of the previous session for module " + module
+              .getName() + " till the live index is ready"));
+          return MappedSearchIndex
+              .open(store.toMappedIndexFile(classpathFingerprint)).toRootSearchIndex();
         }
+        boolean snapshotExists = store.readSnapshot(classpathFingerprint,
+            (containerArchiveOrFileRef, metadata) -> buildMetadataHierarchy(module,
+                rootSearchIndex, MetadataContainerInfo.builder()
+                    .containerArchiveOrFileRef(containerArchiveOrFileRef).build(),
+                gson.fromJson(metadata, SpringConfigurationMetadata.class)));
+        if (snapshotExists) {
+          timer.stop();
+          debug(() -> log.debug("Loaded index snapshot for module " + module.getName() + " in "
+              + timer.toString() + ". It would be used till the live index is ready"));
+          return rootSearchIndex;
+        }
+      } catch (IOException | RuntimeException e) {
+        log.warn("Unable to load index snapshot for module " + module.getName(), e);
+      }
+    }
+    // lets not attempt to load the snapshot again
+    moduleNameToSnapshotFingerprint.values().removeIf(classpathFingerprint::equals);
+    return null;
+  }
+
+  private List<Module> findModulesWithOpenConfigFiles(Project project) {
+    List<Module> modules = new ArrayList<>();
+    for (VirtualFile file : FileEditorManager.getInstance(project).getOpenFiles()) {
+      if (isSpringConfigFile(file)) {
+        Module module = findModuleForFile(file, project);
+        if (module != null && !modules.contains(module)) {
+          modules.add(module);
+        }
+      }
+    }
+    return modules;
+  }
+
+  @Nullable
+  private Trie<String, MetadataSuggestionNode> getRootSearchIndex(Module module) {
+    SharedSearchIndex sharedSearchIndex = moduleNameToSharedSearchIndex.get(module.getName());
+    if (sharedSearchIndex != null) {
+      Trie<String, MetadataSuggestionNode> rootSearchIndex =
+          sharedSearchIndex.getRootSearchIndex();
+      if (rootSearchIndex != null) {
+        return rootSearchIndex;
+      }
+      if (!isIndexingInProgress()) {
+        debug(() -> log.debug("Search index of module " + module.getName()
+            + " was reclaimed by GC. Scheduling a rebuild"));
+        reindex(module.getProject(), module);
+      }
+    }
+    // Live index is not ready yet. Lets serve suggestions from the last persisted snapshot in the mean time
+    return getSnapshotSearchIndex(module);
+  }
+
+  private List<MetadataContainerInfo> computeContainerInfos(OrderEnumerator orderEnumerator) {
+    List<MetadataContainerInfo> containerInfos = new ArrayList<>();
+    for (VirtualFile metadataFileContainer : orderEnumerator.recursively().classes().getRoots()) {
+      containerInfos.addAll(MetadataContainerInfo.newInstances(metadataFileContainer));
+    }
+    return containerInfos;
+  }
 
-        if (looksFresh) {
-          seenContainerPathToContainerInfo
-              .put(metadataContainerInfo.getContainerArchiveOrFileRef(), metadataContainerInfo);
+  private List<MetadataContainerInfo> computeNewContainersToProcess(
+      List<MetadataContainerInfo> containerInfos,
+      Map<String, MetadataContainerInfo> seenContainerPathToContainerInfo) {
+    List<MetadataContainerInfo> containersToProcess = new ArrayList<>();
+    for (MetadataContainerInfo metadataContainerInfo : containerInfos) {
+      boolean seenBefore = seenContainerPathToContainerInfo
+          .containsKey(metadataContainerInfo.getContainerArchiveOrFileRef());
+
+      boolean updatedSinceLastSeen = false;
+      if (seenBefore) {
+        MetadataContainerInfo seenMetadataContainerInfo = seenContainerPathToContainerInfo
+            .get(metadataContainerInfo.getContainerArchiveOrFileRef());
+        updatedSinceLastSeen = metadataContainerInfo.isModified(seenMetadataContainerInfo);
+        if (updatedSinceLastSeen) {
+          debug(() -> log.debug("Container seems to have been updated. Previous version: "
+              + seenMetadataContainerInfo + "; Newer version: " + metadataContainerInfo));
         }
       }
+
+      boolean looksFresh = !seenBefore || updatedSinceLastSeen;
+      boolean processMetadata = looksFresh && metadataContainerInfo.containsMetadataFile();
+      if (processMetadata) {
+        containersToProcess.add(metadataContainerInfo);
+      }
+
+      if (looksFresh) {
+        seenContainerPathToContainerInfo
+            .put(metadataContainerInfo.getContainerArchiveOrFileRef(), metadataContainerInfo);
+      }
     }
 
     if (containersToProcess.size() == 0) {
@@ -251,7 +835,7 @@ public class SuggestionServiceImpl implements SuggestionService {
     return containersToProcess;
   }
 
-  private List<LookupElementBuilder> doFindSuggestionsForQueryPrefix(Module module,
+  List<LookupElementBuilder> doFindSuggestionsForQueryPrefix(Module module,
       Trie<String, MetadataSuggestionNode> rootSearchIndex, FileType fileType, PsiElement element,
       @Nullable List<String> ancestralKeys, String queryWithDotDelimitedPrefixes,
       @Nullable Set<String> siblingsToExclude) {
@@ -259,75 +843,80 @@ public class SuggestionServiceImpl implements SuggestionService {
     StopWatch timer = new StopWatch();
     timer.start();
     try {
-      String[] querySegmentPrefixes = toSanitizedPathSegments(queryWithDotDelimitedPrefixes);
       Set<Suggestion> suggestions = null;
-      if (ancestralKeys != null) {
-        String[] ancestralKeySegments =
-            ancestralKeys.stream().flatMap(key -> stream(toRawPathSegments(key)))
-                .toArray(String[]::new);
-        MetadataSuggestionNode rootNode = rootSearchIndex.get(sanitise(ancestralKeySegments[0]));
-        if (rootNode != null) {
-          List<SuggestionNode> matchesRootToDeepest;
-          SuggestionNode startSearchFrom = null;
-          if (ancestralKeySegments.length > 1) {
-            String[] sanitisedAncestralPathSegments =
-                stream(ancestralKeySegments).map(SuggestionNode::sanitise).toArray(String[]::new);
-            matchesRootToDeepest = rootNode
-                .findDeepestSuggestionNode(module, modifiableList(rootNode),
-                    sanitisedAncestralPathSegments, 1);
-            if (matchesRootToDeepest != null && matchesRootToDeepest.size() != 0) {
-              startSearchFrom = matchesRootToDeepest.get(matchesRootToDeepest.size() - 1);
+      long indexLookupStart = CompletionDiagnostics.start();
+      try {
+        String[] querySegmentPrefixes = toSanitizedPathSegments(queryWithDotDelimitedPrefixes);
+        if (ancestralKeys != null) {
+          String[] ancestralKeySegments =
+              ancestralKeys.stream().flatMap(key -> stream(toRawPathSegments(key)))
+                  .toArray(String[]::new);
+          MetadataSuggestionNode rootNode =
+              rootSearchIndex.get(sanitise(ancestralKeySegments[0]));
+          if (rootNode != null) {
+            List<SuggestionNode> matchesRootToDeepest;
+            SuggestionNode startSearchFrom = null;
+            if (ancestralKeySegments.length > 1) {
+              String[] sanitisedAncestralPathSegments = stream(ancestralKeySegments)
+                  .map(SuggestionNode::sanitise).toArray(String[]::new);
+              matchesRootToDeepest = rootNode
+                  .findDeepestSuggestionNode(module, modifiableList(rootNode),
+                      sanitisedAncestralPathSegments, 1);
+              if (matchesRootToDeepest != null && matchesRootToDeepest.size() != 0) {
+                startSearchFrom = matchesRootToDeepest.get(matchesRootToDeepest.size() - 1);
+              }
+            } else {
+              startSearchFrom = rootNode;
+              matchesRootToDeepest = singletonList(rootNode);
             }
-          } else {
-            startSearchFrom = rootNode;
-            matchesRootToDeepest = singletonList(rootNode);
-          }
 
-          if (startSearchFrom != null) {
-            // if search start node is a leaf, this means, the user is looking for values for the given key, lets find the suggestions for values
-            if (startSearchFrom.isLeaf(module)) {
-              suggestions = startSearchFrom.findValueSuggestionsForPrefix(module, fileType,
-                  unmodifiableList(matchesRootToDeepest),
-                  sanitise(truncateIdeaDummyIdentifier(element.getText())), siblingsToExclude);
-            } else {
-              suggestions = startSearchFrom.findKeySuggestionsForQueryPrefix(module, fileType,
-                  unmodifiableList(matchesRootToDeepest), matchesRootToDeepest.size(),
-                  querySegmentPrefixes, 0, siblingsToExclude);
+            if (startSearchFrom != null) {
+              // if search start node is a leaf, this means, the user is looking for values for the given key, lets find the suggestions for values
+              if (startSearchFrom.isLeaf(module)) {
+                suggestions = startSearchFrom.findValueSuggestionsForPrefix(module, fileType,
+                    unmodifiableList(matchesRootToDeepest),
+                    sanitise(truncateIdeaDummyIdentifier(element.getText())), siblingsToExclude);
+              } else {
+                suggestions = startSearchFrom.findKeySuggestionsForQueryPrefix(module, fileType,
+                    unmodifiableList(matchesRootToDeepest), matchesRootToDeepest.size(),
+                    querySegmentPrefixes, 0, siblingsToExclude);
+              }
             }
           }
-        }
-      } else {
-        String rootQuerySegmentPrefix = querySegmentPrefixes[0];
-        SortedMap<String, MetadataSuggestionNode> topLevelQueryResults =
-            rootSearchIndex.prefixMap(rootQuerySegmentPrefix);
+        } else {
+          String rootQuerySegmentPrefix = querySegmentPrefixes[0];
+          SortedMap<String, MetadataSuggestionNode> topLevelQueryResults =
+              rootSearchIndex.prefixMap(rootQuerySegmentPrefix);
 
-        Collection<MetadataSuggestionNode> childNodes;
-        int querySegmentPrefixStartIndex;
+          Collection<MetadataSuggestionNode> childNodes;
+          int querySegmentPrefixStartIndex;
 
-        // If no results are found at the top level, let dive deeper and find matches
-        if (topLevelQueryResults == null || topLevelQueryResults.size() == 0) {
-          childNodes = rootSearchIndex.values();
-          querySegmentPrefixStartIndex = 0;
-        } else {
-          childNodes = topLevelQueryResults.values();
-          querySegmentPrefixStartIndex = 1;
-        }
+          // If no results are found at the top level, let dive deeper and find matches
+          if (topLevelQueryResults == null || topLevelQueryResults.size() == 0) {
+            childNodes = rootSearchIndex.values();
+            querySegmentPrefixStartIndex = 0;
+          } else {
+            childNodes = topLevelQueryResults.values();
+            querySegmentPrefixStartIndex = 1;
+          }
 
-        Collection<MetadataSuggestionNode> nodesToSearchAgainst;
-        if (siblingsToExclude != null) {
-          Set<MetadataSuggestionNode> nodesToExclude = siblingsToExclude.stream()
-              .flatMap(exclude -> rootSearchIndex.prefixMap(exclude).values().stream())
-              .collect(toSet());
-          nodesToSearchAgainst =
-              childNodes.stream().filter(node -> !nodesToExclude.contains(node)).collect(toList());
-        } else {
-          nodesToSearchAgainst = childNodes;
-        }
+          Collection<MetadataSuggestionNode> nodesToSearchAgainst;
+          if (siblingsToExclude != null) {
+            Set<MetadataSuggestionNode> nodesToExclude = siblingsToExclude.stream()
+                .flatMap(exclude -> rootSearchIndex.prefixMap(exclude).values().stream())
+                .collect(toSet());
+            nodesToSearchAgainst = childNodes.stream().filter(node -> !nodesToExclude.contains(node))
+                .collect(toList());
+          } else {
+            nodesToSearchAgainst = childNodes;
+          }
 
-        suggestions = doFindSuggestionsForQueryPrefix(module, fileType, nodesToSearchAgainst,
-            querySegmentPrefixes, querySegmentPrefixStartIndex);
+          suggestions = doFindSuggestionsForQueryPrefix(module, fileType, nodesToSearchAgainst,
+              querySegmentPrefixes, querySegmentPrefixStartIndex);
+        }
+      } finally {
+        CompletionDiagnostics.record(INDEX_LOOKUP, indexLookupStart);
       }
-
       if (suggestions != null) {
         return toLookupElementBuilders(suggestions);
       }
@@ -361,7 +950,12 @@ public class SuggestionServiceImpl implements SuggestionService {
   private List<LookupElementBuilder> toLookupElementBuilders(
       @Nullable Set<Suggestion> suggestions) {
     if (suggestions != null) {
-      return suggestions.stream().map(Suggestion::newLookupElement).collect(toList());
+      long lookupElementCreationStart = CompletionDiagnostics.start();
+      try {
+        return suggestions.stream().map(Suggestion::newLookupElement).collect(toList());
+      } finally {
+        CompletionDiagnostics.record(LOOKUP_ELEMENT_CREATION, lookupElementCreationStart);
+      }
     }
     return null;
   }
@@ -369,14 +963,16 @@ public class SuggestionServiceImpl implements SuggestionService {
   /**
    * Finds the containers that are not reachable from current classpath
    *
-   * @param orderEnumerator                  classpath roots to work with
+   * @param containerInfos                   containers reachable from current classpath
    * @param seenContainerPathToContainerInfo seen container paths
    * @return list of container paths that are no longer valid
    */
-  private List<MetadataContainerInfo> computeContainersToRemove(OrderEnumerator orderEnumerator,
+  private List<MetadataContainerInfo> computeContainersToRemove(
+      List<MetadataContainerInfo> containerInfos,
       Map<String, MetadataContainerInfo> seenContainerPathToContainerInfo) {
-    Set<String> newContainerPaths = stream(orderEnumerator.recursively().classes().getRoots())
-        .flatMap(MetadataContainerInfo::getContainerArchiveOrFileRefs).collect(toSet());
+    Set<String> newContainerPaths =
+        containerInfos.stream().map(MetadataContainerInfo::getContainerArchiveOrFileRef)
+            .collect(toSet());
     Set<String> knownContainerPathSet = new THashSet<>(seenContainerPathToContainerInfo.keySet());
     knownContainerPathSet.removeAll(newContainerPaths);
     return knownContainerPathSet.stream().map(seenContainerPathToContainerInfo::get)
@@ -401,14 +997,10 @@ public class SuggestionServiceImpl implements SuggestionService {
 
       String metadataFilePath = metadataContainerInfo.getFileUrl();
       try (InputStream inputStream = metadataContainerInfo.getMetadataFile().getInputStream()) {
-        GsonBuilder gsonBuilder = new GsonBuilder();
-        // register custom mapper adapters
-        gsonBuilder.registerTypeAdapter(SpringConfigurationMetadataValueProviderType.class,
-            new SpringConfigurationMetadataValueProviderTypeDeserializer());
-        gsonBuilder.registerTypeAdapterFactory(new GsonPostProcessEnablingTypeFactory());
-        SpringConfigurationMetadata springConfigurationMetadata = gsonBuilder.create()
-            .fromJson(new BufferedReader(new InputStreamReader(inputStream)),
-                SpringConfigurationMetadata.class);
+        SpringConfigurationMetadata springConfigurationMetadata =
+            SpringConfigurationMetadataGson.getInstance()
+                .fromJson(new BufferedReader(new InputStreamReader(inputStream, UTF_8)),
+                    SpringConfigurationMetadata.class);
         buildMetadataHierarchy(module, rootSearchIndex, metadataContainerInfo,
             springConfigurationMetadata);
 
@@ -421,33 +1013,158 @@ public class SuggestionServiceImpl implements SuggestionService {
     }
   }
 
-  private void reindexModule(List<MetadataContainerInfo> newProjectSourcesToProcess,
-      List<MetadataContainerInfo> projectContainersToRemove, Module module) {
-    Map<String, MetadataContainerInfo> moduleSeenContainerPathToSeenContainerInfo =
-        moduleNameToSeenContainerPathToContainerInfo
-            .computeIfAbsent(module.getName(), k -> new THashMap<>());
+  private void reindexModule(Module module) {
+    String moduleName = module.getName();
+    List<MetadataContainerInfo> containerInfos =
+        computeContainerInfos(OrderEnumerator.orderEntries(module));
+    String classpathFingerprint = SharedSearchIndex.computeClasspathFingerprint(containerInfos);
 
-    Trie<String, MetadataSuggestionNode> moduleRootSearchIndex =
-        moduleNameToRootSearchIndex.get(module.getName());
-    if (moduleRootSearchIndex == null) {
-      moduleRootSearchIndex = new PatriciaTrie<>();
-      moduleNameToRootSearchIndex.put(module.getName(), moduleRootSearchIndex);
+    SharedSearchIndex currentIndex = moduleNameToSharedSearchIndex.get(moduleName);
+    SharedSearchIndex indexToUpdate;
+    if (currentIndex != null && classpathFingerprint
+        .equals(currentIndex.getClasspathFingerprint())) {
+      if (!currentIndex.isReleased()) {
+        debug(() -> log.debug("Metadata classpath of module " + moduleName
+            + " is unchanged since last indexing, nothing to index"));
+        return;
+      }
+      debug(() -> log.debug("Search index of module " + moduleName
+          + " was reclaimed by GC. Rebuilding it from metadata files"));
+      indexToUpdate = currentIndex;
+    } else {
+      SharedSearchIndex matchingIndex =
+          classpathFingerprintToSharedSearchIndex.get(classpathFingerprint);
+      if (matchingIndex != null) {
+        // Some other module resolves to the exact same set of metadata containers. Lets reuse its index
+        debug(() -> log.debug("Module " + moduleName + " will share the search index of modules "
+            + matchingIndex.getReferringModuleNames()));
+        detachModuleFromSearchIndex(moduleName, currentIndex);
+        matchingIndex.addReferrer(moduleName);
+        moduleNameToSharedSearchIndex.put(moduleName, matchingIndex);
+        updateRetention(matchingIndex);
+        if (!matchingIndex.isReleased()) {
+          return;
+        }
+        indexToUpdate = matchingIndex;
+      } else if (currentIndex != null && currentIndex.isReferredOnlyBy(moduleName)) {
+        // No one else is using the index, so we can incrementally update it
+        classpathFingerprintToSharedSearchIndex
+            .remove(currentIndex.getClasspathFingerprint(), currentIndex);
+        indexToUpdate = currentIndex;
+      } else {
+        // Classpath of the module either diverged from the modules it used to share the index with (or) this module is being indexed for the first time
+        detachModuleFromSearchIndex(moduleName, currentIndex);
+        indexToUpdate = new SharedSearchIndex();
+        indexToUpdate.addReferrer(moduleName);
+        moduleNameToSharedSearchIndex.put(moduleName, indexToUpdate);
+        updateRetention(indexToUpdate);
+        numOfIndexesBuilt++;
+      }
+      indexToUpdate.setClasspathFingerprint(classpathFingerprint);
+      classpathFingerprintToSharedSearchIndex.put(classpathFingerprint, indexToUpdate);
     }
 
-    OrderEnumerator moduleOrderEnumerator = OrderEnumerator.orderEntries(module);
-
+    // Holding a strong reference till indexing completes, so that GC does not reclaim a partially built index
+    SharedSearchIndex.Contents contents = indexToUpdate.getOrCreateContents();
+    if (MAPPED_INDEX_ENABLED) {
+      if (openMappedIndex(module, contents, classpathFingerprint, containerInfos)) {
+        return;
+      }
+      if (contents.getMappedSearchIndex() != null) {
+        contents.clear();
+      }
+    }
+    Map<String, MetadataContainerInfo> seenContainerPathToContainerInfo =
+        contents.getSeenContainerPathToContainerInfo();
     List<MetadataContainerInfo> newModuleContainersToProcess =
-        computeNewContainersToProcess(moduleOrderEnumerator,
-            moduleSeenContainerPathToSeenContainerInfo);
-    newModuleContainersToProcess.addAll(newProjectSourcesToProcess);
-
+        computeNewContainersToProcess(containerInfos, seenContainerPathToContainerInfo);
     List<MetadataContainerInfo> moduleContainersToRemove =
-        computeContainersToRemove(moduleOrderEnumerator,
-            moduleSeenContainerPathToSeenContainerInfo);
-    moduleContainersToRemove.addAll(projectContainersToRemove);
+        computeContainersToRemove(containerInfos, seenContainerPathToContainerInfo);
 
     processContainers(module, newModuleContainersToProcess, moduleContainersToRemove,
-        moduleSeenContainerPathToSeenContainerInfo, moduleRootSearchIndex);
+        seenContainerPathToContainerInfo, contents.getRootSearchIndex());
+    if (MAPPED_INDEX_ENABLED) {
+      moveIndexOffHeap(module, contents, classpathFingerprint);
+    }
+  }
+
+  /**
+   * Since the fingerprint identifies the containers the index is built from, an index mapped earlier (by another module/in the previous session) can be used as is
+   *
+   * @return true if the mapped index with the given fingerprint exists & is now used by the contents
+   */
+  private boolean openMappedIndex(Module module, SharedSearchIndex.Contents contents,
+      String classpathFingerprint, List<MetadataContainerInfo> containerInfos) {
+    IndexSnapshotStore store = snapshotStore;
+    if (store == null || !store.hasMappedIndex(classpathFingerprint)) {
+      return false;
+    }
+    File mappedIndexFile = store.toMappedIndexFile(classpathFingerprint);
+    try {
+      MappedSearchIndex mappedSearchIndex = MappedSearchIndex.open(mappedIndexFile);
+      contents.clear();
+      contents.useMappedSearchIndex(mappedSearchIndex);
+      containerInfos.forEach(containerInfo -> contents.getSeenContainerPathToContainerInfo()
+          .put(containerInfo.getContainerArchiveOrFileRef(), containerInfo));
+      debug(() -> log.debug("Module " + module.getName() + " is using the existing mapped index "
+          + mappedIndexFile));
+      return true;
+    } catch (IOException | RuntimeException e) {
+      log.warn("Unable to open mapped index " + mappedIndexFile
+          + ". Index would be rebuilt from metadata files", e);
+      return false;
+    }
+  }
+
+  private void moveIndexOffHeap(Module module, SharedSearchIndex.Contents contents,
+      String classpathFingerprint) {
+    IndexSnapshotStore store = snapshotStore;
+    if (store == null) {
+      return;
+    }
+    try {
+      File mappedIndexFile = store.writeMappedIndex(classpathFingerprint,
+          contents.getRootSearchIndex(), new MappedSearchIndexWriter());
+      contents.useMappedSearchIndex(MappedSearchIndex.open(mappedIndexFile));
+      debug(() -> log.debug(
+          "Search index of module " + module.getName() + " is moved off heap to "
+              + mappedIndexFile));
+    } catch (IOException | RuntimeException e) {
+      log.warn("Unable to move search index of module " + module.getName()
+          + " off heap. Index would be held on heap", e);
+    }
+  }
+
+  private void detachModuleFromSearchIndex(String moduleName,
+      @Nullable SharedSearchIndex searchIndex) {
+    if (searchIndex != null) {
+      searchIndex.removeReferrer(moduleName);
+      if (searchIndex.hasNoReferrers()) {
+        debug(() -> log.debug("Discarding search index " + searchIndex
+            + " as no module refers to it anymore"));
+        classpathFingerprintToSharedSearchIndex
+            .remove(searchIndex.getClasspathFingerprint(), searchIndex);
+        searchIndex.release();
+      } else {
+        // nodes stay with the modules that still refer to the index, so lets drop what is resolved for this module
+        SharedSearchIndex.Contents contents = searchIndex.getContents();
+        if (contents != null) {
+          contents.forgetModule(moduleName);
+        }
+        updateRetention(searchIndex);
+      }
+    }
+  }
+
+  /**
+   * Index is strongly held only if any of the modules referring to it has a spring config file open in the editor
+   *
+   * @param searchIndex index whose retention needs to be updated
+   */
+  private void updateRetention(SharedSearchIndex searchIndex) {
+    boolean pin = searchIndex.getReferringModuleNames().stream()
+        .anyMatch(moduleNamesWithOpenConfigFiles::contains);
+    searchIndex.setPinned(pin);
   }
 
   private void buildMetadataHierarchy(Module module,
@@ -456,12 +1173,44 @@ public class SuggestionServiceImpl implements SuggestionService {
       SpringConfigurationMetadata springConfigurationMetadata) {
     debug(() -> log.debug("Adding container to index " + metadataContainerInfo));
     String containerPath = metadataContainerInfo.getContainerArchiveOrFileRef();
-    addGroupsToIndex(module, rootSearchIndex, springConfigurationMetadata, containerPath);
-    addPropertiesToIndex(module, rootSearchIndex, springConfigurationMetadata, containerPath);
-    addHintsToIndex(module, rootSearchIndex, springConfigurationMetadata, containerPath);
+    // mapped index carries the text within the index file & snapshots have no metadata file to reload the text from
+    if (LAZY_TEXT_ENABLED && !MAPPED_INDEX_ENABLED && metadataContainerInfo
+        .containsMetadataFile()) {
+      VirtualFile metadataFile = metadataContainerInfo.getMetadataFile();
+      if (metadataFile != null) {
+        springConfigurationMetadata.evictPropertyText(metadataFile);
+      }
+    }
+    addToIndex(module, rootSearchIndex, springConfigurationMetadata, containerPath);
     debug(() -> log.debug("Done adding container to index"));
   }
 
+  void addToIndex(Module module, Trie<String, MetadataSuggestionNode> rootSearchIndex,
+      SpringConfigurationMetadata springConfigurationMetadata, String containerArchiveOrFileRef) {
+    addGroupsToIndex(module, rootSearchIndex, springConfigurationMetadata,
+        containerArchiveOrFileRef);
+    addPropertiesToIndex(module, rootSearchIndex, springConfigurationMetadata,
+        containerArchiveOrFileRef);
+    addHintsToIndex(module, rootSearchIndex, springConfigurationMetadata,
+        containerArchiveOrFileRef);
+    addImplicitHintsToIndex(rootSearchIndex);
+  }
+
+  private void addImplicitHintsToIndex(Trie<String, MetadataSuggestionNode> rootSearchIndex) {
+    for (String propertyName : PROFILE_NAME_PROPERTIES) {
+      MetadataSuggestionNode match =
+          findDeepestMetadataMatch(rootSearchIndex, toSanitizedPathSegments(propertyName), true);
+      if (match != null && match.isProperty()) {
+        SpringConfigurationMetadataProperty property =
+            MetadataPropertySuggestionNode.class.cast(match).getProperty();
+        if (property.getGenericOrKeyHint() == null) {
+          property.setGenericOrKeyHint(
+              SpringConfigurationMetadataHint.withProvider(propertyName, spring_profile_name));
+        }
+      }
+    }
+  }
+
   private void addHintsToIndex(Module module, Trie<String, MetadataSuggestionNode> rootSearchIndex,
       SpringConfigurationMetadata springConfigurationMetadata, String containerPath) {
     List<SpringConfigurationMetadataHint> hints = springConfigurationMetadata.getHints();
@@ -493,66 +1242,13 @@ public class SuggestionServiceImpl implements SuggestionService {
     }
   }
 
-  private void addPropertiesToIndex(Module module,
+  void addPropertiesToIndex(Module module,
       Trie<String, MetadataSuggestionNode> rootSearchIndex,
       SpringConfigurationMetadata springConfigurationMetadata, String containerArchiveOrFileRef) {
     List<SpringConfigurationMetadataProperty> properties =
         springConfigurationMetadata.getProperties();
     properties.sort(comparing(SpringConfigurationMetadataProperty::getName));
-    for (SpringConfigurationMetadataProperty property : properties) {
-      String[] pathSegments = toSanitizedPathSegments(property.getName());
-      String[] rawPathSegments = toRawPathSegments(property.getName());
-      MetadataSuggestionNode closestMetadata =
-          findDeepestMetadataMatch(rootSearchIndex, pathSegments, false);
-
-      int startIndex;
-      if (closestMetadata == null) { // path does not have a corresponding root element
-        boolean onlyRootSegmentExists = pathSegments.length == 1;
-        if (onlyRootSegmentExists) {
-          closestMetadata = MetadataPropertySuggestionNode
-              .newInstance(rawPathSegments[0], property, null, containerArchiveOrFileRef);
-        } else {
-          closestMetadata = MetadataNonPropertySuggestionNode
-              .newInstance(rawPathSegments[0], null, containerArchiveOrFileRef);
-        }
-        rootSearchIndex.put(pathSegments[0], closestMetadata);
-
-        // since we already handled the root level item, let addChildren start from index 1 of pathSegments
-        startIndex = 1;
-      } else {
-        startIndex = closestMetadata.numOfHopesToRoot() + 1;
-      }
-
-      boolean haveMoreSegmentsLeft = startIndex < rawPathSegments.length;
-
-      if (haveMoreSegmentsLeft) {
-        if (!closestMetadata.isProperty()) {
-          MetadataNonPropertySuggestionNode.class.cast(closestMetadata)
-              .addChildren(property, rawPathSegments, startIndex, containerArchiveOrFileRef);
-        } else {
-          log.warn("Detected conflict between a new group & existing property for suggestion path "
-              + closestMetadata.getPathFromRoot(module)
-              + ". Ignoring property. Existing non property node belongs to (" + closestMetadata
-              .getBelongsTo().stream().collect(joining(",")) + "), New property belongs to "
-              + containerArchiveOrFileRef);
-        }
-      } else {
-        if (!closestMetadata.isProperty()) {
-          log.warn(
-              "Detected conflict between a new metadata property & existing non property node for suggestion path "
-                  + closestMetadata.getPathFromRoot(module)
-                  + ". Ignoring property. Existing non property node belongs to (" + closestMetadata
-                  .getBelongsTo().stream().collect(joining(",")) + "), New property belongs to "
-                  + containerArchiveOrFileRef);
-        } else {
-          closestMetadata.addRefCascadeTillRoot(containerArchiveOrFileRef);
-          log.debug("Detected a duplicate metadata property for suggestion path " + closestMetadata
-              .getPathFromRoot(module) + ". Ignoring property. Existing property belongs to ("
-              + closestMetadata.getBelongsTo().stream().collect(joining(","))
-              + "), New property belongs to " + containerArchiveOrFileRef);
-        }
-      }
-    }
+    new PropertyBulkLoader(module, rootSearchIndex, containerArchiveOrFileRef).load(properties);
   }
 
   private void addGroupsToIndex(Module module, Trie<String, MetadataSuggestionNode> rootSearchIndex,
@@ -577,7 +1273,7 @@ public class SuggestionServiceImpl implements SuggestionService {
           if (onlyRootSegmentExists) {
             newGroupSuggestionNode.setGroup(module, group);
           }
-          rootSearchIndex.put(pathSegments[0], newGroupSuggestionNode);
+          rootSearchIndex.put(intern(pathSegments[0]), newGroupSuggestionNode);
 
           closestMetadata = newGroupSuggestionNode;
           // since we already handled the root level item, let addChildren start from index 1 of pathSegments
@@ -644,18 +1340,15 @@ public class SuggestionServiceImpl implements SuggestionService {
     }
   }
 
-  @SuppressWarnings("unused")
-  private String toTree() {
-    StringBuilder builder = new StringBuilder();
-    moduleNameToRootSearchIndex.forEach((k, v) -> {
-      builder.append("Module: ").append(k).append("\n");
-      v.values().forEach(root -> builder
-          .append(root.toTree().trim().replaceAll("^", "  ").replaceAll("\n", "\n  "))
-          .append("\n"));
-    });
-    return builder.toString();
+  private void debugIndexSharingStats(int numOfModules) {
+    debug(() -> log.debug(
+        numOfIndexesBuilt + " new search index(es) built for " + numOfModules + " module(s). "
+            + classpathFingerprintToSharedSearchIndex.size()
+            + " distinct search index(es) are in use across " + moduleNameToSharedSearchIndex.size()
+            + " module(s)"));
   }
 
+  @SuppressWarnings("unused")
   /**
    * Debug logging can be enabled by adding fully classified class name/package name with # prefix
    * For eg., to enable debug logging, go `Help > Debug log settings` & type `#in.oneton.idea.spring.assistant.plugin.suggestion.service.SuggestionServiceImpl`
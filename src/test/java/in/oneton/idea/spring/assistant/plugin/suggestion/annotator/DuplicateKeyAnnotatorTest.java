@@ -0,0 +1,92 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.annotator;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.SyntheticMetadataGenerator;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.SyntheticMetadataTestCase;
+
+/**
+ * Checks duplicate keys of an {@code application.yml} against a module whose library carries generated metadata, so that keys are canonicalised against a real index: relaxed names of groups & properties are duplicates, while keys below a map property are compared as written
+ */
+public class DuplicateKeyAnnotatorTest extends SyntheticMetadataTestCase {
+
+  private static final SyntheticMetadataGenerator generator =
+      SyntheticMetadataGenerator.builder().numOfProperties(60).numOfGroups(3).nestingDepth(3)
+          .mapTypedRatio(0.3).build();
+
+  @Override
+  protected SyntheticMetadataGenerator getGenerator() {
+    return generator;
+  }
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    ensureIndexed();
+  }
+
+  public void testDottedNestedAndRelaxedKeysAreDuplicatesWithinDocument() {
+    String property = findPropertyOfType("java.lang.Integer");
+    String[] segments = property.split("\\.");
+    String relaxedProperty = property.replace('-', '_').toUpperCase();
+    String duplicate = "<error descr=\"Duplicate key '" + canonical(property) + "'\">";
+    myFixture.configureByText("application.yml",
+        segments[0] + ":\n"
+            + "  " + segments[1] + ":\n"
+            + "    " + duplicate + segments[2] + "</error>: 1\n"
+            + duplicate + relaxedProperty + "</error>: 2\n"
+            + "---\n"
+            + property + ": 3\n"
+            + "---\n"
+            + segments[0] + "." + segments[1] + ":\n"
+            + "  " + relaxedProperty.split("\\.")[2] + ": 4\n");
+    myFixture.checkHighlighting(false, false, false);
+  }
+
+  public void testKeysBelowMapPropertyAreComparedAsWritten() {
+    String property = findPropertyOfType("java.util.Map<java.lang.String,java.lang.String>");
+    String duplicate =
+        "<error descr=\"Duplicate key '" + canonical(property) + ".com.Foo'\">";
+    myFixture.configureByText("application.yml",
+        property + ":\n"
+            + "  " + duplicate + "com.Foo</error>: a\n"
+            + "  com.foo: b\n"
+            + "  com.F-oo: c\n"
+            + duplicate + property + ".com.Foo</error>: d\n");
+    myFixture.checkHighlighting(false, false, false);
+  }
+
+  public void testUnknownKeysAreComparedAsWritten() {
+    myFixture.configureByText("application.yml",
+        "unknown-root:\n"
+            + "  foo-bar: 1\n"
+            + "  <error descr=\"Duplicate key 'unknown-root.x'\">x</error>: 2\n"
+            + "unknown-root.fooBar: 3\n"
+            + "<error descr=\"Duplicate key 'unknown-root.x'\">unknown-root.x</error>: 4\n");
+    myFixture.checkHighlighting(false, false, false);
+  }
+
+  /**
+   * @return name of the first generated property of the given type
+   */
+  private static String findPropertyOfType(String type) {
+    String name = null;
+    for (JsonElement element : generator.generate().getAsJsonArray("properties")) {
+      JsonObject property = element.getAsJsonObject();
+      if (type.equals(property.get("type").getAsString())) {
+        name = property.get("name").getAsString();
+        break;
+      }
+    }
+    assertNotNull("Generated metadata has no property of type " + type, name);
+    return name;
+  }
+
+  /**
+   * @return name with each segment sanitised, which is how duplicates of groups & properties are reported
+   */
+  private static String canonical(String name) {
+    return name.replaceAll("[-_]", "").toLowerCase();
+  }
+
+}
@@ -0,0 +1,143 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.annotator;
+
+import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.openapi.diagnostic.Logger;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.SyntheticMetadataGenerator;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.SyntheticMetadataTestCase;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Guards highlighting time of large generated {@code application.yml} files (dominated by {@link PropertyNotInModelAnnotator} resolving every key against the index) against regressions, on a module whose library carries large generated metadata.
+ * <p>
+ * Besides the absolute budget, time taken for a file is compared against the time taken for a file with a quarter of the keys, so that a pass that is no longer linear in the number of keys fails irrespective of the speed of the machine. Budgets can be scaled up with {@code -Dspring.assistant.perf.budgetScale=<factor>}
+ * <p>
+ * Timings depend on the machine, so this is excluded from the default test run. Run it with {@code ./gradlew perfTest}; measured numbers are written to the test log
+ */
+public class YamlHighlightingPerformanceTest extends SyntheticMetadataTestCase {
+
+  private static final Logger log = Logger.getInstance(YamlHighlightingPerformanceTest.class);
+
+  private static final int NUM_OF_PROPERTIES = 20000;
+  private static final int NUM_OF_GROUPS = NUM_OF_PROPERTIES / 200;
+  private static final int NUM_OF_WARMUP_RUNS = 3;
+  private static final int NUM_OF_MEASURED_RUNS = 10;
+  private static final String UNKNOWN_PROPERTY_MESSAGE = "Cannot resolve configuration property";
+
+  private static final double BUDGET_SCALE =
+      Double.parseDouble(System.getProperty("spring.assistant.perf.budgetScale", "1"));
+  private static final long P50_BUDGET_MILLIS = scaled(2000);
+  /**
+   * File with 4x keys should take about 4x time. Quadratic pass would take 16x
+   */
+  private static final double MAX_GROWTH_FOR_4X_KEYS = 8;
+
+  private static final SyntheticMetadataGenerator generator =
+      SyntheticMetadataGenerator.builder().numOfProperties(NUM_OF_PROPERTIES)
+          .numOfGroups(NUM_OF_GROUPS).build();
+
+  @Override
+  protected SyntheticMetadataGenerator getGenerator() {
+    return generator;
+  }
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    ensureIndexed();
+  }
+
+  public void testLargeFileIsHighlightedInLinearTime() {
+    long quarterFileP50 = measureHighlighting("quarter file", NUM_OF_PROPERTIES / 4);
+    long fullFileP50 = measureHighlighting("full file", NUM_OF_PROPERTIES);
+    assertTrue(
+        "full file: p50 " + fullFileP50 + "ms exceeds budget of " + P50_BUDGET_MILLIS + "ms",
+        fullFileP50 <= P50_BUDGET_MILLIS);
+    // lets not compare timings that are too small to be measured reliably
+    long quarterFileBaseline = Math.max(quarterFileP50, 10);
+    assertTrue("full file with 4x keys took " + fullFileP50 + "ms, while the quarter file took "
+            + quarterFileP50 + "ms. Highlighting is no longer linear in the number of keys",
+        fullFileP50 <= quarterFileBaseline * MAX_GROWTH_FOR_4X_KEYS);
+  }
+
+  /**
+   * @return median time taken to highlight a file with the given number of known keys, from scratch
+   */
+  private long measureHighlighting(String scenario, int numOfProperties) {
+    int numOfUnknownKeys = NUM_OF_GROUPS + 1;
+    String yaml = toYaml(numOfProperties);
+    for (int i = 0; i < NUM_OF_WARMUP_RUNS; i++) {
+      highlight(yaml);
+    }
+    long[] durations = new long[NUM_OF_MEASURED_RUNS];
+    for (int i = 0; i < NUM_OF_MEASURED_RUNS; i++) {
+      myFixture.configureByText("application.yml", yaml);
+      long start = System.nanoTime();
+      List<HighlightInfo> highlightInfos = myFixture.doHighlighting();
+      durations[i] = (System.nanoTime() - start) / 1_000_000;
+      assertEquals(scenario + ": unexpected number of unknown keys", numOfUnknownKeys,
+          highlightInfos.stream().filter(info -> info.getDescription() != null && info
+              .getDescription().startsWith(UNKNOWN_PROPERTY_MESSAGE)).count());
+    }
+
+    Arrays.sort(durations);
+    long p50 = durations[durations.length / 2];
+    log.info(scenario + " (" + numOfProperties + " keys): p50 " + p50 + "ms");
+    return p50;
+  }
+
+  private void highlight(String yaml) {
+    myFixture.configureByText("application.yml", yaml);
+    myFixture.doHighlighting();
+  }
+
+  /**
+   * @return yaml with the first {@code numOfProperties} generated properties nested under their groups, along with an unknown key per group & an unknown top level key
+   */
+  private static String toYaml(int numOfProperties) {
+    Map<String, Object> tree = new TreeMap<>();
+    for (int i = 0; i < numOfProperties; i++) {
+      add(tree, generator.propertyName(i).split("\\."), "value-" + i);
+    }
+    for (int i = 0; i < NUM_OF_GROUPS; i++) {
+      add(tree, (generator.groupName(i) + ".unknown-property").split("\\."), "value");
+    }
+    add(tree, new String[] {"unknown-root"}, "value");
+    StringBuilder builder = new StringBuilder();
+    append(builder, tree, 0);
+    return builder.toString();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void add(Map<String, Object> tree, String[] segments, String value) {
+    Map<String, Object> current = tree;
+    for (int i = 0; i < segments.length - 1; i++) {
+      current = (Map<String, Object>) current.computeIfAbsent(segments[i], k -> new TreeMap<>());
+    }
+    current.put(segments[segments.length - 1], value);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void append(StringBuilder builder, Map<String, Object> tree, int level) {
+    for (Map.Entry<String, Object> entry : tree.entrySet()) {
+      for (int i = 0; i < level; i++) {
+        builder.append("  ");
+      }
+      builder.append(entry.getKey()).append(':');
+      if (entry.getValue() instanceof Map) {
+        builder.append('\n');
+        append(builder, (Map<String, Object>) entry.getValue(), level + 1);
+      } else {
+        builder.append(' ').append(entry.getValue()).append('\n');
+      }
+    }
+  }
+
+  private static long scaled(long budget) {
+    return (long) (budget * BUDGET_SCALE);
+  }
+
+}
@@ -0,0 +1,209 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.completion;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.intellij.codeInsight.CodeInsightSettings;
+import com.intellij.codeInsight.completion.CompletionType;
+import com.intellij.codeInsight.lookup.LookupElement;
+import com.intellij.codeInsight.lookup.LookupManager;
+import com.intellij.openapi.diagnostic.Logger;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.SyntheticMetadataGenerator;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.SyntheticMetadataTestCase;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Guards completion latency & allocation of the full yaml completion pipeline (contributor -> {@code SuggestionServiceImpl} -> class metadata) against regressions, on a module whose library carries large generated metadata.
+ * <p>
+ * Budgets are deliberately loose, so that only real regressions fail the build. On slower machines, they can be scaled up with {@code -Dspring.assistant.perf.budgetScale=<factor>}
+ * <p>
+ * Timings depend on the machine, so this is excluded from the default test run. Run it with {@code ./gradlew perfTest}; measured numbers are written to the test log
+ */
+public class YamlCompletionPerformanceTest extends SyntheticMetadataTestCase {
+
+  private static final Logger log = Logger.getInstance(YamlCompletionPerformanceTest.class);
+
+  private static final int NUM_OF_PROPERTIES = 10000;
+  private static final int NUM_OF_WARMUP_RUNS = 5;
+  private static final int NUM_OF_MEASURED_RUNS = 30;
+
+  private static final double BUDGET_SCALE =
+      Double.parseDouble(System.getProperty("spring.assistant.perf.budgetScale", "1"));
+  private static final long P50_BUDGET_MILLIS = scaled(50);
+  private static final long P95_BUDGET_MILLIS = scaled(150);
+  private static final long ALLOCATION_BUDGET_BYTES = scaled(32 * 1024 * 1024);
+
+  private static final SyntheticMetadataGenerator generator =
+      SyntheticMetadataGenerator.builder().numOfProperties(NUM_OF_PROPERTIES)
+          .numOfGroups(NUM_OF_PROPERTIES / 200).build();
+  private static final JsonObject metadata = generator.generate();
+
+  private boolean autocompleteOnCodeCompletion;
+
+  @Override
+  protected SyntheticMetadataGenerator getGenerator() {
+    return generator;
+  }
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    // lets always get the lookup, even if there is a single suggestion
+    CodeInsightSettings settings = CodeInsightSettings.getInstance();
+    autocompleteOnCodeCompletion = settings.AUTOCOMPLETE_ON_CODE_COMPLETION;
+    settings.AUTOCOMPLETE_ON_CODE_COMPLETION = false;
+    for (int i = 0; i < 10; i++) {
+      myFixture.addClass("package com.example.synthetic; public enum Mode" + i
+          + " { FIRST, SECOND, THIRD }");
+    }
+    ensureIndexed();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    try {
+      CodeInsightSettings.getInstance().AUTOCOMPLETE_ON_CODE_COMPLETION =
+          autocompleteOnCodeCompletion;
+    } finally {
+      super.tearDown();
+    }
+  }
+
+  public void testTopLevelKey() {
+    assertWithinBudget("top level key", "s<caret>");
+  }
+
+  public void testDeepNestedKey() {
+    String property = generator.propertyName(0);
+    String group = property.substring(0, property.lastIndexOf('.'));
+    assertWithinBudget("deep nested key", keyUnder(group, "prop"));
+  }
+
+  public void testMapKey() {
+    String hintName = findHintName(name -> name.endsWith(".keys"));
+    assertWithinBudget("map key",
+        keyUnder(hintName.substring(0, hintName.length() - ".keys".length()), "k"));
+  }
+
+  public void testEnumValue() {
+    String property = findPropertyName(type -> type.startsWith("com.example.synthetic.Mode"));
+    assertWithinBudget("enum value", valueOf(property, ""));
+  }
+
+  public void testHintValue() {
+    String property = findHintName(name -> !name.endsWith(".keys"));
+    assertWithinBudget("hint value", valueOf(property, "v"));
+  }
+
+  private void assertWithinBudget(String scenario, String yaml) {
+    for (int i = 0; i < NUM_OF_WARMUP_RUNS; i++) {
+      complete(yaml);
+    }
+    long[] durations = new long[NUM_OF_MEASURED_RUNS];
+    long[] allocations = new long[NUM_OF_MEASURED_RUNS];
+    for (int i = 0; i < NUM_OF_MEASURED_RUNS; i++) {
+      myFixture.configureByText("application.yml", yaml);
+      long allocatedBefore = allocatedBytes();
+      long start = System.nanoTime();
+      LookupElement[] lookupElements = myFixture.complete(CompletionType.BASIC);
+      durations[i] = (System.nanoTime() - start) / 1_000_000;
+      allocations[i] = allocatedBytes() - allocatedBefore;
+      assertNotNull("No suggestions for " + scenario, lookupElements);
+      assertTrue("No suggestions for " + scenario, lookupElements.length != 0);
+      LookupManager.getInstance(getProject()).hideActiveLookup();
+    }
+
+    long p50 = percentile(durations, 50);
+    long p95 = percentile(durations, 95);
+    long allocationP50 = percentile(allocations, 50);
+    log.info(scenario + ": p50 " + p50 + "ms, p95 " + p95 + "ms, allocation per completion "
+        + allocationP50 / 1024 + "KB");
+    assertTrue(scenario + ": p50 " + p50 + "ms exceeds budget of " + P50_BUDGET_MILLIS + "ms",
+        p50 <= P50_BUDGET_MILLIS);
+    assertTrue(scenario + ": p95 " + p95 + "ms exceeds budget of " + P95_BUDGET_MILLIS + "ms",
+        p95 <= P95_BUDGET_MILLIS);
+    assertTrue(scenario + ": allocation " + allocationP50 + " bytes exceeds budget of "
+        + ALLOCATION_BUDGET_BYTES + " bytes", allocationP50 <= ALLOCATION_BUDGET_BYTES);
+  }
+
+  private void complete(String yaml) {
+    myFixture.configureByText("application.yml", yaml);
+    myFixture.complete(CompletionType.BASIC);
+    LookupManager.getInstance(getProject()).hideActiveLookup();
+  }
+
+  /**
+   * Completion runs synchronously on the test thread, so allocation of the current thread is the allocation of the completion
+   */
+  private static long allocatedBytes() {
+    return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+        .getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private static long percentile(long[] values, int percentile) {
+    long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+    return sorted[Math.max(0, index)];
+  }
+
+  private static long scaled(long budget) {
+    return (long) (budget * BUDGET_SCALE);
+  }
+
+  /**
+   * @return yaml with the given dot delimited key expanded into nested keys, with the caret at a new child key
+   */
+  private static String keyUnder(String parentKey, String prefix) {
+    String[] segments = parentKey.split("\\.");
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < segments.length; i++) {
+      builder.append(indent(i)).append(segments[i]).append(":\n");
+    }
+    return builder.append(indent(segments.length)).append(prefix).append("<caret>").toString();
+  }
+
+  /**
+   * @return yaml with the given dot delimited key expanded into nested keys, with the caret at the value of the property
+   */
+  private static String valueOf(String propertyName, String prefix) {
+    String[] segments = propertyName.split("\\.");
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < segments.length - 1; i++) {
+      builder.append(indent(i)).append(segments[i]).append(":\n");
+    }
+    return builder.append(indent(segments.length - 1)).append(segments[segments.length - 1])
+        .append(": ").append(prefix).append("<caret>").toString();
+  }
+
+  private static String indent(int level) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < level; i++) {
+      builder.append("  ");
+    }
+    return builder.toString();
+  }
+
+  private static String findPropertyName(Predicate<String> typeMatcher) {
+    for (JsonElement property : metadata.getAsJsonArray("properties")) {
+      JsonObject propertyObj = property.getAsJsonObject();
+      if (typeMatcher.test(propertyObj.get("type").getAsString())) {
+        return propertyObj.get("name").getAsString();
+      }
+    }
+    throw new AssertionError("Generated metadata has no property of the expected type");
+  }
+
+  private static String findHintName(Predicate<String> nameMatcher) {
+    for (JsonElement hint : metadata.getAsJsonArray("hints")) {
+      String name = hint.getAsJsonObject().get("name").getAsString();
+      if (nameMatcher.test(name)) {
+        return name;
+      }
+    }
+    throw new AssertionError("Generated metadata has no hint of the expected kind");
+  }
+
+}
@@ -0,0 +1,236 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.metadata;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import lombok.Builder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Random;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Generates {@code spring-configuration-metadata.json} & {@code additional-spring-configuration-metadata.json} with the shape of real world metadata, so that indexing & completion can be exercised at scale without third party jars.
+ * <p>
+ * Properties are spread evenly across groups. Group names start with one of a few well known top level namespaces (like {@code spring}, {@code server}) & are {@code nestingDepth - 1} segments deep, i.e property names are of the form {@code spring.group-0.level-2.property-0}. Types (map/enum/POJO/scalar) & deprecation are picked at random using the given ratios, from a seeded random, so that the same parameters always produce the same metadata
+ */
+@Builder
+public class SyntheticMetadataGenerator {
+
+  public static final String METADATA_FILE = "META-INF/spring-configuration-metadata.json";
+  public static final String ADDITIONAL_METADATA_FILE =
+      "META-INF/additional-spring-configuration-metadata.json";
+
+  private static final String[] ROOTS =
+      {"spring", "server", "management", "logging", "security", "endpoints", "app", "info"};
+  private static final String[] SCALAR_TYPES =
+      {"java.lang.String", "java.lang.Integer", "java.lang.Boolean", "java.lang.Long",
+          "java.time.Duration", "java.util.List<java.lang.String>"};
+  private static final String MAP_TYPE = "java.util.Map<java.lang.String,java.lang.String>";
+  private static final String TYPE_PACKAGE = "com.example.synthetic";
+
+  @Builder.Default
+  private int numOfProperties = 1000;
+  @Builder.Default
+  private int numOfGroups = 50;
+  /**
+   * Number of values of each hint. Every 10th scalar property gets a hint
+   */
+  @Builder.Default
+  private int numOfHintValues = 5;
+  /**
+   * Number of segments in property names, including the root & the property segment itself. Should be at least 2
+   */
+  @Builder.Default
+  private int nestingDepth = 4;
+  @Builder.Default
+  private double mapTypedRatio = 0.1;
+  @Builder.Default
+  private double enumTypedRatio = 0.1;
+  @Builder.Default
+  private double pojoTypedRatio = 0.05;
+  @Builder.Default
+  private double deprecationRatio = 0.02;
+  @Builder.Default
+  private long seed = 42;
+
+  public String groupName(int groupIndex) {
+    StringBuilder builder = new StringBuilder(ROOTS[groupIndex % ROOTS.length]);
+    for (int level = 1; level < nestingDepth - 1; level++) {
+      builder.append('.').append(level == 1 ? "group-" + groupIndex : "level-" + level);
+    }
+    return builder.toString();
+  }
+
+  public String propertyName(int propertyIndex) {
+    return groupName(propertyIndex % numOfGroups) + ".property-" + propertyIndex;
+  }
+
+  /**
+   * @return content of {@link #METADATA_FILE}
+   */
+  public JsonObject generate() {
+    Random random = new Random(seed);
+    JsonArray groups = new JsonArray();
+    for (int i = 0; i < numOfGroups; i++) {
+      JsonObject group = new JsonObject();
+      group.addProperty("name", groupName(i));
+      group.addProperty("type", TYPE_PACKAGE + ".Group" + i + "Properties");
+      group.addProperty("sourceType", TYPE_PACKAGE + ".Group" + i + "Properties");
+      group.addProperty("description", "Synthetic group number " + i + ".");
+      groups.add(group);
+    }
+
+    JsonArray properties = new JsonArray();
+    JsonArray hints = new JsonArray();
+    for (int i = 0; i < numOfProperties; i++) {
+      String name = propertyName(i);
+      JsonObject property = new JsonObject();
+      property.addProperty("name", name);
+      property.addProperty("sourceType",
+          TYPE_PACKAGE + ".Group" + i % numOfGroups + "Properties");
+      property.addProperty("description", "Synthetic property number " + i
+          + ". Used to exercise the plugin with large metadata & should never show up in a real project.");
+
+      double typeSelector = random.nextDouble();
+      if (typeSelector < mapTypedRatio) {
+        property.addProperty("type", MAP_TYPE);
+        hints.add(newHint(name + ".keys", "key"));
+      } else if (typeSelector < mapTypedRatio + enumTypedRatio) {
+        property.addProperty("type", TYPE_PACKAGE + ".Mode" + i % 10);
+      } else if (typeSelector < mapTypedRatio + enumTypedRatio + pojoTypedRatio) {
+        property.addProperty("type", TYPE_PACKAGE + ".Pojo" + i % 10);
+      } else {
+        String type = SCALAR_TYPES[i % SCALAR_TYPES.length];
+        property.addProperty("type", type);
+        if (type.equals("java.lang.Boolean")) {
+          property.addProperty("defaultValue", i % 2 == 0);
+        } else if (type.equals("java.lang.String")) {
+          property.addProperty("defaultValue", "value-0");
+          if (i % 10 == 0) {
+            hints.add(newHint(name, "value"));
+          }
+        }
+      }
+
+      if (random.nextDouble() < deprecationRatio) {
+        JsonObject deprecation = new JsonObject();
+        deprecation.addProperty("level", random.nextBoolean() ? "warning" : "error");
+        deprecation.addProperty("reason", "Synthetic deprecation.");
+        deprecation.addProperty("replacement", propertyName((i + 1) % numOfProperties));
+        property.add("deprecation", deprecation);
+      }
+      properties.add(property);
+    }
+
+    JsonObject metadata = new JsonObject();
+    metadata.add("groups", groups);
+    metadata.add("properties", properties);
+    metadata.add("hints", hints);
+    return metadata;
+  }
+
+  /**
+   * @return content of {@link #ADDITIONAL_METADATA_FILE}, which contains a property per top level namespace with a provider based hint, as is typically added manually by library authors
+   */
+  public JsonObject generateAdditional() {
+    JsonArray properties = new JsonArray();
+    JsonArray hints = new JsonArray();
+    for (String root : ROOTS) {
+      String name = root + ".additional.handler-class";
+      JsonObject property = new JsonObject();
+      property.addProperty("name", name);
+      property.addProperty("type", "java.lang.Class<?>");
+      property.addProperty("description", "Manually declared synthetic property.");
+      properties.add(property);
+
+      JsonObject parameters = new JsonObject();
+      parameters.addProperty("target", "java.lang.Runnable");
+      JsonObject provider = new JsonObject();
+      provider.addProperty("name", "class-reference");
+      provider.add("parameters", parameters);
+      JsonArray providers = new JsonArray();
+      providers.add(provider);
+      JsonObject hint = new JsonObject();
+      hint.addProperty("name", name);
+      hint.add("providers", providers);
+      hints.add(hint);
+    }
+
+    JsonObject metadata = new JsonObject();
+    metadata.add("properties", properties);
+    metadata.add("hints", hints);
+    return metadata;
+  }
+
+  /**
+   * Writes both the metadata files under {@code META-INF} of the given directory, like a compiled module would have them
+   */
+  public void writeTo(File dir) throws IOException {
+    write(generate(), new File(dir, METADATA_FILE));
+    write(generateAdditional(), new File(dir, ADDITIONAL_METADATA_FILE));
+  }
+
+  /**
+   * Writes both the metadata files into a jar, like a library would have them
+   */
+  public void writeJar(File jarFile) throws IOException {
+    try (JarOutputStream jar = new JarOutputStream(new FileOutputStream(jarFile))) {
+      writeEntry(jar, METADATA_FILE, generate());
+      writeEntry(jar, ADDITIONAL_METADATA_FILE, generateAdditional());
+    }
+  }
+
+  private JsonObject newHint(String name, String valuePrefix) {
+    JsonArray values = new JsonArray();
+    for (int i = 0; i < numOfHintValues; i++) {
+      JsonObject value = new JsonObject();
+      value.addProperty("value", valuePrefix + "-" + i);
+      value.addProperty("description", "Synthetic " + valuePrefix + " number " + i + ".");
+      values.add(value);
+    }
+    JsonObject hint = new JsonObject();
+    hint.addProperty("name", name);
+    hint.add("values", values);
+    return hint;
+  }
+
+  private static void write(JsonObject metadata, File file) throws IOException {
+    File parent = file.getParentFile();
+    if (!parent.exists() && !parent.mkdirs()) {
+      throw new IOException("Unable to create " + parent);
+    }
+    try (OutputStream outputStream = new FileOutputStream(file)) {
+      writeJson(metadata, outputStream);
+    }
+  }
+
+  private static void writeEntry(JarOutputStream jar, String entryName, JsonObject metadata)
+      throws IOException {
+    jar.putNextEntry(new JarEntry(entryName));
+    writeJson(metadata, jar);
+    jar.closeEntry();
+  }
+
+  private static void writeJson(JsonObject metadata, OutputStream outputStream)
+      throws IOException {
+    // lets not close the writer, as closing it would close the jar as well
+    Writer writer = new OutputStreamWriter(outputStream, UTF_8);
+    gson().toJson(metadata, writer);
+    writer.flush();
+  }
+
+  private static Gson gson() {
+    return new GsonBuilder().setPrettyPrinting().create();
+  }
+
+}
@@ -0,0 +1,81 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.metadata;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.roots.ContentEntry;
+import com.intellij.openapi.roots.ModifiableRootModel;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.testFramework.LightProjectDescriptor;
+import com.intellij.testFramework.PsiTestUtil;
+import com.intellij.testFramework.fixtures.DefaultLightProjectDescriptor;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.intellij.util.ui.UIUtil;
+import in.oneton.idea.spring.assistant.plugin.suggestion.service.SuggestionService;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fixture test whose module has a library carrying the metadata generated by {@link #getGenerator()}, so that highlighting/completion can be exercised against a real index.
+ * <p>
+ * Light project is reused only as long as tests hand out the same descriptor, so a descriptor is created once per generator rather than once per test
+ */
+public abstract class SyntheticMetadataTestCase extends LightCodeInsightFixtureTestCase {
+
+  private static final long INDEXING_TIMEOUT_MILLIS = 60_000;
+
+  private static final Map<SyntheticMetadataGenerator, LightProjectDescriptor>
+      generatorToProjectDescriptor = new ConcurrentHashMap<>();
+
+  /**
+   * @return generator of the metadata the module is set up with. Expected to return the same instance for all tests of the class
+   */
+  protected abstract SyntheticMetadataGenerator getGenerator();
+
+  @NotNull
+  @Override
+  protected LightProjectDescriptor getProjectDescriptor() {
+    return generatorToProjectDescriptor
+        .computeIfAbsent(getGenerator(), SyntheticMetadataTestCase::newProjectDescriptor);
+  }
+
+  /**
+   * Waits till the index of the module is built & the indexing run that built it has completed, so that annotators see the final index rather than the empty result cached while indexing
+   */
+  protected void ensureIndexed() throws InterruptedException {
+    SuggestionService service = SuggestionService.getInstance(getProject());
+    if (!service.canProvideSuggestions(getProject(), myModule)) {
+      service.reindex(getProject(), myModule);
+    }
+    long deadline = System.currentTimeMillis() + INDEXING_TIMEOUT_MILLIS;
+    while (!service.canProvideSuggestions(getProject(), myModule) || service
+        .isIndexingInProgress()) {
+      assertTrue("Index was not built within " + INDEXING_TIMEOUT_MILLIS + "ms",
+          System.currentTimeMillis() < deadline);
+      UIUtil.dispatchAllInvocationEvents();
+      Thread.sleep(50);
+    }
+  }
+
+  private static LightProjectDescriptor newProjectDescriptor(
+      SyntheticMetadataGenerator generator) {
+    return new DefaultLightProjectDescriptor() {
+      @Override
+      public void configureModule(@NotNull Module module, @NotNull ModifiableRootModel model,
+          @NotNull ContentEntry contentEntry) {
+        super.configureModule(module, model, contentEntry);
+        try {
+          File libDir = FileUtil.createTempDirectory("synthetic-metadata", null);
+          generator.writeJar(new File(libDir, "synthetic-metadata.jar"));
+          PsiTestUtil.addLibrary(module, model, "synthetic-metadata", libDir.getPath(),
+              "synthetic-metadata.jar");
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    };
+  }
+
+}
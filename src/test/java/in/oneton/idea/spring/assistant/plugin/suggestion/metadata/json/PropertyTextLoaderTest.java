@@ -0,0 +1,50 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.copyOfRange;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Byte ranges found by the scan should line up with the properties gson reads from the same file, as the text of each property is reloaded from just its range
+ */
+class PropertyTextLoaderTest {
+
+  private static final String METADATA = "{"
+      + "\"groups\": [{\"name\": \"server\", \"description\": \"Has \\\"properties\\\": [{}]\"}],"
+      + "\"properties\": [{\"name\": \"server.port\", \"type\": \"java.lang.Integer\", "
+      + "\"description\": \"Port, say {80} or [8080] \\\\\", \"defaultValue\": 8080}, null, "
+      + "{\"name\": \"server.gr\u00f6\u00dfe\", \"description\": \"Gr\u00f6\u00dfe.\", "
+      + "\"deprecation\": {\"level\": \"error\"}}],"
+      + "\"hints\": [{\"name\": \"server.port\", \"values\": [{\"value\": 80}]}]"
+      + "}";
+
+  private final Gson gson = SpringConfigurationMetadataGson.getInstance();
+
+  @Test
+  void givenMetadata_whenScanned_thenRangesLineUpWithParsedProperties() throws IOException {
+    byte[] content = METADATA.getBytes(UTF_8);
+    List<SpringConfigurationMetadataProperty> properties =
+        gson.fromJson(METADATA, SpringConfigurationMetadata.class).getProperties();
+
+    int[] ranges = PropertyTextLoader.findPropertyRanges(new ByteArrayInputStream(content));
+
+    assertEquals(2 * properties.size(), ranges.length);
+    assertEquals(-1, ranges[2]);
+    for (int i : new int[] {0, 2}) {
+      String propertyJson =
+          new String(copyOfRange(content, ranges[2 * i], ranges[2 * i + 1]), UTF_8);
+      SpringConfigurationMetadataProperty reloaded =
+          gson.fromJson(propertyJson, SpringConfigurationMetadataProperty.class);
+      assertEquals(properties.get(i).getName(), reloaded.getName());
+      assertEquals(properties.get(i).getDescription(), reloaded.getDescription());
+    }
+  }
+
+}
@@ -0,0 +1,108 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json;
+
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static in.oneton.idea.spring.assistant.plugin.suggestion.SuggestionNode.sanitise;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Lookups of hint values (sorted array for small hints, map & trie for the rest) should find exactly what scanning the list of values would find, i.e match names irrespective of case & dashes/underscores, with the last of the values that have the same sanitised name winning
+ */
+class SpringConfigurationMetadataHintTest {
+
+  private static final String[] QUERIES =
+      {"", "a", "A", "al", "ALWAYS", "al-ways", "on", "on-demand", "ON_DEMAND", "ondemand",
+          "onDe", "n", "never", "Never-", "value-1", "VALUE_1", "value-1-", "value-10", "v",
+          "z", "zzz", "-", "_"};
+
+  @Test
+  void givenFewValuesWithDuplicates_whenLookedUp_thenSameAsListScan() {
+    List<SpringConfigurationMetadataHintValue> values =
+        values("on-demand", "always", "onDemand", "never", "Always", "ON_DEMAND", "Never");
+    // array values are not suggested individually
+    values.add(SpringConfigurationMetadataHintValue.builder()
+        .nameAsObjOrArray(new String[] {"always", "never"}).build());
+    assertSameAsListScan(values);
+  }
+
+  @Test
+  void givenValuesAtSortedArrayLimit_whenLookedUp_thenSameAsListScan() {
+    List<SpringConfigurationMetadataHintValue> values = new ArrayList<>();
+    for (int i = 0; i < 16; i++) {
+      values.add(value(i % 2 == 0 ? "value-" + i : "VALUE_" + i));
+    }
+    assertSameAsListScan(values);
+  }
+
+  @Test
+  void givenManyValuesWithDuplicates_whenLookedUp_thenSameAsListScan() {
+    List<SpringConfigurationMetadataHintValue> values = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      values.add(value("value-" + i));
+      values.add(value("VALUE_" + (i % 7)));
+    }
+    values.addAll(values("always", "Al-Ways", "never"));
+    assertSameAsListScan(values);
+  }
+
+  private static void assertSameAsListScan(List<SpringConfigurationMetadataHintValue> values) {
+    SpringConfigurationMetadataHint hint = new SpringConfigurationMetadataHint();
+    hint.setName("some.property");
+    hint.setValues(values.toArray(new SpringConfigurationMetadataHintValue[0]));
+    hint.doOnGsonDeserialization();
+    for (String query : QUERIES) {
+      assertSame(scanForName(values, query), hint.findHintValueWithName(query),
+          "value with name '" + query + "'");
+      assertEquals(scanForPrefix(values, query),
+          new ArrayList<>(hint.findHintValuesWithPrefix(query)),
+          "values with prefix '" + query + "'");
+    }
+  }
+
+  @Nullable
+  private static SpringConfigurationMetadataHintValue scanForName(
+      List<SpringConfigurationMetadataHintValue> values, String name) {
+    SpringConfigurationMetadataHintValue match = null;
+    for (SpringConfigurationMetadataHintValue value : values) {
+      if (value.representsSingleValue() && sanitise(value.toString()).equals(sanitise(name))) {
+        match = value;
+      }
+    }
+    return match;
+  }
+
+  private static List<SpringConfigurationMetadataHintValue> scanForPrefix(
+      List<SpringConfigurationMetadataHintValue> values, String prefix) {
+    Map<String, SpringConfigurationMetadataHintValue> sanitisedNameToMatch = new TreeMap<>();
+    for (SpringConfigurationMetadataHintValue value : values) {
+      if (!value.representsSingleValue()) {
+        continue;
+      }
+      String sanitisedName = sanitise(value.toString());
+      if (sanitisedName.startsWith(sanitise(prefix))) {
+        sanitisedNameToMatch.put(sanitisedName, value);
+      }
+    }
+    return new ArrayList<>(sanitisedNameToMatch.values());
+  }
+
+  private static List<SpringConfigurationMetadataHintValue> values(String... names) {
+    List<SpringConfigurationMetadataHintValue> values = new ArrayList<>();
+    for (String name : names) {
+      values.add(value(name));
+    }
+    return values;
+  }
+
+  private static SpringConfigurationMetadataHintValue value(String name) {
+    return SpringConfigurationMetadataHintValue.builder().nameAsObjOrArray(name).build();
+  }
+
+}
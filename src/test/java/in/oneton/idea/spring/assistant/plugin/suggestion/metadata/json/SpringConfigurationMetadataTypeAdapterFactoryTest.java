@@ -0,0 +1,78 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+
+import static in.oneton.idea.spring.assistant.plugin.misc.StringInterner.intern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Hand written adapters only read. Writes (say, of snapshots & dumps) go through the adapters gson would have used otherwise, so whatever is written should read back the same
+ */
+class SpringConfigurationMetadataTypeAdapterFactoryTest {
+
+  private static final String METADATA = "{"
+      + "\"groups\": [{\"name\": \"server\", \"type\": \"com.acme.ServerProperties\", "
+      + "\"sourceType\": \"com.acme.ServerProperties\"}],"
+      + "\"properties\": [{\"name\": \"server.port\", \"type\": \"java.lang.Integer\", "
+      + "\"description\": \"Server port.\", \"defaultValue\": 8080, "
+      + "\"sourceType\": \"com.acme.ServerProperties\"}, "
+      + "{\"name\": \"server.legacy-mode\", \"type\": \"java.lang.Boolean\", "
+      + "\"deprecation\": {\"level\": \"error\", \"reason\": \"Gone.\"}}],"
+      + "\"hints\": [{\"name\": \"server.mode\", \"values\": [{\"value\": \"fast\", "
+      + "\"description\": \"Fast mode.\"}, {\"value\": [\"a\", \"b\"]}]}]"
+      + "}";
+
+  private final Gson gson = SpringConfigurationMetadataGson.getInstance();
+
+  @Test
+  void givenParsedMetadata_whenWritten_thenReadsBackTheSame() {
+    SpringConfigurationMetadata metadata =
+        gson.fromJson(METADATA, SpringConfigurationMetadata.class);
+    String written = gson.toJson(metadata);
+    SpringConfigurationMetadata reread = gson.fromJson(written, SpringConfigurationMetadata.class);
+
+    assertEquals(written, gson.toJson(reread));
+    SpringConfigurationMetadataProperty port = reread.getProperties().get(0);
+    assertEquals("server.port", port.getName());
+    assertEquals("java.lang.Integer", port.getClassName());
+    assertEquals("Server port.", port.getDescription());
+    assertEquals(SpringConfigurationMetadataDeprecationLevel.error,
+        reread.getProperties().get(1).getDeprecation().getLevel());
+    assertEquals("server", reread.getGroups().get(0).getName());
+    SpringConfigurationMetadataHintValue fast =
+        reread.getHints().get(0).findHintValueWithName("fast");
+    assertNotNull(fast);
+    assertEquals("Fast mode.", fast.getDescription());
+  }
+
+  @Test
+  void givenParsedMetadata_whenRead_thenOnlyRepeatingValuesAreInterned() {
+    SpringConfigurationMetadata metadata =
+        gson.fromJson(METADATA, SpringConfigurationMetadata.class);
+
+    SpringConfigurationMetadataProperty port = metadata.getProperties().get(0);
+    assertSame(intern(new String("server.port")), port.getName());
+    assertSame(intern(new String("java.lang.Integer")), port.getClassName());
+    assertSame(intern(new String("com.acme.ServerProperties")), port.getSourceType());
+    assertSame(intern(new String("server.mode")), metadata.getHints().get(0).getName());
+    assertSame(intern(new String("fast")),
+        metadata.getHints().get(0).findHintValueWithName("fast").getNameAsObjOrArray());
+    assertNotSame(intern(new String("Server port.")), port.getDescription());
+  }
+
+  @Test
+  void givenSingleEntry_whenWritten_thenReadsBackTheSame() {
+    SpringConfigurationMetadataProperty property = gson.fromJson(
+        "{\"name\": \"a.b\", \"type\": \"java.lang.String\", \"defaultValue\": \"c\"}",
+        SpringConfigurationMetadataProperty.class);
+    SpringConfigurationMetadataProperty reread =
+        gson.fromJson(gson.toJson(property), SpringConfigurationMetadataProperty.class);
+    assertEquals("a.b", reread.getName());
+    assertEquals("c", reread.getDefaultValue());
+  }
+
+}
@@ -0,0 +1,36 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpringConfigurationMetadataValueProviderParamsTest {
+
+  private final Gson gson = SpringConfigurationMetadataGson.getInstance();
+
+  @Test
+  void givenClassReferenceWithoutConcrete_whenParsed_thenOnlyConcreteClassesAreAcceptable() {
+    SpringConfigurationMetadataValueProvider provider = parse(
+        "{\"name\": \"class-reference\", \"parameters\": {\"target\": \"javax.sql.DataSource\"}}");
+    assertEquals("javax.sql.DataSource", provider.getParameters().getTarget());
+    assertTrue(provider.getParameters().isConcrete());
+  }
+
+  @Test
+  void givenClassReferenceWithConcrete_whenParsed_thenConcreteIsAsSpecified() {
+    assertFalse(parse("{\"name\": \"class-reference\", \"parameters\": "
+        + "{\"target\": \"javax.sql.DataSource\", \"concrete\": false}}").getParameters()
+        .isConcrete());
+    assertTrue(parse("{\"name\": \"class-reference\", \"parameters\": "
+        + "{\"target\": \"javax.sql.DataSource\", \"concrete\": true}}").getParameters()
+        .isConcrete());
+  }
+
+  private SpringConfigurationMetadataValueProvider parse(String json) {
+    return gson.fromJson(json, SpringConfigurationMetadataValueProvider.class);
+  }
+
+}
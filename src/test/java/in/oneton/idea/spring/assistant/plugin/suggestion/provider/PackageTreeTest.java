@@ -0,0 +1,103 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.provider;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.TreeSet;
+
+import static java.util.stream.Collectors.toCollection;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackageTreeTest {
+
+  private PackageTree tree;
+
+  @BeforeEach
+  void setUp() {
+    tree = new PackageTree();
+    tree.addClass("com.acme.Service");
+    tree.addClass("com.acme.service.Impl");
+    tree.addClass("com.acme.web_app.Controller");
+    tree.addClass("org.Main");
+  }
+
+  @Test
+  void givenPrefixOfLastSegment_whenSearched_thenPackagesAndClassesMatch() {
+    assertEquals(set("com.acme.Service", "com.acme.service"),
+        qualifiedNames(tree.findWithPrefix("com.acme.s")));
+    assertEquals(set("com", "org"), qualifiedNames(tree.findWithPrefix("")));
+    assertEquals(set("com.acme.Service", "com.acme.service", "com.acme.web_app"),
+        qualifiedNames(tree.findWithPrefix("com.acme.")));
+  }
+
+  @Test
+  void givenCaseAndDashVariants_whenSearched_thenMatchIgnoringThem() {
+    assertEquals(set("com.acme.web_app.Controller"),
+        qualifiedNames(tree.findWithPrefix("COM.Acme.web-app.cont")));
+    PackageTree.Node match = tree.find("com.acme.WEBAPP");
+    assertNotNull(match);
+    assertEquals("com.acme.web_app", match.getQualifiedName());
+    assertFalse(match.isClass());
+  }
+
+  @Test
+  void givenIntermediateSegmentIsPrefixOnly_whenSearched_thenNothingMatches() {
+    assertTrue(tree.findWithPrefix("com.ac.Service").isEmpty());
+    assertNull(tree.find("com.acme.Serv"));
+  }
+
+  @Test
+  void givenPackageAndClassWithSameName_whenFound_thenClassIsTellable() {
+    List<PackageTree.Node> matches = tree.findWithPrefix("com.acme.service");
+    assertEquals(2, matches.size());
+    assertEquals(1, matches.stream().filter(PackageTree.Node::isClass).count());
+  }
+
+  @Test
+  void givenLastClassOfPackageIsRemoved_whenSearched_thenPackageIsGone() {
+    tree.removeClass("com.acme.service.Impl");
+    assertEquals(set("com.acme.Service"), qualifiedNames(tree.findWithPrefix("com.acme.s")));
+    tree.removeClass("org.Main");
+    assertEquals(set("com"), qualifiedNames(tree.findWithPrefix("")));
+    assertEquals(2, tree.getNumOfClasses());
+  }
+
+  @Test
+  void givenClassIsAddedTwice_whenRemovedOnce_thenClassStays() {
+    tree.addClass("org.Main");
+    tree.removeClass("org.Main");
+    assertNotNull(tree.find("org.Main"));
+    tree.removeClass("org.Main");
+    assertNull(tree.find("org.Main"));
+    assertNull(tree.find("org"));
+  }
+
+  @Test
+  void givenUnknownOrPackageName_whenRemoved_thenTreeIsUntouched() {
+    tree.removeClass("com.acme.Unknown");
+    tree.removeClass("com.acme");
+    tree.removeClass("net.Other");
+    assertEquals(4, tree.getNumOfClasses());
+    assertEquals(set("com.acme.Service", "com.acme.service", "com.acme.web_app"),
+        qualifiedNames(tree.findWithPrefix("com.acme.")));
+  }
+
+  private static TreeSet<String> qualifiedNames(List<PackageTree.Node> nodes) {
+    return nodes.stream().map(PackageTree.Node::getQualifiedName)
+        .collect(toCollection(TreeSet::new));
+  }
+
+  private static TreeSet<String> set(String... values) {
+    TreeSet<String> set = new TreeSet<>();
+    for (String value : values) {
+      set.add(value);
+    }
+    return set;
+  }
+
+}
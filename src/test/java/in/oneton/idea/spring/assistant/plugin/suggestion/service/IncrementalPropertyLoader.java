@@ -0,0 +1,69 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataNonPropertySuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataPropertySuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataSuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadata;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataProperty;
+import org.apache.commons.collections4.Trie;
+
+import java.util.List;
+
+import static in.oneton.idea.spring.assistant.plugin.misc.StringInterner.intern;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.SuggestionServiceImpl.toRawPathSegments;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.SuggestionServiceImpl.toSanitizedPathSegments;
+import static java.util.Comparator.comparing;
+
+/**
+ * Inserts properties one at a time, each starting from the root, the way properties were added before {@link PropertyBulkLoader}. Serves as the reference the bulk load is tested against & as the baseline for benchmarks. Conflicting/duplicate properties are ignored silently
+ */
+class IncrementalPropertyLoader {
+
+  private IncrementalPropertyLoader() {
+  }
+
+  static void load(Trie<String, MetadataSuggestionNode> rootSearchIndex,
+      SpringConfigurationMetadata springConfigurationMetadata, String containerArchiveOrFileRef) {
+    List<SpringConfigurationMetadataProperty> properties =
+        springConfigurationMetadata.getProperties();
+    properties.sort(comparing(SpringConfigurationMetadataProperty::getName));
+    for (SpringConfigurationMetadataProperty property : properties) {
+      String[] pathSegments = toSanitizedPathSegments(property.getName());
+      String[] rawPathSegments = toRawPathSegments(property.getName());
+      MetadataSuggestionNode closestMetadata = rootSearchIndex.get(pathSegments[0]);
+      if (closestMetadata != null) {
+        closestMetadata = closestMetadata.findDeepestMetadataNode(pathSegments, 1, false);
+      }
+
+      int startIndex;
+      if (closestMetadata == null) { // path does not have a corresponding root element
+        boolean onlyRootSegmentExists = pathSegments.length == 1;
+        if (onlyRootSegmentExists) {
+          closestMetadata = MetadataPropertySuggestionNode
+              .newInstance(rawPathSegments[0], property, null, containerArchiveOrFileRef);
+        } else {
+          closestMetadata = MetadataNonPropertySuggestionNode
+              .newInstance(rawPathSegments[0], null, containerArchiveOrFileRef);
+        }
+        rootSearchIndex.put(intern(pathSegments[0]), closestMetadata);
+
+        // since we already handled the root level item, let addChildren start from index 1 of pathSegments
+        startIndex = 1;
+      } else {
+        startIndex = closestMetadata.numOfHopesToRoot() + 1;
+      }
+
+      boolean haveMoreSegmentsLeft = startIndex < rawPathSegments.length;
+      if (haveMoreSegmentsLeft) {
+        // conflict between a new group & existing property is ignored
+        if (!closestMetadata.isProperty()) {
+          MetadataNonPropertySuggestionNode.class.cast(closestMetadata)
+              .addChildren(property, rawPathSegments, startIndex, containerArchiveOrFileRef);
+        }
+      } else if (closestMetadata.isProperty()) { // duplicate property
+        closestMetadata.addRefCascadeTillRoot(containerArchiveOrFileRef);
+      }
+    }
+  }
+
+}
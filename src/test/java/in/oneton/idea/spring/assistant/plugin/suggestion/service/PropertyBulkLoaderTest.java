@@ -0,0 +1,154 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.intellij.openapi.module.Module;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataNonPropertySuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataPropertySuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.MetadataSuggestionNode;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.SyntheticMetadataGenerator;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadata;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataGson;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataProperty;
+import org.apache.commons.collections4.Trie;
+import org.apache.commons.collections4.trie.PatriciaTrie;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import static java.util.Comparator.comparing;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Bulk load of properties should build exactly the trie that inserting the properties one at a time from the root (see {@link IncrementalPropertyLoader}) builds, i.e the same nodes, names, properties, parent links & provenance
+ */
+@ExtendWith(MockitoExtension.class)
+class PropertyBulkLoaderTest {
+
+  private static final String CONTAINER = "first.jar";
+  private static final String OTHER_CONTAINER = "second.jar";
+
+  @Mock
+  Module module;
+
+  @Test
+  void givenGeneratedMetadata_whenBulkLoaded_thenSameAsIncremental() {
+    SyntheticMetadataGenerator generator =
+        SyntheticMetadataGenerator.builder().numOfProperties(2000).numOfGroups(10)
+            .nestingDepth(6).build();
+    assertSameTrie(() -> parse(generator.generate()));
+  }
+
+  @Test
+  void givenNamesInterleavingOnceSanitised_whenBulkLoaded_thenSameAsIncremental() {
+    // sorted by raw name, but `a-b` & `ab` sanitise to the same segment with `a` in between
+    assertSameTrie(() -> parse(metadata("a-b.c", "a.d", "ab.e", "a-b.f.g", "aB.f.h", "root")));
+  }
+
+  @Test
+  void givenDuplicatesAndConflicts_whenBulkLoaded_thenSameAsIncremental() {
+    // `m.n-o.p` sorts before `m.no`, while `p.q` sorts before `p.q.r`. So, both an existing intermediate node & an existing property are conflicted with
+    assertSameTrie(() -> parse(
+        metadata("x.y", "x.y", "p.q", "p.q.r", "m.n-o.p", "m.no", "root", "root.child")));
+  }
+
+  @Test
+  void givenMultipleContainers_whenBulkLoaded_thenSameAsIncremental() {
+    Trie<String, MetadataSuggestionNode> bulkIndex = new PatriciaTrie<>();
+    Trie<String, MetadataSuggestionNode> incrementalIndex = new PatriciaTrie<>();
+    Supplier<SpringConfigurationMetadata> first =
+        () -> parse(metadata("a.b.c", "a.b.d", "p.q", "s.t.u", "x.y"));
+    Supplier<SpringConfigurationMetadata> second =
+        () -> parse(metadata("a.b.c", "a.b.e", "a.f", "p.q.r", "s.t", "z.w"));
+
+    bulkLoad(bulkIndex, first.get(), CONTAINER);
+    bulkLoad(bulkIndex, second.get(), OTHER_CONTAINER);
+    IncrementalPropertyLoader.load(incrementalIndex, first.get(), CONTAINER);
+    IncrementalPropertyLoader.load(incrementalIndex, second.get(), OTHER_CONTAINER);
+
+    // incremental insertion does not cascade provenance of a container into roots that existed already, so lets leave provenance of the roots out
+    assertEquals(render(incrementalIndex, false), render(bulkIndex, false));
+  }
+
+  private void assertSameTrie(Supplier<SpringConfigurationMetadata> metadataSupplier) {
+    Trie<String, MetadataSuggestionNode> bulkIndex = new PatriciaTrie<>();
+    bulkLoad(bulkIndex, metadataSupplier.get(), CONTAINER);
+    Trie<String, MetadataSuggestionNode> incrementalIndex = new PatriciaTrie<>();
+    IncrementalPropertyLoader.load(incrementalIndex, metadataSupplier.get(), CONTAINER);
+    assertEquals(render(incrementalIndex, true), render(bulkIndex, true));
+  }
+
+  private void bulkLoad(Trie<String, MetadataSuggestionNode> rootSearchIndex,
+      SpringConfigurationMetadata metadata, String containerArchiveOrFileRef) {
+    List<SpringConfigurationMetadataProperty> properties = metadata.getProperties();
+    properties.sort(comparing(SpringConfigurationMetadataProperty::getName));
+    new PropertyBulkLoader(module, rootSearchIndex, containerArchiveOrFileRef).load(properties);
+  }
+
+  private static String render(Trie<String, MetadataSuggestionNode> rootSearchIndex,
+      boolean withRootProvenance) {
+    StringBuilder builder = new StringBuilder();
+    render(builder, rootSearchIndex, null, 0, withRootProvenance);
+    return builder.toString();
+  }
+
+  private static void render(StringBuilder builder, Map<String, MetadataSuggestionNode> children,
+      @Nullable MetadataNonPropertySuggestionNode parent, int level,
+      boolean withRootProvenance) {
+    children.forEach((sanitisedName, child) -> {
+      for (int i = 0; i < level; i++) {
+        builder.append("  ");
+      }
+      builder.append(sanitisedName).append(" (").append(child.getOriginalName()).append(")");
+      if (child.isProperty()) {
+        MetadataPropertySuggestionNode propertyNode =
+            MetadataPropertySuggestionNode.class.cast(child);
+        assertSame(parent, propertyNode.getParent(), "parent of " + sanitisedName);
+        builder.append(" property ").append(propertyNode.getProperty().getName());
+      } else {
+        MetadataNonPropertySuggestionNode nonPropertyNode =
+            MetadataNonPropertySuggestionNode.class.cast(child);
+        assertSame(parent, nonPropertyNode.getParent(), "parent of " + sanitisedName);
+      }
+      if (parent != null || withRootProvenance) {
+        builder.append(" belongs to ").append(new TreeSet<>(child.getBelongsTo()));
+      }
+      builder.append('\n');
+      if (!child.isProperty()) {
+        MetadataNonPropertySuggestionNode nonPropertyNode =
+            MetadataNonPropertySuggestionNode.class.cast(child);
+        Trie<String, MetadataSuggestionNode> childrenTrie = nonPropertyNode.getChildrenTrie();
+        if (childrenTrie != null) {
+          render(builder, childrenTrie, nonPropertyNode, level + 1, withRootProvenance);
+        }
+      }
+    });
+  }
+
+  private static JsonObject metadata(String... propertyNames) {
+    JsonArray properties = new JsonArray();
+    for (String propertyName : propertyNames) {
+      JsonObject property = new JsonObject();
+      property.addProperty("name", propertyName);
+      property.addProperty("type", "java.lang.String");
+      properties.add(property);
+    }
+    JsonObject metadata = new JsonObject();
+    metadata.add("properties", properties);
+    return metadata;
+  }
+
+  private static SpringConfigurationMetadata parse(JsonElement metadata) {
+    return SpringConfigurationMetadataGson.getInstance()
+        .fromJson(metadata, SpringConfigurationMetadata.class);
+  }
+
+}
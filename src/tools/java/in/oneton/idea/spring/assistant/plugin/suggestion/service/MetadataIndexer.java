@@ -0,0 +1,139 @@
+package in.oneton.idea.spring.assistant.plugin.suggestion.service;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadata;
+import in.oneton.idea.spring.assistant.plugin.suggestion.metadata.json.SpringConfigurationMetadataGson;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.PrebuiltIndexArtifacts.DIR_NAME;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.PrebuiltIndexArtifacts.artifactKey;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.PrebuiltIndexArtifacts.findMetadataEntry;
+import static in.oneton.idea.spring.assistant.plugin.suggestion.service.PrebuiltIndexArtifacts.toArtifactFile;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Headless entry point that prebuilds index artifacts (see {@link PrebuiltIndexArtifacts}) for the given jars, so that the metadata of third party jars is parsed once in CI rather than on every developer machine.
+ * <p>
+ * Lives in the {@code tools} source set, so that it is not shipped as part of the plugin. Runs outside the IDE, but needs the tools jar along with the plugin & IDE jars in the classpath, i.e {@code java -cp "spring-assistant-tools.jar:<plugin dir>/lib/*:<IDE dir>/lib/*" in.oneton.idea.spring.assistant.plugin.suggestion.service.MetadataIndexer [-o <output dir>] <jar or dir>...}. Directories are scanned for jars. Output directory defaults to {@code build/spring-assistant-index}
+ * <p>
+ * Exits with a non zero status if metadata of any of the jars cannot be parsed
+ */
+public class MetadataIndexer {
+
+  private final File outputDir;
+  private final JsonParser parser = new JsonParser();
+  private int numOfArtifacts;
+  private int numOfJarsWithoutMetadata;
+  private int numOfFailures;
+
+  MetadataIndexer(File outputDir) {
+    this.outputDir = outputDir;
+  }
+
+  public static void main(String[] args) throws IOException {
+    File outputDir = new File("build", DIR_NAME);
+    List<File> inputs = new ArrayList<>();
+    for (int i = 0; i < args.length; i++) {
+      if ((args[i].equals("-o") || args[i].equals("--output")) && i + 1 < args.length) {
+        outputDir = new File(args[++i]);
+      } else if (args[i].startsWith("-")) {
+        printUsageAndExit();
+      } else {
+        inputs.add(new File(args[i]));
+      }
+    }
+    if (inputs.isEmpty()) {
+      printUsageAndExit();
+    }
+    if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+      throw new IOException("Unable to create output directory " + outputDir);
+    }
+
+    MetadataIndexer indexer = new MetadataIndexer(outputDir);
+    for (File jar : findJars(inputs)) {
+      indexer.index(jar);
+    }
+    System.out.println(
+        "Index artifacts of " + indexer.numOfArtifacts + " jar(s) are in " + outputDir + ". "
+            + indexer.numOfJarsWithoutMetadata + " jar(s) have no metadata, "
+            + indexer.numOfFailures + " failed");
+    System.exit(indexer.numOfFailures == 0 ? 0 : 1);
+  }
+
+  void index(File jar) {
+    try (ZipFile zipFile = new ZipFile(jar)) {
+      ZipEntry metadataEntry = findMetadataEntry(zipFile);
+      if (metadataEntry == null) {
+        numOfJarsWithoutMetadata++;
+        return;
+      }
+      File artifactFile = toArtifactFile(outputDir, artifactKey(jar, metadataEntry));
+      // artifact key changes along with the metadata of the jar, so an existing artifact is always up to date
+      if (artifactFile.exists()) {
+        numOfArtifacts++;
+        return;
+      }
+
+      JsonElement metadata;
+      try (Reader reader = new InputStreamReader(zipFile.getInputStream(metadataEntry), UTF_8)) {
+        metadata = parser.parse(reader);
+      }
+      // parse exactly the way the plugin does, so that broken metadata fails the build rather than indexing within the IDE
+      SpringConfigurationMetadataGson.getInstance()
+          .fromJson(metadata, SpringConfigurationMetadata.class);
+
+      File tempFile = new File(outputDir, artifactFile.getName() + ".tmp");
+      try (BufferedWriter writer = new BufferedWriter(
+          new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(tempFile)), UTF_8))) {
+        IndexSnapshotStore.writeSnapshotLine(writer, jar.getName(), metadata);
+      }
+      if (!tempFile.renameTo(artifactFile)) {
+        throw new IOException("Unable to move " + tempFile + " to " + artifactFile);
+      }
+      numOfArtifacts++;
+    } catch (IOException | RuntimeException e) {
+      System.err.println("Unable to index metadata of " + jar + ": " + e);
+      numOfFailures++;
+    }
+  }
+
+  private static List<File> findJars(List<File> inputs) throws IOException {
+    List<File> jars = new ArrayList<>();
+    for (File input : inputs) {
+      if (input.isDirectory()) {
+        try (Stream<Path> paths = Files.walk(input.toPath())) {
+          jars.addAll(paths.filter(path -> path.toString().endsWith(".jar")).map(
+              Path::toFile).sorted().collect(toList()));
+        }
+      } else if (input.isFile()) {
+        jars.add(input);
+      } else {
+        System.err.println("Ignoring " + input + ", as it does not exist");
+      }
+    }
+    return jars;
+  }
+
+  private static void printUsageAndExit() {
+    System.err.println("Usage: MetadataIndexer [-o <output dir>] <jar or dir containing jars>...");
+    System.exit(2);
+  }
+
+}